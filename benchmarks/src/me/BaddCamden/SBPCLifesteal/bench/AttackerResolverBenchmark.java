@@ -0,0 +1,76 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import me.BaddCamden.SBPCLifesteal.combat.AttackerResolver;
+import me.BaddCamden.SBPCLifesteal.combat.ExplosiveOwnershipTracker;
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.Creeper;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TNTPrimed;
+import org.bukkit.entity.Wolf;
+import org.bukkit.entity.Zombie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AttackerResolver#resolveDamagerPlayer}, run once per damage event. Each damager kind
+ * takes a different branch; {@code untracked-zombie} walks every check and misses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttackerResolverBenchmark {
+
+    @Param({"player", "arrow", "tnt", "wolf", "tracked-creeper", "untracked-zombie"})
+    public String damager;
+
+    private AttackerResolver resolver;
+    private Entity entity;
+
+    @Setup
+    public void setUp() {
+        Player attacker = StandIns.onlinePlayer("attacker");
+        ExplosiveOwnershipTracker owners = new ExplosiveOwnershipTracker(new TimingWheel(), 60_000L, 60_000L);
+        resolver = new AttackerResolver(owners, null);
+        switch (damager) {
+            case "player":
+                entity = attacker;
+                break;
+            case "arrow":
+                entity = StandIns.of(Arrow.class, "getShooter", attacker);
+                break;
+            case "tnt":
+                entity = StandIns.of(TNTPrimed.class, "getSource", attacker);
+                break;
+            case "wolf":
+                entity = StandIns.of(Wolf.class, "getOwner", attacker);
+                break;
+            case "tracked-creeper":
+                entity = StandIns.of(Creeper.class, "getEntityId", 42);
+                owners.trackEntity(entity, attacker.getUniqueId());
+                break;
+            default:
+                entity = StandIns.of(Zombie.class, "getEntityId", 43);
+        }
+    }
+
+    @Benchmark
+    public Player resolve() {
+        return resolver.resolveDamagerPlayer(entity);
+    }
+}
@@ -0,0 +1,79 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import me.BaddCamden.SBPCLifesteal.SBPCLifestealPlugin;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@code isBrokenHeart}, run on every pickup, despawn, consume and crafting check. The
+ * {@code other-material} case is the common one and should stop at the type check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BrokenHeartBenchmark {
+
+    /**
+     * Item stand-in: the real {@link ItemStack} needs a server for its meta.
+     */
+    private static final class StandInStack extends ItemStack {
+        private final Material type;
+        private final ItemMeta meta;
+
+        StandInStack(Material type, ItemMeta meta) {
+            this.type = type;
+            this.meta = meta;
+        }
+
+        @Override
+        public Material getType() {
+            return type;
+        }
+
+        @Override
+        public ItemMeta getItemMeta() {
+            return meta;
+        }
+    }
+
+    @Param({"broken-heart", "plain-beetroot", "other-material"})
+    public String item;
+
+    private NamespacedKey key;
+    private ItemStack stack;
+
+    @Setup
+    public void setUp() {
+        key = new NamespacedKey("sbpclifesteal", "broken_heart");
+        boolean marked = item.equals("broken-heart");
+        PersistentDataContainer pdc = StandIns.of(PersistentDataContainer.class,
+                "has", (Function<Object[], Object>) args -> marked && key.equals(args[0]));
+        ItemMeta meta = StandIns.of(ItemMeta.class, "getPersistentDataContainer", pdc);
+        stack = new StandInStack(item.equals("other-material") ? Material.DIAMOND_SWORD : Material.BEETROOT, meta);
+    }
+
+    @Benchmark
+    public boolean isBrokenHeart() {
+        return SBPCLifestealPlugin.isBrokenHeart(stack, key);
+    }
+}
@@ -0,0 +1,76 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import me.BaddCamden.SBPCLifesteal.combat.CombatLogEntry;
+import me.BaddCamden.SBPCLifesteal.combat.CombatLogManager;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Combat-log snapshot to and from YAML text, through the same
+ * {@link CombatLogManager#saveEntryToConfig} / {@link CombatLogManager#loadEntryFromConfig} the
+ * plugin uses on quit and on startup. Inventory slots are left empty: item serialization needs a
+ * running server, so this measures the entry layout and the YAML cost around it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombatLogSerializationBenchmark {
+
+    private final UUID playerId = UUID.nameUUIDFromBytes("logger".getBytes());
+    private CombatLogEntry entry;
+    private String yaml;
+
+    @Setup
+    public void setUp() {
+        entry = new CombatLogEntry(playerId);
+        entry.setWorldName("world");
+        entry.setX(-1234.5);
+        entry.setY(64.0);
+        entry.setZ(987.25);
+        entry.setYaw(90.0f);
+        entry.setPitch(-12.5f);
+        entry.setHealth(13.0);
+        entry.setMaxHealth(26.0);
+        entry.setSpawnTimeMillis(System.currentTimeMillis());
+        entry.setZombieAlive(true);
+        entry.setZombieId(UUID.nameUUIDFromBytes("proxy".getBytes()));
+        entry.setXpLevel(31);
+        entry.setXpProgress(0.4f);
+        entry.setXpTotal(1_628);
+        entry.setContents(new ItemStack[41]);
+        entry.setArmor(new ItemStack[4]);
+        yaml = serialize();
+    }
+
+    @Benchmark
+    public String serialize() {
+        YamlConfiguration cfg = new YamlConfiguration();
+        CombatLogManager.saveEntryToConfig(entry, cfg.createSection("combat-log"));
+        cfg.set("combat-log.active", true);
+        return cfg.saveToString();
+    }
+
+    @Benchmark
+    public CombatLogEntry deserialize() throws InvalidConfigurationException {
+        YamlConfiguration cfg = new YamlConfiguration();
+        cfg.loadFromString(yaml);
+        return CombatLogManager.loadEntryFromConfig(playerId, cfg.getConfigurationSection("combat-log"));
+    }
+}
@@ -0,0 +1,107 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import me.BaddCamden.SBPCLifesteal.combat.CombatTracker;
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-hit work in {@link CombatTracker}: recording a last hit, refreshing both combat tags,
+ * and a tag that expires through the {@link TimingWheel}. Every victim is already in the table,
+ * which is the steady state on a busy server; run with {@code -prof gc} to check that
+ * {@code gc.alloc.rate.norm} stays at 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombatTrackerBenchmark {
+
+    private static final long LAST_HIT_WINDOW_MS = 30_000L;
+    private static final long TAG_MS = 15_000L;
+
+    @Param({"100", "1000"})
+    public int players;
+
+    private TimingWheel wheel;
+    private CombatTracker tracker;
+    private TimingWheel expiryWheel;
+    private CombatTracker expiryTracker;
+    private UUID[] ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(players);
+        ids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        wheel = new TimingWheel();
+        tracker = new CombatTracker(wheel, LAST_HIT_WINDOW_MS, players);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < players; i++) {
+            tracker.recordHit(ids[i], ids[(i + 1) % players], now);
+            tracker.tag(ids[i], now + TAG_MS, now);
+        }
+        expiryWheel = new TimingWheel();
+        expiryTracker = new CombatTracker(expiryWheel, LAST_HIT_WINDOW_MS, players);
+    }
+
+    @Benchmark
+    public int recordHit() {
+        int i = next++ % players;
+        tracker.recordHit(ids[i], ids[(i + 1) % players], System.currentTimeMillis());
+        return tracker.size();
+    }
+
+    @Benchmark
+    public int refreshTag() {
+        int i = next++ % players;
+        long now = System.currentTimeMillis();
+        tracker.tag(ids[i], now + TAG_MS, now);
+        return tracker.size();
+    }
+
+    /**
+     * What one player-on-player hit costs the tracker: last hit plus both tags.
+     */
+    @Benchmark
+    public int damagePath() {
+        int i = next++ % players;
+        UUID victim = ids[i];
+        UUID attacker = ids[(i + 1) % players];
+        long now = System.currentTimeMillis();
+        tracker.recordHit(victim, attacker, now);
+        tracker.tag(victim, now + TAG_MS, now);
+        tracker.tag(attacker, now + TAG_MS, now);
+        return tracker.size();
+    }
+
+    /**
+     * A tag that is already over, fired by the next wheel tick and removed from the table.
+     */
+    @Benchmark
+    public int tagAndExpire() {
+        int i = next++ % players;
+        long now = System.currentTimeMillis();
+        expiryTracker.tag(ids[i], now - 1, now);
+        expiryWheel.advance();
+        return expiryTracker.size();
+    }
+}
@@ -0,0 +1,67 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import me.BaddCamden.SBPCLifesteal.health.HealthCurve;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code computeHealthFactor}: one {@link HealthCurve#factor} lookup per boosted player per
+ * second. Inputs cycle through random health values, including fractional and out-of-range ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HealthFactorBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    @Param({"default", "expression", "points"})
+    public String curve;
+
+    private HealthCurve healthCurve;
+    private final double[] current = new double[INPUTS];
+    private final double[] max = new double[INPUTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        switch (curve) {
+            case "expression":
+                healthCurve = HealthCurve.fromExpression("(1 + (20 - cur) / 20) * (1 + (20 - max) / 10)", 20);
+                break;
+            case "points":
+                healthCurve = HealthCurve.fromPoints(
+                        new double[][]{{0, 3}, {5, 2}, {10, 1}},
+                        new double[][]{{1, 4}, {10, 1}, {20, 0.5}}, 20);
+                break;
+            default:
+                healthCurve = HealthCurve.defaultCurve();
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < INPUTS; i++) {
+            max[i] = 2 + random.nextInt(40);
+            current[i] = random.nextDouble() * max[i];
+        }
+    }
+
+    @Benchmark
+    public double factor() {
+        int i = next++ & (INPUTS - 1);
+        return healthCurve.factor(current[i], max[i]);
+    }
+}
@@ -0,0 +1,850 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import me.BaddCamden.SBPCLifesteal.SBPCLifestealPlugin;
+import me.BaddCamden.SBPCLifesteal.metrics.Counter;
+import me.BaddCamden.SBPCLifesteal.metrics.LatencyHistogram;
+import me.BaddCamden.SBPCLifesteal.metrics.MetricsRegistry;
+import me.BaddCamden.SBPCLifesteal.sbpc.InMemorySbpcGateway;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.BlockFace;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Interaction;
+import org.bukkit.entity.Item;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.event.entity.EntityRegainHealthEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Headless load test: the real plugin, enabled against a {@link SimServer} and driven by
+ * {@link VirtualPlayer}s that move, fight in small arenas, take environmental damage, die,
+ * respawn, log out mid-fight, drop, use and lose Broken Hearts, get banned and come back.
+ *
+ * Each simulated tick fires that tick's events through the registered handlers and then runs
+ * the plugin's scheduled tasks, timing every dispatch and counting the bytes it allocated. The
+ * plugin's share of a tick is compared with a budget; {@code --ramp} repeats the run with a fresh
+ * plugin at rising player counts to find where the budget breaks. Ticks are paced at 50 ms unless
+ * {@code --fast} is given, because combat tags and kill-credit windows run on the wall clock.
+ *
+ * SBPC is {@link InMemorySbpcGateway}; combat loggers use the configured proxy type (zombies by
+ * default, {@code --set combat-log.proxy-type=display} for the other). Stand-ins are dynamic
+ * proxies, so absolute numbers run high: compare runs with each other, and check a real server
+ * with {@code /lifesteal profile}.
+ */
+public final class LoadSimulator {
+
+    private static final int TICKS_PER_SECOND = 20;
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final List<String> SECTIONS = List.of("stone_age", "iron_age", "nether", "end");
+    private static final String PVP_UNLOCK = "pvp_unlock";
+
+    // workload, per online player
+    private static final int ARENA_SIZE = 8;
+    private static final double ARENA_RADIUS = 12.0;
+    private static final double MOVE_CHANCE_PER_TICK = 0.5;
+    private static final double HITS_PER_SECOND = 2.0;
+    private static final double PROXY_HIT_SHARE = 0.1;
+    private static final double ENV_DAMAGE_PER_SECOND = 0.2;
+    private static final double REGEN_PER_SECOND = 0.5;
+    private static final double QUITS_PER_SECOND = 1.0 / 600.0;
+    private static final double COMBAT_QUITS_PER_SECOND = 1.0 / 60.0;
+    private static final double PVP_UNLOCKED_SHARE = 0.9;
+    private static final int COMBAT_TICKS = 15 * TICKS_PER_SECOND;
+    private static final int MIN_REJOIN_TICKS = 10 * TICKS_PER_SECOND;
+    private static final int MAX_REJOIN_TICKS = 90 * TICKS_PER_SECOND;
+    private static final int DENIED_RETRY_TICKS = 30 * TICKS_PER_SECOND;
+    // a full server fills in this long
+    private static final int FILL_TICKS = 5 * TICKS_PER_SECOND;
+    // what happens to a dropped Broken Heart: picked up and used, burnt, or left to despawn
+    private static final double HEART_USE_SHARE = 0.5;
+    private static final double HEART_BURN_SHARE = 0.15;
+    private static final int MAX_ITEM_LIFETIME_TICKS = 10 * TICKS_PER_SECOND;
+    private static final DamageCause[] ENVIRONMENT = {
+            DamageCause.FALL, DamageCause.LAVA, DamageCause.FIRE_TICK, DamageCause.CONTACT, DamageCause.MAGIC};
+    private static final String TASKS = "(scheduled tasks)";
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    /**
+     * Command-line options.
+     */
+    record Options(List<Integer> steps, int seconds, int warmupSeconds, double budgetMs, double fightShare,
+                   long seed, long sbpcLatencyMicros, Map<String, String> overrides, boolean fast, File json) {
+
+        static final String USAGE = String.join("\n",
+                "Usage: LoadSimulator [options]",
+                "  --players N         virtual players online (default 500)",
+                "  --ramp N,N,...      run once per player count, each with a fresh plugin",
+                "  --seconds S         measured seconds per run (default 60)",
+                "  --warmup S          unmeasured seconds before that, incl. the initial joins (default 10)",
+                "  --budget-ms X       plugin time allowed per tick (default 5.0)",
+                "  --fight-share F     share of players fighting at any time (default 0.3)",
+                "  --seed N            random seed (default 1)",
+                "  --sbpc-latency-us N added latency per SBPC call (default 0)",
+                "  --set path=value    override a config.yml value (repeatable)",
+                "  --fast              do not pace ticks at 50 ms (wall-clock windows shrink)",
+                "  --json FILE         also write the results as JSON");
+
+        static Options parse(String[] args) {
+            List<Integer> steps = List.of(500);
+            int seconds = 60;
+            int warmup = 10;
+            double budget = 5.0;
+            double fightShare = 0.3;
+            long seed = 1L;
+            long latency = 0L;
+            Map<String, String> overrides = new LinkedHashMap<>();
+            boolean fast = false;
+            File json = null;
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("--fast")) {
+                    fast = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--players" -> steps = List.of(positive(arg, value));
+                    case "--ramp" -> {
+                        List<Integer> ramp = new ArrayList<>();
+                        for (String part : value.split(",")) {
+                            ramp.add(positive(arg, part.trim()));
+                        }
+                        steps = ramp;
+                    }
+                    case "--seconds" -> seconds = positive(arg, value);
+                    case "--warmup" -> warmup = Math.max(0, Integer.parseInt(value));
+                    case "--budget-ms" -> budget = Double.parseDouble(value);
+                    case "--fight-share" -> fightShare = Math.max(0.0, Math.min(1.0, Double.parseDouble(value)));
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--sbpc-latency-us" -> latency = Math.max(0L, Long.parseLong(value));
+                    case "--set" -> {
+                        int eq = value.indexOf('=');
+                        if (eq <= 0) {
+                            throw new IllegalArgumentException("Expected path=value after --set: " + value);
+                        }
+                        overrides.put(value.substring(0, eq), value.substring(eq + 1));
+                    }
+                    case "--json" -> json = new File(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            return new Options(steps, seconds, warmup, budget, fightShare, seed, latency, overrides, fast, json);
+        }
+
+        private static int positive(String option, String value) {
+            int n = Integer.parseInt(value);
+            if (n <= 0) {
+                throw new IllegalArgumentException(option + " must be positive: " + value);
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Count, latency and allocation of one kind of event (or of the scheduled tasks).
+     */
+    static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        long allocatedBytes;
+        long errors;
+
+        void record(long nanos, long bytes) {
+            latency.record(nanos);
+            allocatedBytes += bytes;
+        }
+    }
+
+    /**
+     * Results of one run at one player count.
+     */
+    record Result(int players, long ticks, double seconds, LatencyHistogram tickTimes, long ticksOverBudget,
+                  Map<String, Stats> stats, Map<String, Long> counters, Map<String, Double> gauges) {
+
+        long events() {
+            long n = 0;
+            for (Map.Entry<String, Stats> e : stats.entrySet()) {
+                if (!e.getKey().equals(TASKS)) n += e.getValue().latency.getCount();
+            }
+            return n;
+        }
+
+        long errors() {
+            long n = 0;
+            for (Stats s : stats.values()) n += s.errors;
+            return n;
+        }
+
+        long allocatedBytes() {
+            long n = 0;
+            for (Stats s : stats.values()) n += s.allocatedBytes;
+            return n;
+        }
+
+        long pluginNanos() {
+            long n = 0;
+            for (Stats s : stats.values()) n += s.latency.getSumNanos();
+            return n;
+        }
+    }
+
+    /**
+     * The plugin, with enable/disable reachable from here.
+     */
+    private static final class SimPlugin extends SBPCLifestealPlugin {
+        SimPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+            super(loader, description, dataFolder, file);
+        }
+
+        void enable() {
+            setEnabled(true);
+        }
+
+        void disable() {
+            setEnabled(false);
+        }
+    }
+
+    private record PendingItem(Item item, long dueTick) {
+    }
+
+    private final SimServer server;
+    private final Options options;
+    private final int targetPlayers;
+    private final Random random;
+    private final Map<String, Stats> stats = new TreeMap<>();
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private final List<VirtualPlayer> online = new ArrayList<>();
+    private final List<VirtualPlayer> offline = new ArrayList<>();
+    private final Map<Integer, List<VirtualPlayer>> arenas = new HashMap<>();
+    private final List<PendingItem> items = new ArrayList<>();
+    private final Set<String> reportedErrors = new HashSet<>();
+    private final InetAddress address = InetAddress.getLoopbackAddress();
+    private SimPlugin plugin;
+    private InMemorySbpcGateway sbpc;
+    private NamespacedKey brokenHeartKey;
+    private List<Interaction> hitboxes = List.of();
+    private long tick;
+    private long tickNanos;
+    private long ticksOverBudget;
+    private boolean measuring;
+    private int nextPlayer;
+
+    private LoadSimulator(SimServer server, Options options, int targetPlayers) {
+        this.server = server;
+        this.options = options;
+        this.targetPlayers = targetPlayers;
+        this.random = new Random(options.seed() ^ targetPlayers);
+        server.setErrorHandler(this::onHandlerError);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(Options.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (THREADS == null) {
+            System.err.println("This JVM cannot measure per-thread allocation; allocation columns read 0.");
+        }
+
+        SimServer server = SimServer.install();
+        List<Result> results = new ArrayList<>();
+        for (int players : options.steps()) {
+            System.out.printf(Locale.ROOT, "Simulating %d players for %d s (+%d s warmup)...%n",
+                    players, options.seconds(), options.warmupSeconds());
+            Result result = new LoadSimulator(server, options, players).run();
+            results.add(result);
+            print(result, options.budgetMs());
+        }
+        printVerdict(results, options.budgetMs());
+        if (options.json() != null) {
+            Files.write(options.json().toPath(), toJson(results, options).getBytes(StandardCharsets.UTF_8));
+            System.out.println("Wrote " + options.json());
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Run
+    // ------------------------------------------------------------------------
+
+    private Result run() throws Exception {
+        File dataFolder = Files.createTempDirectory("sbpclifesteal-sim").toFile();
+        try {
+            enable(dataFolder);
+            runTicks((long) options.warmupSeconds() * TICKS_PER_SECOND);
+            stats.clear();
+            tickTimes.reset();
+            ticksOverBudget = 0;
+            measuring = true;
+            long ticks = (long) options.seconds() * TICKS_PER_SECOND;
+            long started = System.nanoTime();
+            runTicks(ticks);
+            double seconds = (System.nanoTime() - started) / 1e9;
+            measuring = false;
+
+            MetricsRegistry metrics = plugin.getMetrics();
+            Map<String, Long> counters = new TreeMap<>();
+            for (Map.Entry<String, Counter> e : metrics.getCounters().entrySet()) {
+                counters.put(e.getKey(), e.getValue().get());
+            }
+            Result result = new Result(targetPlayers, ticks, seconds, tickTimes, ticksOverBudget,
+                    stats, counters, metrics.readGauges());
+            plugin.disable();
+            return result;
+        } finally {
+            server.reset();
+            deleteRecursively(dataFolder.toPath());
+        }
+    }
+
+    private void enable(File dataFolder) throws Exception {
+        writeConfig(dataFolder);
+        PluginDescriptionFile description;
+        try (InputStream in = SBPCLifestealPlugin.class.getResourceAsStream("/plugin.yml")) {
+            if (in == null) {
+                throw new IllegalStateException("plugin.yml is not on the classpath");
+            }
+            description = new PluginDescriptionFile(in);
+        }
+        plugin = new SimPlugin(new JavaPluginLoader(server.handle()), description, dataFolder,
+                new File(dataFolder, "SBPCLifesteal.jar"));
+        InMemorySbpcGateway sbpc = new InMemorySbpcGateway(SECTIONS, options.seed());
+        if (options.sbpcLatencyMicros() > 0) {
+            long nanos = options.sbpcLatencyMicros() * 1000L;
+            sbpc.setLatency(nanos, nanos / 2);
+        }
+        this.sbpc = sbpc;
+        plugin.setSbpcGateway(sbpc);
+        plugin.enable();
+        brokenHeartKey = new NamespacedKey(plugin, "broken_heart");
+    }
+
+    /**
+     * The shipped config.yml with the simulator's settings and the user's overrides on top.
+     */
+    private void writeConfig(File dataFolder) throws IOException {
+        YamlConfiguration cfg = new YamlConfiguration();
+        try (InputStream in = SBPCLifestealPlugin.class.getResourceAsStream("/config.yml")) {
+            if (in != null) {
+                cfg = YamlConfiguration.loadConfiguration(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        }
+        cfg.set("metrics.jmx", false);
+        cfg.set("metrics.http.enabled", false);
+        for (Map.Entry<String, String> e : options.overrides().entrySet()) {
+            cfg.set(e.getKey(), parseValue(e.getValue()));
+        }
+        cfg.save(new File(dataFolder, "config.yml"));
+    }
+
+    private static Object parseValue(String raw) {
+        if (raw.equalsIgnoreCase("true") || raw.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(raw);
+        }
+        try {
+            return Integer.parseInt(raw);
+        } catch (NumberFormatException ignored) {
+            // not an int
+        }
+        try {
+            return Double.parseDouble(raw);
+        } catch (NumberFormatException ignored) {
+            return raw;
+        }
+    }
+
+    private void runTicks(long count) {
+        long next = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            tick();
+            if (!options.fast()) {
+                next += TICK_NANOS;
+                long wait;
+                while ((wait = next - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+        }
+    }
+
+    private void tick() {
+        tick++;
+        tickNanos = 0;
+        hitboxes = server.entities(Interaction.class);
+
+        joinPlayers();
+        for (VirtualPlayer player : new ArrayList<>(online)) {
+            act(player);
+        }
+        handleItems();
+        processKicks();
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        server.tick();
+        long nanos = System.nanoTime() - start;
+        tickNanos += nanos;
+        if (measuring) {
+            stats(TASKS).record(nanos, allocatedBytes() - allocated);
+            tickTimes.record(tickNanos);
+            if (tickNanos > options.budgetMs() * 1_000_000.0) {
+                ticksOverBudget++;
+            }
+        }
+    }
+
+    /**
+     * Dispatch {@code event}, timing it and counting its allocations.
+     */
+    private <E extends Event> E fire(E event) {
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        server.call(event);
+        long nanos = System.nanoTime() - start;
+        long bytes = allocatedBytes() - allocated;
+        tickNanos += nanos;
+        if (measuring) {
+            stats(event.getClass().getSimpleName()).record(nanos, bytes);
+        }
+        return event;
+    }
+
+    private Stats stats(String name) {
+        return stats.computeIfAbsent(name, n -> new Stats());
+    }
+
+    private void onHandlerError(String label, Throwable ex) {
+        if (measuring) {
+            stats(label).errors++;
+        }
+        if (reportedErrors.add(label + " " + ex.getClass().getName())) {
+            System.err.println("Handler failure on " + label + " (further ones of this kind are only counted):");
+            ex.printStackTrace();
+        }
+    }
+
+    private boolean chance(double perSecond) {
+        return random.nextDouble() < perSecond / TICKS_PER_SECOND;
+    }
+
+    // ------------------------------------------------------------------------
+    // Joins and quits
+    // ------------------------------------------------------------------------
+
+    private void joinPlayers() {
+        int returning = 0;
+        for (Iterator<VirtualPlayer> it = offline.iterator(); it.hasNext(); ) {
+            VirtualPlayer player = it.next();
+            if (player.rejoinAtTick > tick) {
+                if (!player.loginDenied) returning++;
+                continue;
+            }
+            if (login(player)) {
+                it.remove();
+            } else {
+                player.rejoinAtTick = tick + DENIED_RETRY_TICKS;
+            }
+        }
+
+        int fresh = Math.min(Math.max(1, targetPlayers / FILL_TICKS), targetPlayers - online.size() - returning);
+        for (int i = 0; i < fresh; i++) {
+            VirtualPlayer player = new VirtualPlayer(server, String.format(Locale.ROOT, "Sim%05d", nextPlayer++));
+            sbpc.setSection(player.getUniqueId(), SECTIONS.get(random.nextInt(SECTIONS.size())));
+            sbpc.setUnlocked(player.getUniqueId(), PVP_UNLOCK, random.nextDouble() < PVP_UNLOCKED_SHARE);
+            player.equip();
+            player.arena = random.nextInt(Math.max(1, targetPlayers / ARENA_SIZE));
+            player.setLocation(arenaSpawn(player.arena));
+            server.remember(player);
+            if (!login(player)) {
+                player.rejoinAtTick = tick + DENIED_RETRY_TICKS;
+                offline.add(player);
+            }
+        }
+    }
+
+    /**
+     * Pre-login, then join if the plugin let the player in.
+     */
+    private boolean login(VirtualPlayer player) {
+        AsyncPlayerPreLoginEvent preLogin = fire(SimServer.newEvent(AsyncPlayerPreLoginEvent.class,
+                player.getName(), address, player.getUniqueId()));
+        if (preLogin.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            player.loginDenied = true;
+            return false;
+        }
+        player.loginDenied = false;
+        player.setOnline(true);
+        player.fighter = random.nextDouble() < options.fightShare();
+        server.join(player);
+        online.add(player);
+        arenas.computeIfAbsent(player.arena, a -> new ArrayList<>()).add(player);
+        fire(new PlayerJoinEvent(player.handle(), player.getName() + " joined the game"));
+        return true;
+    }
+
+    private void quit(VirtualPlayer player, String message, int rejoinTicks) {
+        // the player is still online while the quit event runs
+        fire(new PlayerQuitEvent(player.handle(), message));
+        server.leave(player);
+        player.setOnline(false);
+        online.remove(player);
+        List<VirtualPlayer> arena = arenas.get(player.arena);
+        if (arena != null) {
+            arena.remove(player);
+        }
+        player.rejoinAtTick = tick + rejoinTicks;
+        offline.add(player);
+    }
+
+    private void processKicks() {
+        for (VirtualPlayer player : new ArrayList<>(online)) {
+            if (player.takeKick()) {
+                quit(player, player.getName() + " was kicked", DENIED_RETRY_TICKS);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Per-player activity
+    // ------------------------------------------------------------------------
+
+    private void act(VirtualPlayer player) {
+        if (!player.isOnline() || player.isKicked()) {
+            return;
+        }
+        if (random.nextDouble() < MOVE_CHANCE_PER_TICK) {
+            move(player);
+        }
+        if (player.fighter && chance(HITS_PER_SECOND)) {
+            attack(player);
+        }
+        if (chance(ENV_DAMAGE_PER_SECOND)) {
+            environmentalDamage(player);
+        }
+        if (player.getHealth() < player.getMaxHealth() && chance(REGEN_PER_SECOND)) {
+            fire(new EntityRegainHealthEvent(player.handle(), 1.0, EntityRegainHealthEvent.RegainReason.SATIATED));
+            player.heal(1.0);
+        }
+        boolean inCombat = player.inCombatUntilTick > tick;
+        if (player.isOnline() && !player.isKicked() && chance(inCombat ? COMBAT_QUITS_PER_SECOND : QUITS_PER_SECOND)) {
+            quit(player, player.getName() + " left the game",
+                    MIN_REJOIN_TICKS + random.nextInt(MAX_REJOIN_TICKS - MIN_REJOIN_TICKS));
+        }
+    }
+
+    private void move(VirtualPlayer player) {
+        Location from = player.getLocation();
+        Location center = arenaSpawn(player.arena);
+        double x = clamp(from.getX() + random.nextDouble() - 0.5, center.getX());
+        double z = clamp(from.getZ() + random.nextDouble() - 0.5, center.getZ());
+        Location to = new Location(from.getWorld(), x, from.getY(), z, random.nextFloat() * 360f, 0f);
+        PlayerMoveEvent event = fire(new PlayerMoveEvent(player.handle(), from.clone(), to));
+        if (!event.isCancelled()) {
+            player.setLocation(event.getTo());
+        }
+    }
+
+    private static double clamp(double value, double center) {
+        return Math.max(center - ARENA_RADIUS, Math.min(center + ARENA_RADIUS, value));
+    }
+
+    private void attack(VirtualPlayer attacker) {
+        if (!hitboxes.isEmpty() && random.nextDouble() < PROXY_HIT_SHARE) {
+            Interaction hitbox = hitboxes.get(random.nextInt(hitboxes.size()));
+            if (hitbox.isValid()) {
+                fire(SimServer.newEvent(EntityDamageByEntityEvent.class, attacker.handle(), hitbox,
+                        DamageCause.ENTITY_ATTACK, damageSource(attacker.handle()), 7.0));
+            }
+            return;
+        }
+        VirtualPlayer victim = opponent(attacker);
+        if (victim == null) {
+            return;
+        }
+        double amount = 2.0 + random.nextDouble() * 5.0;
+        EntityDamageByEntityEvent event = fire(SimServer.newEvent(EntityDamageByEntityEvent.class,
+                attacker.handle(), victim.handle(), DamageCause.ENTITY_ATTACK, damageSource(attacker.handle()), amount));
+        if (event.isCancelled()) {
+            return;
+        }
+        attacker.inCombatUntilTick = tick + COMBAT_TICKS;
+        victim.inCombatUntilTick = tick + COMBAT_TICKS;
+        if (victim.damage(event, attacker)) {
+            die(victim);
+        }
+    }
+
+    private VirtualPlayer opponent(VirtualPlayer attacker) {
+        List<VirtualPlayer> arena = arenas.get(attacker.arena);
+        if (arena == null || arena.size() < 2) {
+            return null;
+        }
+        VirtualPlayer pick = arena.get(random.nextInt(arena.size()));
+        return pick != attacker && pick.isOnline() && !pick.isKicked() ? pick : null;
+    }
+
+    private void environmentalDamage(VirtualPlayer player) {
+        DamageCause cause = ENVIRONMENT[random.nextInt(ENVIRONMENT.length)];
+        EntityDamageEvent event = fire(SimServer.newEvent(EntityDamageEvent.class, player.handle(), cause,
+                damageSource(null), 1.0 + random.nextDouble() * 5.0));
+        if (!event.isCancelled() && player.damage(event, null)) {
+            die(player);
+        }
+    }
+
+    private static DamageSource damageSource(Entity causing) {
+        return StandIns.deep(DamageSource.class,
+                "getCausingEntity", causing,
+                "getDirectEntity", causing,
+                "isIndirect", false);
+    }
+
+    private void die(VirtualPlayer victim) {
+        EntityDamageEvent cause = victim.getLastDamage();
+        fire(SimServer.newEvent(PlayerDeathEvent.class, victim.handle(),
+                cause != null ? cause.getDamageSource() : damageSource(null),
+                victim.deathDrops(), victim.getTotalExperience(), victim.getName() + " died"));
+        if (victim.isKicked()) {
+            // banned out of their last heart; the kick turns into a quit below
+            return;
+        }
+        Location at = arenaSpawn(victim.arena);
+        victim.respawn(at);
+        fire(SimServer.newEvent(PlayerRespawnEvent.class, victim.handle(), at));
+        victim.fighter = random.nextDouble() < options.fightShare();
+    }
+
+    private Location arenaSpawn(int arena) {
+        return new Location(server.world(), (arena % 32) * 64.0 + 8.5, 64.0, (arena / 32) * 64.0 + 8.5);
+    }
+
+    // ------------------------------------------------------------------------
+    // Dropped items
+    // ------------------------------------------------------------------------
+
+    private void handleItems() {
+        for (Item item : server.drainDrops()) {
+            items.add(new PendingItem(item, tick + 1 + random.nextInt(MAX_ITEM_LIFETIME_TICKS)));
+        }
+        List<PendingItem> due = new ArrayList<>();
+        items.removeIf(p -> p.dueTick() <= tick && due.add(p));
+        for (PendingItem pending : due) {
+            Item item = pending.item();
+            if (!item.isValid()) {
+                continue;
+            }
+            ItemStack stack = item.getItemStack();
+            double roll = random.nextDouble();
+            if (SBPCLifestealPlugin.isBrokenHeart(stack, brokenHeartKey) && roll < HEART_USE_SHARE) {
+                useHeart(item, stack);
+            } else if (SBPCLifestealPlugin.isBrokenHeart(stack, brokenHeartKey)
+                    && roll < HEART_USE_SHARE + HEART_BURN_SHARE) {
+                fire(SimServer.newEvent(EntityDamageEvent.class, item, DamageCause.LAVA, damageSource(null), 4.0));
+                item.remove();
+            } else {
+                ItemDespawnEvent event = fire(new ItemDespawnEvent(item, item.getLocation()));
+                if (!event.isCancelled()) {
+                    item.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Someone picks the heart up and right-clicks it, once per half-heart in the stack.
+     */
+    private void useHeart(Item item, ItemStack stack) {
+        item.remove();
+        if (online.isEmpty()) {
+            return;
+        }
+        VirtualPlayer user = online.get(random.nextInt(online.size()));
+        int uses = stack.getAmount();
+        for (int i = 0; i < uses && user.isOnline() && stack.getAmount() > 0; i++) {
+            Cancellable event = fire(new PlayerInteractEvent(user.handle(), Action.RIGHT_CLICK_AIR, stack, null,
+                    BlockFace.SELF, EquipmentSlot.HAND));
+            if (!event.isCancelled()) {
+                // nothing consumed it
+                return;
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Measurement and reporting
+    // ------------------------------------------------------------------------
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0L;
+    }
+
+    private static void print(Result r, double budgetMs) {
+        LatencyHistogram t = r.tickTimes();
+        System.out.printf(Locale.ROOT, "== %d players: %d ticks in %.1f s ==%n", r.players(), r.ticks(), r.seconds());
+        System.out.printf(Locale.ROOT,
+                "plugin time per tick: mean %.3f ms, p50 %.3f ms, p99 %.3f ms, max %.3f ms; %d ticks (%.2f%%) over %.1f ms%n",
+                t.getMeanMillis(), t.getQuantileMillis(0.50), t.getQuantileMillis(0.99), t.getMaxNanos() / 1e6,
+                r.ticksOverBudget(), 100.0 * r.ticksOverBudget() / Math.max(1, r.ticks()), budgetMs);
+        double pluginSeconds = r.pluginNanos() / 1e9;
+        System.out.printf(Locale.ROOT,
+                "throughput: %d events (%.0f/s), %.0f events per plugin CPU-second, %.1f MB/s allocated, %d errors%n",
+                r.events(), r.events() / r.seconds(), pluginSeconds > 0 ? r.events() / pluginSeconds : 0.0,
+                r.allocatedBytes() / 1e6 / r.seconds(), r.errors());
+        System.out.printf(Locale.ROOT, "%-28s %9s %9s %9s %9s %10s %7s%n",
+                "event", "count", "p50 ms", "p99 ms", "max ms", "B/event", "errors");
+        r.stats().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stats> e) -> e.getValue().latency.getSumNanos())
+                        .reversed())
+                .forEach(e -> {
+                    Stats s = e.getValue();
+                    long n = s.latency.getCount();
+                    System.out.printf(Locale.ROOT, "%-28s %9d %9.3f %9.3f %9.3f %10d %7d%n", e.getKey(), n,
+                            s.latency.getQuantileMillis(0.50), s.latency.getQuantileMillis(0.99),
+                            s.latency.getMaxNanos() / 1e6, n > 0 ? s.allocatedBytes / n : 0, s.errors);
+                });
+        StringBuilder state = new StringBuilder("plugin state:");
+        r.counters().forEach((name, value) -> state.append(' ').append(name).append('=').append(value));
+        r.gauges().forEach((name, value) -> state.append(' ').append(name).append('=')
+                .append(String.format(Locale.ROOT, "%.4g", value)));
+        System.out.println(state);
+        System.out.println();
+    }
+
+    private static void printVerdict(List<Result> results, double budgetMs) {
+        int lastWithin = -1;
+        for (Result r : results) {
+            double p99 = r.tickTimes().getQuantileMillis(0.99);
+            if (p99 > budgetMs) {
+                System.out.printf(Locale.ROOT,
+                        "Tick budget of %.1f ms first broken at %d players (p99 %.3f ms)%s.%n", budgetMs,
+                        r.players(), p99, lastWithin > 0 ? "; last within budget: " + lastWithin : "");
+                return;
+            }
+            lastWithin = r.players();
+        }
+        System.out.printf(Locale.ROOT, "Tick budget of %.1f ms held at p99 up to %d players.%n", budgetMs, lastWithin);
+    }
+
+    private static String toJson(List<Result> results, Options options) {
+        StringBuilder out = new StringBuilder();
+        out.append("{\"budgetMs\":").append(options.budgetMs())
+                .append(",\"seconds\":").append(options.seconds())
+                .append(",\"fast\":").append(options.fast())
+                .append(",\"runs\":[");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            LatencyHistogram t = r.tickTimes();
+            if (i > 0) out.append(',');
+            out.append("{\"players\":").append(r.players())
+                    .append(",\"ticks\":").append(r.ticks())
+                    .append(",\"seconds\":").append(number(r.seconds()))
+                    .append(",\"tickMeanMs\":").append(number(t.getMeanMillis()))
+                    .append(",\"tickP50Ms\":").append(number(t.getQuantileMillis(0.50)))
+                    .append(",\"tickP99Ms\":").append(number(t.getQuantileMillis(0.99)))
+                    .append(",\"tickMaxMs\":").append(number(t.getMaxNanos() / 1e6))
+                    .append(",\"ticksOverBudget\":").append(r.ticksOverBudget())
+                    .append(",\"events\":").append(r.events())
+                    .append(",\"allocatedBytes\":").append(r.allocatedBytes())
+                    .append(",\"errors\":").append(r.errors())
+                    .append(",\"byEvent\":{");
+            boolean first = true;
+            for (Map.Entry<String, Stats> e : r.stats().entrySet()) {
+                Stats s = e.getValue();
+                if (!first) out.append(',');
+                first = false;
+                out.append('"').append(e.getKey()).append("\":{\"count\":").append(s.latency.getCount())
+                        .append(",\"p50Ms\":").append(number(s.latency.getQuantileMillis(0.50)))
+                        .append(",\"p99Ms\":").append(number(s.latency.getQuantileMillis(0.99)))
+                        .append(",\"maxMs\":").append(number(s.latency.getMaxNanos() / 1e6))
+                        .append(",\"totalMs\":").append(number(s.latency.getSumNanos() / 1e6))
+                        .append(",\"allocatedBytes\":").append(s.allocatedBytes)
+                        .append(",\"errors\":").append(s.errors).append('}');
+            }
+            out.append("},\"counters\":{");
+            first = true;
+            for (Map.Entry<String, Long> e : r.counters().entrySet()) {
+                if (!first) out.append(',');
+                first = false;
+                out.append('"').append(e.getKey()).append("\":").append(e.getValue());
+            }
+            out.append("},\"gauges\":{");
+            first = true;
+            for (Map.Entry<String, Double> e : r.gauges().entrySet()) {
+                if (!first) out.append(',');
+                first = false;
+                out.append('"').append(e.getKey()).append("\":").append(number(e.getValue()));
+            }
+            out.append("}}");
+        }
+        return out.append("]}\n").toString();
+    }
+
+    private static String number(double value) {
+        return Double.isFinite(value) ? String.format(Locale.ROOT, "%.6g", value) : "null";
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import me.BaddCamden.SBPCLifesteal.message.HeartFormat;
+import me.BaddCamden.SBPCLifesteal.message.MessageTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Death-message formatting: the compiled {@link MessageTemplate} plus {@link HeartFormat}, against
+ * per-call {@code String.format} and chained {@code String.replace} they replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageFormatBenchmark {
+
+    private static final String RAW = "§aYou killed §e{victim}§a and gained §2{hearts}§a heart(s)!";
+
+    @Param({"1", "4", "37"})
+    public int halfHearts;
+
+    private MessageTemplate template;
+    private String victim;
+
+    @Setup
+    public void setUp() {
+        template = MessageTemplate.compile(RAW);
+        victim = "Notch_" + halfHearts;
+    }
+
+    @Benchmark
+    public String template() {
+        return template.render("victim", victim, "hearts", HeartFormat.format(halfHearts));
+    }
+
+    @Benchmark
+    public String replaceBaseline() {
+        double hearts = halfHearts / 2.0;
+        String text = String.format(Locale.US, hearts == Math.rint(hearts) ? "%.0f" : "%.1f", hearts);
+        return RAW.replace("{victim}", victim).replace("{hearts}", text);
+    }
+
+    @Benchmark
+    public String heartFormat() {
+        return HeartFormat.format(halfHearts);
+    }
+}
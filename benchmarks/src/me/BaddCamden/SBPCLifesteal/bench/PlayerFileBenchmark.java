@@ -0,0 +1,137 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import me.BaddCamden.SBPCLifesteal.SBPCLifestealPlugin;
+import me.BaddCamden.SBPCLifesteal.SBPCLifestealPlugin.PlayerData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Full save and full load of the {@code players/} folder at different player counts.
+ *
+ * The plugin's {@code writeData}/{@code loadData} need an enabled plugin, so the loops below
+ * drive the same per-file helpers they use, {@link SBPCLifestealPlugin#writePlayerDataFile} and
+ * {@link SBPCLifestealPlugin#readPlayerDataFile}; a save therefore includes the load-merge of
+ * each existing file. Each invocation is one whole pass (single shot).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PlayerFileBenchmark {
+
+    private static final String[] SECTIONS = {"stone_age", "iron_age", "nether", "end"};
+
+    @Param({"100", "1000", "5000"})
+    public int players;
+
+    private File folder;
+    private final Set<UUID> banned = new HashSet<>();
+    private final Map<UUID, Integer> pendingRevive = new HashMap<>();
+    private final Map<UUID, Set<String>> demoted = new HashMap<>();
+    private final Set<UUID> pvpWarned = new HashSet<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("sbpclifesteal-players").toFile();
+        Random random = new Random(players);
+        for (int i = 0; i < players; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            if (random.nextInt(10) == 0) banned.add(id);
+            if (random.nextInt(20) == 0) pendingRevive.put(id, 1 + random.nextInt(6));
+            if (random.nextInt(3) == 0) {
+                Set<String> sections = new HashSet<>();
+                sections.add(SECTIONS[random.nextInt(SECTIONS.length)]);
+                demoted.put(id, sections);
+            }
+            // every player that ever fought has the warning flag, so every id gets a file
+            pvpWarned.add(id);
+        }
+        save();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(folder.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public int save() throws IOException {
+        Set<UUID> allIds = new HashSet<>();
+        allIds.addAll(banned);
+        allIds.addAll(pendingRevive.keySet());
+        allIds.addAll(demoted.keySet());
+        allIds.addAll(pvpWarned);
+
+        for (UUID id : allIds) {
+            File file = new File(folder, id.toString() + ".yml");
+            Set<String> secs = demoted.get(id);
+            SBPCLifestealPlugin.writePlayerDataFile(file, new PlayerData(
+                    banned.contains(id),
+                    pendingRevive.getOrDefault(id, 0),
+                    secs != null ? secs : Collections.emptySet(),
+                    pvpWarned.contains(id)));
+        }
+        return allIds.size();
+    }
+
+    @Benchmark
+    public int load() {
+        Set<UUID> loadedBans = new HashSet<>();
+        Map<UUID, Integer> loadedPending = new HashMap<>();
+        Map<UUID, Set<String>> loadedDemoted = new HashMap<>();
+        Set<UUID> loadedWarned = new HashSet<>();
+
+        File[] files = folder.listFiles((dir, name) -> name.toLowerCase().endsWith(".yml"));
+        if (files == null) {
+            return 0;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            UUID uuid = UUID.fromString(name.substring(0, name.lastIndexOf('.')));
+            PlayerData data = SBPCLifestealPlugin.readPlayerDataFile(file);
+            if (data.isBanned()) {
+                loadedBans.add(uuid);
+            }
+            if (data.getPendingReviveHalfHearts() > 0) {
+                loadedPending.put(uuid, data.getPendingReviveHalfHearts());
+            }
+            if (!data.getDemotedSections().isEmpty()) {
+                loadedDemoted.put(uuid, new HashSet<>(data.getDemotedSections()));
+            }
+            if (data.isPvpWarned()) {
+                loadedWarned.add(uuid);
+            }
+        }
+        return loadedBans.size() + loadedPending.size() + loadedDemoted.size() + loadedWarned.size();
+    }
+}
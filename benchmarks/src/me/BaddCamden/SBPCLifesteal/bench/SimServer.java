@@ -0,0 +1,595 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Registry;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import static me.BaddCamden.SBPCLifesteal.bench.StandIns.answer;
+
+/**
+ * A whole server made of stand-ins, for running the real plugin without one.
+ *
+ * Listeners register through the plugin manager as usual and {@link #call} dispatches the way
+ * Bukkit's handler lists do: every registration whose event class matches, ordered by priority,
+ * skipping cancelled events for {@code ignoreCancelled} handlers, and a failing handler does not
+ * stop the others. Sync tasks run from {@link #tick()}. Item metadata, persistent data, entity
+ * locations and removal are kept; everything else answers with deep stand-ins. There is one
+ * world, every chunk counts as loaded. Main-thread only.
+ */
+final class SimServer {
+
+    private record Registration(Class<?> type, EventPriority priority, Listener listener,
+                                EventExecutor executor, boolean ignoreCancelled) {
+    }
+
+    private static final class Task {
+        final Runnable body;
+        final long period;
+        long due;
+
+        Task(Runnable body, long due, long period) {
+            this.body = body;
+            this.due = due;
+            this.period = period;
+        }
+    }
+
+    private static final class EntityState {
+        final UUID id = UUID.randomUUID();
+        final Map<NamespacedKey, Object> data = new HashMap<>();
+        Location location;
+        ItemStack stack;
+        boolean removed;
+    }
+
+    private static final class MetaState {
+        String displayName;
+        List<?> lore;
+        final Map<NamespacedKey, Object> data = new HashMap<>();
+
+        MetaState copy() {
+            MetaState copy = new MetaState();
+            copy.displayName = displayName;
+            copy.lore = lore != null ? new ArrayList<>(lore) : null;
+            copy.data.putAll(data);
+            return copy;
+        }
+    }
+
+    private static final Map<Class<?>, Constructor<?>> EVENT_CONSTRUCTORS = new ConcurrentHashMap<>();
+
+    private final Logger logger = Logger.getLogger("SBPCLifesteal-sim");
+    private final UUID worldId = UUID.randomUUID();
+    private final Plugin sbpc = StandIns.deep(Plugin.class, "getName", "SBPC", "isEnabled", true);
+
+    private final List<Registration> registrations = new ArrayList<>();
+    private final Map<Class<?>, Registration[]> baked = new HashMap<>();
+    private final Map<Integer, Task> tasks = new TreeMap<>();
+    private int nextTaskId = 1;
+    private long currentTick;
+
+    private final Map<UUID, VirtualPlayer> known = new HashMap<>();
+    private final Map<UUID, Player> online = new LinkedHashMap<>();
+    private final Map<UUID, OfflinePlayer> offlineViews = new HashMap<>();
+    private final Map<UUID, Entity> entities = new LinkedHashMap<>();
+    private final List<Item> drops = new ArrayList<>();
+    private final Map<Class<?>, Registry<?>> registries = new ConcurrentHashMap<>();
+
+    private BiConsumer<String, Throwable> errorHandler = (label, ex) -> ex.printStackTrace();
+
+    private final World world;
+    private final Server server;
+
+    private SimServer() {
+        world = StandIns.deep(World.class,
+                "getName", "world",
+                "getUID", worldId,
+                "getSpawnLocation", answer(a -> spawnLocation()),
+                "isChunkLoaded", true,
+                "getPlayers", answer(a -> new ArrayList<>(online.values())),
+                "getEntity", answer(a -> entities.get(a[0])),
+                "dropItem", answer(a -> drop((Location) a[0], (ItemStack) a[1])),
+                "dropItemNaturally", answer(a -> drop((Location) a[0], (ItemStack) a[1])),
+                "spawn", answer(this::spawn));
+        PluginManager pluginManager = StandIns.deep(PluginManager.class,
+                "getPlugin", answer(a -> "SBPC".equals(a[0]) ? sbpc : null),
+                "isPluginEnabled", answer(a -> a[0] == sbpc || "SBPC".equals(a[0])),
+                "registerEvent", answer(a -> {
+                    register((Class<?>) a[0], (Listener) a[1], (EventPriority) a[2], (EventExecutor) a[3],
+                            a.length > 5 && (Boolean) a[5]);
+                    return null;
+                }),
+                "registerEvents", answer(a -> {
+                    throw new UnsupportedOperationException("register handlers one by one through registerEvent");
+                }),
+                "callEvent", answer(a -> {
+                    call((Event) a[0]);
+                    return null;
+                }));
+        BukkitScheduler scheduler = StandIns.deep(BukkitScheduler.class,
+                "scheduleSyncRepeatingTask", answer(a -> schedule(a[1], (Long) a[2], (Long) a[3])),
+                "scheduleSyncDelayedTask", answer(a -> schedule(a[1], a.length > 2 ? (Long) a[2] : 0L, 0L)),
+                "runTask", answer(a -> taskHandle(schedule(a[1], 0L, 0L))),
+                "runTaskAsynchronously", answer(a -> taskHandle(schedule(a[1], 0L, 0L))),
+                "runTaskLater", answer(a -> taskHandle(schedule(a[1], (Long) a[2], 0L))),
+                "runTaskTimer", answer(a -> taskHandle(schedule(a[1], (Long) a[2], (Long) a[3]))),
+                "cancelTask", answer(a -> tasks.remove((Integer) a[0])),
+                "cancelTasks", answer(a -> {
+                    tasks.clear();
+                    return null;
+                }),
+                "isQueued", answer(a -> tasks.containsKey((Integer) a[0])));
+        ItemFactory itemFactory = StandIns.deep(ItemFactory.class,
+                "getItemMeta", answer(a -> meta(new MetaState())),
+                "isApplicable", true,
+                "asMetaFor", answer(a -> a[0]),
+                "updateMaterial", answer(a -> a[1]),
+                "equals", answer(a -> a.length == 2 && a[0] == a[1]));
+        server = StandIns.deep(Server.class,
+                "getLogger", logger,
+                "getName", "SimServer",
+                "getVersion", "sim",
+                "getBukkitVersion", "1.21.10-R0.1-SNAPSHOT",
+                "isPrimaryThread", true,
+                "getMaxPlayers", 100_000,
+                "getPluginManager", pluginManager,
+                "getScheduler", scheduler,
+                "getItemFactory", itemFactory,
+                "getOnlinePlayers", Collections.unmodifiableCollection(online.values()),
+                "getPlayer", answer(a -> player(a[0])),
+                "getPlayerExact", answer(a -> player(a[0])),
+                "getOfflinePlayer", answer(a -> a[0] instanceof UUID id ? offlinePlayer(id) : null),
+                "getWorld", answer(a -> worldId.equals(a[0]) || "world".equals(a[0]) ? world : null),
+                "getWorlds", List.of(world),
+                "getEntity", answer(a -> entities.get(a[0])),
+                "getRegistry", answer(a -> registry((Class<?>) a[0])));
+    }
+
+    /**
+     * Create the server and make it {@link Bukkit}'s. Bukkit takes one server per JVM, so this is
+     * called once and the instance is {@link #reset()} between runs.
+     */
+    static SimServer install() {
+        SimServer sim = new SimServer();
+        Bukkit.setServer(sim.server);
+        return sim;
+    }
+
+    Server handle() {
+        return server;
+    }
+
+    World world() {
+        return world;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Where handler failures go: the simple name of the event (or {@code task}) and the cause.
+     */
+    void setErrorHandler(BiConsumer<String, Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Forget every listener, task, player and entity, for the next plugin instance.
+     */
+    void reset() {
+        registrations.clear();
+        baked.clear();
+        tasks.clear();
+        known.clear();
+        online.clear();
+        offlineViews.clear();
+        entities.clear();
+        drops.clear();
+    }
+
+    // ------------------------------------------------------------------------
+    // Events and tasks
+    // ------------------------------------------------------------------------
+
+    private void register(Class<?> type, Listener listener, EventPriority priority, EventExecutor executor,
+                          boolean ignoreCancelled) {
+        registrations.add(new Registration(type, priority, listener, executor, ignoreCancelled));
+        baked.clear();
+    }
+
+    /**
+     * Dispatch {@code event} to every matching handler.
+     */
+    void call(Event event) {
+        Registration[] handlers = baked.computeIfAbsent(event.getClass(), this::bake);
+        for (Registration r : handlers) {
+            if (r.ignoreCancelled() && event instanceof Cancellable c && c.isCancelled()) {
+                continue;
+            }
+            try {
+                r.executor().execute(r.listener(), event);
+            } catch (EventException ex) {
+                errorHandler.accept(event.getClass().getSimpleName(), ex.getCause() != null ? ex.getCause() : ex);
+            } catch (RuntimeException | LinkageError ex) {
+                errorHandler.accept(event.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    private Registration[] bake(Class<?> eventClass) {
+        List<Registration> matching = new ArrayList<>();
+        for (Registration r : registrations) {
+            if (r.type().isAssignableFrom(eventClass)) {
+                matching.add(r);
+            }
+        }
+        // stable: registration order within a priority, like a handler list
+        matching.sort(Comparator.comparingInt(r -> r.priority().ordinal()));
+        return matching.toArray(new Registration[0]);
+    }
+
+    private int schedule(Object body, long delay, long period) {
+        if (!(body instanceof Runnable runnable)) {
+            throw new UnsupportedOperationException("only Runnable tasks are simulated");
+        }
+        int id = nextTaskId++;
+        tasks.put(id, new Task(runnable, currentTick + Math.max(1L, delay), period));
+        return id;
+    }
+
+    private BukkitTask taskHandle(int id) {
+        return StandIns.of(BukkitTask.class,
+                "getTaskId", id,
+                "isSync", true,
+                "isCancelled", answer(a -> !tasks.containsKey(id)),
+                "cancel", answer(a -> tasks.remove(id)));
+    }
+
+    /**
+     * Advance one tick and run the tasks due in it, in scheduling order.
+     */
+    void tick() {
+        currentTick++;
+        for (Map.Entry<Integer, Task> e : new ArrayList<>(tasks.entrySet())) {
+            Task task = e.getValue();
+            if (task.due > currentTick || tasks.get(e.getKey()) != task) {
+                continue;
+            }
+            if (task.period > 0) {
+                task.due += task.period;
+            } else {
+                tasks.remove(e.getKey());
+            }
+            try {
+                task.body.run();
+            } catch (RuntimeException | LinkageError ex) {
+                errorHandler.accept("task", ex);
+            }
+        }
+    }
+
+    /**
+     * Build an event through whichever public constructor takes all of {@code known} (the one
+     * with the fewest parameters), filling the rest with false, zero, the first enum constant,
+     * empty collections or stand-ins. Keeps the simulator working across API revisions that add
+     * constructor parameters. Each known value is used once, in order.
+     */
+    static <E extends Event> E newEvent(Class<E> type, Object... known) {
+        Constructor<?> constructor = EVENT_CONSTRUCTORS.computeIfAbsent(type, t -> pickConstructor(t, known));
+        Class<?>[] params = constructor.getParameterTypes();
+        Object[] args = new Object[params.length];
+        boolean[] used = new boolean[known.length];
+        for (int i = 0; i < params.length; i++) {
+            int match = firstMatch(params[i], known, used);
+            if (match >= 0) {
+                used[match] = true;
+                args[i] = known[match];
+            } else {
+                args[i] = filler(params[i]);
+            }
+        }
+        try {
+            return type.cast(constructor.newInstance(args));
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException("Could not create " + type.getSimpleName(), ex.getCause());
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Could not create " + type.getSimpleName(), ex);
+        }
+    }
+
+    private static Constructor<?> pickConstructor(Class<?> type, Object[] known) {
+        Constructor<?> best = null;
+        for (Constructor<?> c : type.getConstructors()) {
+            boolean[] used = new boolean[known.length];
+            int matched = 0;
+            for (Class<?> param : c.getParameterTypes()) {
+                int match = firstMatch(param, known, used);
+                if (match >= 0) {
+                    used[match] = true;
+                    matched++;
+                }
+            }
+            if (matched == known.length && (best == null || c.getParameterCount() < best.getParameterCount())) {
+                best = c;
+            }
+        }
+        if (best == null) {
+            throw new IllegalArgumentException("No constructor of " + type.getSimpleName()
+                    + " takes the simulated arguments");
+        }
+        return best;
+    }
+
+    private static int firstMatch(Class<?> param, Object[] known, boolean[] used) {
+        Class<?> boxed = box(param);
+        for (int i = 0; i < known.length; i++) {
+            if (!used[i] && known[i] != null && boxed.isInstance(known[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == boolean.class) return Boolean.class;
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        return Character.class;
+    }
+
+    private static Object filler(Class<?> type) {
+        if (type.isPrimitive()) return StandIns.zero(type);
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        if (type == String.class) return "";
+        if (List.class.isAssignableFrom(type) || type == Collection.class) return new ArrayList<>();
+        if (Set.class.isAssignableFrom(type)) return new HashSet<>();
+        if (Map.class.isAssignableFrom(type)) return new HashMap<>();
+        if (type.isInterface()) return StandIns.deep(type);
+        return null;
+    }
+
+    // ------------------------------------------------------------------------
+    // Players
+    // ------------------------------------------------------------------------
+
+    /**
+     * Remember a player so offline lookups know their name.
+     */
+    void remember(VirtualPlayer player) {
+        known.put(player.getUniqueId(), player);
+    }
+
+    void join(VirtualPlayer player) {
+        remember(player);
+        online.put(player.getUniqueId(), player.handle());
+    }
+
+    void leave(VirtualPlayer player) {
+        online.remove(player.getUniqueId());
+    }
+
+    private Player player(Object key) {
+        if (key instanceof UUID id) {
+            return online.get(id);
+        }
+        for (Player p : online.values()) {
+            if (p.getName().equalsIgnoreCase(String.valueOf(key))) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    private OfflinePlayer offlinePlayer(UUID id) {
+        Player onlinePlayer = online.get(id);
+        if (onlinePlayer != null) {
+            return onlinePlayer;
+        }
+        return offlineViews.computeIfAbsent(id, key -> StandIns.deep(OfflinePlayer.class,
+                "getUniqueId", key,
+                "getName", answer(a -> known.containsKey(key) ? known.get(key).getName() : null),
+                "isOnline", answer(a -> online.containsKey(key)),
+                "getPlayer", answer(a -> online.get(key)),
+                "hasPlayedBefore", answer(a -> known.containsKey(key))));
+    }
+
+    Location spawnLocation() {
+        return new Location(world, 0.5, 64.0, 0.5);
+    }
+
+    // ------------------------------------------------------------------------
+    // Entities and items
+    // ------------------------------------------------------------------------
+
+    private Item drop(Location at, ItemStack stack) {
+        Item item = entity(Item.class, at, stack);
+        drops.add(item);
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object spawn(Object[] args) {
+        Entity entity = entity((Class<? extends Entity>) args[1], (Location) args[0], null);
+        if (args[args.length - 1] instanceof Consumer<?> consumer) {
+            ((Consumer<Object>) consumer).accept(entity);
+        }
+        return entity;
+    }
+
+    /**
+     * A new entity of {@code type} at {@code at}; {@code stack} backs items.
+     */
+    <T extends Entity> T entity(Class<T> type, Location at, ItemStack stack) {
+        EntityState state = new EntityState();
+        state.location = at.clone();
+        state.stack = stack;
+        T entity = StandIns.deep(type,
+                "getUniqueId", state.id,
+                "getEntityId", entities.size(),
+                "getWorld", world,
+                "getLocation", answer(a -> state.location.clone()),
+                "teleport", answer(a -> {
+                    if (a[0] instanceof Location to) {
+                        state.location = to.clone();
+                    }
+                    return true;
+                }),
+                "isValid", answer(a -> !state.removed),
+                "isDead", answer(a -> state.removed),
+                "remove", answer(a -> {
+                    state.removed = true;
+                    entities.remove(state.id);
+                    return null;
+                }),
+                "getItemStack", answer(a -> state.stack),
+                "setItemStack", answer(a -> {
+                    state.stack = (ItemStack) a[0];
+                    return null;
+                }),
+                "getPersistentDataContainer", dataContainer(state.data));
+        entities.put(state.id, entity);
+        return entity;
+    }
+
+    /**
+     * Items dropped since the last call.
+     */
+    List<Item> drainDrops() {
+        List<Item> drained = new ArrayList<>(drops);
+        drops.clear();
+        return drained;
+    }
+
+    /**
+     * Live entities of {@code type}.
+     */
+    <T extends Entity> List<T> entities(Class<T> type) {
+        List<T> out = new ArrayList<>();
+        for (Entity e : entities.values()) {
+            if (type.isInstance(e)) {
+                out.add(type.cast(e));
+            }
+        }
+        return out;
+    }
+
+    private ItemMeta meta(MetaState state) {
+        // skull meta is an item meta too, and lets display proxies dress their heads
+        return StandIns.deep(SkullMeta.class,
+                "getDisplayName", answer(a -> state.displayName),
+                "setDisplayName", answer(a -> {
+                    state.displayName = (String) a[0];
+                    return null;
+                }),
+                "hasDisplayName", answer(a -> state.displayName != null),
+                "getLore", answer(a -> state.lore != null ? new ArrayList<>(state.lore) : null),
+                "setLore", answer(a -> {
+                    state.lore = a[0] != null ? new ArrayList<>((List<?>) a[0]) : null;
+                    return null;
+                }),
+                "hasLore", answer(a -> state.lore != null && !state.lore.isEmpty()),
+                "getPersistentDataContainer", dataContainer(state.data),
+                "clone", answer(a -> meta(state.copy())),
+                "serialize", answer(a -> {
+                    Map<String, Object> out = new LinkedHashMap<>();
+                    out.put("meta-type", "UNSPECIFIC");
+                    if (state.displayName != null) out.put("display-name", state.displayName);
+                    return out;
+                }));
+    }
+
+    /**
+     * A persistent data container over {@code data}; types are not checked.
+     */
+    static PersistentDataContainer dataContainer(Map<NamespacedKey, Object> data) {
+        return StandIns.deep(PersistentDataContainer.class,
+                "set", answer(a -> {
+                    data.put((NamespacedKey) a[0], a[2]);
+                    return null;
+                }),
+                "has", answer(a -> data.containsKey(a[0])),
+                "get", answer(a -> data.get(a[0])),
+                "getOrDefault", answer(a -> data.getOrDefault(a[0], a[2])),
+                "remove", answer(a -> {
+                    data.remove(a[0]);
+                    return null;
+                }),
+                "getKeys", answer(a -> new HashSet<>(data.keySet())),
+                "isEmpty", answer(a -> data.isEmpty()));
+    }
+
+    /**
+     * Registry of {@code type}: any key resolves to a stand-in of that type, the same one per key,
+     * so constants like {@code Attribute.MAX_HEALTH} and {@code PotionEffectType.GLOWING} exist
+     * and compare by identity. Abstract classes get a generated subclass, interfaces a proxy.
+     */
+    private Registry<?> registry(Class<?> type) {
+        return registries.computeIfAbsent(type, t -> {
+            Map<NamespacedKey, Object> values = new ConcurrentHashMap<>();
+            boolean abstractClass = !t.isInterface() && Modifier.isAbstract(t.getModifiers());
+            Function<Object[], Object> lookup = a -> a[0] instanceof NamespacedKey key
+                    && (t.isInterface() || abstractClass)
+                    ? values.computeIfAbsent(key, k -> {
+                        Object[] answers = {"getKey", k, "getName", k.getKey(), "name", k.getKey(),
+                                "toString", k.toString()};
+                        return abstractClass ? StandIns.subclass(t, answers) : StandIns.deep(t, answers);
+                    })
+                    : null;
+            return StandIns.deep(Registry.class,
+                    "get", lookup,
+                    "getOrThrow", lookup,
+                    "match", answer(a -> null),
+                    "iterator", answer(a -> values.values().iterator()),
+                    "stream", answer(a -> values.values().stream()));
+        });
+    }
+}
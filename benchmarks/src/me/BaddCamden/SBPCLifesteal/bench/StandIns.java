@@ -0,0 +1,210 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Lightweight stand-ins for Bukkit interfaces, so the plugin's code can run in a plain JVM.
+ *
+ * A stand-in is a dynamic proxy (or, for abstract classes, a generated subclass) answering only
+ * the methods a benchmark names; everything else returns zero, false or null. Proxy dispatch is slower than a real server object, so results
+ * compare plugin code paths with each other, not with absolute in-game cost.
+ */
+final class StandIns {
+
+    private static final String HANDLER_FIELD = "standInHandler";
+    private static final Map<UUID, Player> ONLINE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Constructor<?>> SUBCLASSES = new ConcurrentHashMap<>();
+
+    private StandIns() {
+    }
+
+    /**
+     * A {@code type} answering {@code answers}: alternating method names and either a constant
+     * or a {@code Function<Object[], Object>} over the call arguments.
+     */
+    static <T> T of(Class<T> type, Object... answers) {
+        return create(type, false, answers);
+    }
+
+    /**
+     * Like {@link #of}, but unanswered methods returning a Bukkit interface return another deep
+     * stand-in (the same one on every no-argument call), collections come back empty and arrays
+     * have length zero. For objects the plugin walks through without the caller caring.
+     */
+    static <T> T deep(Class<T> type, Object... answers) {
+        return create(type, true, answers);
+    }
+
+    /**
+     * Like {@link #deep}, for an abstract class such as {@code PotionEffectType} rather than an
+     * interface. The subclass is generated at run time and built through its shortest constructor
+     * with zero, false or null arguments, so it fits whichever abstract methods and constructors
+     * the API version has.
+     */
+    static <T> T subclass(Class<T> type, Object... answers) {
+        Constructor<?> constructor = SUBCLASSES.computeIfAbsent(type, StandIns::generateSubclass);
+        Object[] args = new Object[constructor.getParameterCount()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = zero(constructor.getParameterTypes()[i]);
+        }
+        try {
+            Object instance = constructor.newInstance(args);
+            instance.getClass().getField(HANDLER_FIELD).set(instance, handler(type, true, answers));
+            return type.cast(instance);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot instantiate a stand-in for " + type.getName(), ex);
+        }
+    }
+
+    private static Constructor<?> generateSubclass(Class<?> type) {
+        Class<?> generated = new ByteBuddy()
+                .subclass(type)
+                .defineField(HANDLER_FIELD, InvocationHandler.class, Visibility.PUBLIC)
+                .method(ElementMatchers.isAbstract()
+                        .or(ElementMatchers.isEquals())
+                        .or(ElementMatchers.isHashCode())
+                        .or(ElementMatchers.isToString()))
+                .intercept(InvocationHandlerAdapter.toField(HANDLER_FIELD))
+                .make()
+                .load(type.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Constructor<?> shortest = Stream.of(generated.getDeclaredConstructors())
+                .min(Comparator.comparingInt(Constructor::getParameterCount))
+                .orElseThrow(() -> new IllegalStateException(type.getName() + " has no constructor to call"));
+        shortest.setAccessible(true);
+        return shortest;
+    }
+
+    /**
+     * Shorthand for an answer computed from the call arguments.
+     */
+    static Function<Object[], Object> answer(Function<Object[], Object> function) {
+        return function;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T create(Class<T> type, boolean deep, Object... answers) {
+        return (T) Proxy.newProxyInstance(StandIns.class.getClassLoader(), new Class<?>[]{type},
+                handler(type, deep, answers));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static InvocationHandler handler(Class<?> type, boolean deep, Object... answers) {
+        Map<String, Object> byName = new HashMap<>();
+        for (int i = 0; i + 1 < answers.length; i += 2) {
+            byName.put((String) answers[i], answers[i + 1]);
+        }
+        Map<Method, Object> memo = deep ? new ConcurrentHashMap<>() : null;
+        return (proxy, method, args) -> {
+            Object answer = byName.get(method.getName());
+            if (answer instanceof Function<?, ?> function) {
+                return ((Function<Object[], Object>) function).apply(args != null ? args : new Object[0]);
+            }
+            if (answer != null) {
+                return answer;
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + " stand-in";
+                default:
+                    if (!deep) {
+                        return zero(method.getReturnType());
+                    }
+                    if (args == null || args.length == 0) {
+                        return memo.computeIfAbsent(method, m -> deepValue(m.getReturnType()));
+                    }
+                    return deepValue(method.getReturnType());
+            }
+        };
+    }
+
+    private static Object deepValue(Class<?> type) {
+        if (type.isArray()) return Array.newInstance(type.getComponentType(), 0);
+        if (type == List.class || type == Collection.class) return new ArrayList<>();
+        if (type == Set.class) return new HashSet<>();
+        if (type == Map.class) return new HashMap<>();
+        if (type == Iterator.class) return Collections.emptyIterator();
+        if (type.isInterface() && !type.getName().startsWith("java.")) return deep(type);
+        return zero(type);
+    }
+
+    /**
+     * Zero, false or null for {@code type}.
+     */
+    static Object zero(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0.0;
+        if (type == int.class) return 0;
+        if (type == short.class) return (short) 0;
+        return (byte) 0;
+    }
+
+    /**
+     * An online player stand-in, reachable through {@link Bukkit#getPlayer(UUID)}.
+     */
+    static Player onlinePlayer(String name) {
+        installServer();
+        UUID id = UUID.nameUUIDFromBytes(name.getBytes());
+        Player player = of(Player.class,
+                "getUniqueId", id,
+                "getName", name,
+                "isOnline", true,
+                "getHealth", 20.0);
+        ONLINE.put(id, player);
+        return player;
+    }
+
+    /**
+     * Install a server stand-in once per JVM, answering player lookups from the online map.
+     */
+    static synchronized void installServer() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+        Server server = of(Server.class,
+                "getLogger", Logger.getLogger("SBPCLifesteal-bench"),
+                "getName", "StandIn",
+                "getVersion", "bench",
+                "getBukkitVersion", "bench",
+                "isPrimaryThread", true,
+                "getPlayer", (Function<Object[], Object>) args ->
+                        args[0] instanceof UUID id ? ONLINE.get(id) : null);
+        Bukkit.setServer(server);
+    }
+}
@@ -0,0 +1,301 @@
+package me.BaddCamden.SBPCLifesteal.bench;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static me.BaddCamden.SBPCLifesteal.bench.StandIns.answer;
+
+/**
+ * A simulated player: a {@link Player} stand-in over plain fields (health, attributes,
+ * inventory, location, bans and kicks), plus what the simulator tracks about them.
+ */
+final class VirtualPlayer {
+
+    private static final int STORAGE_SLOTS = 36;
+    private static final int ARMOR_SLOTS = 4;
+    // base attack damage plus the diamond sword everyone carries
+    private static final double ATTACK_DAMAGE = 7.0;
+
+    private final SimServer server;
+    private final UUID id;
+    private final String name;
+    private final Player handle;
+    private final Map<Attribute, AttributeInstance> attributes = new HashMap<>();
+    private final Map<NamespacedKey, Object> data = new HashMap<>();
+    private ItemStack[] contents = new ItemStack[STORAGE_SLOTS];
+    private ItemStack[] armor = new ItemStack[ARMOR_SLOTS];
+
+    private Location location;
+    private double health = 20.0;
+    private EntityDamageEvent lastDamage;
+    private Player killer;
+    private boolean online;
+    private boolean kicked;
+    private boolean banned;
+    private int level;
+    private float exp;
+    private int totalExperience;
+    private long messages;
+
+    // simulator bookkeeping
+    int arena;
+    boolean fighter;
+    long inCombatUntilTick;
+    long rejoinAtTick;
+    boolean loginDenied;
+
+    VirtualPlayer(SimServer server, String name) {
+        this.server = server;
+        this.name = name;
+        this.id = UUID.nameUUIDFromBytes(("sim:" + name).getBytes());
+        PlayerInventory inventory = StandIns.deep(PlayerInventory.class,
+                "getContents", answer(a -> contents.clone()),
+                "getStorageContents", answer(a -> contents.clone()),
+                "setContents", answer(a -> {
+                    contents = copyOf((ItemStack[]) a[0], STORAGE_SLOTS);
+                    return null;
+                }),
+                "getArmorContents", answer(a -> armor.clone()),
+                "setArmorContents", answer(a -> {
+                    armor = copyOf((ItemStack[]) a[0], ARMOR_SLOTS);
+                    return null;
+                }),
+                "getItemInMainHand", answer(a -> contents[0] != null ? contents[0] : new ItemStack(Material.AIR)),
+                "clear", answer(a -> {
+                    if (a.length == 0) {
+                        Arrays.fill(contents, null);
+                    }
+                    return null;
+                }),
+                "getSize", STORAGE_SLOTS + ARMOR_SLOTS + 1);
+        this.handle = StandIns.deep(Player.class,
+                "getUniqueId", id,
+                "getName", name,
+                "getDisplayName", name,
+                "getPlayerListName", name,
+                "getType", EntityType.PLAYER,
+                "getLocale", "en_us",
+                "hasPlayedBefore", true,
+                "isOnline", answer(a -> online),
+                "isValid", answer(a -> online && health > 0.0),
+                "isDead", answer(a -> health <= 0.0),
+                "getHealth", answer(a -> health),
+                "setHealth", answer(a -> {
+                    health = (Double) a[0];
+                    return null;
+                }),
+                "getAttribute", answer(a -> attribute((Attribute) a[0])),
+                "getWorld", server.world(),
+                "getLocation", answer(a -> location.clone()),
+                "teleport", answer(a -> {
+                    if (a[0] instanceof Location to) {
+                        location = to.clone();
+                    }
+                    return true;
+                }),
+                "getLastDamageCause", answer(a -> lastDamage),
+                "setLastDamageCause", answer(a -> {
+                    lastDamage = (EntityDamageEvent) a[0];
+                    return null;
+                }),
+                "getKiller", answer(a -> killer),
+                "sendMessage", answer(a -> {
+                    messages++;
+                    return null;
+                }),
+                "isBanned", answer(a -> banned),
+                "ban", answer(a -> {
+                    banned = true;
+                    return null;
+                }),
+                "kickPlayer", answer(a -> {
+                    kicked = true;
+                    return null;
+                }),
+                "getLevel", answer(a -> level),
+                "setLevel", answer(a -> {
+                    level = (Integer) a[0];
+                    return null;
+                }),
+                "getExp", answer(a -> exp),
+                "setExp", answer(a -> {
+                    exp = (Float) a[0];
+                    return null;
+                }),
+                "getTotalExperience", answer(a -> totalExperience),
+                "setTotalExperience", answer(a -> {
+                    totalExperience = (Integer) a[0];
+                    return null;
+                }),
+                "getInventory", inventory,
+                "getPersistentDataContainer", SimServer.dataContainer(data));
+    }
+
+    private static ItemStack[] copyOf(ItemStack[] source, int slots) {
+        return Arrays.copyOf(source != null ? source : new ItemStack[0], slots);
+    }
+
+    private AttributeInstance attribute(Attribute attribute) {
+        return attributes.computeIfAbsent(attribute, a -> {
+            double[] base = {defaultValue(a)};
+            return StandIns.deep(AttributeInstance.class,
+                    "getAttribute", a,
+                    "getBaseValue", answer(x -> base[0]),
+                    "setBaseValue", answer(x -> {
+                        base[0] = (Double) x[0];
+                        return null;
+                    }),
+                    "getValue", answer(x -> base[0]),
+                    "getDefaultValue", base[0]);
+        });
+    }
+
+    private static double defaultValue(Attribute attribute) {
+        NamespacedKey key = attribute != null ? attribute.getKey() : null;
+        if (key == null) return 0.0;
+        if (key.getKey().endsWith("max_health")) return 20.0;
+        if (key.getKey().endsWith("attack_damage")) return ATTACK_DAMAGE;
+        return 0.0;
+    }
+
+    Player handle() {
+        return handle;
+    }
+
+    UUID getUniqueId() {
+        return id;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean isOnline() {
+        return online;
+    }
+
+    void setOnline(boolean online) {
+        this.online = online;
+    }
+
+    /**
+     * Whether the plugin kicked this player since the last check; clears the flag.
+     */
+    boolean takeKick() {
+        boolean was = kicked;
+        kicked = false;
+        return was;
+    }
+
+    boolean isKicked() {
+        return kicked;
+    }
+
+    double getHealth() {
+        return health;
+    }
+
+    double getMaxHealth() {
+        return attribute(Attribute.MAX_HEALTH).getBaseValue();
+    }
+
+    Location getLocation() {
+        return location;
+    }
+
+    void setLocation(Location location) {
+        this.location = location;
+    }
+
+    EntityDamageEvent getLastDamage() {
+        return lastDamage;
+    }
+
+    long getMessages() {
+        return messages;
+    }
+
+    int getTotalExperience() {
+        return totalExperience;
+    }
+
+    /**
+     * What the server does after a damage event went through: remember it, take the health
+     * and, on a killing blow by a player, remember the killer. Returns true if this killed.
+     */
+    boolean damage(EntityDamageEvent event, VirtualPlayer attacker) {
+        lastDamage = event;
+        health -= event.getFinalDamage();
+        if (health > 0.0) {
+            return false;
+        }
+        killer = attacker != null ? attacker.handle : null;
+        return true;
+    }
+
+    void heal(double amount) {
+        health = Math.min(getMaxHealth(), health + amount);
+    }
+
+    /**
+     * Items that drop on death: everything in the inventory.
+     */
+    List<ItemStack> deathDrops() {
+        List<ItemStack> out = new ArrayList<>();
+        for (ItemStack stack : contents) {
+            if (stack != null) out.add(stack);
+        }
+        for (ItemStack stack : armor) {
+            if (stack != null) out.add(stack);
+        }
+        return out;
+    }
+
+    /**
+     * Back to full health at {@code at} with a fresh kit.
+     */
+    void respawn(Location at) {
+        health = getMaxHealth();
+        location = at;
+        lastDamage = null;
+        killer = null;
+        equip();
+    }
+
+    /**
+     * The kit every simulated player carries: a few stacks in storage and iron armor.
+     */
+    void equip() {
+        contents = new ItemStack[STORAGE_SLOTS];
+        contents[0] = new ItemStack(Material.DIAMOND_SWORD);
+        contents[1] = new ItemStack(Material.BOW);
+        contents[2] = new ItemStack(Material.ARROW, 64);
+        contents[3] = new ItemStack(Material.COOKED_BEEF, 32);
+        contents[4] = new ItemStack(Material.GOLDEN_APPLE, 4);
+        contents[5] = new ItemStack(Material.OAK_PLANKS, 64);
+        contents[6] = new ItemStack(Material.TORCH, 32);
+        armor = new ItemStack[]{
+                new ItemStack(Material.IRON_BOOTS),
+                new ItemStack(Material.IRON_LEGGINGS),
+                new ItemStack(Material.IRON_CHESTPLATE),
+                new ItemStack(Material.IRON_HELMET)};
+        level = 12;
+        exp = 0.5f;
+        totalExperience = 250;
+    }
+}
@@ -11,27 +11,28 @@ import org.bukkit.OfflinePlayer;
 import org.bukkit.World;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
-import org.bukkit.entity.Zombie;
 import org.bukkit.entity.minecart.ExplosiveMinecart;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
-import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityRegainHealthEvent;
 import org.bukkit.event.entity.ItemDespawnEvent;
 import org.bukkit.event.inventory.PrepareItemCraftEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerItemConsumeEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.inventory.EquipmentSlot;
@@ -40,16 +41,56 @@ import org.bukkit.inventory.Recipe;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
-
-import me.BaddCamden.SBPC.api.SbpcAPI;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import me.BaddCamden.SBPCLifesteal.message.HeartFormat;
+import me.BaddCamden.SBPCLifesteal.message.MessageCatalogs;
+import me.BaddCamden.SBPCLifesteal.jfr.BanDecisionEvent;
+import me.BaddCamden.SBPCLifesteal.jfr.DeathProcessedEvent;
+import me.BaddCamden.SBPCLifesteal.jfr.PersistenceFlushEvent;
+import me.BaddCamden.SBPCLifesteal.jfr.SectionTradeEvent;
+import me.BaddCamden.SBPCLifesteal.metrics.Counter;
+import me.BaddCamden.SBPCLifesteal.metrics.HandlerProfiler;
+import me.BaddCamden.SBPCLifesteal.metrics.LatencyHistogram;
+import me.BaddCamden.SBPCLifesteal.metrics.MetricsHttpEndpoint;
+import me.BaddCamden.SBPCLifesteal.metrics.MetricsMBean;
+import me.BaddCamden.SBPCLifesteal.metrics.MetricsRegistry;
+import me.BaddCamden.SBPCLifesteal.sbpc.LiveSbpcGateway;
+import me.BaddCamden.SBPCLifesteal.sbpc.MeteredSbpcGateway;
+import me.BaddCamden.SBPCLifesteal.sbpc.SbpcGateway;
+import me.BaddCamden.SBPCLifesteal.sbpc.SbpcQueryCache;
+import me.BaddCamden.SBPCLifesteal.combat.AreaHazardTracker;
+import me.BaddCamden.SBPCLifesteal.combat.AttackerResolver;
+import me.BaddCamden.SBPCLifesteal.combat.CombatEventDispatcher;
 import me.BaddCamden.SBPCLifesteal.combat.CombatLogManager;
+import me.BaddCamden.SBPCLifesteal.combat.CombatLootBags;
+import me.BaddCamden.SBPCLifesteal.combat.CombatTracker;
+import me.BaddCamden.SBPCLifesteal.combat.DamageLedger;
+import me.BaddCamden.SBPCLifesteal.combat.KillCreditRules;
+import me.BaddCamden.SBPCLifesteal.combat.PlayerSpatialIndex;
+import me.BaddCamden.SBPCLifesteal.combat.ExplosiveOwnershipTracker;
+import me.BaddCamden.SBPCLifesteal.health.HealthCurve;
+import me.BaddCamden.SBPCLifesteal.health.HealthFactorCache;
+import me.BaddCamden.SBPCLifesteal.health.HealthSkipScheduler;
+import me.BaddCamden.SBPCLifesteal.platform.PlatformScheduler;
+import me.BaddCamden.SBPCLifesteal.util.BanLedger;
+import me.BaddCamden.SBPCLifesteal.util.StripedLocks;
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+import me.BaddCamden.SBPCLifesteal.util.WorkScheduler;
 
 import java.io.File;
 import java.io.IOException;
+import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
 import java.util.stream.Collectors;
 
+import javax.management.JMException;
+
 /**
  * ALL Lifesteal logic lives here:
  *
@@ -85,10 +126,11 @@ import java.util.stream.Collectors;
  *   (NOT the section), and progress speed stays unchanged in SBPC.
  *
  * - Health-based tick multiplier:
- *   This plugin runs its own 1-second scheduler. For each player, it computes
- *   a health-based factor f and then calls:
- *       SbpcAPI.applyExternalTimeSkip(playerUUID, extraSeconds, 0, "...")
- *   where extraSeconds approximates (f - 1) seconds each second.
+ *   Each player's health-based factor f is cached and only recomputed when their
+ *   health or max health changes. A per-tick scheduler visits each player with
+ *   f > 1 once per second (spread across all 20 ticks), accumulates (f - 1)
+ *   extra seconds, and once enough whole seconds have built up calls:
+ *       SbpcGateway.applyExternalTimeSkip(playerUUID, extraSeconds, 0, "...")
  *   That means SBPC stays untouched; all extra speed comes from external skips.
  */
 public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
@@ -96,82 +138,166 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
     private NamespacedKey brokenHeartKey;
 
     private static final String PVP_UNLOCK_ENTRY_ID = "pvp_unlock";
+    private static final long PVP_LOCK_MESSAGE_COOLDOWN_MS = 3_000L;
 
-    private final Map<String, String> messages = new HashMap<>();
-    private String brokenHeartName;
-    private List<String> brokenHeartLore = new ArrayList<>();
+    // raw (colorized) default texts, compiled per locale into messageCatalogs
+    private final Map<String, String> messages = new LinkedHashMap<>();
+    private MessageCatalogs messageCatalogs;
+    // settings read from region threads are volatile so a reload is seen everywhere
+    private volatile String brokenHeartName;
+    private volatile List<String> brokenHeartLore = new ArrayList<>();
+
+    // Lifesteal bookkeeping below is safe to read and update from any thread (async login,
+    // I/O completions, other plugins): concurrent collections, an atomic stock counter and
+    // per-player lock stripes for read-modify-write of heart totals and player files.
 
     // players that have taken/inflicted PVP damage (for one-time warnings)
-    private final Set<UUID> pvpWarned = new HashSet<>();
+    private final Set<UUID> pvpWarned = ConcurrentHashMap.newKeySet();
+    // last PvP-lock chat message per player, so blocked hits do not spam chat
+    private final Map<UUID, Long> pvpLockMessageSent = new ConcurrentHashMap<>();
   
     // per-victim section demotion flags: UUID -> set of sectionIds already demoted from
-    private final Map<UUID, Set<String>> victimSectionDemoted = new HashMap<>();
-    // Marks zombies that represent offline players
-    private NamespacedKey combatLoggerOwnerKey;
-
-    // Runtime record: players whose combat-log zombie died while they were offline
-    private final Map<UUID, PendingCombatLogDeath> pendingCombatLogDeaths = new HashMap<>();
-
-    private static final class PendingCombatLogDeath {
-        final boolean pvp;
-
-        /**
-         * Record whether the offline kill was caused by a player (PVP) or the environment.
-         */
-        PendingCombatLogDeath(boolean pvp) {
-            this.pvp = pvp;
-        }
-    }
-
-    // lifesteal "bans"
-    private final List<UUID> banQueue = new ArrayList<>(); // chronological
-    private final Set<UUID> bannedPlayers = new HashSet<>();
+    private final Map<UUID, Set<String>> victimSectionDemoted = new ConcurrentHashMap<>();
 
-    // destroyed Broken Hearts that have not yet been used to revive
-    private int destroyedHalfHeartsStock = 0;
+    // lifesteal "bans", in order, and the destroyed Broken Hearts not yet used to revive them
+    private final BanLedger bans = new BanLedger();
+    // one stripe per group of players: guards heart read-modify-write and players/<uuid>.yml
+    private final StripedLocks playerLocks = new StripedLocks(64);
     // Minimum allowed max health (in health points, not hearts)
     // e.g. config "min-max-health: 2.0" means 1 heart.
-    private double minMaxHealth;
+    private volatile double minMaxHealth;
     //Hearts lost on PVP / environmental death (in hearts, not half-hearts)
-    private double pvpLossHearts;
-    private double envLossHearts;
+    private volatile double pvpLossHearts;
+    private volatile double envLossHearts;
     private final long hundredYearsMs = 100L * 365L * 24L * 60L * 60L * 1000L;
     // pending revive hearts for offline players (UUID -> half-hearts)
-    private final Map<UUID, Integer> pendingReviveHearts = new HashMap<>();
+    private final Map<UUID, Integer> pendingReviveHearts = new ConcurrentHashMap<>();
 
     private File playersFolder;
 
     // destroyed Broken Heart item entities we've already counted, by entity UUID
-    private final Set<UUID> countedBrokenHeartItems = new HashSet<>();
-
-    // health-based external skip accumulator per player
-    private final Map<UUID, Double> healthSkipAccumulator = new HashMap<>();
+    private final Set<UUID> countedBrokenHeartItems = ConcurrentHashMap.newKeySet();
+
+    // cached health multipliers, recomputed only when health/max health changes
+    private HealthFactorCache healthFactorCache;
+    // tick-sliced accumulator/flush driver for health-based external skips
+    private HealthSkipScheduler healthSkipScheduler;
+    // minimum whole seconds accumulated before a skip is pushed to SBPC
+    private int healthSkipFlushChunkSeconds;
+    // skip seconds waiting on the work queue, at most one queued push per player
+    private final Map<UUID, PendingSkip> pendingSkips = new ConcurrentHashMap<>();
+    // configured health multiplier curve, precompiled to a half-heart lookup table
+    private volatile HealthCurve healthCurve = HealthCurve.defaultCurve();
 
     private CombatLogManager combatLogManager;
 
-    private long combatTagDurationMs;
-    private long combatLogZombieTtlMs;
-
-    private int healthTaskId = -1;
-    private static class LastHitInfo {
-        final UUID attackerId;
-        final long timestampMillis;
-
-        /**
-         * Snapshot of who last damaged a victim and when.
-         */
-        private LastHitInfo(UUID attackerId, long timestampMillis) {
-            this.attackerId = attackerId;
-            this.timestampMillis = timestampMillis;
-        }
-    }
-
-    // victim UUID -> last relevant attacker + timestamp
-    private final Map<UUID, LastHitInfo> lastHitMap = new HashMap<>();
+    // in-memory owners of explosive entities and blocks
+    private ExplosiveOwnershipTracker explosiveOwners;
+    private long explosiveOwnerTtlMs;
+    private long placedTntOwnerTtlMs;
+    // online players bucketed into 16x16 columns + lava/fire/potion exposure built on it
+    private PlayerSpatialIndex spatialIndex;
+    private AreaHazardTracker areaHazards;
+    private long hazardExposureMs;
+    private double hazardPlacementRadius;
+    private double hazardExplosionRadius;
+    // shared attacker resolution + single damage/death dispatch for both listeners
+    private AttackerResolver attackerResolver;
+    private CombatEventDispatcher combatDispatcher;
+
+    private volatile long combatTagDurationMs;
+    private volatile long combatLogZombieTtlMs;
+    private double combatLogSpawnBudgetMs;
+    private int combatLogMaxLiveProxies;
+    private CombatLogManager.ProxyType combatLogProxyType = CombatLogManager.ProxyType.ZOMBIE;
+    private CombatLootBags combatLootBags;
+    private boolean combatLootBagsEnabled;
+    private long combatLootOwnerOnlyMs;
+    private long combatLootTtlMs;
+
+    private PlatformScheduler.TaskHandle healthTask;
+
+    // main thread on Paper/Spigot, global/region/entity schedulers on Folia
+    private PlatformScheduler platform;
+
+    // shared expiry scheduler for combat tags, last-hit windows and zombie TTLs
+    private final TimingWheel expiryWheel = new TimingWheel();
+    private PlatformScheduler.TaskHandle expiryWheelTask;
+
+    // budgeted deferred work (saves, kicks, revives, proxy spawns, skip pushes)
+    private WorkScheduler workScheduler;
+    private double workBudgetMs;
+    private double workMinBudgetMs;
+    private final WorkScheduler.Work saveDataWork = this::saveDirtyData;
+    // players whose lifesteal keys changed since their file was last written
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    // destroyed-heart stock last written to config.yml
+    private volatile int savedStock = -1;
+
+    // victim -> last relevant attacker + timestamp and combat tag, in primitive slots
+    private CombatTracker combatTracker;
+
+    // counters, gauges and latency histograms; published over JMX and optionally HTTP
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private final LatencyHistogram saveDataTimer = metrics.histogram("save_data",
+            "Time spent writing all lifesteal data files.");
+    private final LatencyHistogram tickTimer = metrics.histogram("scheduler_tick",
+            "Time spent per tick firing timers and running deferred work.");
+    private final LatencyHistogram healthSkipTimer = metrics.histogram("health_skip_tick",
+            "Time spent per tick on the health-based skip bucket.");
+    private final LatencyHistogram playerDeathTimer = metrics.histogram("player_death",
+            "Time spent handling a player death.");
+    private final Counter healthSkipsPushed = metrics.counter("health_skips_pushed",
+            "Coalesced health-based time skips pushed into SBPC.");
+    private final Counter brokenHeartsDestroyed = metrics.counter("broken_hearts_destroyed",
+            "Half-hearts of Broken Heart items destroyed.");
+    private final Counter lifestealBans = metrics.counter("bans", "Players lifesteal-banned.");
+    private final Counter destroyedHeartRevives = metrics.counter("destroyed_heart_revives",
+            "Deaths and bans undone by the destroyed-heart stock.");
+    private MetricsMBean metricsBean;
+    private MetricsHttpEndpoint metricsEndpoint;
+    private boolean metricsJmx;
+    private boolean metricsHttpEnabled;
+    private int metricsHttpPort;
+
+    // /lifesteal profile: per-handler and per-task latency, only sampled while a session runs
+    private static final int DEFAULT_PROFILE_SECONDS = 30;
+    private static final int MAX_PROFILE_SECONDS = 600;
+    private static final int PROFILE_CHAT_LINES = 10;
+    private final HandlerProfiler profiler = new HandlerProfiler();
+    private volatile CommandSender profileRequester;
+    private final TimingWheel.Timeout profileTimer = new TimingWheel.Timeout() {
+        @Override
+        protected void onExpire() {
+            finishProfile();
+        }
+    };
+
+    // every SBPC call goes through here (live API in production, stand-in for load tests)
+    private SbpcGateway sbpc = new MeteredSbpcGateway(new LiveSbpcGateway(), metrics);
+    // read-through cache for SBPC section / unlock lookups
+    private SbpcQueryCache sbpcCache;
+    private long sbpcCacheTtlMs;
+
+    // recent hits per victim + rules for sharing hearts / crediting assists
+    private DamageLedger damageLedger;
+    private volatile KillCreditRules killCreditRules = KillCreditRules.lastHit();
+    private volatile long killCreditWindowMs;
+    private int damageLedgerSize;
 
     // 30 seconds window for last-hit credit
     private static final long LAST_HIT_WINDOW_MS = 30_000L;
 
+    public SBPCLifestealPlugin() {
+    }
+
+    /**
+     * Construct outside a running server, for the load simulator in the benchmark module.
+     */
+    protected SBPCLifestealPlugin(JavaPluginLoader loader, PluginDescriptionFile description,
+                                  File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
 
     /**
      * Bootstrap the plugin: verify dependencies, load configuration and data, then register listeners/tasks.
@@ -185,27 +311,71 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
         }
         saveDefaultConfig();
         reloadConfig();
-        combatLoggerOwnerKey = new NamespacedKey(this, "combat_logger_owner");
         this.brokenHeartKey = new NamespacedKey(this, "broken_heart");
         this.playersFolder = resolvePlayersFolder();
         loadConfiguredValues();
 
         loadData();
-        combatLogManager = new CombatLogManager(this, combatTagDurationMs, combatLogZombieTtlMs, playersFolder);
+        platform = PlatformScheduler.create(this, profiler);
+        if (platform.isFolia()) {
+            getLogger().info("Folia detected; using region schedulers.");
+        }
+        sbpcCache = new SbpcQueryCache(sbpc, sbpcCacheTtlMs);
+        healthFactorCache = new HealthFactorCache(this::computeHealthFactor, platform);
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            healthFactorCache.markDirty(online.getUniqueId());
+        }
+        healthSkipScheduler = new HealthSkipScheduler(healthFactorCache, this::pushHealthSkip,
+                healthSkipFlushChunkSeconds);
+        workScheduler = new WorkScheduler(getLogger(), profiler, workBudgetMs, workMinBudgetMs);
+        this.expiryWheelTask = platform.runGlobalRepeating("scheduler-tick", this::tickSchedulers, 1L, 1L);
+        combatTracker = new CombatTracker(expiryWheel, LAST_HIT_WINDOW_MS, 256);
+        damageLedger = new DamageLedger(expiryWheel, damageLedgerSize, killCreditWindowMs, 64);
+        combatLogManager = new CombatLogManager(this, combatTagDurationMs, combatLogZombieTtlMs, playersFolder,
+                expiryWheel, combatTracker, workScheduler, platform, combatLogSpawnBudgetMs, combatLogMaxLiveProxies);
+        combatLogManager.setProxyType(combatLogProxyType);
+        combatLootBags = new CombatLootBags(expiryWheel, platform, workScheduler,
+                new File(getDataFolder(), "lootbags.yml"),
+                getLogger(), combatLootOwnerOnlyMs, combatLootTtlMs,
+                (player, owner) -> player.sendMessage(msg(player, "combat-loot-locked", "killer",
+                        owner != null ? owner : "?")));
+        combatLootBags.load();
+        combatLogManager.setLootBags(combatLootBagsEnabled ? combatLootBags : null);
+        platform.registerEvents(combatLootBags);
         // Register it as an event listener
-        getServer().getPluginManager().registerEvents(combatLogManager, this);
+        platform.registerEvents(combatLogManager);
+
+        // One damage/death pipeline: resolve the attacker once, then fan out in order
+        explosiveOwners = new ExplosiveOwnershipTracker(expiryWheel, explosiveOwnerTtlMs, placedTntOwnerTtlMs);
+        platform.registerEvents(explosiveOwners);
+        spatialIndex = new PlayerSpatialIndex(expiryWheel, 4);
+        platform.registerEvents(spatialIndex);
+        areaHazards = new AreaHazardTracker(expiryWheel, spatialIndex,
+                hazardExposureMs, hazardPlacementRadius, hazardExplosionRadius);
+        attackerResolver = new AttackerResolver(explosiveOwners, areaHazards);
+        areaHazards.setExplosionSources(attackerResolver, explosiveOwners);
+        platform.registerEvents(areaHazards);
+        combatDispatcher = new CombatEventDispatcher(attackerResolver);
+        combatDispatcher.setMetrics(metrics);
+        combatDispatcher.addDamageStage(this::armExplosiveOnHit);
+        combatDispatcher.addDamageStage(combatLogManager::guardCombatLogZombie);
+        combatDispatcher.addDamageStage(combatLogManager::damageDisplayProxy);
+        combatDispatcher.addDamageStage(this::enforcePvpLock);
+        combatDispatcher.addDamageStage(combatLogManager::tagOnDamage);
+        combatDispatcher.addDamageStage(this::recordPvpHit);
+        combatDispatcher.addDeathStage(combatLogManager::handleZombieDeath);
+        platform.registerEvents(combatDispatcher);
 
         // Load persisted combat-log states and respawn zombies if needed
         combatLogManager.loadAllEntries();
-        Bukkit.getPluginManager().registerEvents(this, this);
+        platform.registerEvents(this);
+        platform.registerEvents(messageCatalogs);
+
+        // Per-tick slice of the health-based multiplier -> external time skips
+        this.healthTask = platform.runGlobalRepeating("health-skips", this::tickHealthBasedSkips, 20L, 1L);
 
-        // Periodic health-based tick multiplier -> external time skips
-        this.healthTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(
-                this,
-                this::tickHealthBasedSkips,
-                20L,
-                20L
-        );
+        registerGauges();
+        startMetricsExport();
 
         getLogger().info("SBCPLifesteal enabled.");
     }
@@ -215,12 +385,42 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      */
     @Override
     public void onDisable() {
-        if (healthTaskId != -1) {
-            Bukkit.getScheduler().cancelTask(healthTaskId);
-            healthTaskId = -1;
+        stopMetricsExport();
+        profiler.stop();
+        if (healthTask != null) {
+            healthTask.cancel();
+            healthTask = null;
+        }
+        if (healthSkipScheduler != null) {
+            healthSkipScheduler.flushAll();
+        }
+        if (expiryWheelTask != null) {
+            expiryWheelTask.cancel();
+            expiryWheelTask = null;
+        }
+        if (explosiveOwners != null) {
+            explosiveOwners.shutdown();
+        }
+        if (damageLedger != null) {
+            damageLedger.shutdown();
+        }
+        if (areaHazards != null) {
+            areaHazards.shutdown();
+        }
+        if (spatialIndex != null) {
+            spatialIndex.shutdown();
         }
         if (combatLogManager != null) {
             combatLogManager.saveAllEntries();
+            combatLogManager.shutdown();
+        }
+        if (combatLootBags != null) {
+            combatLootBags.shutdown();
+        }
+        if (workScheduler != null) {
+            // skip pushes, revives and kicks still queued must not be lost
+            workScheduler.cancel(saveDataWork);
+            workScheduler.runAll();
         }
         saveData();
     }
@@ -289,6 +489,42 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
         combatLogZombieTtlMs = 1000L * (combatLogConfig != null
                 ? combatLogConfig.getLong("zombie-ttl-seconds", 2 * 60)
                 : 2 * 60L);
+        combatLogSpawnBudgetMs = combatLogConfig != null
+                ? combatLogConfig.getDouble("spawn-budget-ms", 2.0)
+                : 2.0;
+        combatLogMaxLiveProxies = combatLogConfig != null
+                ? combatLogConfig.getInt("max-live-proxies", 100)
+                : 100;
+        String proxyTypeRaw = combatLogConfig != null ? combatLogConfig.getString("proxy-type", "zombie") : "zombie";
+        try {
+            combatLogProxyType = CombatLogManager.ProxyType.parse(proxyTypeRaw);
+        } catch (IllegalArgumentException ex) {
+            getLogger().warning(ex.getMessage() + "; using zombie.");
+            combatLogProxyType = CombatLogManager.ProxyType.ZOMBIE;
+        }
+        combatLootBagsEnabled = "bag".equalsIgnoreCase(cfg.getString("combat-log.loot.mode", "scatter"));
+        combatLootOwnerOnlyMs = 1000L * Math.max(0, cfg.getInt("combat-log.loot.owner-only-seconds", 30));
+        combatLootTtlMs = 1000L * Math.max(1, cfg.getInt("combat-log.loot.bag-ttl-seconds", 300));
+
+        loadKillCreditRules(cfg);
+
+        explosiveOwnerTtlMs = 1000L * Math.max(1, cfg.getInt("explosives.owner-ttl-seconds", 60));
+        placedTntOwnerTtlMs = 1000L * Math.max(1, cfg.getInt("explosives.placed-tnt-ttl-seconds", 600));
+        hazardExposureMs = 1000L * Math.max(1, cfg.getInt("area-hazards.exposure-seconds", 10));
+        hazardPlacementRadius = cfg.getDouble("area-hazards.placement-radius", 4.0);
+        hazardExplosionRadius = cfg.getDouble("area-hazards.explosion-radius", 8.0);
+
+        healthSkipFlushChunkSeconds = Math.max(1, cfg.getInt("health-skip.flush-chunk-seconds", 5));
+        loadHealthCurve(cfg);
+
+        sbpcCacheTtlMs = Math.max(0L, cfg.getLong("sbpc-cache.ttl-ms", 2000L));
+
+        workBudgetMs = Math.max(0.0, cfg.getDouble("work-scheduler.budget-ms", 5.0));
+        workMinBudgetMs = Math.max(0.0, cfg.getDouble("work-scheduler.min-budget-ms", 0.5));
+
+        metricsJmx = cfg.getBoolean("metrics.jmx", true);
+        metricsHttpEnabled = cfg.getBoolean("metrics.http.enabled", false);
+        metricsHttpPort = cfg.getInt("metrics.http.port", 9464);
 
         brokenHeartName = colorize(cfg.getString("broken-heart-item.name", "&cBroken Heart"));
         brokenHeartLore = colorizeList(cfg.getStringList("broken-heart-item.lore"));
@@ -296,6 +532,238 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
         loadMessages(cfg);
     }
 
+    /**
+     * Read the kill-credit section. An unknown mode is reported and the previous rules are kept.
+     * The ledger size only takes effect on restart.
+     */
+    private void loadKillCreditRules(FileConfiguration cfg) {
+        killCreditWindowMs = 1000L * Math.max(1, cfg.getInt("kill-credit.window-seconds", 30));
+        if (damageLedger == null) {
+            damageLedgerSize = Math.max(1, cfg.getInt("kill-credit.ledger-size", 8));
+        } else {
+            damageLedger.setWindowMs(killCreditWindowMs);
+        }
+        try {
+            killCreditRules = KillCreditRules.fromConfig(cfg.getConfigurationSection("kill-credit"));
+        } catch (IllegalArgumentException ex) {
+            getLogger().warning("Invalid kill-credit settings, keeping " + killCreditRules.getMode()
+                    + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Compile the configured health multiplier curve. An invalid curve is reported and the
+     * previously loaded one is kept, so a bad edit can't break a running server on reload.
+     */
+    private void loadHealthCurve(FileConfiguration cfg) {
+        try {
+            healthCurve = HealthCurve.compile(cfg.getConfigurationSection("health-skip.curve"));
+            getLogger().info("Loaded health multiplier curve: " + healthCurve.getDescription());
+        } catch (IllegalArgumentException ex) {
+            getLogger().warning("Invalid health-skip.curve, keeping " + healthCurve.getDescription()
+                    + ": " + ex.getMessage());
+        }
+
+        if (healthFactorCache != null) {
+            for (Player online : Bukkit.getOnlinePlayers()) {
+                healthFactorCache.markDirty(online.getUniqueId());
+            }
+        }
+    }
+
+    /**
+     * Reload config.yml and re-apply messages, item text, skip settings and the health curve.
+     */
+    private void reloadLifestealConfig() {
+        reloadConfig();
+        loadConfiguredValues();
+        if (healthSkipScheduler != null) {
+            healthSkipScheduler.setFlushChunkSeconds(healthSkipFlushChunkSeconds);
+        }
+        if (explosiveOwners != null) {
+            explosiveOwners.setTtls(explosiveOwnerTtlMs, placedTntOwnerTtlMs);
+        }
+        if (areaHazards != null) {
+            areaHazards.setSettings(hazardExposureMs, hazardPlacementRadius, hazardExplosionRadius);
+        }
+        if (workScheduler != null) {
+            workScheduler.setBudget(workBudgetMs, workMinBudgetMs);
+        }
+        if (combatLogManager != null) {
+            combatLogManager.setSpawnLimits(combatLogSpawnBudgetMs, combatLogMaxLiveProxies);
+            combatLogManager.setProxyType(combatLogProxyType);
+        }
+        if (combatLootBags != null) {
+            combatLootBags.setTimes(combatLootOwnerOnlyMs, combatLootTtlMs);
+            combatLogManager.setLootBags(combatLootBagsEnabled ? combatLootBags : null);
+        }
+        if (sbpcCache != null) {
+            sbpcCache.setTtlMillis(sbpcCacheTtlMs);
+            sbpcCache.invalidateAll();
+        }
+        stopMetricsExport();
+        startMetricsExport();
+    }
+
+    /**
+     * Register every gauge. Gauges are read from JMX and the scrape thread, so they only read
+     * sizes and counters and never walk plugin state.
+     */
+    private void registerGauges() {
+        metrics.gauge("combat_tracked_victims", "Victims with a last-hit record or combat tag.",
+                () -> combatTracker.size());
+        metrics.gauge("combat_log_entries", "Offline combat loggers with a stored snapshot.",
+                () -> combatLogManager.getEntryCount());
+        metrics.gauge("combat_log_live_proxies", "Combat-logger proxies standing in the world.",
+                () -> combatLogManager.getLiveProxyCount());
+        metrics.gauge("combat_log_pending_proxies", "Combat-logger proxies waiting to spawn.",
+                () -> combatLogManager.getPendingProxyCount());
+        metrics.gauge("combat_loot_bags", "Combat-logger loot bags, including those waiting for their chunk.",
+                () -> combatLootBags.size());
+        metrics.gauge("banned_players", "Players currently lifesteal-banned.", bans::getBannedCount);
+        metrics.gauge("destroyed_heart_stock", "Destroyed half-hearts waiting to revive someone.",
+                bans::getStock);
+        metrics.gauge("pending_revives", "Players owed revive hearts on their next join.",
+                pendingReviveHearts::size);
+        metrics.gauge("work_queue_depth", "Deferred work items waiting.", () -> workScheduler.getQueueDepth());
+        metrics.gauge("work_budget_ms", "Deferred-work budget used on the last tick.",
+                () -> workScheduler.getCurrentBudgetNanos() / 1_000_000.0);
+        metrics.gauge("tick_interval_ms", "Smoothed time between server ticks.",
+                () -> workScheduler.getAverageTickMillis());
+        metrics.gauge("expiry_timers", "Timers pending on the shared expiry wheel.", expiryWheel::size);
+        metrics.gauge("health_skip_accumulators", "Players with partial skip seconds accumulated.",
+                () -> healthSkipScheduler.getAccumulatorCount());
+        metrics.gauge("sbpc_cache_hit_ratio", "Share of SBPC lookups answered from the cache.",
+                () -> sbpcCache.getHitRate());
+    }
+
+    /**
+     * Publish the registry as configured: JMX bean and/or the loopback scrape endpoint.
+     */
+    private void startMetricsExport() {
+        if (metricsJmx) {
+            try {
+                metricsBean = new MetricsMBean(metrics);
+                metricsBean.register();
+            } catch (JMException ex) {
+                getLogger().warning("Could not register metrics MBean: " + ex.getMessage());
+                metricsBean = null;
+            }
+        }
+        if (metricsHttpEnabled) {
+            try {
+                metricsEndpoint = new MetricsHttpEndpoint(metrics, metricsHttpPort);
+                metricsEndpoint.start();
+                getLogger().info("Metrics available at http://127.0.0.1:" + metricsHttpPort + "/metrics");
+            } catch (IOException | IllegalArgumentException ex) {
+                getLogger().warning("Could not start metrics endpoint on port " + metricsHttpPort
+                        + ": " + ex.getMessage());
+                metricsEndpoint = null;
+            }
+        }
+    }
+
+    private void stopMetricsExport() {
+        if (metricsBean != null) {
+            metricsBean.unregister();
+            metricsBean = null;
+        }
+        if (metricsEndpoint != null) {
+            metricsEndpoint.stop();
+            metricsEndpoint = null;
+        }
+    }
+
+    /**
+     * Admin commands: {@code /lifesteal reload}, {@code /lifesteal cache}, {@code /lifesteal work} and
+     * {@code /lifesteal profile [seconds|stop]}.
+     */
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 1 && args[0].equalsIgnoreCase("reload")) {
+            // reapplies settings to every tracker, so it runs where the timers do
+            platform.runGlobal(() -> {
+                reloadLifestealConfig();
+                sender.sendMessage(ChatColor.GREEN + "SBPCLifesteal config reloaded ("
+                        + healthCurve.getDescription() + ").");
+            });
+            return true;
+        }
+        if (args.length == 1 && args[0].equalsIgnoreCase("cache")) {
+            sender.sendMessage(ChatColor.YELLOW + sbpcCache.describe());
+            return true;
+        }
+        if (args.length == 1 && args[0].equalsIgnoreCase("work")) {
+            sender.sendMessage(ChatColor.YELLOW + workScheduler.describe());
+            return true;
+        }
+        if (args.length >= 1 && args.length <= 2 && args[0].equalsIgnoreCase("profile")) {
+            // the session timer lives on the expiry wheel, so start and stop where it ticks
+            platform.runGlobal(() -> handleProfileCommand(sender, args));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Start a profiling session for {@code args[1]} seconds (default 30), or end the running one.
+     */
+    private void handleProfileCommand(CommandSender sender, String[] args) {
+        if (args.length == 2 && args[1].equalsIgnoreCase("stop")) {
+            if (!profiler.isRecording()) {
+                sender.sendMessage(ChatColor.RED + "No profile is running.");
+                return;
+            }
+            expiryWheel.cancel(profileTimer);
+            finishProfile();
+            return;
+        }
+        if (profiler.isRecording()) {
+            sender.sendMessage(ChatColor.RED + "A profile is already running; use /lifesteal profile stop to end it.");
+            return;
+        }
+        int seconds = DEFAULT_PROFILE_SECONDS;
+        if (args.length == 2) {
+            try {
+                seconds = Integer.parseInt(args[1]);
+            } catch (NumberFormatException ex) {
+                sender.sendMessage(ChatColor.RED + "Usage: /lifesteal profile [seconds|stop]");
+                return;
+            }
+        }
+        seconds = Math.max(1, Math.min(MAX_PROFILE_SECONDS, seconds));
+        profileRequester = sender;
+        profiler.start();
+        expiryWheel.schedule(profileTimer, seconds * 1000L / TimingWheel.MILLIS_PER_TICK);
+        sender.sendMessage(ChatColor.YELLOW + "Profiling SBPCLifesteal handlers and tasks for " + seconds + " s...");
+    }
+
+    /**
+     * End the profiling session, write the dump file and show the busiest sites to whoever asked.
+     */
+    private void finishProfile() {
+        profiler.stop();
+        CommandSender target = profileRequester;
+        profileRequester = null;
+        if (target == null || (target instanceof Player player && !player.isOnline())) {
+            target = Bukkit.getConsoleSender();
+        }
+
+        List<String> lines = profiler.report(PROFILE_CHAT_LINES);
+        target.sendMessage(ChatColor.GOLD + "SBPCLifesteal profile: " + lines.get(0));
+        for (int i = 1; i < lines.size(); i++) {
+            target.sendMessage(ChatColor.YELLOW + " " + lines.get(i));
+        }
+        File dump = new File(new File(getDataFolder(), "profiles"),
+                "profile-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".txt");
+        try {
+            profiler.writeDump(dump);
+            target.sendMessage(ChatColor.GRAY + "Full report: " + dump.getPath());
+        } catch (IOException ex) {
+            getLogger().warning("Could not write profile to " + dump + ": " + ex.getMessage());
+        }
+    }
+
     /**
      * Populate the internal message map with colorized strings from config defaults.
      */
@@ -309,6 +777,12 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
                 "&cYou were killed by &e{killer}&c and lost &4{hearts}&c heart(s)!"));
         putMessage("pvp-death-killer", cfg.getString("messages.pvp-death-killer",
                 "&aYou killed &e{victim}&a and gained &2{hearts}&a heart(s)!"));
+        putMessage("pvp-assist-share", cfg.getString("messages.pvp-assist-share",
+                "&aYou helped kill &e{victim}&a and gained &2{hearts}&a heart(s)!"));
+        putMessage("pvp-assist", cfg.getString("messages.pvp-assist",
+                "&7You assisted in killing &e{victim}&7."));
+        putMessage("combat-loot-locked", cfg.getString("messages.combat-loot-locked",
+                "&cThis loot belongs to &e{killer}&c for now."));
         putMessage("env-death-loss", cfg.getString("messages.env-death-loss",
                 "&cYou died to the environment and lost &4{hearts}&c heart(s)!"));
         putMessage("saved-by-destroyed-heart", cfg.getString("messages.saved-by-destroyed-heart",
@@ -333,6 +807,11 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
                 "&cYou are banned by the Lifesteal system (no hearts remaining)."));
         putMessage("combat-log-ban", cfg.getString("messages.combat-log-ban",
                 "You lost all your hearts while logged out in combat."));
+
+        if (messageCatalogs == null) {
+            messageCatalogs = new MessageCatalogs(getLogger());
+        }
+        messageCatalogs.load(messages, getDataFolder(), this::colorize);
     }
 
     /**
@@ -343,10 +822,31 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
     }
 
     /**
-     * Fetch a colorized message string by key, defaulting to empty if missing.
+     * Fetch a colorized message in the default language (ban reasons, console), empty if missing.
      */
     private String msg(String key) {
-        return messages.getOrDefault(key, "");
+        return messageCatalogs.get(null, key).render();
+    }
+
+    /**
+     * Fetch a colorized message in the player's language.
+     */
+    private String msg(Player player, String key) {
+        return messageCatalogs.get(player, key).render();
+    }
+
+    /**
+     * Fetch a message in the player's language with one placeholder filled.
+     */
+    private String msg(Player player, String key, String slot, String value) {
+        return messageCatalogs.get(player, key).render(slot, value);
+    }
+
+    /**
+     * Fetch a message in the player's language with two placeholders filled.
+     */
+    private String msg(Player player, String key, String slot1, String value1, String slot2, String value2) {
+        return messageCatalogs.get(player, key).render(slot1, value1, slot2, value2);
     }
 
     // ------------------------------------------------------------------------
@@ -357,10 +857,10 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      * Load persisted lifesteal state for bans, destroyed hearts, pending revives, and warnings.
      */
     private void loadData() {
-        this.destroyedHalfHeartsStock = getConfig().getInt("destroyedHalfHeartsStock", 0);
+        this.bans.setStock(getConfig().getInt("destroyedHalfHeartsStock", 0));
+        this.savedStock = bans.getStock();
 
-        this.banQueue.clear();
-        this.bannedPlayers.clear();
+        this.bans.clearBans();
         this.pendingReviveHearts.clear();
         this.victimSectionDemoted.clear();
         this.pvpWarned.clear();
@@ -381,28 +881,27 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
 
             try {
                 UUID uuid = UUID.fromString(uuidString);
-                YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+                PlayerData data = readPlayerDataFile(file);
 
                 // banned state + queue reconstruction
-                if (cfg.getBoolean("banned", false)) {
-                    bannedPlayers.add(uuid);
-                    banQueue.add(uuid);
+                if (data.isBanned()) {
+                    bans.ban(uuid);
                 }
 
                 // pending revive half-hearts
-                int pending = cfg.getInt("pendingReviveHalfHearts", 0);
-                if (pending > 0) {
-                    pendingReviveHearts.put(uuid, pending);
+                if (data.getPendingReviveHalfHearts() > 0) {
+                    pendingReviveHearts.put(uuid, data.getPendingReviveHalfHearts());
                 }
 
                 // victim section demotion flags
-                List<String> secs = cfg.getStringList("victimSectionDemoted");
-                if (!secs.isEmpty()) {
-                    victimSectionDemoted.put(uuid, new HashSet<>(secs));
+                if (!data.getDemotedSections().isEmpty()) {
+                    Set<String> demoted = ConcurrentHashMap.newKeySet();
+                    demoted.addAll(data.getDemotedSections());
+                    victimSectionDemoted.put(uuid, demoted);
                 }
 
                 // PVP warning flag
-                if (cfg.getBoolean("pvpWarned", false)) {
+                if (data.isPvpWarned()) {
                     pvpWarned.add(uuid);
                 }
 
@@ -413,66 +912,203 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
     }
 
     /**
-     * Persist all lifesteal bookkeeping (ban queue, pending hearts, warnings) to disk.
+     * Persist all lifesteal bookkeeping (ban queue, pending hearts, warnings) to disk. Only for
+     * shutdown: while running, {@link #requestSave} writes just the players that changed.
      */
     private void saveData() {
+        long start = System.nanoTime();
+        PersistenceFlushEvent jfr = new PersistenceFlushEvent();
+        jfr.begin();
+        try {
+            writeData(jfr);
+        } finally {
+            saveDataTimer.recordSince(start);
+            if (jfr.shouldCommit()) {
+                jfr.kind = PersistenceFlushEvent.LIFESTEAL;
+                jfr.commit();
+            }
+        }
+    }
+
+    private void writeData(PersistenceFlushEvent jfr) {
+        boolean measureBytes = jfr.isEnabled();
         if (playersFolder == null) {
             // plugin never fully enabled (e.g. SBPC missing)
             return;
         }
 
-        // Always capture current online heart totals before writing files
-        for (Player online : Bukkit.getOnlinePlayers()) {
-            persistPlayerHearts(online, getBaseMaxHealth(online));
-        }
-
-        // global (non-player) data still goes in config.yml
-        getConfig().set("destroyedHalfHeartsStock", destroyedHalfHeartsStock);
-        saveConfig();
+        // hearts files are written whenever hearts change, on the thread owning the player
+        saveStock();
 
         if (!playersFolder.exists() && !playersFolder.mkdirs()) {
             getLogger().warning("Could not create players data folder at " + playersFolder.getPath());
             return;
         }
 
-        // collect all players we have any state for
-        Set<UUID> allIds = new HashSet<>();
-        allIds.addAll(bannedPlayers);
+        // collect all players we have any state for, plus any whose state was just cleared
+        Set<UUID> allIds = new HashSet<>(dirtyPlayers);
+        allIds.addAll(bans.getBanned());
         allIds.addAll(pendingReviveHearts.keySet());
         allIds.addAll(victimSectionDemoted.keySet());
         allIds.addAll(pvpWarned);
+        dirtyPlayers.clear();
 
         for (UUID id : allIds) {
-            File file = new File(playersFolder, id.toString() + ".yml");
-            YamlConfiguration cfg = new YamlConfiguration();
-
-            // banned state
-            cfg.set("banned", bannedPlayers.contains(id));
+            writePlayerData(id, jfr, measureBytes);
+        }
+    }
 
-            // pending revive half-hearts (if any)
-            int pending = pendingReviveHearts.getOrDefault(id, 0);
-            if (pending > 0) {
-                cfg.set("pendingReviveHalfHearts", pending);
+    /**
+     * The {@link #saveDataWork} body: write the stock if it changed, then the files of dirty
+     * players until {@code deadlineNanos}, at least one per pass.
+     *
+     * @return true while dirty players remain for the next tick
+     */
+    private boolean saveDirtyData(long deadlineNanos) {
+        if (playersFolder == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        PersistenceFlushEvent jfr = new PersistenceFlushEvent();
+        jfr.begin();
+        try {
+            saveStock();
+            if (!playersFolder.exists() && !playersFolder.mkdirs()) {
+                getLogger().warning("Could not create players data folder at " + playersFolder.getPath());
+                return false;
             }
-
-            // section demotion flags for this victim
-            Set<String> secs = victimSectionDemoted.get(id);
-            if (secs != null && !secs.isEmpty()) {
-                cfg.set("victimSectionDemoted", new ArrayList<>(secs));
+            boolean measureBytes = jfr.isEnabled();
+            Iterator<UUID> it = dirtyPlayers.iterator();
+            while (it.hasNext()) {
+                UUID id = it.next();
+                it.remove();
+                writePlayerData(id, jfr, measureBytes);
+                if (System.nanoTime() - deadlineNanos >= 0) {
+                    break;
+                }
+            }
+            return !dirtyPlayers.isEmpty();
+        } finally {
+            saveDataTimer.recordSince(start);
+            if (jfr.shouldCommit()) {
+                jfr.kind = PersistenceFlushEvent.LIFESTEAL;
+                jfr.commit();
             }
+        }
+    }
 
-            // PVP warning flag
-            cfg.set("pvpWarned", pvpWarned.contains(id));
+    // global (non-player) data still goes in config.yml, rewritten only when the stock moved
+    private void saveStock() {
+        int stock = bans.getStock();
+        if (stock == savedStock) {
+            return;
+        }
+        getConfig().set("destroyedHalfHeartsStock", stock);
+        saveConfig();
+        savedStock = stock;
+    }
 
+    private void writePlayerData(UUID id, PersistenceFlushEvent jfr, boolean measureBytes) {
+        File file = new File(playersFolder, id.toString() + ".yml");
+        // merge into the file under the player's stripe so hearts and combat-log snapshots
+        // written by other threads survive, and no update lands between load and save
+        playerLocks.run(id, () -> {
+            Set<String> secs = victimSectionDemoted.get(id);
+            PlayerData data = new PlayerData(
+                    bans.isBanned(id),
+                    pendingReviveHearts.getOrDefault(id, 0),
+                    secs != null ? secs : Collections.emptySet(),
+                    pvpWarned.contains(id));
             try {
-                cfg.save(file);
+                writePlayerDataFile(file, data);
             } catch (IOException ex) {
                 getLogger().warning("Could not save lifesteal data for " + id + ": " + ex.getMessage());
             }
+        });
+        jfr.files++;
+        if (measureBytes) {
+            jfr.bytes += file.length();
         }
     }
 
 
+    /**
+     * The lifesteal keys of one {@code players/<uuid>.yml}: ban flag, pending revive
+     * half-hearts, sections already demoted from, and the PvP warning flag.
+     */
+    public static final class PlayerData {
+        private final boolean banned;
+        private final int pendingReviveHalfHearts;
+        private final List<String> demotedSections;
+        private final boolean pvpWarned;
+
+        public PlayerData(boolean banned, int pendingReviveHalfHearts, Collection<String> demotedSections,
+                          boolean pvpWarned) {
+            this.banned = banned;
+            this.pendingReviveHalfHearts = Math.max(0, pendingReviveHalfHearts);
+            this.demotedSections = new ArrayList<>(demotedSections);
+            this.pvpWarned = pvpWarned;
+        }
+
+        public boolean isBanned() {
+            return banned;
+        }
+
+        public int getPendingReviveHalfHearts() {
+            return pendingReviveHalfHearts;
+        }
+
+        public List<String> getDemotedSections() {
+            return demotedSections;
+        }
+
+        public boolean isPvpWarned() {
+            return pvpWarned;
+        }
+    }
+
+    /**
+     * Merge {@code data} into a player's data file, keeping every other key (hearts, combat-log
+     * snapshot); empty values are removed. The caller holds the player's stripe. Static so the
+     * benchmark module measures the real file layout.
+     */
+    public static void writePlayerDataFile(File file, PlayerData data) throws IOException {
+        YamlConfiguration cfg = file.exists()
+                ? YamlConfiguration.loadConfiguration(file)
+                : new YamlConfiguration();
+        cfg.set("banned", data.isBanned());
+        cfg.set("pendingReviveHalfHearts", data.getPendingReviveHalfHearts() > 0
+                ? data.getPendingReviveHalfHearts() : null);
+        cfg.set("victimSectionDemoted", !data.getDemotedSections().isEmpty()
+                ? data.getDemotedSections() : null);
+        cfg.set("pvpWarned", data.isPvpWarned());
+        cfg.save(file);
+    }
+
+    /**
+     * Merge a heart total into a player's data file under {@code lifesteal.hearts}, keeping every
+     * other key. The caller holds the player's stripe.
+     */
+    public static void writeHeartsFile(File file, double hearts) throws IOException {
+        YamlConfiguration cfg = file.exists()
+                ? YamlConfiguration.loadConfiguration(file)
+                : new YamlConfiguration();
+        cfg.set("lifesteal.hearts", hearts);
+        cfg.save(file);
+    }
+
+    /**
+     * Read the lifesteal keys of a player's data file; missing keys read as empty.
+     */
+    public static PlayerData readPlayerDataFile(File file) {
+        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+        return new PlayerData(
+                cfg.getBoolean("banned", false),
+                cfg.getInt("pendingReviveHalfHearts", 0),
+                cfg.getStringList("victimSectionDemoted"),
+                cfg.getBoolean("pvpWarned", false));
+    }
+
     // ------------------------------------------------------------------------
     // Broken Heart item
     // ------------------------------------------------------------------------
@@ -496,84 +1132,78 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      * Check whether an item stack is a Broken Heart (by material and PDC marker).
      */
     private boolean isBrokenHeart(ItemStack stack) {
+        return isBrokenHeart(stack, brokenHeartKey);
+    }
+
+    /**
+     * Whether {@code stack} is a Broken Heart marked with {@code key}. Static so the benchmark
+     * module can measure it without a running plugin.
+     */
+    public static boolean isBrokenHeart(ItemStack stack, NamespacedKey key) {
         if (stack == null || stack.getType() != Material.BEETROOT) return false;
         ItemMeta meta = stack.getItemMeta();
         if (meta == null) return false;
         PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        return pdc.has(brokenHeartKey, PersistentDataType.BYTE);
+        return pdc.has(key, PersistentDataType.BYTE);
     }
 
     // ------------------------------------------------------------------------
     // Lifesteal max health helpers
     // ------------------------------------------------------------------------
     /**
-     * Resolve which PLAYER is responsible for the damage:
-     * - Direct melee from a player
-     * - Projectiles shot by a player
-     * - TNT ignited by a player (TNTPrimed.getSource())
-     * - Wolves owned by a player
-     * - TNT minecarts / end crystals whose PDC stores the owner's UUID
+     * Store the last hit info for a victim, for 30 seconds.
      */
-    private Player resolveDamagerPlayer(Entity damager) {
-        if (damager instanceof Player p) {
-            return p;
-        }
-
-        // Projectile (arrow, trident, etc.) shot by a player
-        if (damager instanceof org.bukkit.entity.Projectile proj) {
-            org.bukkit.projectiles.ProjectileSource shooter = proj.getShooter();
-            if (shooter instanceof Player pShooter) {
-                return pShooter;
-            }
-        }
+    private void recordLastHit(Player victim, Player attacker) {
+        if (attacker == null || attacker == victim) return;
+        combatTracker.recordHit(victim.getUniqueId(), attacker.getUniqueId(), System.currentTimeMillis());
+    }
 
-        // TNT that was ignited by someone (flint & steel, etc.)
-        if (damager instanceof org.bukkit.entity.TNTPrimed tnt) {
-            Entity source = tnt.getSource();
-            if (source instanceof Player pSource) {
-                return pSource;
-            }
-        }
+    /**
+     * Forget a victim's last-hit info.
+     */
+    private void clearLastHit(UUID victimId) {
+        combatTracker.clearLastHit(victimId);
+        damageLedger.clear(victimId);
+    }
 
-        // Wolves owned by a player
-        if (damager instanceof org.bukkit.entity.Wolf wolf) {
-            org.bukkit.entity.AnimalTamer owner = wolf.getOwner();
-            if (owner instanceof Player pOwner) {
-                return pOwner;
-            }
-        }
+    /**
+     * Shared tick-driven expiry scheduler; other features may register their own timers on it.
+     */
+    public TimingWheel getExpiryWheel() {
+        return expiryWheel;
+    }
 
-        // TNT minecart / end crystal: use PDC to read last known owner UUID
-        if (damager instanceof ExplosiveMinecart ||
-            damager instanceof org.bukkit.entity.EnderCrystal) {
+    /**
+     * Per-player lock stripes; hold a player's lock while reading and rewriting their
+     * {@code players/<uuid>.yml} so concurrent writers do not drop each other's keys.
+     */
+    public StripedLocks getPlayerLocks() {
+        return playerLocks;
+    }
 
-            PersistentDataContainer pdc = damager.getPersistentDataContainer();
-            String raw = pdc.get(brokenHeartKey, PersistentDataType.STRING);
-            if (raw != null) {
-                try {
-                    UUID id = UUID.fromString(raw);
-                    Player p = Bukkit.getPlayer(id);
-                    if (p != null && p.isOnline()) {
-                        return p;
-                    }
-                } catch (IllegalArgumentException ignored) {
-                    // Bad UUID in PDC, just ignore
-                }
-            }
-        }
+    /**
+     * The gateway all SBPC calls go through.
+     */
+    public SbpcGateway getSbpcGateway() {
+        return sbpc instanceof MeteredSbpcGateway metered ? metered.getDelegate() : sbpc;
+    }
 
-        return null;
+    /**
+     * The plugin's metrics; other features may register their own.
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
     }
 
     /**
-     * Store the last hit info for a victim, for 30 seconds.
+     * Replace the SBPC gateway (e.g. with an in-memory stand-in for profiling or load tests).
+     * Cached SBPC answers from the previous gateway are discarded.
      */
-    private void recordLastHit(Player victim, Player attacker) {
-        if (attacker == null || attacker == victim) return;
-        lastHitMap.put(
-                victim.getUniqueId(),
-                new LastHitInfo(attacker.getUniqueId(), System.currentTimeMillis())
-        );
+    public void setSbpcGateway(SbpcGateway gateway) {
+        this.sbpc = new MeteredSbpcGateway(gateway, metrics);
+        if (sbpcCache != null) {
+            sbpcCache = new SbpcQueryCache(this.sbpc, sbpcCacheTtlMs);
+        }
     }
 
     /**
@@ -581,16 +1211,10 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      * or null if there is no recent attacker.
      */
     private Player getLastHitKiller(Player victim) {
-        LastHitInfo info = lastHitMap.get(victim.getUniqueId());
-        if (info == null) return null;
-
-        long now = System.currentTimeMillis();
-        if (now - info.timestampMillis > LAST_HIT_WINDOW_MS) {
-            lastHitMap.remove(victim.getUniqueId());
-            return null;
-        }
+        UUID attackerId = combatTracker.getLastAttacker(victim.getUniqueId(), System.currentTimeMillis());
+        if (attackerId == null) return null;
 
-        Player p = Bukkit.getPlayer(info.attackerId);
+        Player p = Bukkit.getPlayer(attackerId);
         if (p == null || !p.isOnline()) {
             return null;
         }
@@ -639,6 +1263,16 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
         if (p.getHealth() > newVal) {
             p.setHealth(newVal);
         }
+        markHealthDirty(p);
+    }
+
+    /**
+     * Flag a player's cached health multiplier for recomputation on the next skip tick.
+     */
+    private void markHealthDirty(Player p) {
+        if (healthFactorCache != null) {
+            healthFactorCache.markDirty(p.getUniqueId());
+        }
     }
 
     /**
@@ -668,11 +1302,7 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      * Format a half-heart count into a human-friendly string (whole or one decimal place).
      */
     private String formatHearts(int halfHearts) {
-        double hearts = halfHearts / 2.0;
-        if (Math.abs(hearts - Math.round(hearts)) < 0.0001) {
-            return String.format(Locale.US, "%.0f", hearts);
-        }
-        return String.format(Locale.US, "%.1f", hearts);
+        return HeartFormat.format(halfHearts);
     }
 
     /**
@@ -680,17 +1310,32 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      * Returns the actual delta applied (in half-hearts, signed).
      */
     private int applyMaxHealthChange(Player p, int deltaHalfHearts) {
+        return changeMaxHealth(playerLocks, p.getUniqueId(), deltaHalfHearts, () -> getBaseMaxHealth(p),
+                newVal -> {
+                    setBaseMaxHealth(p, newVal);
+                    persistPlayerHearts(p, newVal);
+                });
+    }
+
+    /**
+     * The read-modify-write behind {@link #applyMaxHealthChange}: under {@code id}'s stripe, read
+     * the base max health, add {@code deltaHalfHearts} clamped at 0 and hand the result to
+     * {@code apply}. Returns the delta actually applied. Static so tests stress the real logic.
+     */
+    public static int changeMaxHealth(StripedLocks locks, UUID id, int deltaHalfHearts,
+                                      DoubleSupplier base, DoubleConsumer apply) {
         if (deltaHalfHearts == 0) return 0;
-        double base = getBaseMaxHealth(p);
-        double newVal = base + deltaHalfHearts;
-        if (newVal < 0) {
-            // clamp at 0 and adjust delta accordingly
-            deltaHalfHearts -= (int) Math.ceil(0 - newVal);
-            newVal = 0;
-        }
-        setBaseMaxHealth(p, newVal);
-        persistPlayerHearts(p, newVal);
-        return deltaHalfHearts;
+        return locks.call(id, () -> {
+            int delta = deltaHalfHearts;
+            double newVal = base.getAsDouble() + delta;
+            if (newVal < 0) {
+                // clamp at 0 and adjust delta accordingly
+                delta += (int) Math.ceil(0 - newVal);
+                newVal = 0;
+            }
+            apply.accept(newVal);
+            return delta;
+        });
     }
 
     /**
@@ -706,40 +1351,93 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
     // ------------------------------------------------------------------------
 
     /**
-     * Scheduler task that computes health multipliers and feeds extra SBPC time skips per player.
+     * Per-tick task: visits this tick's bucket of boosted players and pushes coalesced SBPC skips.
+     * Players at full health are never visited; their factor is only recomputed when it changes.
      */
     private void tickHealthBasedSkips() {
-        for (Player p : Bukkit.getOnlinePlayers()) {
-            double factor = computeHealthFactor(p);
-            if (factor <= 1.0) {
-                // nothing extra this second
-                continue;
-            }
-            double extraPerSecond = factor - 1.0; // base SBPC tick already gives 1x
-
-            UUID id = p.getUniqueId();
-            double acc = healthSkipAccumulator.getOrDefault(id, 0.0);
-            acc += extraPerSecond;
-
-            int whole = (int) Math.floor(acc);
-            if (whole > 0) {
-                acc -= whole;
-                // Push additional skip seconds into SBPC
-                // percentSpeedIncrease = 0, just raw seconds
-                SbpcAPI.applyExternalTimeSkip(
-                        id,
-                        whole,
-                        0.0,
-                        "" // no spammy message; SBPC can ignore empty description
-                );
+        long start = System.nanoTime();
+        healthSkipScheduler.tick();
+        healthSkipTimer.recordSince(start);
+    }
+
+    /**
+     * Push accumulated whole skip seconds into SBPC. While a push for the player is still queued
+     * the seconds are added to it, so a lagging server never holds more than one push per player.
+     */
+    private void pushHealthSkip(UUID id, int seconds) {
+        PendingSkip pending = pendingSkips.compute(id, (key, existing) -> {
+            PendingSkip skip = existing != null ? existing : new PendingSkip(key);
+            skip.seconds += seconds;
+            return skip;
+        });
+        workScheduler.submitOnce(WorkScheduler.Priority.LOW, "health-skip-push", pending);
+    }
+
+    /**
+     * A player's queued SBPC skip; later pushes add to it until it runs.
+     */
+    private final class PendingSkip implements WorkScheduler.Work {
+        private final UUID id;
+        // only touched inside pendingSkips.compute/remove
+        private int seconds;
+
+        private PendingSkip(UUID id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean run(long deadlineNanos) {
+            // once removed, new seconds start a fresh accumulator instead of landing here
+            pendingSkips.remove(id, this);
+            int total = seconds;
+            healthSkipsPushed.increment();
+            // percentSpeedIncrease = 0, just raw seconds; the SBPC call runs on the player's
+            // own thread (SBPC may touch the player)
+            Runnable push = () -> sbpc.applyExternalTimeSkip(
+                    id,
+                    total,
+                    0.0,
+                    "" // no spammy message; SBPC can ignore empty description
+            );
+            Player p = Bukkit.getPlayer(id);
+            if (p != null) {
+                platform.runAtEntity("health-skip-push", p, push);
+            } else {
+                push.run();
             }
+            return false;
+        }
+    }
 
-            healthSkipAccumulator.put(id, acc);
+    /**
+     * Per-tick driver: fire due timers, then run this tick's share of deferred work.
+     */
+    private void tickSchedulers() {
+        long start = System.nanoTime();
+        expiryWheel.advance();
+        workScheduler.tick();
+        tickTimer.recordSince(start);
+    }
+
+    /**
+     * Mark {@code players} dirty and ask for {@link #saveDataWork} on the work scheduler. Any
+     * number of requests in the same tick collapse into one pass that writes the stock and the
+     * dirty players' files, spread over later ticks if they do not fit the budget.
+     */
+    private void requestSave(UUID... players) {
+        Collections.addAll(dirtyPlayers, players);
+        if (workScheduler == null) {
+            saveDirtyData(Long.MAX_VALUE);
+            return;
         }
+        workScheduler.submitOnce(WorkScheduler.Priority.HIGH, "save-data", saveDataWork);
     }
 
     /**
-     * Compute the health-based multiplier factor:
+     * Compute the health-based multiplier factor from the configured curve.
+     *
+     * The curve is precompiled to a lookup table on the half-heart grid, so this is a single
+     * array read whatever formula the admin configured. The default curve is:
      *
      * current hearts = min(currentHealth / 2, 10)
      * max hearts     = min(maxHealth    / 2, 10)
@@ -748,20 +1446,9 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      * f_max     = 1 + (2 - maxHearts / 5)
      *
      * total = f_current * f_max
-     *
-     * Health above 10 hearts is ignored (clamped).
      */
     private double computeHealthFactor(Player p) {
-        double current = p.getHealth();
-        double max = getBaseMaxHealth(p);
-
-        double currentHearts = Math.min(current / 2.0, 10.0);
-        double maxHearts = Math.min(max / 2.0, 10.0);
-
-        double factorCurrent = 1.0 + (1.0 - (currentHearts / 10.0));
-        double factorMax = 1.0 + (2.0 - (maxHearts / 5.0));
-
-        return factorCurrent * factorMax;
+        return healthCurve.factor(p.getHealth(), getBaseMaxHealth(p));
     }
 
     // ------------------------------------------------------------------------
@@ -772,7 +1459,7 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      * Check if a player is marked as lifesteal-banned in memory.
      */
     private boolean isBanned(UUID uuid) {
-        return bannedPlayers.contains(uuid);
+        return bans.isBanned(uuid);
     }
 
     /**
@@ -780,28 +1467,60 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      */
     private void banPlayer(Player p) {
         UUID id = p.getUniqueId();
-        if (bannedPlayers.add(id)) {
-            banQueue.add(id);
+        boolean newBan = bans.ban(id);
+        if (newBan) {
+            recordBanDecision(id, BanDecisionEvent.BAN);
+        }
+        // a heart destroyed since the caller found the stock empty revives this ban at once
+        reviveBannedFromStock();
+        if (!bans.isBanned(id)) {
+            // revived by that pass: hand over the pending half-heart now instead of kicking
+            Integer pending = pendingReviveHearts.remove(id);
+            if (pending != null && pending > 0) {
+                applyMaxHealthChange(p, pending);
+                p.sendMessage(msg(p, "pending-revive", "hearts", String.valueOf(pending)));
+            }
+            requestSave(id);
+            return;
+        }
+        if (newBan) {
+            lifestealBans.increment();
         }
 
-        Bukkit.getScheduler().runTask(this, () -> {
-            p.kickPlayer(msg("banned-message"));
-        });
+        workScheduler.submit(WorkScheduler.Priority.HIGH, "ban-kick", () -> platform.runAtEntity("ban-kick", p, () -> {
+            p.kickPlayer(msg(p, "banned-message"));
+        }));
 
         getLogger().info("Lifesteal banned player " + p.getName());
-        saveData();
+        requestSave(id);
     }
 
     /**
-     * Consume a destroyed Broken Heart stockpile to revive a player at 0.5 heart max health.
+     * Revive a player at 0.5 heart max health with a destroyed Broken Heart the caller has
+     * already taken from the stock.
      */
     private void spendDestroyedHeartOnNewDeath(Player p) {
-        destroyedHalfHeartsStock--;
-        if (destroyedHalfHeartsStock < 0) destroyedHalfHeartsStock = 0;
+        destroyedHeartRevives.increment();
+        recordBanDecision(p.getUniqueId(), BanDecisionEvent.SAVED_BY_STOCK);
         setBaseMaxHealth(p, 1.0); // ½ heart max
-        p.sendMessage(msg("saved-by-destroyed-heart"));
+        persistPlayerHearts(p, 1.0);
+        p.sendMessage(msg(p, "saved-by-destroyed-heart"));
         getLogger().info("Destroyed Broken Heart prevented ban for " + p.getName());
-        saveData();
+        requestSave();
+    }
+
+    /**
+     * Emit a JFR ban/revive decision (free when the event is not recorded).
+     */
+    private void recordBanDecision(UUID player, String decision) {
+        BanDecisionEvent jfr = new BanDecisionEvent();
+        if (jfr.shouldCommit()) {
+            jfr.player = player.toString();
+            jfr.decision = decision;
+            jfr.stockAfter = bans.getStock();
+            jfr.bannedPlayers = bans.getBannedCount();
+            jfr.commit();
+        }
     }
 
     /**
@@ -809,24 +1528,33 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      */
     private void onBrokenHeartDestroyed(int amount) {
         if (amount <= 0) return;
-        destroyedHalfHeartsStock += amount;
-
-        // Use destroyed hearts to revive banned players in order
-        while (destroyedHalfHeartsStock > 0 && !banQueue.isEmpty()) {
-            UUID revived = banQueue.remove(0);
-            bannedPlayers.remove(revived);
-            destroyedHalfHeartsStock--;
+        brokenHeartsDestroyed.add(amount);
+        bans.addStock(amount);
+        reviveBannedFromStock();
+        requestSave();
+    }
 
-            if (destroyedHalfHeartsStock < 0) destroyedHalfHeartsStock = 0;
+    /**
+     * Take one destroyed half-heart from the stock if there is any. Never lets the stock go
+     * negative, however many threads race for the last one.
+     */
+    private boolean tryTakeDestroyedHeart() {
+        return bans.tryTake();
+    }
 
-            int pending = pendingReviveHearts.getOrDefault(revived, 0) + 1;
-            pendingReviveHearts.put(revived, pending);
+    /**
+     * Use destroyed hearts to revive banned players in order, one pending ½-heart each.
+     */
+    private void reviveBannedFromStock() {
+        int revived = bans.reviveFromStock(id -> {
+            pendingReviveHearts.merge(id, 1, Integer::sum);
+            dirtyPlayers.add(id);
+            recordBanDecision(id, BanDecisionEvent.REVIVED_FROM_QUEUE);
 
-            getLogger().info("Destroyed Broken Heart revived banned player " + revived
+            getLogger().info("Destroyed Broken Heart revived banned player " + id
                     + " with pending ½-heart.");
-        }
-
-        saveData();
+        });
+        destroyedHeartRevives.add(revived);
     }
 
     /**
@@ -834,7 +1562,7 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      */
     private void scheduleBrokenHeartDestructionCount(Item item, int amount) {
         UUID id = item.getUniqueId();
-        Bukkit.getScheduler().runTask(this, () -> {
+        workScheduler.submit(WorkScheduler.Priority.NORMAL, "broken-heart-check", () -> {
             if (!item.isValid() || item.isDead()) {
                 if (countedBrokenHeartItems.add(id)) {
                     onBrokenHeartDestroyed(amount);
@@ -853,53 +1581,68 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      * Swap SBPC sections between a lower-section killer and higher-section victim when eligible.
      */
     private void handleSectionTradeOnKill(Player killer, Player victim) {
+        SectionTradeEvent jfr = new SectionTradeEvent();
+        jfr.begin();
+        jfr.traded = tradeSectionsIfEligible(killer, victim, jfr);
+        if (jfr.shouldCommit()) {
+            jfr.killer = killer.getName();
+            jfr.victim = victim.getName();
+            jfr.commit();
+        }
+    }
+
+    private boolean tradeSectionsIfEligible(Player killer, Player victim, SectionTradeEvent jfr) {
         UUID kId = killer.getUniqueId();
         UUID vId = victim.getUniqueId();
 
-        String killerSec = SbpcAPI.getCurrentSectionId(kId);
-        String victimSec = SbpcAPI.getCurrentSectionId(vId);
-        if (killerSec == null || victimSec == null) return;
-        if (killerSec.equals(victimSec)) return;
+        String killerSec = sbpcCache.getCurrentSectionId(kId);
+        String victimSec = sbpcCache.getCurrentSectionId(vId);
+        jfr.killerSection = killerSec;
+        jfr.victimSection = victimSec;
+        if (killerSec == null || victimSec == null) return false;
+        if (killerSec.equals(victimSec)) return false;
 
-        int killerIdx = SbpcAPI.getSectionIndex(killerSec);
-        int victimIdx = SbpcAPI.getSectionIndex(victimSec);
-        if (killerIdx < 0 || victimIdx < 0) return;
+        int killerIdx = sbpcCache.getSectionIndex(killerSec);
+        int victimIdx = sbpcCache.getSectionIndex(victimSec);
+        if (killerIdx < 0 || victimIdx < 0) return false;
 
         // Only if killer is strictly below victim
         if (killerIdx >= victimIdx) {
-            return;
+            return false;
         }
 
         // Has this victim already been demoted from this section?
-        Set<String> used = victimSectionDemoted.computeIfAbsent(vId, x -> new HashSet<>());
-        if (used.contains(victimSec)) {
-            return;
+        Set<String> used = victimSectionDemoted.computeIfAbsent(vId, x -> ConcurrentHashMap.newKeySet());
+        if (!used.add(victimSec)) {
+            return false;
         }
 
-        used.add(victimSec);
-
         // One section down for victim, one up for killer
-        SbpcAPI.bumpPlayerDownOneSection(vId);
-        SbpcAPI.bumpPlayerUpOneSection(kId);
+        sbpc.bumpPlayerDownOneSection(vId);
+        sbpc.bumpPlayerUpOneSection(kId);
+        // both players' sections (and possibly unlocks) just changed under the cache
+        sbpcCache.invalidate(vId);
+        sbpcCache.invalidate(kId);
 
         // If keepInventory is enabled, drop newly disallowed equipped items
         World world = victim.getWorld();
         Boolean keepInv = world.getGameRuleValue(GameRule.KEEP_INVENTORY);
         if (keepInv != null && keepInv) {
-            SbpcAPI.dropNowDisallowedEquippedItems(vId, victim.getLocation());
+            sbpc.dropNowDisallowedEquippedItems(vId, victim.getLocation());
         }
 
-        String newKillerSec = SbpcAPI.getCurrentSectionId(kId);
-        String newVictimSec = SbpcAPI.getCurrentSectionId(vId);
+        String newKillerSec = sbpcCache.getCurrentSectionId(kId);
+        String newVictimSec = sbpcCache.getCurrentSectionId(vId);
 
-        String killerMsg = msg("section-bump-up").replace("{section}",
+        String killerMsg = msg(killer, "section-bump-up", "section",
                 newKillerSec != null ? newKillerSec : "?");
-        String victimMsg = msg("section-bump-down").replace("{section}",
+        String victimMsg = msg(victim, "section-bump-down", "section",
                 newVictimSec != null ? newVictimSec : "?");
 
         killer.sendMessage(killerMsg);
         victim.sendMessage(victimMsg);
-        saveData();
+        requestSave(vId);
+        return true;
     }
 
     /**
@@ -909,11 +1652,14 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
         boolean changedA = pvpWarned.add(a.getUniqueId());
         boolean changedB = pvpWarned.add(b.getUniqueId());
 
+        // written with the next save rather than one of their own
         if (changedA) {
-            a.sendMessage(msg("pvp-first-hit-victim"));
+            dirtyPlayers.add(a.getUniqueId());
+            a.sendMessage(msg(a, "pvp-first-hit-victim"));
         }
         if (changedB) {
-            b.sendMessage(msg("pvp-first-hit-attacker"));
+            dirtyPlayers.add(b.getUniqueId());
+            b.sendMessage(msg(b, "pvp-first-hit-attacker"));
         }
     }
     /**
@@ -936,9 +1682,12 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
         }
 
         // 1) Adjust offline victim hearts
-        double victimHearts = loadHeartsFromFile(victimId);
-        double newVictimHearts = Math.max(0.0, victimHearts - 1.0);
-        saveHeartsToFile(victimId, newVictimHearts);
+        double newVictimHearts = playerLocks.call(victimId, () -> {
+            double victimHearts = loadHeartsFromFile(victimId);
+            double updated = Math.max(0.0, victimHearts - 1.0);
+            saveHeartsToFile(victimId, updated);
+            return updated;
+        });
 
         // 2) Ban if hearts reached zero
         if (newVictimHearts <= 0) {
@@ -975,19 +1724,26 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
                 }
 
                 getLogger().info("Offline player banned via combat log death: " + name);
+                recordBanDecision(victimId, BanDecisionEvent.BAN);
             }
         }
 
         // 3) Adjust killer hearts
-        double killerHearts = loadHeartsFromFile(killer.getUniqueId());
-        double newKillerHearts = killerHearts + 1.0;
-        saveHeartsToFile(killer.getUniqueId(), newKillerHearts);
+        double newKillerHearts = playerLocks.call(killer.getUniqueId(), () -> {
+            double updated = loadHeartsFromFile(killer.getUniqueId()) + 1.0;
+            saveHeartsToFile(killer.getUniqueId(), updated);
+            return updated;
+        });
+        double killerHearts = newKillerHearts - 1.0;
         applyHeartsToOnlinePlayer(killer, newKillerHearts);
 
         // 4) Log result
         getLogger().info("Combat-log kill: " + killer.getName()
                 + " gained heart (" + killerHearts + " -> " + newKillerHearts
                 + "), victim now at " + newVictimHearts + " hearts.");
+
+        // the victim is offline, so no quit will evict whatever this kill cached for them
+        sbpcCache.invalidate(victimId);
     }
 
     /**
@@ -1018,17 +1774,13 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
         }
 
         File file = new File(playersFolder, uuid.toString() + ".yml");
-        YamlConfiguration cfg = file.exists()
-                ? YamlConfiguration.loadConfiguration(file)
-                : new YamlConfiguration();
-
-        cfg.set("lifesteal.hearts", hearts);
-
-        try {
-            cfg.save(file);
-        } catch (IOException ex) {
-            getLogger().warning("Failed to save hearts for " + uuid + ": " + ex.getMessage());
-        }
+        playerLocks.run(uuid, () -> {
+            try {
+                writeHeartsFile(file, hearts);
+            } catch (IOException ex) {
+                getLogger().warning("Failed to save hearts for " + uuid + ": " + ex.getMessage());
+            }
+        });
     }
 
     /**
@@ -1045,201 +1797,91 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
                 player.setHealth(newMaxHealth);
             }
         }
+        markHealthDirty(player);
     }
     // ------------------------------------------------------------------------
     // Events
     // ------------------------------------------------------------------------
 
     /**
-     * Bridge hook so the main plugin can react to combat-log zombie kills created by CombatLogManager.
+     * Damage stage: if a TNT minecart or end crystal is being damaged by a player (or their
+     * projectile), remember who last "armed" it for later explosion damage.
      */
-    @EventHandler
-    public void onCombatLoggerZombieDeath(EntityDeathEvent event) {
-        Entity entity = event.getEntity();
-        if (!(entity instanceof Zombie zombie)) {
-            return;
-        }
-
-        PersistentDataContainer pdc = zombie.getPersistentDataContainer();
-        if (!pdc.has(combatLoggerOwnerKey, PersistentDataType.STRING)) {
-            return; // not one of our combat loggers
-        }
-
-        String ownerIdStr = pdc.get(combatLoggerOwnerKey, PersistentDataType.STRING);
-        if (ownerIdStr == null) {
-            return;
-        }
-
-        UUID ownerId;
-        try {
-            ownerId = UUID.fromString(ownerIdStr);
-        } catch (IllegalArgumentException ex) {
-            getLogger().warning("[Lifesteal] Invalid UUID on combat logger zombie: " + ownerIdStr);
-            return;
+    private void armExplosiveOnHit(CombatEventDispatcher.DamageContext ctx) {
+        Entity victimEntity = ctx.getVictim();
+        if (ctx.getAttacker() != null &&
+                (victimEntity instanceof ExplosiveMinecart ||
+                 victimEntity instanceof org.bukkit.entity.EnderCrystal)) {
+            attackerResolver.armExplosive(victimEntity, ctx.getAttacker());
         }
-
-        // At this point, the zombie has died and its drops/xp are already in the world.
-        // Record a pending combat-log death so we can apply the heart loss when the player logs back in.
-        boolean isPvpKill = event.getEntity().getKiller() != null;
-        pendingCombatLogDeaths.put(ownerId, new PendingCombatLogDeath(isPvpKill));
-
-        // Optionally: remove any extra bookkeeping you keep for the combat logger here
-        // (e.g., remove from some map, clear persisted state for this zombie, etc.)
     }
-    /**
-     * When a player rejoins and their proxy zombie died offline, apply the stored heart loss.
-     */
-    @EventHandler
-    public void onPlayerJoinAfterCombatLog(PlayerJoinEvent event) {
-        Player player = event.getPlayer();
-        UUID uuid = player.getUniqueId();
-
-        PendingCombatLogDeath pending = pendingCombatLogDeaths.remove(uuid);
-        if (pending == null) {
-            return; // no offline combat-log death to handle
-        }
 
-        // 1) Teleport to spawnpoint / world spawn
-        Location spawn = player.getBedSpawnLocation();
-        if (spawn == null) {
-            spawn = player.getWorld().getSpawnLocation();
-        }
-        if (spawn != null) {
-            player.teleport(spawn);
-        }
-
-        // 2) Apply the correct heart/half-heart loss, using PVP or ENV loss as appropriate
-        applyCombatLogHeartLoss(player, pending.pvp);
-    }
     /**
-     * Applies lifesteal heart loss for a player whose combat-log zombie died
-     * while they were offline. Treats it as PVP or ENV based on the flag.
+     * Damage stage: cancel PvP unless both players have unlocked it in SBPC.
+     *
+     * Hazard and block-explosion damage (no damager) is only credited to a player because they
+     * were nearby; it is never cancelled here, it just stops counting as PvP.
      */
-    private void applyCombatLogHeartLoss(Player player, boolean pvp) {
-        AttributeInstance maxHealthAttr = player.getAttribute(Attribute.MAX_HEALTH);
-        if (maxHealthAttr == null) {
-            getLogger().warning("[Lifesteal] Could not apply combat-log heart loss: MAX_HEALTH attribute missing for "
-                    + player.getName());
+    private void enforcePvpLock(CombatEventDispatcher.DamageContext ctx) {
+        if (!ctx.isPlayerVsPlayer()) {
             return;
         }
-
-        // Hearts lost from config (in hearts, not half-hearts)
-        double heartsLost = pvp ? pvpLossHearts : envLossHearts;
-        double healthLoss = heartsLost * 2.0; // convert hearts -> health points
-
-        double currentMax = maxHealthAttr.getBaseValue();
-        double newMax = currentMax - healthLoss;
-
-        // If the new max is still above the configured minimum, just reduce it
-        if (newMax >= minMaxHealth) {
-            maxHealthAttr.setBaseValue(newMax);
-
-            // Clamp current health so they don't log in "over max"
-            if (player.getHealth() > newMax) {
-                player.setHealth(newMax);
-            }
-            // You can send a message here if you want to explicitly tell them:
-            // player.sendMessage(prefix + "Your combat logger died while you were offline. You lost " + heartsLost + " heart(s).");
+        Player attacker = ctx.getAttacker();
+        Player victim = ctx.getVictimPlayer();
+        boolean locked = !hasUnlockedPvp(attacker) || !hasUnlockedPvp(victim);
+        if (!locked) {
             return;
         }
-
-        // If we reach here, this offline death would push them below minimum max health.
-        // Mirror your normal "final death" behavior (lifeline stock, then ban).
-
-        // --- OPTIONAL LIFELINE: destroyed broken hearts stock ---
-        if (destroyedHalfHeartsStock > 0) {
-            // Consume ONE half-heart lifeline (adjust exactly how you do it elsewhere)
-            destroyedHalfHeartsStock -= 1;
-            if (destroyedHalfHeartsStock < 0) {
-                destroyedHalfHeartsStock = 0;
-            }
-            saveData();
-
-            // Keep them at minimum max health and clamp current health
-            maxHealthAttr.setBaseValue(minMaxHealth);
-            if (player.getHealth() > minMaxHealth) {
-                player.setHealth(minMaxHealth);
-            }
-
-            player.sendMessage(msg("saved-by-destroyed-heart"));
+        if (ctx.getDamager() == null) {
+            ctx.withholdCredit();
             return;
         }
 
-        // No lifelines left -> ban as in a normal "out of hearts" case.
-        String banReason = msg("banned-message");
-
-        // Use Player#ban with a far-future date to effectively permanent-ban.
-        // (You already switched to using .ban earlier.)
-        Date farFuture = new Date(System.currentTimeMillis() + 1000L * 60L * 60L * 24L * 365L * 100L);
-        player.ban(banReason, farFuture, null);
-
-        // Kick them immediately so the ban takes effect.
-        player.kickPlayer(banReason);
+        ctx.cancel();
+        long now = ctx.getNowMillis();
+        if (!hasUnlockedPvp(attacker)) {
+            sendPvpLockMessage(attacker, "pvp-locked-self", now);
+            return;
+        }
+        sendPvpLockMessage(attacker, "pvp-locked-target", now);
+        sendPvpLockMessage(victim, "pvp-locked-victim", now);
     }
 
-
-
     /**
-     * Track last-hits for kill attribution, enforce PVP unlocks, and warn first-time combatants.
+     * Send a PvP-lock message unless this player got one within the cooldown; a held attack
+     * or a stream of arrows would otherwise send one per hit.
      */
-    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
-    public void onPvpDamage(EntityDamageByEntityEvent event) {
-        Entity victimEntity = event.getEntity();
-        Entity damager = event.getDamager();
-
-        // Resolve which PLAYER is really responsible for this damage (projectiles, TNT, wolves, etc.)
-        Player attacker = resolveDamagerPlayer(damager);
-
-        //
-        // If TNT minecart or end crystal is being damaged by a player (or their projectile),
-        // remember who last "armed" it for later explosion damage.
-        //
-        if (attacker != null &&
-                (victimEntity instanceof ExplosiveMinecart ||
-                 victimEntity instanceof org.bukkit.entity.EnderCrystal)) {
-
-            // Use entity PDC so we don't need a separate map
-            PersistentDataContainer pdc = victimEntity.getPersistentDataContainer();
-            pdc.set(brokenHeartKey, PersistentDataType.STRING, attacker.getUniqueId().toString());
-            // NOTE: we reuse brokenHeartKey here just as a namespaced key storage point
-            // to avoid introducing another field; only this code reads it via resolveDamagerPlayer.
-        }
-
-        // If the victim is not a player, nothing else to do (we only care about
-        // last-hit tracking when PLAYERS are being damaged).
-        if (!(victimEntity instanceof Player victim)) {
-            return;
-        }
-
-        if (attacker == null || attacker == victim) {
-            return;
-        }
-
-        if (!hasUnlockedPvp(attacker)) {
-            event.setCancelled(true);
-            attacker.sendMessage(msg("pvp-locked-self"));
+    private void sendPvpLockMessage(Player player, String key, long nowMillis) {
+        UUID id = player.getUniqueId();
+        Long last = pvpLockMessageSent.get(id);
+        if (last != null && nowMillis - last < PVP_LOCK_MESSAGE_COOLDOWN_MS) {
             return;
         }
+        pvpLockMessageSent.put(id, nowMillis);
+        player.sendMessage(msg(player, key));
+    }
 
-        if (!hasUnlockedPvp(victim)) {
-            event.setCancelled(true);
-            attacker.sendMessage(msg("pvp-locked-target"));
-            victim.sendMessage(msg("pvp-locked-victim"));
+    /**
+     * Damage stage: track last-hits for kill attribution and warn first-time combatants.
+     */
+    private void recordPvpHit(CombatEventDispatcher.DamageContext ctx) {
+        if (!ctx.isPlayerVsPlayer()) {
             return;
         }
-
-        // Track last hit for kill attribution
-        recordLastHit(victim, attacker);
+        // Track last hit for kill attribution, plus every hit for shared credit
+        recordLastHit(ctx.getVictimPlayer(), ctx.getAttacker());
+        damageLedger.recordHit(ctx.getVictimPlayer().getUniqueId(), ctx.getAttacker().getUniqueId(),
+                ctx.getEvent().getFinalDamage(), ctx.getNowMillis());
 
         // First-time warning (existing behavior)
-        markPvpWarned(attacker, victim);
+        markPvpWarned(ctx.getAttacker(), ctx.getVictimPlayer());
     }
 
     /**
      * Check SBPC for the custom PVP unlock gate.
      */
     private boolean hasUnlockedPvp(Player player) {
-        return SbpcAPI.isCustomUnlocked(player.getUniqueId(), PVP_UNLOCK_ENTRY_ID);
+        return sbpcCache.isCustomUnlocked(player.getUniqueId(), PVP_UNLOCK_ENTRY_ID);
     }
 
 
@@ -1248,18 +1890,44 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      */
     @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
     public void onPlayerDeath(PlayerDeathEvent event) {
+        long start = System.nanoTime();
+        DeathProcessedEvent jfr = new DeathProcessedEvent();
+        jfr.begin();
+        try {
+            handlePlayerDeath(event, jfr);
+        } finally {
+            playerDeathTimer.recordSince(start);
+            jfr.commit();
+        }
+    }
+
+    private void handlePlayerDeath(PlayerDeathEvent event, DeathProcessedEvent jfr) {
         Player victim = event.getEntity();
         Player killer = resolveKillerForDeath(victim); // <-- changed
 
         double vMax = getBaseMaxHealth(victim);
         int vMaxHalf = (int) Math.round(vMax); // base in half-hearts
 
-        boolean environmentalDeath = !(victim.getLastDamageCause() instanceof EntityDamageByEntityEvent);
+        // a death from lava, fire, a bed ... that a player set up counts as PVP too
+        EntityDamageEvent lastCause = victim.getLastDamageCause();
+        boolean environmentalDeath = !(lastCause instanceof EntityDamageByEntityEvent)
+                && (lastCause == null || attackerResolver.resolveEnvironmentalDamager(lastCause) == null);
         boolean pvpDeath = !environmentalDeath && killer != null && killer != victim;
+        if (pvpDeath && !(lastCause instanceof EntityDamageByEntityEvent)
+                && (!hasUnlockedPvp(killer) || !hasUnlockedPvp(victim))) {
+            // hazard credit between PvP-locked players is not PvP; die to the lava as usual
+            pvpDeath = false;
+        }
+        if (jfr.isEnabled()) {
+            jfr.victim = victim.getName();
+            jfr.killer = pvpDeath ? killer.getName() : "";
+            jfr.pvp = pvpDeath;
+            jfr.cause = lastCause != null ? lastCause.getCause().name() : "UNKNOWN";
+        }
 
         if (pvpDeath) {
             if (!hasUnlockedPvp(killer) || !hasUnlockedPvp(victim)) {
-                lastHitMap.remove(victim.getUniqueId());
+                clearLastHit(victim.getUniqueId());
                 return;
             }
 
@@ -1268,22 +1936,16 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
             if (toSteal > 0) {
                 int actualDeltaVictim = applyMaxHealthChange(victim, -toSteal);
                 actualStolen = Math.abs(actualDeltaVictim);
-                if (actualStolen > 0) {
-                    applyMaxHealthChange(killer, actualStolen);
-                }
             }
+            jfr.halfHeartsLost = actualStolen;
 
             if (actualStolen > 0) {
-                String victimMsg = msg("pvp-death-victim")
-                        .replace("{killer}", killer.getName())
-                        .replace("{hearts}", formatHearts(actualStolen));
+                String victimMsg = msg(victim, "pvp-death-victim",
+                        "killer", killer.getName(),
+                        "hearts", formatHearts(actualStolen));
                 victim.sendMessage(victimMsg);
-
-                String killerMsg = msg("pvp-death-killer")
-                        .replace("{victim}", victim.getName())
-                        .replace("{hearts}", formatHearts(actualStolen));
-                killer.sendMessage(killerMsg);
             }
+            distributeKillCredit(killer, victim, actualStolen);
 
             handleBanOrRevive(victim);
             handleSectionTradeOnKill(killer, victim);
@@ -1300,21 +1962,70 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
                     victim.getWorld().dropItemNaturally(victim.getLocation(), heart);
                 }
             }
+            jfr.halfHeartsLost = actualLost;
 
             if (actualLost > 0) {
-                String envMsg = msg("env-death-loss")
-                        .replace("{hearts}", formatHearts(actualLost));
+                String envMsg = msg(victim, "env-death-loss",
+                        "hearts", formatHearts(actualLost));
                 victim.sendMessage(envMsg);
             }
 
             handleBanOrRevive(victim);
 
             // Reset progress ONLY for current entry (not section)
-            SbpcAPI.resetCurrentEntryProgress(victim.getUniqueId());
+            sbpc.resetCurrentEntryProgress(victim.getUniqueId());
         }
 
         // Clear last-hit info on death so it doesn't leak into future lives
-        lastHitMap.remove(victim.getUniqueId());
+        clearLastHit(victim.getUniqueId());
+    }
+
+    /**
+     * Hand the stolen half-hearts to the killer and, depending on kill-credit rules, to other
+     * attackers in the victim's damage ledger; credit assists and send the matching messages.
+     */
+    private void distributeKillCredit(Player killer, Player victim, int stolenHalfHearts) {
+        List<DamageLedger.Contribution> eligible = new ArrayList<>();
+        if (killCreditRules.getMode() != KillCreditRules.Mode.LAST_HIT) {
+            for (DamageLedger.Contribution c : damageLedger.getContributions(victim.getUniqueId(),
+                    System.currentTimeMillis())) {
+                if (c.getAttacker().equals(victim.getUniqueId())) continue;
+                Player p = Bukkit.getPlayer(c.getAttacker());
+                if (p == null || !p.isOnline() || !hasUnlockedPvp(p)) continue;
+                eligible.add(c);
+            }
+        }
+
+        for (KillCreditRules.Share share : killCreditRules.allocate(killer.getUniqueId(), stolenHalfHearts, eligible)) {
+            Player p = share.isKiller() ? killer : Bukkit.getPlayer(share.getPlayer());
+            if (p == null) continue;
+            // an attacker may stand in another region than the victim whose death fired this
+            platform.runAtEntity("kill-credit", p, () -> applyKillCreditShare(p, victim.getName(), share));
+        }
+    }
+
+    /**
+     * Give one {@link KillCreditRules.Share} to {@code p} and tell them; runs on {@code p}'s thread.
+     */
+    private void applyKillCreditShare(Player p, String victimName, KillCreditRules.Share share) {
+        int half = share.getHalfHearts();
+        if (half > 0) {
+            applyMaxHealthChange(p, half);
+        }
+
+        if (share.isKiller()) {
+            if (half > 0) {
+                p.sendMessage(msg(p, "pvp-death-killer",
+                        "victim", victimName,
+                        "hearts", formatHearts(half)));
+            }
+        } else if (half > 0) {
+            p.sendMessage(msg(p, "pvp-assist-share",
+                    "victim", victimName,
+                    "hearts", formatHearts(half)));
+        } else {
+            p.sendMessage(msg(p, "pvp-assist", "victim", victimName));
+        }
     }
 
     /**
@@ -1326,7 +2037,7 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
             return;
         }
 
-        if (destroyedHalfHeartsStock > 0) {
+        if (tryTakeDestroyedHeart()) {
             spendDestroyedHeartOnNewDeath(victim);
         } else {
             banPlayer(victim);
@@ -1337,10 +2048,11 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
      * Deny login to lifesteal-banned players before they fully join.
      */
     @EventHandler
-    public void onPlayerLogin(PlayerLoginEvent event) {
-        UUID id = event.getPlayer().getUniqueId();
+    public void onPlayerLogin(AsyncPlayerPreLoginEvent event) {
+        // runs on the login thread; the ban set is concurrent
+        UUID id = event.getUniqueId();
         if (isBanned(id)) {
-            event.disallow(PlayerLoginEvent.Result.KICK_BANNED,
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED,
                     msg("ban-login"));
         }
     }
@@ -1352,15 +2064,18 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player p = event.getPlayer();
         UUID id = p.getUniqueId();
+        // progress may have changed while offline
+        sbpcCache.invalidate(id);
 
-        if (pendingReviveHearts.containsKey(id)) {
-            int amt = pendingReviveHearts.remove(id);
+        Integer pendingRevive = pendingReviveHearts.remove(id);
+        if (pendingRevive != null) {
+            int amt = pendingRevive;
             if (amt > 0) {
                 setBaseMaxHealth(p, Math.max(0.0, getBaseMaxHealth(p)));
                 applyMaxHealthChange(p, amt);
-                p.sendMessage(msg("pending-revive").replace("{hearts}", String.valueOf(amt)));
+                p.sendMessage(msg(p, "pending-revive", "hearts", String.valueOf(amt)));
             }
-            saveData();
+            requestSave(id);
         }
 
         double configuredHearts = loadHeartsFromFile(id);
@@ -1368,11 +2083,15 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
     }
 
     /**
-     * Placeholder hook for symmetry; state is persisted elsewhere on disable/save.
+     * Drop per-session health caches; other state is persisted elsewhere on disable/save.
      */
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
-        // no special logic; state is saved via saveData/onDisable
+        UUID id = event.getPlayer().getUniqueId();
+        healthFactorCache.remove(id);
+        healthSkipScheduler.flush(id);
+        sbpcCache.invalidate(id);
+        pvpLockMessageSent.remove(id);
     }
 
     /**
@@ -1385,6 +2104,26 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
         applyHeartsToOnlinePlayer(player, configuredHearts);
     }
 
+    /**
+     * Any damage to a player changes their health multiplier; recompute it on the next skip tick.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onPlayerHealthDamage(EntityDamageEvent event) {
+        if (event.getEntity() instanceof Player p) {
+            markHealthDirty(p);
+        }
+    }
+
+    /**
+     * Regenerated health lowers the multiplier; recompute it on the next skip tick.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onPlayerHealthRegain(EntityRegainHealthEvent event) {
+        if (event.getEntity() instanceof Player p) {
+            markHealthDirty(p);
+        }
+    }
+
     // ------------------------------------------------------------------------
     // Broken Heart usage & destruction
     // ------------------------------------------------------------------------
@@ -1414,7 +2153,7 @@ public class SBPCLifestealPlugin extends JavaPlugin implements Listener {
 
         // consume one
         item.setAmount(item.getAmount() - 1);
-        p.sendMessage(msg("broken-heart-use"));
+        p.sendMessage(msg(p, "broken-heart-use"));
 
         event.setCancelled(true);
     }
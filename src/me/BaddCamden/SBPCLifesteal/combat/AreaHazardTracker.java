@@ -0,0 +1,205 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import me.BaddCamden.SBPCLifesteal.util.LongOwnerTable;
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockIgniteEvent;
+import org.bukkit.event.entity.AreaEffectCloudApplyEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.entity.PotionSplashEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Connects area and lingering damage to the player who caused it.
+ *
+ * When a player empties lava, lights fire, or sets off an owned explosion, every other player
+ * within the configured radius (found through the {@link PlayerSpatialIndex}, never by scanning
+ * everyone online) is marked as exposed to that player's hazard for a short time. Splash and
+ * lingering potions mark the players they actually affect. Follow-up damage with no attacker of
+ * its own (lava, fire, burning, poison, wither, magic) is then attributed to that player and runs
+ * through the normal combat pipeline, so it tags, records hits and credits kills.
+ *
+ * Exposure is keyed by the victim's entity id in a primitive table and expires on its own.
+ * Thread-safe: the table guards itself and settings are published through volatile fields.
+ */
+public class AreaHazardTracker implements Listener {
+
+    private static final long SWEEP_INTERVAL_TICKS = 30L * 20L;
+
+    private final TimingWheel wheel;
+    private final PlayerSpatialIndex spatialIndex;
+    private final LongOwnerTable exposure = new LongOwnerTable(64);
+    private volatile long exposureTtlMs;
+    private volatile double placementRadius;
+    private volatile double explosionRadius;
+
+    // the explosive-owner tracker resolves explosions; we only spread their hazard
+    private volatile AttackerResolver attackerResolver;
+    private volatile ExplosiveOwnershipTracker explosiveOwners;
+
+    private final TimingWheel.Timeout sweepTimer = new TimingWheel.Timeout() {
+        @Override
+        protected void onExpire() {
+            exposure.sweep(System.currentTimeMillis());
+            wheel.schedule(this, SWEEP_INTERVAL_TICKS);
+        }
+    };
+
+    /**
+     * Create a tracker that finds nearby players through {@code spatialIndex}.
+     */
+    public AreaHazardTracker(TimingWheel wheel, PlayerSpatialIndex spatialIndex,
+                             long exposureTtlMs, double placementRadius, double explosionRadius) {
+        this.wheel = wheel;
+        this.spatialIndex = spatialIndex;
+        setSettings(exposureTtlMs, placementRadius, explosionRadius);
+        wheel.schedule(sweepTimer, SWEEP_INTERVAL_TICKS);
+    }
+
+    /**
+     * Wire in explosion attribution (set once during startup).
+     */
+    public void setExplosionSources(AttackerResolver attackerResolver, ExplosiveOwnershipTracker explosiveOwners) {
+        this.attackerResolver = attackerResolver;
+        this.explosiveOwners = explosiveOwners;
+    }
+
+    /**
+     * Change exposure time and radii.
+     */
+    public void setSettings(long exposureTtlMs, double placementRadius, double explosionRadius) {
+        this.exposureTtlMs = Math.max(1L, exposureTtlMs);
+        this.placementRadius = Math.max(0.0, placementRadius);
+        this.explosionRadius = Math.max(0.0, explosionRadius);
+    }
+
+    /**
+     * Whether damage of this cause can be attributed through exposure.
+     */
+    public static boolean isHazardCause(EntityDamageEvent.DamageCause cause) {
+        switch (cause) {
+            case LAVA:
+            case FIRE:
+            case FIRE_TICK:
+            case POISON:
+            case WITHER:
+            case MAGIC:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The online player whose hazard {@code victim} is exposed to, or null.
+     */
+    public Player resolveOwner(Entity victim) {
+        UUID owner = exposure.getOwner(victim.getEntityId(), System.currentTimeMillis());
+        if (owner == null) return null;
+        Player p = Bukkit.getPlayer(owner);
+        return p != null && p.isOnline() && p != victim ? p : null;
+    }
+
+    /**
+     * Mark {@code victim} as exposed to {@code owner}'s hazard.
+     */
+    public void expose(Entity victim, UUID owner) {
+        exposure.put(victim.getEntityId(), owner, System.currentTimeMillis() + exposureTtlMs);
+    }
+
+    private void exposeNear(Location center, double radius, Player owner) {
+        if (radius <= 0.0) return;
+        UUID ownerId = owner.getUniqueId();
+        spatialIndex.forEachNear(center, radius, p -> {
+            if (p != owner) {
+                expose(p, ownerId);
+            }
+        });
+    }
+
+    private void exposeAffected(Collection<? extends LivingEntity> affected, Player owner) {
+        UUID ownerId = owner.getUniqueId();
+        for (LivingEntity entity : affected) {
+            if (entity instanceof Player p && p != owner) {
+                expose(p, ownerId);
+            }
+        }
+    }
+
+    /**
+     * Forget everything and stop the periodic sweep.
+     */
+    public void shutdown() {
+        wheel.cancel(sweepTimer);
+        exposure.clear();
+    }
+
+    // ------------------------------------------------------------------------
+    // Hazard sources
+    // ------------------------------------------------------------------------
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        if (event.getBucket() != Material.LAVA_BUCKET) return;
+        Block block = event.getBlock();
+        exposeNear(block.getLocation().add(0.5, 0.5, 0.5), placementRadius, event.getPlayer());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onIgnite(BlockIgniteEvent event) {
+        Player player = event.getPlayer();
+        if (player == null) return;
+        exposeNear(event.getBlock().getLocation().add(0.5, 0.5, 0.5), placementRadius, player);
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onPotionSplash(PotionSplashEvent event) {
+        if (event.getPotion().getShooter() instanceof Player thrower) {
+            exposeAffected(event.getAffectedEntities(), thrower);
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onCloudApply(AreaEffectCloudApplyEvent event) {
+        if (event.getEntity().getSource() instanceof Player thrower) {
+            exposeAffected(event.getAffectedEntities(), thrower);
+        }
+    }
+
+    /**
+     * Fire left by an owned explosion keeps hurting after the blast itself.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        if (attackerResolver == null) return;
+        Player owner = attackerResolver.resolveDamagerPlayer(event.getEntity());
+        if (owner != null) {
+            exposeNear(event.getLocation(), explosionRadius, owner);
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        if (explosiveOwners == null) return;
+        Block block = event.getBlock();
+        UUID ownerId = explosiveOwners.getBlockOwner(block.getWorld(), block.getX(), block.getY(), block.getZ());
+        Player owner = ownerId != null ? Bukkit.getPlayer(ownerId) : null;
+        if (owner != null) {
+            exposeNear(block.getLocation().add(0.5, 0.5, 0.5), explosionRadius, owner);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageByBlockEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+
+/**
+ * Works out which PLAYER is responsible for a damaging entity.
+ * Shared by every damage handler so the same attacker is credited everywhere.
+ */
+public class AttackerResolver {
+
+    // in-memory owners of TNT minecarts, crystals, primed TNT chains, beds, anchors ...
+    private final ExplosiveOwnershipTracker explosiveOwners;
+    // lava / fire / potion exposure around players
+    private final AreaHazardTracker hazards;
+
+    /**
+     * Create a resolver that looks up explosive owners and area hazards in the given trackers.
+     */
+    public AttackerResolver(ExplosiveOwnershipTracker explosiveOwners, AreaHazardTracker hazards) {
+        this.explosiveOwners = explosiveOwners;
+        this.hazards = hazards;
+    }
+
+    /**
+     * Resolve which PLAYER is responsible for the damage:
+     * - Direct melee from a player
+     * - Projectiles shot by a player
+     * - TNT ignited by a player (TNTPrimed.getSource())
+     * - Wolves owned by a player
+     * - Any explosive with a tracked owner (armed minecarts/crystals, TNT chains, lit creepers)
+     */
+    public Player resolveDamagerPlayer(Entity damager) {
+        if (damager instanceof Player p) {
+            return p;
+        }
+
+        // Projectile (arrow, trident, etc.) shot by a player
+        if (damager instanceof org.bukkit.entity.Projectile proj) {
+            org.bukkit.projectiles.ProjectileSource shooter = proj.getShooter();
+            if (shooter instanceof Player pShooter) {
+                return pShooter;
+            }
+        }
+
+        // TNT that was ignited by someone (flint & steel, etc.)
+        if (damager instanceof org.bukkit.entity.TNTPrimed tnt) {
+            Entity source = tnt.getSource();
+            if (source instanceof Player pSource) {
+                return pSource;
+            }
+        }
+
+        // Lingering potion clouds thrown by a player
+        if (damager instanceof org.bukkit.entity.AreaEffectCloud cloud) {
+            if (cloud.getSource() instanceof Player pSource) {
+                return pSource;
+            }
+        }
+
+        // Wolves owned by a player
+        if (damager instanceof org.bukkit.entity.Wolf wolf) {
+            org.bukkit.entity.AnimalTamer owner = wolf.getOwner();
+            if (owner instanceof Player pOwner) {
+                return pOwner;
+            }
+        }
+
+        // TNT minecart / end crystal / unsourced TNT / creeper: tracked owner, O(1) lookup
+        return explosiveOwners.resolveEntityOwner(damager);
+    }
+
+    /**
+     * Resolve which PLAYER caused damage that has no damaging entity:
+     * - Bed / respawn anchor explosions set off by a player
+     * - Lava, fire, burning, poison, wither or magic from a hazard the victim was exposed to
+     */
+    public Player resolveEnvironmentalDamager(EntityDamageEvent event) {
+        if (event.getCause() == EntityDamageEvent.DamageCause.BLOCK_EXPLOSION) {
+            return event instanceof EntityDamageByBlockEvent byBlock
+                    ? explosiveOwners.resolveBlockDamager(byBlock)
+                    : null;
+        }
+        if (AreaHazardTracker.isHazardCause(event.getCause())) {
+            return hazards.resolveOwner(event.getEntity());
+        }
+        return null;
+    }
+
+    /**
+     * Remember who last "armed" a TNT minecart or end crystal for later explosion damage.
+     */
+    public void armExplosive(Entity explosive, Player attacker) {
+        explosiveOwners.trackEntity(explosive, attacker.getUniqueId());
+    }
+}
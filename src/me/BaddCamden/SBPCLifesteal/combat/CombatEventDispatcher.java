@@ -0,0 +1,259 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import me.BaddCamden.SBPCLifesteal.metrics.LatencyHistogram;
+import me.BaddCamden.SBPCLifesteal.metrics.MetricsRegistry;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single entry point for entity-vs-entity damage, attributable environmental damage and
+ * non-player deaths.
+ *
+ * Each {@link EntityDamageByEntityEvent} (and each block-explosion or hazard damage event that
+ * can be traced to a player, e.g. a bed they set off or lava they poured) is seen once: the responsible player is resolved a
+ * single time through the shared {@link AttackerResolver}, stored in a reusable
+ * {@link DamageContext}, and then handed to the registered stages in order (explosive arming,
+ * combat-logger protection, PvP lock, tagging, last-hit ...). A stage that cancels the event
+ * stops the pipeline. Non-player deaths are likewise offered to death stages until one claims
+ * the event. Each region thread reuses a context of its own, so regions dispatch in parallel.
+ */
+public class CombatEventDispatcher implements Listener {
+
+    /**
+     * One step of the damage pipeline.
+     */
+    public interface DamageStage {
+        void handle(DamageContext ctx);
+    }
+
+    /**
+     * One step of the death pipeline; returns true if it consumed the event.
+     */
+    public interface DeathStage {
+        boolean handle(EntityDeathEvent event);
+    }
+
+    /**
+     * Per-event damage data shared by every stage. Reused between events on the same thread;
+     * do not retain.
+     */
+    public static final class DamageContext {
+        private EntityDamageEvent event;
+        private Entity damager;
+        private Entity victim;
+        private Player victimPlayer;
+        private Player attacker;
+        private long nowMillis;
+
+        private void set(EntityDamageEvent event, Entity damager, Player attacker, long nowMillis) {
+            this.event = event;
+            this.damager = damager;
+            this.victim = event.getEntity();
+            this.victimPlayer = victim instanceof Player p ? p : null;
+            this.attacker = attacker;
+            this.nowMillis = nowMillis;
+        }
+
+        private void clear() {
+            event = null;
+            damager = null;
+            victim = null;
+            victimPlayer = null;
+            attacker = null;
+        }
+
+        /**
+         * The event being dispatched.
+         */
+        public EntityDamageEvent getEvent() {
+            return event;
+        }
+
+        /**
+         * The damaging entity, or null for block-explosion and hazard damage.
+         */
+        public Entity getDamager() {
+            return damager;
+        }
+
+        /**
+         * The damaged entity.
+         */
+        public Entity getVictim() {
+            return victim;
+        }
+
+        /**
+         * The damaged entity if it is a player, else null.
+         */
+        public Player getVictimPlayer() {
+            return victimPlayer;
+        }
+
+        /**
+         * The player responsible for the damage (melee, projectile, TNT, wolf, ...), or null.
+         */
+        public Player getAttacker() {
+            return attacker;
+        }
+
+        /**
+         * Whether this is a player damaging a different player.
+         */
+        public boolean isPlayerVsPlayer() {
+            return victimPlayer != null && attacker != null && attacker != victimPlayer;
+        }
+
+        /**
+         * Timestamp taken once when dispatch started.
+         */
+        public long getNowMillis() {
+            return nowMillis;
+        }
+
+        /**
+         * Cancel the event; remaining stages are skipped.
+         */
+        public void cancel() {
+            event.setCancelled(true);
+        }
+
+        /**
+         * Let the damage through but credit nobody: later stages see no attacker, so the hit
+         * is not tagged or recorded.
+         */
+        public void withholdCredit() {
+            attacker = null;
+        }
+    }
+
+    private final AttackerResolver attackerResolver;
+    private final List<DamageStage> damageStages = new ArrayList<>();
+    private final List<DeathStage> deathStages = new ArrayList<>();
+    /**
+     * A thread's reusable context and whether it is already dispatching.
+     */
+    private static final class Frame {
+        final DamageContext context = new DamageContext();
+        boolean dispatching;
+    }
+
+    private final ThreadLocal<Frame> frames = ThreadLocal.withInitial(Frame::new);
+    private LatencyHistogram damageTimer;
+    private LatencyHistogram deathTimer;
+
+    /**
+     * Create a dispatcher that resolves attackers with the given resolver.
+     */
+    public CombatEventDispatcher(AttackerResolver attackerResolver) {
+        this.attackerResolver = attackerResolver;
+    }
+
+    /**
+     * Time both pipelines into {@code metrics} from now on.
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.damageTimer = metrics.histogram("combat_damage_pipeline",
+                "Time spent running the damage stages per event.");
+        this.deathTimer = metrics.histogram("combat_death_pipeline",
+                "Time spent running the death stages per event.");
+    }
+
+    /**
+     * Append a stage to the damage pipeline.
+     */
+    public void addDamageStage(DamageStage stage) {
+        damageStages.add(stage);
+    }
+
+    /**
+     * Append a stage to the non-player death pipeline.
+     */
+    public void addDeathStage(DeathStage stage) {
+        deathStages.add(stage);
+    }
+
+    /**
+     * Resolve the attacker once and fan the event out to every damage stage.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
+    public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
+        Entity damager = event.getDamager();
+        dispatch(event, damager, attackerResolver.resolveDamagerPlayer(damager));
+    }
+
+    /**
+     * Run block-explosion damage and hazard damage (lava, fire, poison ...) that can be traced
+     * to a player through the same stages, credited to that player. These events have no
+     * damager; stages must not cancel them over who gets credit, only withhold it. Other
+     * environmental damage is left alone.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
+    public void onEnvironmentalDamage(EntityDamageEvent event) {
+        if (event instanceof EntityDamageByEntityEvent) {
+            return; // handled above
+        }
+        Player attacker = attackerResolver.resolveEnvironmentalDamager(event);
+        if (attacker == null && event.getCause() != EntityDamageEvent.DamageCause.BLOCK_EXPLOSION) {
+            return;
+        }
+        dispatch(event, null, attacker);
+    }
+
+    private void dispatch(EntityDamageEvent event, Entity damager, Player attacker) {
+        // a stage may cause nested damage; only the outermost dispatch reuses the thread's context
+        Frame frame = frames.get();
+        boolean nested = frame.dispatching;
+        DamageContext ctx = nested ? new DamageContext() : frame.context;
+        frame.dispatching = true;
+        long start = damageTimer != null && !nested ? System.nanoTime() : 0L;
+        try {
+            ctx.set(event, damager, attacker, System.currentTimeMillis());
+            for (int i = 0; i < damageStages.size(); i++) {
+                damageStages.get(i).handle(ctx);
+                if (event.isCancelled()) {
+                    break;
+                }
+            }
+        } finally {
+            ctx.clear();
+            frame.dispatching = nested;
+            if (start != 0L) {
+                damageTimer.recordSince(start);
+            }
+        }
+    }
+
+    /**
+     * Offer non-player deaths to each death stage until one claims it.
+     * Player deaths are handled separately by the lifesteal core.
+     */
+    @EventHandler
+    public void onEntityDeath(EntityDeathEvent event) {
+        if (event instanceof PlayerDeathEvent) {
+            return;
+        }
+        long start = deathTimer != null ? System.nanoTime() : 0L;
+        try {
+            for (int i = 0; i < deathStages.size(); i++) {
+                if (deathStages.get(i).handle(event)) {
+                    return;
+                }
+            }
+        } finally {
+            if (start != 0L) {
+                deathTimer.recordSince(start);
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ public class CombatLogEntry {
     private final UUID playerId;
 
     private UUID zombieId; // UUID of the spawned zombie, if alive
+    private volatile org.bukkit.entity.Entity proxy; // the spawned zombie itself; runtime only, never persisted
 
     private String worldName;
     private double x;
@@ -21,11 +22,11 @@ public class CombatLogEntry {
     private float yaw;
     private float pitch;
 
-    private double health;
+    private volatile double health; // logout health, then the proxy's as it takes damage
     private double maxHealth;
 
     private long spawnTimeMillis;
-    private boolean zombieAlive;
+    private volatile boolean zombieAlive;
 
     private ItemStack[] contents;
     private ItemStack[] armor;
@@ -63,6 +64,21 @@ public class CombatLogEntry {
         this.zombieId = zombieId;
     }
 
+    /**
+     * The zombie currently standing in for the player, or null while none is in the world.
+     */
+    public org.bukkit.entity.Entity getProxy() {
+        return proxy;
+    }
+
+    /**
+     * Bind (or with null, unbind) the live zombie; keeps {@link #getZombieId()} in step.
+     */
+    public void setProxy(org.bukkit.entity.Entity proxy) {
+        this.proxy = proxy;
+        this.zombieId = proxy != null ? proxy.getUniqueId() : null;
+    }
+
     /**
      * Name of the world where the player logged out.
      */
@@ -158,14 +174,14 @@ public class CombatLogEntry {
     }
 
     /**
-     * Stored health value at logout (current health of the player).
+     * Stored health: the player's at logout, then the proxy's whenever one is taken down.
      */
     public double getHealth() {
         return health;
     }
 
     /**
-     * Capture the health the player had when logging out.
+     * Capture the health the player had when logging out, or a proxy had when it went away.
      */
     public void setHealth(double health) {
         this.health = health;
@@ -2,6 +2,12 @@ package me.BaddCamden.SBPCLifesteal.combat;
 
 
 import me.BaddCamden.SBPCLifesteal.SBPCLifestealPlugin;
+import me.BaddCamden.SBPCLifesteal.jfr.CombatLoggerDeathEvent;
+import me.BaddCamden.SBPCLifesteal.jfr.CombatLoggerSpawnEvent;
+import me.BaddCamden.SBPCLifesteal.jfr.PersistenceFlushEvent;
+import me.BaddCamden.SBPCLifesteal.platform.PlatformScheduler;
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+import me.BaddCamden.SBPCLifesteal.util.WorkScheduler;
 import org.bukkit.*;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -9,17 +15,24 @@ import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.*;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.entity.EntityRemoveEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
 import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.util.Vector;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Handles combat-tagging and combat-logging zombies for SBPCLifesteal.
@@ -33,6 +46,29 @@ import java.util.*;
  * - If the player rejoins first or 2 minutes pass, the zombie despawns and the player gets their
  *   items/XP back safely.
  * - Combat-log state is persisted per-player in plugins/SBPCLifesteal/players/<uuid>.yml.
+ * - Tags live in the plugin's shared {@link CombatTracker}; tag and zombie TTL expiry are driven
+ *   by the shared {@link TimingWheel}, so expired state is dropped at the right tick without
+ *   periodic scans.
+ * - Quitting only snapshots the player. Spawning the zombie and writing the YAML file happen from
+ *   a queue drained as work on the shared {@link WorkScheduler} (and never longer than
+ *   {@code spawnBudgetMs} per tick), most recently hit players first, and no more
+ *   than {@code maxLiveProxies} zombies exist at once. A mass disconnect is spread over several
+ *   ticks instead of freezing one.
+ * - Owed zombies are indexed by world and chunk. The entity only exists while its chunk is
+ *   loaded: it is spawned on chunk load, removed on unload (it is never saved with the chunk) and
+ *   its TTL keeps running while unloaded, so nothing force-loads remote chunks or leaves orphans.
+ * - Live zombies are held by reference in a per-world registry, so despawning never searches the
+ *   server for an entity. Damage and death events on ordinary zombies are rejected by a field
+ *   check (our zombies have no AI) before any UUID is hashed.
+ * - With {@link ProxyType#DISPLAY} the logger is a {@link DisplayProxy} (interaction hitbox and
+ *   display entities) instead of a ticking zombie; it keeps health, visuals and kill detection.
+ *   Arrows fly through interaction entities, so while display proxies exist, arrows shot by
+ *   players are traced against their hitboxes each tick.
+ * - With loot bags set, a killed logger's items go into one {@link CombatLootBags} container
+ *   instead of up to 41 separate item entities.
+ * - Registries are concurrent maps and the owed index is updated per chunk key, so quits,
+ *   chunk loads and proxy deaths in different regions run in parallel. Only the spawn queue
+ *   has a lock of its own, held just long enough to add or take an item.
  */
 public class CombatLogManager implements Listener {
 
@@ -43,37 +79,185 @@ public class CombatLogManager implements Listener {
 
     private final SBPCLifestealPlugin plugin;
 
-    // last time a player was damaged by another player (ms since epoch)
-    private final Map<UUID, Long> combatTagUntil = new HashMap<>();
+    // shared expiry scheduler for zombie TTLs
+    private final TimingWheel expiryWheel;
 
-    // per-player combat log entries
-    private final Map<UUID, CombatLogEntry> entries = new HashMap<>();
+    // shared allocation-free per-player combat state (tags + last hits)
+    private final CombatTracker combatTracker;
 
-    // mapping from zombie UUID -> player UUID
-    private final Map<UUID, UUID> zombieToPlayer = new HashMap<>();
+    /**
+     * TTL timer for a live combat-log zombie.
+     */
+    private final class ZombieExpiry extends TimingWheel.Timeout {
+        final CombatLogEntry entry;
+
+        ZombieExpiry(CombatLogEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        protected void onExpire() {
+            long expiresAt = entry.getSpawnTimeMillis() + zombieTtlMs;
+            if (expiresAt > System.currentTimeMillis()) {
+                // tick rounding fired us a little early; wait out the remainder
+                expiryWheel.scheduleAt(this, expiresAt, System.currentTimeMillis());
+                return;
+            }
+            zombieExpiries.remove(entry.getPlayerId());
+            expireZombie(entry);
+        }
+    }
+
+    // player -> pending zombie TTL timer
+    private final Map<UUID, ZombieExpiry> zombieExpiries = new ConcurrentHashMap<>();
+
+    // per-player combat log entries; concurrent so other threads may look players up
+    private final Map<UUID, CombatLogEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * What stands in for a combat logger.
+     */
+    public enum ProxyType {
+        ZOMBIE, DISPLAY;
+
+        /**
+         * Parse a config value such as {@code "display"}.
+         */
+        public static ProxyType parse(String raw) {
+            try {
+                return valueOf(raw.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown combat-log proxy type: " + raw);
+            }
+        }
+    }
+
+    private volatile ProxyType proxyType = ProxyType.ZOMBIE;
+    // null = scatter drops as item entities
+    private volatile CombatLootBags lootBags;
+    // player -> display proxy, for entries whose live proxy is a DisplayProxy
+    private final Map<UUID, DisplayProxy> displayProxies = new ConcurrentHashMap<>();
+
+    // world UID -> zombie UUID -> entry, for zombies currently in a world
+    private final Map<UUID, Map<UUID, CombatLogEntry>> liveProxies = new ConcurrentHashMap<>();
+    private final AtomicInteger liveProxyCount = new AtomicInteger();
+
+    // world name -> chunk key -> entries still owed a zombie (materialized or not); the lists
+    // are copy-on-write and only replaced or changed inside compute calls on their chunk key
+    private final Map<String, Map<Long, List<CombatLogEntry>>> owedByChunk = new ConcurrentHashMap<>();
+
+    /**
+     * A snapshot waiting for its zombie and/or its file write.
+     */
+    private static final class PendingProxy {
+        final CombatLogEntry entry;
+        final long lastHitMillis;
+        final long sequence;
+        boolean saved;
+        boolean cancelled;
+
+        PendingProxy(CombatLogEntry entry, long lastHitMillis, long sequence, boolean saved) {
+            this.entry = entry;
+            this.lastHitMillis = lastHitMillis;
+            this.sequence = sequence;
+            this.saved = saved;
+        }
+    }
+
+    // the spawn queue: everything below up to pendingSequence is guarded by pendingProxies
+    // most recently hit first, then in quit order
+    private final PriorityQueue<PendingProxy> pendingProxies = new PriorityQueue<>((a, b) -> {
+        int byHit = Long.compare(b.lastHitMillis, a.lastHitMillis);
+        return byHit != 0 ? byHit : Long.compare(a.sequence, b.sequence);
+    });
+    private final Map<UUID, PendingProxy> pendingByPlayer = new HashMap<>();
+    // saved, but waiting for a free slot under the live-proxy cap
+    private final List<PendingProxy> parkedProxies = new ArrayList<>();
+    private long pendingSequence;
+    private volatile long spawnBudgetNanos;
+    private volatile int maxLiveProxies;
+
+    private final WorkScheduler workScheduler;
+    private final PlatformScheduler platform;
+    private final WorkScheduler.Work drainWork = deadline -> {
+        drainPendingProxies(deadline);
+        synchronized (pendingProxies) {
+            return !pendingProxies.isEmpty();
+        }
+    };
+
+    // longest an arrow is traced; by then it has landed or left any proxy behind
+    private static final long SHOT_TRACE_MS = 10_000L;
+
+    /**
+     * A player's arrow in flight while display proxies exist, and where it was last traced from.
+     */
+    private static final class Shot {
+        final AbstractArrow arrow;
+        final UUID shooter;
+        final long launchedAt;
+        Vector last;
+
+        Shot(AbstractArrow arrow, UUID shooter, long launchedAt) {
+            this.arrow = arrow;
+            this.shooter = shooter;
+            this.launchedAt = launchedAt;
+            this.last = arrow.getLocation().toVector();
+        }
+    }
+
+    // arrow UUID -> shot
+    private final Map<UUID, Shot> shots = new ConcurrentHashMap<>();
+    private final WorkScheduler.Work traceShotsWork = deadline -> traceShots();
 
     private File playersFolder;
 
     /**
      * Build a combat-log manager with the timing configuration and data folder it should use.
-     * The constructor also schedules the repeating TTL cleanup task.
+     * Tags are stored in the shared tracker; zombie TTLs are registered on the shared wheel.
+     * Queued zombie spawns and saves run on {@code workScheduler}, using at most
+     * {@code spawnBudgetMs} of its per-tick budget. The entities themselves are spawned and
+     * removed through {@code platform}, on the thread that owns them.
      */
-    public CombatLogManager(SBPCLifestealPlugin plugin, long combatTagDurationMs, long zombieTtlMs, File playersFolder) {
+    public CombatLogManager(SBPCLifestealPlugin plugin, long combatTagDurationMs, long zombieTtlMs,
+                            File playersFolder, TimingWheel expiryWheel, CombatTracker combatTracker,
+                            WorkScheduler workScheduler, PlatformScheduler platform,
+                            double spawnBudgetMs, int maxLiveProxies) {
         this.plugin = plugin;
+        this.workScheduler = workScheduler;
+        this.platform = platform;
         this.combatTagDurationMs = combatTagDurationMs;
         this.zombieTtlMs = zombieTtlMs;
         this.playersFolder = playersFolder;
+        this.expiryWheel = expiryWheel;
+        this.combatTracker = combatTracker;
+        setSpawnLimits(spawnBudgetMs, maxLiveProxies);
         if (!this.playersFolder.exists()) {
             this.playersFolder.mkdirs();
         }
+    }
 
-        // Schedule TTL task
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                tickZombieTTL();
-            }
-        }.runTaskTimer(plugin, 20L * 10L, 20L * 10L); // every 10 seconds
+    /**
+     * Change the per-tick spawn/save budget and the cap on simultaneously live zombies.
+     */
+    public void setSpawnLimits(double spawnBudgetMs, int maxLiveProxies) {
+        this.spawnBudgetNanos = Math.max(0L, (long) (spawnBudgetMs * 1_000_000.0));
+        this.maxLiveProxies = Math.max(1, maxLiveProxies);
+        unparkProxies();
+    }
+
+    /**
+     * Collect future logger kill drops into bags from {@code lootBags}, or scatter them when null.
+     */
+    public void setLootBags(CombatLootBags lootBags) {
+        this.lootBags = lootBags;
+    }
+
+    /**
+     * Choose the stand-in used for future spawns; live proxies keep their current form.
+     */
+    public void setProxyType(ProxyType proxyType) {
+        this.proxyType = proxyType;
     }
 
     // ------------------------------------------------------------------------
@@ -84,28 +268,36 @@ public class CombatLogManager implements Listener {
      * Mark a player as combat tagged until {@code nowMillis + combatTagDurationMs}.
      */
     public void tagCombat(UUID victim, long nowMillis) {
-        combatTagUntil.put(victim, nowMillis + combatTagDurationMs);
+        combatTracker.tag(victim, nowMillis + combatTagDurationMs, nowMillis);
     }
 
     /**
      * Clear any combat tag for the given player.
      */
     public void clearTag(UUID uuid) {
-        combatTagUntil.remove(uuid);
+        combatTracker.clearTag(uuid);
     }
 
     /**
      * Determine if a player is still tagged for combat at the given time.
-     * Expired tags are removed as part of the check.
+     * Expired tags are dropped by the timing wheel; this only compares timestamps.
      */
     public boolean isCombatTagged(UUID uuid, long nowMillis) {
-        Long until = combatTagUntil.get(uuid);
-        if (until == null) return false;
-        if (until < nowMillis) {
-            combatTagUntil.remove(uuid);
-            return false;
-        }
-        return true;
+        return combatTracker.isTagged(uuid, nowMillis);
+    }
+
+    /**
+     * Register a hook that runs when a player's combat tag expires (not when it is cleared).
+     */
+    public void addTagExpiryListener(CombatTracker.TagExpiryListener listener) {
+        combatTracker.addTagExpiryListener(listener);
+    }
+
+    /**
+     * Unregister a previously added tag expiry hook.
+     */
+    public void removeTagExpiryListener(CombatTracker.TagExpiryListener listener) {
+        combatTracker.removeTagExpiryListener(listener);
     }
 
     // ------------------------------------------------------------------------
@@ -145,11 +337,13 @@ public class CombatLogManager implements Listener {
             }
 
             entries.put(uuid, entry);
+            // zombies are never saved with their chunk, so a stored id is always stale
+            entry.setZombieId(null);
             if (entry.isZombieAlive()) {
-                // Re-spawn zombie if TTL not exceeded
+                // Re-spawn zombie if TTL not exceeded (only once its chunk is loaded)
                 long now = System.currentTimeMillis();
                 if (now - entry.getSpawnTimeMillis() <= zombieTtlMs) {
-                    spawnZombieForEntry(entry);
+                    enqueueProxy(entry, 0L, true);
                 } else {
                     // TTL expired while server was offline, treat as safe return case
                     entry.setZombieAlive(false);
@@ -168,23 +362,99 @@ public class CombatLogManager implements Listener {
             return;
         }
 
+        PersistenceFlushEvent jfr = new PersistenceFlushEvent();
+        jfr.begin();
+        boolean measureBytes = jfr.isEnabled();
         for (Map.Entry<UUID, CombatLogEntry> mapEntry : entries.entrySet()) {
             UUID uuid = mapEntry.getKey();
             CombatLogEntry entry = mapEntry.getValue();
+            Entity proxy = entry.getProxy();
+            if (proxy != null) {
+                captureProxyHealth(entry, proxy);
+            }
             File file = new File(playersFolder, uuid.toString() + ".yml");
-            YamlConfiguration cfg = file.exists()
-                    ? YamlConfiguration.loadConfiguration(file)
-                    : new YamlConfiguration();
-
-            saveEntryToConfig(entry, cfg.createSection("combat-log"));
-            cfg.set("combat-log.active", true);
+            plugin.getPlayerLocks().run(uuid, () -> {
+                YamlConfiguration cfg = file.exists()
+                        ? YamlConfiguration.loadConfiguration(file)
+                        : new YamlConfiguration();
+
+                saveEntryToConfig(entry, cfg.createSection("combat-log"));
+                cfg.set("combat-log.active", true);
+
+                try {
+                    cfg.save(file);
+                } catch (IOException ex) {
+                    plugin.getLogger().warning("Failed to save combat-log data for " + uuid + ": " + ex.getMessage());
+                }
+            });
+            jfr.files++;
+            if (measureBytes) {
+                jfr.bytes += file.length();
+            }
+        }
+        if (jfr.shouldCommit()) {
+            jfr.kind = PersistenceFlushEvent.COMBAT_LOG;
+            jfr.commit();
+        }
+    }
 
-            try {
-                cfg.save(file);
-            } catch (IOException ex) {
-                plugin.getLogger().warning("Failed to save combat-log data for " + uuid + ": " + ex.getMessage());
+    /**
+     * Called from plugin.onDisable() after {@link #saveAllEntries()}: drop queued spawns.
+     * Their entries were just written with the zombie still owed, so they respawn on next start.
+     */
+    public void shutdown() {
+        workScheduler.cancel(drainWork);
+        workScheduler.cancel(traceShotsWork);
+        shots.clear();
+        synchronized (pendingProxies) {
+            pendingProxies.clear();
+            pendingByPlayer.clear();
+            parkedProxies.clear();
+        }
+        owedByChunk.clear();
+        // proxies are not persistent, but a plugin reload would otherwise leave them standing.
+        // Folia has no reloads and does not allow touching entities from here, so leave them be.
+        for (Map<UUID, CombatLogEntry> inWorld : liveProxies.values()) {
+            for (CombatLogEntry entry : inWorld.values()) {
+                Entity proxy = entry.getProxy();
+                DisplayProxy display = displayProxies.get(entry.getPlayerId());
+                if (!platform.isFolia()) {
+                    if (display != null) {
+                        display.removeDecorations();
+                    }
+                    if (proxy != null && proxy.isValid()) {
+                        proxy.remove();
+                    }
+                }
+                entry.setProxy(null);
             }
         }
+        liveProxies.clear();
+        liveProxyCount.set(0);
+        displayProxies.clear();
+    }
+
+    /**
+     * Number of snapshots still waiting for a zombie (queued or parked at the cap).
+     */
+    public int getPendingProxyCount() {
+        synchronized (pendingProxies) {
+            return pendingByPlayer.size();
+        }
+    }
+
+    /**
+     * Combat loggers currently tracked (offline players with a stored snapshot).
+     */
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Proxies standing in the world right now.
+     */
+    public int getLiveProxyCount() {
+        return liveProxyCount.get();
     }
 
     // ------------------------------------------------------------------------
@@ -193,7 +463,8 @@ public class CombatLogManager implements Listener {
 
     @EventHandler
     /**
-     * When a tagged player logs out, capture their state and spawn the proxy zombie.
+     * When a tagged player logs out, capture their state and queue the proxy zombie.
+     * Only cheap copies happen here; the spawn and file write are budgeted per tick.
      */
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
@@ -241,12 +512,9 @@ public class CombatLogManager implements Listener {
         player.setExp(0f);
         player.setTotalExperience(0);
 
-        // Store entry and spawn the zombie
+        // Store entry; the zombie and the crash-safety save follow from the queue
         entries.put(uuid, entry);
-        spawnZombieForEntry(entry);
-
-        // Persist immediately so it's safe on crash
-        saveSingleEntry(entry);
+        enqueueProxy(entry, combatTracker.getLastHitMillis(uuid), false);
     }
 
     @EventHandler
@@ -266,9 +534,17 @@ public class CombatLogManager implements Listener {
         }
 
         // Safe-return case: zombie still alive or TTL expired without kill
-        // Despawn zombie if still around
+        // Despawn zombie if still around (or never spawn it, if it is still queued)
+        synchronized (pendingProxies) {
+            PendingProxy pending = pendingByPlayer.remove(uuid);
+            if (pending != null) {
+                pending.cancelled = true;
+            }
+        }
+        cancelZombieExpiry(uuid);
         if (entry.isZombieAlive()) {
-            despawnZombie(entry.getZombieId());
+            despawnZombie(entry);
+            unindexOwed(entry);
         }
 
         // Restore items / armor / xp
@@ -296,43 +572,21 @@ public class CombatLogManager implements Listener {
     // Damage events & kills
     // ------------------------------------------------------------------------
 
-    @EventHandler(ignoreCancelled = true)
     /**
-     * Handles combat tagging and ensures only players can damage combat-log zombies.
+     * Damage stage: only players (or their projectiles, TNT, wolves ...) may damage combat-log zombies.
      */
-    public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
-        Entity victim = event.getEntity();
-
-        // Combat tag for players
-        if (victim instanceof Player victimPlayer) {
-            Player damagerPlayer = null;
-
-            if (event.getDamager() instanceof Player p) {
-                damagerPlayer = p;
-            } else if (event.getDamager() instanceof Projectile proj &&
-                    proj.getShooter() instanceof Player shooter) {
-                damagerPlayer = shooter;
-            }
-
-            if (damagerPlayer != null) {
-                tagCombat(victimPlayer.getUniqueId(), System.currentTimeMillis());
-            }
+    public void guardCombatLogZombie(CombatEventDispatcher.DamageContext ctx) {
+        if (ctx.getAttacker() == null && findProxyEntry(ctx.getVictim()) != null) {
+            ctx.cancel();
         }
+    }
 
-        // Only players are allowed to damage combat-log zombies
-        if (isCombatLogZombie(victim)) {
-            Player damagerPlayer = null;
-
-            if (event.getDamager() instanceof Player p) {
-                damagerPlayer = p;
-            } else if (event.getDamager() instanceof Projectile proj &&
-                    proj.getShooter() instanceof Player shooter) {
-                damagerPlayer = shooter;
-            }
-
-            if (damagerPlayer == null) {
-                event.setCancelled(true);
-            }
+    /**
+     * Damage stage: combat-tag a player hit by another player.
+     */
+    public void tagOnDamage(CombatEventDispatcher.DamageContext ctx) {
+        if (ctx.isPlayerVsPlayer()) {
+            tagCombat(ctx.getVictimPlayer().getUniqueId(), ctx.getNowMillis());
         }
     }
 
@@ -342,7 +596,7 @@ public class CombatLogManager implements Listener {
      */
     public void onEntityDamage(EntityDamageEvent event) {
         Entity entity = event.getEntity();
-        if (!isCombatLogZombie(entity)) {
+        if (findProxyEntry(entity) == null) {
             return;
         }
 
@@ -359,46 +613,162 @@ public class CombatLogManager implements Listener {
         }
     }
 
-    @EventHandler
     /**
-     * When a combat-log zombie dies, drop stored items/XP and propagate lifesteal logic.
+     * Death stage: when a combat-log zombie dies, drop stored items/XP and propagate lifesteal logic.
+     * Returns true if the entity was one of our zombies.
      */
-    public void onEntityDeath(EntityDeathEvent event) {
+    public boolean handleZombieDeath(EntityDeathEvent event) {
         Entity entity = event.getEntity();
-        if (!isCombatLogZombie(entity)) {
+        CombatLogEntry entry = findProxyEntry(entity);
+        if (entry == null) {
+            return false;
+        }
+
+        unregisterProxy(entry);
+
+        // Prevent vanilla equipment drops from the zombie itself
+        event.getDrops().clear();
+        event.setDroppedExp(0);
+
+        // No player killer -> still a "death" (rare due to damage filtering); drop anyway
+        resolveProxyDeath(entry, entity.getLocation(), event.getEntity().getKiller());
+        return true;
+    }
+
+    /**
+     * Damage stage: a player hit a display proxy's hitbox. Interaction entities have no health of
+     * their own, so the hit is applied to the proxy and the event is cancelled.
+     */
+    public void damageDisplayProxy(CombatEventDispatcher.DamageContext ctx) {
+        if (displayProxies.isEmpty() || !(ctx.getVictim() instanceof Interaction)) {
+            return;
+        }
+        CombatLogEntry entry = findProxyEntry(ctx.getVictim());
+        DisplayProxy proxy = entry != null ? displayProxies.get(entry.getPlayerId()) : null;
+        if (proxy == null) {
             return;
         }
+        ctx.cancel();
+        Player attacker = ctx.getAttacker();
+        if (attacker == null) {
+            return;
+        }
+        if (proxy.hit(DisplayProxy.meleeDamage(attacker), ctx.getNowMillis())) {
+            Location loc = proxy.getHitbox().getLocation();
+            despawnZombie(entry);
+            resolveProxyDeath(entry, loc, attacker);
+        }
+    }
 
-        UUID zombieId = entity.getUniqueId();
-        UUID playerId = zombieToPlayer.remove(zombieId);
-        if (playerId == null) {
+    /**
+     * Start tracing an arrow a player shot while any display proxy exists.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onProjectileLaunch(ProjectileLaunchEvent event) {
+        if (displayProxies.isEmpty() || !(event.getEntity() instanceof AbstractArrow arrow)
+                || !(arrow.getShooter() instanceof Player shooter)) {
             return;
         }
+        shots.put(arrow.getUniqueId(), new Shot(arrow, shooter.getUniqueId(), System.currentTimeMillis()));
+        workScheduler.submitOnce(WorkScheduler.Priority.NORMAL, "proxy-shots", traceShotsWork);
+    }
 
-        CombatLogEntry entry = entries.remove(playerId);
-        if (entry == null) {
+    // each tick: trace every shot on its arrow's thread; true while any are in flight
+    private boolean traceShots() {
+        long now = System.currentTimeMillis();
+        for (Shot shot : shots.values()) {
+            if (now - shot.launchedAt > SHOT_TRACE_MS) {
+                shots.remove(shot.arrow.getUniqueId(), shot);
+            } else {
+                platform.runAtEntity("proxy-shot-trace", shot.arrow, () -> traceShot(shot));
+            }
+        }
+        return !shots.isEmpty();
+    }
+
+    /**
+     * On the arrow's thread: check the path it flew since the last trace against every display
+     * proxy in its world. A hit consumes the arrow and is applied on the proxy's region.
+     */
+    private void traceShot(Shot shot) {
+        AbstractArrow arrow = shot.arrow;
+        if (!arrow.isValid() || arrow.isInBlock()) {
+            shots.remove(arrow.getUniqueId(), shot);
             return;
         }
+        Vector from = shot.last;
+        Vector to = arrow.getLocation().toVector();
+        shot.last = to;
+        Vector direction = to.clone().subtract(from);
+        double distance = direction.length();
+        Map<UUID, CombatLogEntry> inWorld = liveProxies.get(arrow.getWorld().getUID());
+        if (distance == 0.0 || inWorld == null) {
+            return;
+        }
+        direction.multiply(1.0 / distance);
+        for (CombatLogEntry entry : inWorld.values()) {
+            DisplayProxy proxy = displayProxies.get(entry.getPlayerId());
+            if (proxy == null || proxy.getBounds().rayTrace(from, direction, distance) == null) {
+                continue;
+            }
+            shots.remove(arrow.getUniqueId(), shot);
+            double damage = DisplayProxy.arrowDamage(arrow);
+            arrow.remove();
+            platform.runAtLocation("proxy-shot-hit", proxy.getLocation(),
+                    () -> shootDisplayProxy(entry, proxy, shot.shooter, damage));
+            return;
+        }
+    }
 
-        entry.setZombieAlive(false);
-        entry.setZombieId(null);
+    /**
+     * Apply an arrow hit of {@code damage} to a display proxy that is still live.
+     */
+    private void shootDisplayProxy(CombatLogEntry entry, DisplayProxy proxy, UUID shooterId, double damage) {
+        if (displayProxies.get(entry.getPlayerId()) != proxy) {
+            return;
+        }
+        if (proxy.hit(damage, System.currentTimeMillis())) {
+            despawnZombie(entry);
+            resolveProxyDeath(entry, proxy.getLocation(), Bukkit.getPlayer(shooterId));
+        }
+    }
 
-        // Determine killer
-        Player killer = event.getEntity().getKiller();
-        if (killer == null) {
-            // No player killer -> treat as safe despawn (but this should be rare due to damage filtering)
-            // Restore items to offline player file? For now, drop anyway since it's a "death".
-            killer = null;
+    /**
+     * A proxy (already unregistered) was killed at {@code loc}: drop the stored items/XP there,
+     * clear the entry and apply lifesteal to the offline player if a player did it.
+     */
+    private void resolveProxyDeath(CombatLogEntry entry, Location loc, Player killer) {
+        UUID playerId = entry.getPlayerId();
+        if (!entries.remove(playerId, entry)) {
+            return;
+        }
+        CombatLoggerDeathEvent jfr = new CombatLoggerDeathEvent();
+        jfr.begin();
+        if (jfr.isEnabled()) {
+            jfr.player = playerId.toString();
+            jfr.killer = killer != null ? killer.getName() : "";
+            jfr.itemStacks = countStacks(entry.getContents()) + countStacks(entry.getArmor());
+            jfr.xp = entry.getXpTotal();
+            jfr.lootBag = lootBags != null;
         }
 
-        // Prevent vanilla equipment drops from the zombie itself
-        event.getDrops().clear();
-        event.setDroppedExp(0);
+        cancelZombieExpiry(playerId);
+        unindexOwed(entry);
+        entry.setZombieAlive(false);
 
-        // Drop stored items/xp at zombie location
-        Location loc = entity.getLocation();
+        // Drop stored items/xp at the proxy's location
         World world = loc.getWorld();
-        if (world != null) {
+        if (world != null && lootBags != null) {
+            // one container entity instead of an item entity per slot
+            List<ItemStack> loot = new ArrayList<>();
+            collectLoot(entry.getContents(), loot);
+            collectLoot(entry.getArmor(), loot);
+            String name = Bukkit.getOfflinePlayer(playerId).getName();
+            lootBags.create(loc, killer, (name != null ? name : "Combat logger") + "'s loot", loot);
+            if (entry.getXpTotal() > 0) {
+                world.spawn(loc, ExperienceOrb.class, orb -> orb.setExperience(entry.getXpTotal()));
+            }
+        } else if (world != null) {
             if (entry.getContents() != null) {
                 for (ItemStack stack : entry.getContents()) {
                     if (stack != null && stack.getType() != Material.AIR) {
@@ -432,46 +802,313 @@ public class CombatLogManager implements Listener {
         if (killer != null) {
             plugin.handleOfflineCombatLogKill(playerId, killer);
         }
+        jfr.commit();
     }
 
+    private static int countStacks(ItemStack[] stacks) {
+        int count = 0;
+        if (stacks != null) {
+            for (ItemStack stack : stacks) {
+                if (stack != null && stack.getType() != Material.AIR) count++;
+            }
+        }
+        return count;
+    }
+
+
+    private static void collectLoot(ItemStack[] stacks, List<ItemStack> into) {
+        if (stacks == null) return;
+        for (ItemStack stack : stacks) {
+            if (stack != null && stack.getType() != Material.AIR) {
+                into.add(stack.clone());
+            }
+        }
+    }
 
     // ------------------------------------------------------------------------
-    // TTL check task
+    // Budgeted spawn queue
     // ------------------------------------------------------------------------
 
     /**
-     * Periodic task that despawns expired zombies while keeping player data intact.
+     * Queue a zombie spawn (and, unless {@code saved}, a file write) for an entry.
      */
-    private void tickZombieTTL() {
-        long now = System.currentTimeMillis();
+    private void enqueueProxy(CombatLogEntry entry, long lastHitMillis, boolean saved) {
+        synchronized (pendingProxies) {
+            PendingProxy pending = new PendingProxy(entry, lastHitMillis, pendingSequence++, saved);
+            PendingProxy previous = pendingByPlayer.put(entry.getPlayerId(), pending);
+            if (previous != null) {
+                previous.cancelled = true;
+            }
+            pendingProxies.add(pending);
+        }
+        workScheduler.submitOnce(WorkScheduler.Priority.NORMAL, "proxy-spawns", drainWork);
+    }
 
-        for (Iterator<Map.Entry<UUID, CombatLogEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
-            Map.Entry<UUID, CombatLogEntry> mapEntry = it.next();
-            CombatLogEntry entry = mapEntry.getValue();
+    /**
+     * Queue a spawn for an owed entry unless one is already waiting.
+     */
+    private void enqueueIfNotPending(CombatLogEntry entry) {
+        synchronized (pendingProxies) {
+            if (pendingByPlayer.containsKey(entry.getPlayerId())) {
+                return;
+            }
+        }
+        enqueueProxy(entry, 0L, true);
+    }
+
+    /**
+     * Spawn and persist queued entries until the scheduler's deadline or this manager's own
+     * budget, whichever comes first. At least one entry is handled per call so the queue always
+     * makes progress. Entries that cannot get a zombie because of the live cap are still saved,
+     * then parked until a zombie goes away.
+     */
+    private void drainPendingProxies(long schedulerDeadline) {
+        long ownDeadline = System.nanoTime() + spawnBudgetNanos;
+        long deadline = ownDeadline - schedulerDeadline < 0 ? ownDeadline : schedulerDeadline;
+        boolean first = true;
+        while (first || System.nanoTime() - deadline < 0) {
+            PendingProxy pending;
+            synchronized (pendingProxies) {
+                pending = pendingProxies.poll();
+            }
+            if (pending == null) {
+                break;
+            }
+            if (pending.cancelled) {
+                continue;
+            }
+            first = false;
+            CombatLogEntry entry = pending.entry;
 
-            if (!entry.isZombieAlive()) {
-                // nothing to do; player will get items back on join and we clear on join
+            if (liveProxyCount.get() >= maxLiveProxies && isChunkLoaded(entry)) {
+                if (!pending.saved) {
+                    saveSingleEntry(entry);
+                    pending.saved = true;
+                }
+                synchronized (pendingProxies) {
+                    if (!pending.cancelled) {
+                        parkedProxies.add(pending);
+                    }
+                }
                 continue;
             }
 
-            if (now - entry.getSpawnTimeMillis() > zombieTtlMs) {
-                // TTL expired: despawn zombie, but keep stored items/xp for safe return
-                despawnZombie(entry.getZombieId());
+            synchronized (pendingProxies) {
+                if (pending.cancelled) {
+                    continue;
+                }
+                pendingByPlayer.remove(entry.getPlayerId());
+            }
+            if (System.currentTimeMillis() - entry.getSpawnTimeMillis() > zombieTtlMs) {
+                // waited out its whole TTL in the queue: safe-return case
+                unindexOwed(entry);
                 entry.setZombieAlive(false);
                 entry.setZombieId(null);
-
-                // Persist updated state so it's safe across restarts
+                saveSingleEntry(entry);
+                continue;
+            }
+            activateProxy(entry);
+            if (!pending.saved) {
                 saveSingleEntry(entry);
             }
         }
     }
 
+    /**
+     * A zombie went away: give parked entries another chance at a slot.
+     */
+    private void unparkProxies() {
+        synchronized (pendingProxies) {
+            if (parkedProxies.isEmpty()) {
+                return;
+            }
+            for (PendingProxy pending : parkedProxies) {
+                if (!pending.cancelled) {
+                    pendingProxies.add(pending);
+                }
+            }
+            parkedProxies.clear();
+            if (pendingProxies.isEmpty()) {
+                return;
+            }
+        }
+        workScheduler.submitOnce(WorkScheduler.Priority.NORMAL, "proxy-spawns", drainWork);
+    }
+
+    // ------------------------------------------------------------------------
+    // Chunk-aware materialization
+    // ------------------------------------------------------------------------
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static long chunkKeyOf(CombatLogEntry entry) {
+        return chunkKey(((int) Math.floor(entry.getX())) >> 4, ((int) Math.floor(entry.getZ())) >> 4);
+    }
+
+    /**
+     * Whether the entry's chunk is loaded right now (never loads it).
+     */
+    private boolean isChunkLoaded(CombatLogEntry entry) {
+        World world = entry.getWorldName() != null ? Bukkit.getWorld(entry.getWorldName()) : null;
+        if (world == null) return false;
+        long key = chunkKeyOf(entry);
+        return world.isChunkLoaded((int) (key >> 32), (int) key);
+    }
+
+    /**
+     * The entry is owed a zombie: index it, start its TTL and spawn the entity if its chunk is
+     * loaded. Otherwise it stays dormant until {@link #onChunkLoad} materializes it.
+     */
+    private void activateProxy(CombatLogEntry entry) {
+        entry.setZombieAlive(true);
+        owedByChunk.computeIfAbsent(entry.getWorldName(), w -> new ConcurrentHashMap<>())
+                .compute(chunkKeyOf(entry), (k, owed) -> {
+                    if (owed == null) {
+                        owed = new CopyOnWriteArrayList<>();
+                    }
+                    ((CopyOnWriteArrayList<CombatLogEntry>) owed).addIfAbsent(entry);
+                    return owed;
+                });
+        scheduleZombieExpiry(entry);
+        if (entry.getProxy() == null && isChunkLoaded(entry)) {
+            Location loc = entry.toLocation(plugin.getServer());
+            if (loc == null) {
+                spawnZombieForEntry(entry); // logs the bad world
+                return;
+            }
+            platform.runAtLocation("proxy-spawn", loc, () -> {
+                // on Folia this runs later; the player may have come back in between
+                if (entry.isZombieAlive() && entry.getProxy() == null) {
+                    CombatLoggerSpawnEvent jfr = new CombatLoggerSpawnEvent();
+                    jfr.begin();
+                    spawnZombieForEntry(entry);
+                    if (jfr.shouldCommit()) {
+                        jfr.player = entry.getPlayerId().toString();
+                        jfr.proxyType = proxyType.name();
+                        jfr.world = entry.getWorldName();
+                        long key = chunkKeyOf(entry);
+                        jfr.chunkX = (int) (key >> 32);
+                        jfr.chunkZ = (int) key;
+                        jfr.sinceLogout = System.currentTimeMillis() - entry.getSpawnTimeMillis();
+                        jfr.liveProxies = liveProxyCount.get();
+                        jfr.commit();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * The entry no longer needs a zombie (killed, expired or the player returned).
+     */
+    private void unindexOwed(CombatLogEntry entry) {
+        Map<Long, List<CombatLogEntry>> chunks = owedByChunk.get(entry.getWorldName());
+        if (chunks == null) return;
+        // per-world maps stay; dropping one could race with an entry being added to it
+        chunks.computeIfPresent(chunkKeyOf(entry), (k, owed) -> {
+            owed.remove(entry);
+            return owed.isEmpty() ? null : owed;
+        });
+    }
+
+    private List<CombatLogEntry> owedIn(Chunk chunk) {
+        Map<Long, List<CombatLogEntry>> chunks = owedByChunk.get(chunk.getWorld().getName());
+        return chunks != null ? chunks.get(chunkKey(chunk.getX(), chunk.getZ())) : null;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    /**
+     * Materialize dormant zombies in a chunk that just loaded (through the budgeted queue).
+     */
+    public void onChunkLoad(ChunkLoadEvent event) {
+        List<CombatLogEntry> owed = owedIn(event.getChunk());
+        if (owed == null) return;
+        for (CombatLogEntry entry : owed) {
+            if (entry.getProxy() == null) {
+                enqueueIfNotPending(entry);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    /**
+     * Remove zombies from a chunk about to unload; they stay owed and keep their TTL.
+     */
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        List<CombatLogEntry> owed = owedIn(event.getChunk());
+        if (owed == null) return;
+        for (CombatLogEntry entry : owed) {
+            if (entry.getProxy() != null) {
+                despawnZombie(entry);
+                saveIfActive(entry);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    /**
+     * A zombie left the world some other way (entity-section unload, another plugin, /kill
+     * without a death): drop it from the registry. The entry stays owed and respawns on the next
+     * chunk load.
+     */
+    public void onEntityRemove(EntityRemoveEvent event) {
+        CombatLogEntry entry = findProxyEntry(event.getEntity());
+        if (entry != null) {
+            unregisterProxy(entry);
+            saveIfActive(entry);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Zombie TTL
+    // ------------------------------------------------------------------------
+
+    /**
+     * Register the TTL timer for a freshly spawned zombie on the shared wheel.
+     */
+    private void scheduleZombieExpiry(CombatLogEntry entry) {
+        ZombieExpiry expiry = zombieExpiries.computeIfAbsent(entry.getPlayerId(), id -> new ZombieExpiry(entry));
+        expiryWheel.scheduleAt(expiry, entry.getSpawnTimeMillis() + zombieTtlMs, System.currentTimeMillis());
+    }
+
+    /**
+     * Drop a pending TTL timer, e.g. when the zombie died or the player rejoined first.
+     */
+    private void cancelZombieExpiry(UUID playerId) {
+        ZombieExpiry expiry = zombieExpiries.remove(playerId);
+        if (expiry != null) {
+            expiryWheel.cancel(expiry);
+        }
+    }
+
+    /**
+     * TTL reached: despawn the zombie, but keep stored items/xp for a safe return.
+     */
+    private void expireZombie(CombatLogEntry entry) {
+        if (!entry.isZombieAlive()) {
+            // nothing to do; player will get items back on join and we clear on join
+            return;
+        }
+
+        despawnZombie(entry);
+        unindexOwed(entry);
+        entry.setZombieAlive(false);
+        entry.setZombieId(null);
+
+        // Persist updated state so it's safe across restarts
+        saveSingleEntry(entry);
+    }
+
     // ------------------------------------------------------------------------
     // Spawn / despawn helpers
     // ------------------------------------------------------------------------
 
     /**
      * Spawn a no-AI glowing zombie representing the offline player using stored data.
+     * Callers make sure the chunk is loaded; the zombie is not persistent, so it never outlives
+     * its chunk or the server and cannot be duplicated by a restart.
      */
     private void spawnZombieForEntry(CombatLogEntry entry) {
         Location loc = entry.toLocation(plugin.getServer());
@@ -486,12 +1123,21 @@ public class CombatLogManager implements Listener {
             return;
         }
 
+        if (proxyType == ProxyType.DISPLAY) {
+            OfflinePlayer offline = Bukkit.getOfflinePlayer(entry.getPlayerId());
+            String name = offline.getName() != null ? offline.getName() : entry.getPlayerId().toString();
+            DisplayProxy proxy = DisplayProxy.spawn(loc, entry, offline, name);
+            displayProxies.put(entry.getPlayerId(), proxy);
+            registerProxy(entry, proxy.getHitbox());
+            return;
+        }
+
         Zombie zombie = world.spawn(loc, Zombie.class, z -> {
             z.setAdult();
             z.setAI(false);
             z.setCanPickupItems(false);
             z.setRemoveWhenFarAway(false);
-            z.setPersistent(true);
+            z.setPersistent(false);
 
             // Health & max health
             var attr = z.getAttribute(org.bukkit.attribute.Attribute.MAX_HEALTH);
@@ -531,31 +1177,83 @@ public class CombatLogManager implements Listener {
             }
         });
 
-        entry.setZombieId(zombie.getUniqueId());
-        entry.setZombieAlive(true);
-        zombieToPlayer.put(zombie.getUniqueId(), entry.getPlayerId());
+        registerProxy(entry, zombie);
+    }
+
+    /**
+     * Remove an entry's zombie from the world and the registry, if it has one.
+     */
+    private void despawnZombie(CombatLogEntry entry) {
+        Entity proxy = entry.getProxy();
+        if (proxy == null) return;
+        // unregister first so the resulting EntityRemoveEvent finds nothing to do
+        unregisterProxy(entry);
+        platform.runAtEntity("proxy-remove", proxy, proxy::remove);
+    }
+
+    private void registerProxy(CombatLogEntry entry, Entity proxy) {
+        entry.setProxy(proxy);
+        liveProxies.computeIfAbsent(proxy.getWorld().getUID(), w -> new ConcurrentHashMap<>())
+                .put(proxy.getUniqueId(), entry);
+        liveProxyCount.incrementAndGet();
+    }
+
+    /**
+     * Forget an entry's zombie (it died, unloaded or was removed) and free its slot under the cap.
+     */
+    private void unregisterProxy(CombatLogEntry entry) {
+        Entity proxy = entry.getProxy();
+        if (proxy == null) return;
+        // removing the registry mapping is the claim; a racing caller finds it gone and stops
+        Map<UUID, CombatLogEntry> inWorld = liveProxies.get(proxy.getWorld().getUID());
+        if (inWorld == null || inWorld.remove(proxy.getUniqueId()) == null) {
+            return;
+        }
+        captureProxyHealth(entry, proxy);
+        entry.setProxy(null);
+        liveProxyCount.decrementAndGet();
+        DisplayProxy display = displayProxies.remove(entry.getPlayerId());
+        if (display != null) {
+            platform.runAtLocation("proxy-remove", proxy.getLocation(), display::removeDecorations);
+        }
+        unparkProxies();
+    }
+
+    /**
+     * Copy a proxy's current health into its entry, so damage dealt to it survives a respawn,
+     * the player's return and restarts. A dead proxy leaves the entry as it was.
+     */
+    private void captureProxyHealth(CombatLogEntry entry, Entity proxy) {
+        DisplayProxy display = displayProxies.get(entry.getPlayerId());
+        double health = display != null ? display.getHealth()
+                : proxy instanceof LivingEntity living ? living.getHealth() : 0.0;
+        if (health > 0.0) {
+            entry.setHealth(health);
+        }
     }
 
     /**
-     * Remove a combat-log zombie entity from the world and mappings.
+     * Write an entry whose proxy went away but which is still owed, so its health is on disk.
      */
-    private void despawnZombie(UUID zombieId) {
-        if (zombieId == null) return;
-        Entity entity = null;
-        entity = Bukkit.getEntity(zombieId);
-        
-        if (entity != null && entity instanceof Zombie) {
-            entity.remove();
+    private void saveIfActive(CombatLogEntry entry) {
+        if (entries.get(entry.getPlayerId()) == entry) {
+            saveSingleEntry(entry);
         }
-        zombieToPlayer.remove(zombieId);
     }
 
     /**
-     * Check whether the given entity is a tracked combat-log zombie.
+     * The entry behind a combat-log proxy, or null for any other entity. Everything that is not
+     * a no-AI zombie or an interaction hitbox is rejected before the registry is touched.
      */
-    private boolean isCombatLogZombie(Entity entity) {
-        if (!(entity instanceof Zombie)) return false;
-        return zombieToPlayer.containsKey(entity.getUniqueId());
+    private CombatLogEntry findProxyEntry(Entity entity) {
+        if (liveProxyCount.get() == 0) return null;
+        if (entity instanceof Zombie zombie) {
+            if (zombie.hasAI()) return null;
+        } else if (!(entity instanceof Interaction)) {
+            return null;
+        }
+        Map<UUID, CombatLogEntry> inWorld = liveProxies.get(entity.getWorld().getUID());
+        return inWorld != null ? inWorld.get(entity.getUniqueId()) : null;
     }
 
     /**
@@ -573,7 +1271,7 @@ public class CombatLogManager implements Listener {
     /**
      * Rehydrate a stored combat-log entry from disk into memory.
      */
-    private CombatLogEntry loadEntryFromConfig(UUID uuid, ConfigurationSection sec) {
+    public static CombatLogEntry loadEntryFromConfig(UUID uuid, ConfigurationSection sec) {
         if (sec == null) return null;
 
         CombatLogEntry entry = new CombatLogEntry(uuid);
@@ -623,7 +1321,7 @@ public class CombatLogManager implements Listener {
     /**
      * Serialize a combat-log entry into a YAML configuration section.
      */
-    private void saveEntryToConfig(CombatLogEntry entry, ConfigurationSection sec) {
+    public static void saveEntryToConfig(CombatLogEntry entry, ConfigurationSection sec) {
         sec.set("world", entry.getWorldName());
         sec.set("x", entry.getX());
         sec.set("y", entry.getY());
@@ -652,22 +1350,24 @@ public class CombatLogManager implements Listener {
     private void saveSingleEntry(CombatLogEntry entry) {
         UUID uuid = entry.getPlayerId();
         File file = new File(playersFolder, uuid.toString() + ".yml");
-        YamlConfiguration cfg = file.exists()
-                ? YamlConfiguration.loadConfiguration(file)
-                : new YamlConfiguration();
+        plugin.getPlayerLocks().run(uuid, () -> {
+            YamlConfiguration cfg = file.exists()
+                    ? YamlConfiguration.loadConfiguration(file)
+                    : new YamlConfiguration();
 
-        ConfigurationSection sec = cfg.getConfigurationSection("combat-log");
-        if (sec == null) {
-            sec = cfg.createSection("combat-log");
-        }
-        saveEntryToConfig(entry, sec);
-        cfg.set("combat-log.active", true);
+            ConfigurationSection sec = cfg.getConfigurationSection("combat-log");
+            if (sec == null) {
+                sec = cfg.createSection("combat-log");
+            }
+            saveEntryToConfig(entry, sec);
+            cfg.set("combat-log.active", true);
 
-        try {
-            cfg.save(file);
-        } catch (IOException ex) {
-            plugin.getLogger().warning("Failed to save combat-log data for " + uuid + ": " + ex.getMessage());
-        }
+            try {
+                cfg.save(file);
+            } catch (IOException ex) {
+                plugin.getLogger().warning("Failed to save combat-log data for " + uuid + ": " + ex.getMessage());
+            }
+        });
     }
 
     /**
@@ -675,16 +1375,18 @@ public class CombatLogManager implements Listener {
      */
     private void clearCombatLogSection(UUID uuid) {
         File file = new File(playersFolder, uuid.toString() + ".yml");
-        if (!file.exists()) return;
+        plugin.getPlayerLocks().run(uuid, () -> {
+            if (!file.exists()) return;
 
-        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
-        cfg.set("combat-log", null);
-        cfg.set("combat-log.active", null);
+            YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+            cfg.set("combat-log", null);
+            cfg.set("combat-log.active", null);
 
-        try {
-            cfg.save(file);
-        } catch (IOException ex) {
-            plugin.getLogger().warning("Failed to clear combat-log data for " + uuid + ": " + ex.getMessage());
-        }
+            try {
+                cfg.save(file);
+            } catch (IOException ex) {
+                plugin.getLogger().warning("Failed to clear combat-log data for " + uuid + ": " + ex.getMessage());
+            }
+        });
     }
 }
@@ -0,0 +1,551 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import me.BaddCamden.SBPCLifesteal.platform.PlatformScheduler;
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+import me.BaddCamden.SBPCLifesteal.util.WorkScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Interaction;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Single-entity loot containers for combat-logger kills.
+ *
+ * Instead of one item entity per stored slot, a killed logger leaves one bag: a glowing chest
+ * display with an interaction hitbox. Right-clicking it opens a virtual inventory holding
+ * everything the logger carried. For the first {@code ownerOnlyMs} only the killer may open it;
+ * afterwards anyone can. A bag disappears when it has been emptied; on expiry whatever is left
+ * is dropped as normal items.
+ *
+ * The bag entities are not saved with the chunk, so every bag's contents, position, owner and
+ * deadlines are written to {@code lootbags.yml} whenever they change. A change snapshots just
+ * that bag on its own region; the file is rewritten from the snapshots at most once per tick,
+ * off the server threads. When a bag's chunk unloads, or the plugin shuts down, its entities are
+ * removed and the bag waits in the file; it is spawned again when the chunk loads, including
+ * after a restart or crash. Bags are indexed by world and chunk, so chunk events only visit their
+ * own. A bag whose world is not loaded at startup is kept as it was read and written back
+ * unchanged until that world loads. Expiry fires on the timer thread, so the drop itself is
+ * handed to the region owning the bag. The registries are concurrent maps, so bags in different
+ * regions are created, opened and dissolved in parallel.
+ */
+public class CombatLootBags implements Listener {
+
+    private static final int SIZE = 54;
+
+    /**
+     * One bag: its place, contents and ownership, plus its entities while its chunk is loaded.
+     * Doubles as the holder of its inventory.
+     */
+    public final class Bag extends TimingWheel.Timeout implements InventoryHolder {
+        private final UUID id;
+        private final Location location;
+        private final String title;
+        private final Inventory inventory;
+        private final UUID owner;
+        private final String ownerName;
+        private final long ownerOnlyUntil;
+        private final long expiresAt;
+        // null while the chunk is unloaded
+        private volatile Interaction hitbox;
+        private volatile ItemDisplay display;
+
+        private Bag(UUID id, Location location, String title, UUID owner, String ownerName,
+                    long ownerOnlyUntil, long expiresAt) {
+            this.id = id;
+            this.location = location;
+            this.title = title;
+            this.inventory = Bukkit.createInventory(this, SIZE, title);
+            this.owner = owner;
+            this.ownerName = ownerName;
+            this.ownerOnlyUntil = ownerOnlyUntil;
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+
+        /**
+         * Whether {@code player} may open the bag right now.
+         */
+        public boolean canOpen(Player player, long nowMillis) {
+            return owner == null || nowMillis >= ownerOnlyUntil || owner.equals(player.getUniqueId());
+        }
+
+        private boolean isSpawned() {
+            return hitbox != null;
+        }
+
+        private long chunkKey() {
+            return CombatLootBags.chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+
+        @Override
+        protected void onExpire() {
+            platform.runAtLocation("loot-bag-expire", location, () -> dissolve(this, true));
+        }
+    }
+
+    private final TimingWheel wheel;
+    private final PlatformScheduler platform;
+    private final WorkScheduler workScheduler;
+    private final BiConsumer<Player, String> lockedNotice;
+    private final File file;
+    private final Logger logger;
+    // concurrent: each bag is only touched by the region that owns its location
+    private final Map<UUID, Bag> bags = new ConcurrentHashMap<>();
+    private final Map<UUID, Bag> bagsByHitbox = new ConcurrentHashMap<>();
+    // world UID -> chunk key -> bags there, spawned or not; the lists are copy-on-write and only
+    // replaced or changed inside compute calls on their chunk key
+    private final Map<UUID, Map<Long, List<Bag>>> bagsByChunk = new ConcurrentHashMap<>();
+    // bag id -> section as read, for bags whose world was not loaded yet
+    private final Map<UUID, ConfigurationSection> waitingForWorld = new ConcurrentHashMap<>();
+    // bag id -> what the file holds for it; replaced, never changed, so a save can share them
+    private final Map<UUID, ConfigurationSection> records = new ConcurrentHashMap<>();
+    // one writer, so file writes land in the order their snapshots were taken
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "SBPCLifesteal-lootbags");
+        t.setDaemon(true);
+        return t;
+    });
+    private final WorkScheduler.Work saveWork = deadline -> {
+        if (io.isShutdown()) {
+            // shutdown writes every record itself
+            return false;
+        }
+        Map<UUID, ConfigurationSection> snapshot = new LinkedHashMap<>(records);
+        io.execute(() -> write(snapshot));
+        return false;
+    };
+    private volatile long ownerOnlyMs;
+    private volatile long ttlMs;
+
+    /**
+     * Create a registry whose bags stay killer-only for {@code ownerOnlyMs} and vanish after
+     * {@code ttlMs}, persisted in {@code file} by saves queued on {@code workScheduler}.
+     * {@code lockedNotice} tells a player who is not yet allowed to open a bag whose it is.
+     */
+    public CombatLootBags(TimingWheel wheel, PlatformScheduler platform, WorkScheduler workScheduler,
+                          File file, Logger logger, long ownerOnlyMs, long ttlMs,
+                          BiConsumer<Player, String> lockedNotice) {
+        this.wheel = wheel;
+        this.platform = platform;
+        this.workScheduler = workScheduler;
+        this.file = file;
+        this.logger = logger;
+        this.lockedNotice = lockedNotice;
+        setTimes(ownerOnlyMs, ttlMs);
+    }
+
+    /**
+     * Change the killer-only window and lifetime for new bags.
+     */
+    public void setTimes(long ownerOnlyMs, long ttlMs) {
+        this.ownerOnlyMs = Math.max(0L, ownerOnlyMs);
+        this.ttlMs = Math.max(1000L, ttlMs);
+    }
+
+    /**
+     * Put {@code items} into a new bag at {@code loc}. {@code killer} may be null, in which case
+     * the bag is open to everyone. Items that do not fit are dropped normally.
+     */
+    public void create(Location loc, Player killer, String title, List<ItemStack> items) {
+        World world = loc.getWorld();
+        if (world == null || items.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        Bag bag = new Bag(UUID.randomUUID(), loc.clone(), title,
+                killer != null ? killer.getUniqueId() : null,
+                killer != null ? killer.getName() : null,
+                now + ownerOnlyMs, now + ttlMs);
+        Map<Integer, ItemStack> overflow = bag.inventory.addItem(items.toArray(new ItemStack[0]));
+        for (ItemStack stack : overflow.values()) {
+            world.dropItemNaturally(loc, stack);
+        }
+        add(bag);
+        spawn(bag, now);
+        snapshot(bag);
+    }
+
+    /**
+     * Spawn the entities of a bag whose chunk is loaded and arm its expiry.
+     */
+    private void spawn(Bag bag, long now) {
+        World world = bag.location.getWorld();
+        bag.hitbox = world.spawn(bag.location, Interaction.class, i -> {
+            i.setInteractionWidth(0.8f);
+            i.setInteractionHeight(0.8f);
+            i.setResponsive(true);
+            i.setPersistent(false);
+        });
+        bag.display = world.spawn(bag.location.clone().add(0.0, 0.4, 0.0), ItemDisplay.class, d -> {
+            d.setItemStack(new ItemStack(Material.CHEST));
+            d.setBillboard(Display.Billboard.VERTICAL);
+            d.setGlowing(true);
+            d.setPersistent(false);
+        });
+        bagsByHitbox.put(bag.hitbox.getUniqueId(), bag);
+        wheel.scheduleAt(bag, bag.expiresAt, now);
+    }
+
+    /**
+     * Remove a bag's entities but keep the bag; it comes back when its chunk loads.
+     */
+    private void park(Bag bag) {
+        if (!bag.isSpawned()) return;
+        wheel.cancel(bag);
+        for (HumanEntity viewer : new ArrayList<>(bag.inventory.getViewers())) {
+            viewer.closeInventory();
+        }
+        bagsByHitbox.remove(bag.hitbox.getUniqueId());
+        removeIfValid(bag.hitbox);
+        removeIfValid(bag.display);
+        bag.hitbox = null;
+        bag.display = null;
+    }
+
+    /**
+     * Number of bags, spawned or waiting for their chunk or world.
+     */
+    public int size() {
+        return bags.size() + waitingForWorld.size();
+    }
+
+    /**
+     * Take every bag's entities down, finish queued writes and write all bags to the file; they
+     * are spawned again on the next start.
+     */
+    public void shutdown() {
+        for (Bag bag : new ArrayList<>(bagsByHitbox.values())) {
+            try {
+                park(bag);
+            } catch (IllegalStateException ex) {
+                // Folia refuses world access from the shutdown thread; the entities are not
+                // saved with the chunk, so forgetting them is enough
+                bagsByHitbox.remove(bag.hitbox.getUniqueId());
+                wheel.cancel(bag);
+                bag.hitbox = null;
+                bag.display = null;
+            }
+        }
+        workScheduler.cancel(saveWork);
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for queued loot bag saves.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        write(records);
+    }
+
+    private void dissolve(Bag bag, boolean dropContents) {
+        if (bags.remove(bag.id) == null) return;
+        unindex(bag);
+        records.remove(bag.id);
+        wheel.cancel(bag);
+        for (HumanEntity viewer : new ArrayList<>(bag.inventory.getViewers())) {
+            viewer.closeInventory();
+        }
+        if (dropContents) {
+            World world = bag.location.getWorld();
+            if (world != null) {
+                for (ItemStack stack : bag.inventory.getContents()) {
+                    if (stack != null && stack.getType() != Material.AIR) {
+                        world.dropItemNaturally(bag.location, stack);
+                    }
+                }
+            }
+            bag.inventory.clear();
+        }
+        if (bag.isSpawned()) {
+            bagsByHitbox.remove(bag.hitbox.getUniqueId());
+            removeIfValid(bag.hitbox);
+            removeIfValid(bag.display);
+        }
+        requestSave();
+    }
+
+    private void add(Bag bag) {
+        bags.put(bag.id, bag);
+        bagsByChunk.computeIfAbsent(bag.location.getWorld().getUID(), w -> new ConcurrentHashMap<>())
+                .compute(bag.chunkKey(), (k, here) -> {
+                    if (here == null) {
+                        here = new CopyOnWriteArrayList<>();
+                    }
+                    here.add(bag);
+                    return here;
+                });
+    }
+
+    private void unindex(Bag bag) {
+        Map<Long, List<Bag>> chunks = bagsByChunk.get(bag.location.getWorld().getUID());
+        if (chunks == null) return;
+        // per-world maps stay; dropping one could race with a bag being added to it
+        chunks.computeIfPresent(bag.chunkKey(), (k, here) -> {
+            here.remove(bag);
+            return here.isEmpty() ? null : here;
+        });
+    }
+
+    private List<Bag> bagsIn(Chunk chunk) {
+        Map<Long, List<Bag>> chunks = bagsByChunk.get(chunk.getWorld().getUID());
+        return chunks != null ? chunks.get(chunkKey(chunk.getX(), chunk.getZ())) : null;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static void removeIfValid(Entity entity) {
+        if (entity.isValid()) {
+            entity.remove();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Persistence
+    // ------------------------------------------------------------------------
+
+    /**
+     * Read the bags left by the last run and spawn those whose chunk is already loaded. Bags in
+     * a world that is not loaded wait for {@link #onWorldLoad}.
+     */
+    public void load() {
+        if (!file.exists()) return;
+        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+        ConfigurationSection section = cfg.getConfigurationSection("bags");
+        if (section == null) return;
+
+        long now = System.currentTimeMillis();
+        for (String key : section.getKeys(false)) {
+            ConfigurationSection sec = section.getConfigurationSection(key);
+            if (sec == null) continue;
+            try {
+                UUID id = UUID.fromString(key);
+                World world = Bukkit.getWorld(UUID.fromString(sec.getString("world", "")));
+                if (world == null) {
+                    logger.warning("Loot bag " + key + " is in a world that is not loaded; keeping it for later.");
+                    waitingForWorld.put(id, sec);
+                    records.put(id, sec);
+                    continue;
+                }
+                Bag bag = read(id, world, sec);
+                add(bag);
+                records.put(id, sec);
+                restoreIfLoaded(bag, now);
+            } catch (IllegalArgumentException ex) {
+                logger.warning("Skipping malformed loot bag " + key + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    private Bag read(UUID id, World world, ConfigurationSection sec) {
+        String ownerString = sec.getString("owner");
+        Bag bag = new Bag(id,
+                new Location(world, sec.getDouble("x"), sec.getDouble("y"), sec.getDouble("z")),
+                sec.getString("title", "Loot"),
+                ownerString != null ? UUID.fromString(ownerString) : null,
+                sec.getString("owner-name"),
+                sec.getLong("owner-only-until"),
+                sec.getLong("expires-at"));
+        List<?> items = sec.getList("items");
+        if (items != null) {
+            for (Object item : items) {
+                if (item instanceof ItemStack stack) {
+                    bag.inventory.addItem(stack);
+                }
+            }
+        }
+        return bag;
+    }
+
+    private void restoreIfLoaded(Bag bag, long now) {
+        Location loc = bag.location;
+        if (loc.getWorld().isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4)) {
+            platform.runAtLocation("loot-bag-restore", loc, () -> restore(bag, now));
+        }
+    }
+
+    /**
+     * Bring back a bag whose chunk just became available: spawn it, or drop its contents if it
+     * expired in the meantime.
+     */
+    private void restore(Bag bag, long now) {
+        if (bag.isSpawned() || bags.get(bag.id) != bag) return;
+        if (now >= bag.expiresAt) {
+            dissolve(bag, true);
+        } else {
+            spawn(bag, now);
+        }
+    }
+
+    /**
+     * Record {@code bag} as it is now and queue a save; call on the region owning the bag.
+     */
+    private void snapshot(Bag bag) {
+        ConfigurationSection sec = new YamlConfiguration();
+        sec.set("world", bag.location.getWorld().getUID().toString());
+        sec.set("x", bag.location.getX());
+        sec.set("y", bag.location.getY());
+        sec.set("z", bag.location.getZ());
+        sec.set("title", bag.title);
+        sec.set("owner", bag.owner != null ? bag.owner.toString() : null);
+        sec.set("owner-name", bag.ownerName);
+        sec.set("owner-only-until", bag.ownerOnlyUntil);
+        sec.set("expires-at", bag.expiresAt);
+        List<ItemStack> items = new ArrayList<>();
+        for (ItemStack stack : bag.inventory.getContents()) {
+            if (stack != null && stack.getType() != Material.AIR) {
+                items.add(stack.clone());
+            }
+        }
+        sec.set("items", items);
+        if (bags.get(bag.id) == bag) {
+            records.put(bag.id, sec);
+            requestSave();
+        }
+    }
+
+    /**
+     * Queue a rewrite of the bag file; any number of requests in a tick collapse into one.
+     */
+    private void requestSave() {
+        workScheduler.submitOnce(WorkScheduler.Priority.LOW, "loot-bag-save", saveWork);
+    }
+
+    /**
+     * Write {@code snapshot}, bag id to record, as the whole bag file.
+     */
+    private void write(Map<UUID, ConfigurationSection> snapshot) {
+        YamlConfiguration cfg = new YamlConfiguration();
+        ConfigurationSection section = cfg.createSection("bags");
+        for (Map.Entry<UUID, ConfigurationSection> e : snapshot.entrySet()) {
+            ConfigurationSection raw = e.getValue();
+            ConfigurationSection sec = section.createSection(e.getKey().toString());
+            for (String key : raw.getKeys(false)) {
+                sec.set(key, raw.get(key));
+            }
+        }
+        try {
+            cfg.save(file);
+        } catch (IOException ex) {
+            logger.warning("Failed to save loot bags: " + ex.getMessage());
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Events
+    // ------------------------------------------------------------------------
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGH)
+    public void onInteract(PlayerInteractEntityEvent event) {
+        if (bagsByHitbox.isEmpty() || !(event.getRightClicked() instanceof Interaction)) return;
+        Bag bag = bagsByHitbox.get(event.getRightClicked().getUniqueId());
+        if (bag == null) return;
+        event.setCancelled(true);
+        Player player = event.getPlayer();
+        if (!bag.canOpen(player, System.currentTimeMillis())) {
+            lockedNotice.accept(player, bag.ownerName);
+            return;
+        }
+        player.openInventory(bag.inventory);
+    }
+
+    @EventHandler
+    public void onClose(InventoryCloseEvent event) {
+        if (!(event.getInventory().getHolder() instanceof Bag bag)) return;
+        if (event.getInventory().isEmpty() && event.getInventory().getViewers().size() <= 1) {
+            dissolve(bag, false);
+        } else {
+            // someone may have taken items; the file must not hand them out again
+            snapshot(bag);
+        }
+    }
+
+    /**
+     * Bag entities are not saved with the chunk; take them down and keep the bag in the file.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        if (bagsByHitbox.isEmpty()) return;
+        List<Bag> here = bagsIn(event.getChunk());
+        if (here == null) return;
+        for (Bag bag : here) {
+            park(bag);
+        }
+    }
+
+    /**
+     * Bring in the bags that were waiting for this world; those whose chunk is loaded spawn.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        if (waitingForWorld.isEmpty()) return;
+        World world = event.getWorld();
+        String uid = world.getUID().toString();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<UUID, ConfigurationSection> e : new ArrayList<>(waitingForWorld.entrySet())) {
+            if (!uid.equals(e.getValue().getString("world")) || !waitingForWorld.remove(e.getKey(), e.getValue())) {
+                continue;
+            }
+            try {
+                Bag bag = read(e.getKey(), world, e.getValue());
+                add(bag);
+                restoreIfLoaded(bag, now);
+            } catch (IllegalArgumentException ex) {
+                logger.warning("Skipping malformed loot bag " + e.getKey() + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Respawn bags waiting for this chunk.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        List<Bag> here = bagsIn(event.getChunk());
+        if (here == null) return;
+        long now = System.currentTimeMillis();
+        for (Bag bag : here) {
+            restore(bag, now);
+        }
+    }
+}
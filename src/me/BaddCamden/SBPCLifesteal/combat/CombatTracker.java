@@ -0,0 +1,451 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Allocation-free per-victim combat state: last attacker + hit time and combat tag expiry.
+ *
+ * Entries live in an open-addressing table keyed by the victim UUID's most/least significant
+ * bits, with the attacker bits and timestamps stored in parallel primitive arrays. Every slot
+ * owns a preallocated timer on the shared {@link TimingWheel}, so recording a hit or refreshing
+ * a tag only overwrites array cells and re-links an existing timer; nothing is allocated on the
+ * damage path once the table has grown to the number of players in combat.
+ *
+ * Thread-safe: players are split over 16 shards by UUID, each a table of its own
+ * with its own lock, so regions hitting different players rarely wait for each other. Tag
+ * expiry listeners run on the wheel's thread outside any shard lock.
+ */
+public final class CombatTracker {
+
+    /**
+     * Hook for features that need to react when a player's combat tag runs out.
+     */
+    public interface TagExpiryListener {
+        void onTagExpired(UUID playerId);
+    }
+
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int SHARDS = 16;
+
+    private final TimingWheel wheel;
+    private final long lastHitWindowMs;
+    private final List<TagExpiryListener> tagExpiryListeners = new CopyOnWriteArrayList<>();
+    private final Shard[] shards = new Shard[SHARDS];
+
+    /**
+     * Create a tracker that expires last hits after {@code lastHitWindowMs} and schedules all
+     * expiry on the given wheel. {@code expectedPlayers} sizes the tables up front.
+     */
+    public CombatTracker(TimingWheel wheel, long lastHitWindowMs, int expectedPlayers) {
+        this.wheel = wheel;
+        this.lastHitWindowMs = lastHitWindowMs;
+        int perShard = (expectedPlayers + SHARDS - 1) / SHARDS;
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < perShard) {
+            capacity <<= 1;
+        }
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(capacity);
+        }
+    }
+
+    private Shard shardFor(long most, long least) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        // top bits pick the shard; the table index uses the low bits
+        return shards[(int) (h >>> 60)];
+    }
+
+    // ------------------------------------------------------------------------
+    // Last hit
+    // ------------------------------------------------------------------------
+
+    /**
+     * Record that {@code attacker} just hit {@code victim}.
+     */
+    public void recordHit(UUID victim, UUID attacker, long nowMillis) {
+        long most = victim.getMostSignificantBits();
+        long least = victim.getLeastSignificantBits();
+        shardFor(most, least).recordHit(most, least,
+                attacker.getMostSignificantBits(), attacker.getLeastSignificantBits(), nowMillis);
+    }
+
+    /**
+     * The victim's last attacker if they were hit within the last-hit window, else null.
+     * Allocates the returned UUID; only meant for death handling, not the damage path.
+     */
+    public UUID getLastAttacker(UUID victim, long nowMillis) {
+        long most = victim.getMostSignificantBits();
+        long least = victim.getLeastSignificantBits();
+        return shardFor(most, least).getLastAttacker(most, least, nowMillis);
+    }
+
+    /**
+     * When the victim was last hit by a player, or 0 if no hit is recorded.
+     */
+    public long getLastHitMillis(UUID victim) {
+        long most = victim.getMostSignificantBits();
+        long least = victim.getLeastSignificantBits();
+        return shardFor(most, least).getLastHitMillis(most, least);
+    }
+
+    /**
+     * Forget the victim's last-hit info (e.g. on death).
+     */
+    public void clearLastHit(UUID victim) {
+        long most = victim.getMostSignificantBits();
+        long least = victim.getLeastSignificantBits();
+        shardFor(most, least).clearLastHit(most, least);
+    }
+
+    // ------------------------------------------------------------------------
+    // Combat tag
+    // ------------------------------------------------------------------------
+
+    /**
+     * Tag (or re-tag) a player until {@code untilMillis}.
+     */
+    public void tag(UUID player, long untilMillis, long nowMillis) {
+        long most = player.getMostSignificantBits();
+        long least = player.getLeastSignificantBits();
+        shardFor(most, least).tag(most, least, untilMillis, nowMillis);
+    }
+
+    /**
+     * Whether the player is tagged at the given time.
+     */
+    public boolean isTagged(UUID player, long nowMillis) {
+        long most = player.getMostSignificantBits();
+        long least = player.getLeastSignificantBits();
+        return shardFor(most, least).isTagged(most, least, nowMillis);
+    }
+
+    /**
+     * Remove a player's tag without firing expiry hooks.
+     */
+    public void clearTag(UUID player) {
+        long most = player.getMostSignificantBits();
+        long least = player.getLeastSignificantBits();
+        shardFor(most, least).clearTag(most, least);
+    }
+
+    /**
+     * Register a hook that runs when a player's combat tag expires (not when it is cleared).
+     */
+    public void addTagExpiryListener(TagExpiryListener listener) {
+        tagExpiryListeners.add(listener);
+    }
+
+    /**
+     * Unregister a previously added tag expiry hook.
+     */
+    public void removeTagExpiryListener(TagExpiryListener listener) {
+        tagExpiryListeners.remove(listener);
+    }
+
+    /**
+     * Number of victims currently tracked (tagged and/or holding a last hit).
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Drop every entry and cancel all timers.
+     */
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+    }
+
+    private void fireTagExpired(long most, long least) {
+        if (tagExpiryListeners.isEmpty()) return;
+        UUID playerId = new UUID(most, least);
+        for (TagExpiryListener listener : tagExpiryListeners) {
+            listener.onTagExpired(playerId);
+        }
+    }
+
+    /**
+     * One share of the players: an open-addressing table guarded by its own monitor.
+     */
+    private final class Shard {
+        private long[] victimMost;
+        private long[] victimLeast;
+        private long[] attackerMost;
+        private long[] attackerLeast;
+        private long[] lastHitMillis;   // 0 = no last hit recorded
+        private long[] tagUntilMillis;  // 0 = not tagged
+        private boolean[] used;
+        private SlotTimer[] timers;
+        private int mask;
+        private int size;
+
+        Shard(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            victimMost = new long[capacity];
+            victimLeast = new long[capacity];
+            attackerMost = new long[capacity];
+            attackerLeast = new long[capacity];
+            lastHitMillis = new long[capacity];
+            tagUntilMillis = new long[capacity];
+            used = new boolean[capacity];
+            timers = new SlotTimer[capacity];
+            for (int i = 0; i < capacity; i++) {
+                timers[i] = new SlotTimer(this, i);
+            }
+            mask = capacity - 1;
+        }
+
+        synchronized void recordHit(long most, long least, long byMost, long byLeast, long nowMillis) {
+            int slot = findOrInsert(most, least);
+            attackerMost[slot] = byMost;
+            attackerLeast[slot] = byLeast;
+            lastHitMillis[slot] = nowMillis;
+            schedule(slot, nowMillis);
+        }
+
+        synchronized UUID getLastAttacker(long most, long least, long nowMillis) {
+            int slot = find(most, least);
+            if (slot < 0 || lastHitMillis[slot] == 0 || nowMillis - lastHitMillis[slot] > lastHitWindowMs) {
+                return null;
+            }
+            return new UUID(attackerMost[slot], attackerLeast[slot]);
+        }
+
+        synchronized long getLastHitMillis(long most, long least) {
+            int slot = find(most, least);
+            return slot < 0 ? 0L : lastHitMillis[slot];
+        }
+
+        synchronized void clearLastHit(long most, long least) {
+            int slot = find(most, least);
+            if (slot < 0) return;
+            lastHitMillis[slot] = 0;
+            releaseIfIdle(slot);
+        }
+
+        synchronized void tag(long most, long least, long untilMillis, long nowMillis) {
+            int slot = findOrInsert(most, least);
+            tagUntilMillis[slot] = untilMillis;
+            schedule(slot, nowMillis);
+        }
+
+        synchronized boolean isTagged(long most, long least, long nowMillis) {
+            int slot = find(most, least);
+            return slot >= 0 && tagUntilMillis[slot] != 0 && tagUntilMillis[slot] >= nowMillis;
+        }
+
+        synchronized void clearTag(long most, long least) {
+            int slot = find(most, least);
+            if (slot < 0) return;
+            tagUntilMillis[slot] = 0;
+            releaseIfIdle(slot);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            for (SlotTimer timer : timers) {
+                wheel.cancel(timer);
+            }
+            Arrays.fill(used, false);
+            size = 0;
+        }
+
+        // --------------------------------------------------------------------
+        // Expiry
+        // --------------------------------------------------------------------
+
+        /**
+         * (Re)schedule a slot's timer for its earliest pending expiry.
+         */
+        private void schedule(int slot, long nowMillis) {
+            long next = Long.MAX_VALUE;
+            if (tagUntilMillis[slot] != 0) {
+                next = tagUntilMillis[slot];
+            }
+            if (lastHitMillis[slot] != 0) {
+                next = Math.min(next, lastHitMillis[slot] + lastHitWindowMs);
+            }
+            if (next == Long.MAX_VALUE) {
+                wheel.cancel(timers[slot]);
+            } else {
+                wheel.scheduleAt(timers[slot], next, nowMillis);
+            }
+        }
+
+        /**
+         * Expire what is due in {@code slot}; the owner's tag expiry hooks run afterwards,
+         * outside the lock.
+         */
+        void expireSlot(SlotTimer timer) {
+            long playerMost;
+            long playerLeast;
+            synchronized (this) {
+                int slot = timer.slot;
+                // a rehash may have replaced the timer while its expiry was being fired
+                if (timers[slot] != timer || !used[slot]) return;
+                long now = System.currentTimeMillis();
+
+                boolean tagExpired = false;
+                playerMost = victimMost[slot];
+                playerLeast = victimLeast[slot];
+                if (tagUntilMillis[slot] != 0 && tagUntilMillis[slot] < now) {
+                    tagUntilMillis[slot] = 0;
+                    tagExpired = true;
+                }
+                if (lastHitMillis[slot] != 0 && now - lastHitMillis[slot] > lastHitWindowMs) {
+                    lastHitMillis[slot] = 0;
+                }
+
+                if (tagUntilMillis[slot] == 0 && lastHitMillis[slot] == 0) {
+                    removeSlot(slot);
+                } else {
+                    // tick catch-up fired us early, or the other expiry is still pending
+                    schedule(slot, now);
+                }
+                if (!tagExpired) return;
+            }
+            fireTagExpired(playerMost, playerLeast);
+        }
+
+        private void releaseIfIdle(int slot) {
+            if (tagUntilMillis[slot] == 0 && lastHitMillis[slot] == 0) {
+                removeSlot(slot);
+            } else {
+                schedule(slot, System.currentTimeMillis());
+            }
+        }
+
+        // --------------------------------------------------------------------
+        // Open addressing
+        // --------------------------------------------------------------------
+
+        private int find(long most, long least) {
+            int slot = slotFor(most, least, mask);
+            while (used[slot]) {
+                if (victimMost[slot] == most && victimLeast[slot] == least) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int findOrInsert(long most, long least) {
+            int slot = slotFor(most, least, mask);
+            while (used[slot]) {
+                if (victimMost[slot] == most && victimLeast[slot] == least) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size + 1 > used.length * LOAD_FACTOR) {
+                rehash(used.length << 1);
+                return findOrInsert(most, least);
+            }
+            used[slot] = true;
+            victimMost[slot] = most;
+            victimLeast[slot] = least;
+            lastHitMillis[slot] = 0;
+            tagUntilMillis[slot] = 0;
+            size++;
+            return slot;
+        }
+
+        /**
+         * Backward-shift deletion; moved entries take their wheel deadline with them.
+         */
+        private void removeSlot(int slot) {
+            wheel.cancel(timers[slot]);
+            size--;
+            long now = System.currentTimeMillis();
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            while (used[next]) {
+                int home = slotFor(victimMost[next], victimLeast[next], mask);
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    copySlot(next, gap);
+                    wheel.cancel(timers[next]);
+                    schedule(gap, now);
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            used[gap] = false;
+        }
+
+        private void copySlot(int from, int to) {
+            victimMost[to] = victimMost[from];
+            victimLeast[to] = victimLeast[from];
+            attackerMost[to] = attackerMost[from];
+            attackerLeast[to] = attackerLeast[from];
+            lastHitMillis[to] = lastHitMillis[from];
+            tagUntilMillis[to] = tagUntilMillis[from];
+        }
+
+        private void rehash(int newCapacity) {
+            long[] oldVictimMost = victimMost;
+            long[] oldVictimLeast = victimLeast;
+            long[] oldAttackerMost = attackerMost;
+            long[] oldAttackerLeast = attackerLeast;
+            long[] oldLastHit = lastHitMillis;
+            long[] oldTagUntil = tagUntilMillis;
+            boolean[] oldUsed = used;
+            for (SlotTimer timer : timers) {
+                wheel.cancel(timer);
+            }
+
+            allocate(newCapacity);
+            size = 0;
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (!oldUsed[i]) continue;
+                int slot = findOrInsert(oldVictimMost[i], oldVictimLeast[i]);
+                attackerMost[slot] = oldAttackerMost[i];
+                attackerLeast[slot] = oldAttackerLeast[i];
+                lastHitMillis[slot] = oldLastHit[i];
+                tagUntilMillis[slot] = oldTagUntil[i];
+                schedule(slot, now);
+            }
+        }
+    }
+
+    /**
+     * Wheel timer bound to one table slot of one shard.
+     */
+    private static final class SlotTimer extends TimingWheel.Timeout {
+        final Shard shard;
+        final int slot;
+
+        SlotTimer(Shard shard, int slot) {
+            this.shard = shard;
+            this.slot = slot;
+        }
+
+        @Override
+        protected void onExpire() {
+            shard.expireSlot(this);
+        }
+    }
+
+    private static int slotFor(long most, long least, int mask) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,394 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-victim record of recent PvP hits, used to share kill credit between attackers.
+ *
+ * Every victim owns a fixed-size ring buffer of (attacker, damage, time) entries. All rings live
+ * in one set of preallocated primitive arrays indexed by row, and victims map to rows through an
+ * open-addressing table keyed by their UUID bits, so recording a hit only writes array cells;
+ * nothing is allocated on the damage path once enough rows exist for everyone in combat.
+ * Reading the ledger (on death) aggregates per attacker and may allocate.
+ *
+ * Victims whose newest hit is older than the window are swept periodically on the shared
+ * {@link TimingWheel}.
+ *
+ * Thread-safe: victims are split over 16 shards by UUID, each with its own tables and lock, so
+ * regions recording hits on different players rarely wait for each other.
+ */
+public final class DamageLedger {
+
+    /**
+     * Total damage one attacker dealt to the victim within the window.
+     */
+    public static final class Contribution {
+        private final UUID attacker;
+        private double damage;
+        private long lastHitMillis;
+
+        Contribution(UUID attacker) {
+            this.attacker = attacker;
+        }
+
+        public UUID getAttacker() {
+            return attacker;
+        }
+
+        public double getDamage() {
+            return damage;
+        }
+
+        public long getLastHitMillis() {
+            return lastHitMillis;
+        }
+    }
+
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final long SWEEP_INTERVAL_TICKS = 30L * 20L;
+    private static final int SHARDS = 16;
+
+    private final TimingWheel wheel;
+    private final int entriesPerVictim;
+    private volatile long windowMs;
+    private final Shard[] shards = new Shard[SHARDS];
+
+    private final TimingWheel.Timeout sweepTimer = new TimingWheel.Timeout() {
+        @Override
+        protected void onExpire() {
+            sweep(System.currentTimeMillis());
+            wheel.schedule(this, SWEEP_INTERVAL_TICKS);
+        }
+    };
+
+    /**
+     * Create a ledger keeping the last {@code entriesPerVictim} hits per victim for
+     * {@code windowMs}, with room for {@code expectedVictims} before growing.
+     */
+    public DamageLedger(TimingWheel wheel, int entriesPerVictim, long windowMs, int expectedVictims) {
+        if (entriesPerVictim < 1) {
+            throw new IllegalArgumentException("entriesPerVictim must be at least 1");
+        }
+        this.wheel = wheel;
+        this.entriesPerVictim = entriesPerVictim;
+        this.windowMs = windowMs;
+
+        int perShard = (expectedVictims + SHARDS - 1) / SHARDS;
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < perShard) {
+            capacity <<= 1;
+        }
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(capacity, Math.max(8, perShard));
+        }
+        wheel.schedule(sweepTimer, SWEEP_INTERVAL_TICKS);
+    }
+
+    /**
+     * Change how long hits count towards credit.
+     */
+    public void setWindowMs(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    private Shard shardFor(long most, long least) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        // top bits pick the shard; the table index uses the low bits
+        return shards[(int) (h >>> 60)];
+    }
+
+    // ------------------------------------------------------------------------
+    // Recording
+    // ------------------------------------------------------------------------
+
+    /**
+     * Record that {@code attacker} dealt {@code amount} damage to {@code victim}.
+     */
+    public void recordHit(UUID victim, UUID attacker, double amount, long nowMillis) {
+        long most = victim.getMostSignificantBits();
+        long least = victim.getLeastSignificantBits();
+        shardFor(most, least).recordHit(most, least,
+                attacker.getMostSignificantBits(), attacker.getLeastSignificantBits(), amount, nowMillis);
+    }
+
+    /**
+     * Per-attacker damage totals within the window, highest damage first.
+     */
+    public List<Contribution> getContributions(UUID victim, long nowMillis) {
+        long most = victim.getMostSignificantBits();
+        long least = victim.getLeastSignificantBits();
+        List<Contribution> result = shardFor(most, least).getContributions(most, least, nowMillis);
+        result.sort((a, b) -> Double.compare(b.damage, a.damage));
+        return result;
+    }
+
+    /**
+     * Forget a victim's hits (on death or when they leave).
+     */
+    public void clear(UUID victim) {
+        long most = victim.getMostSignificantBits();
+        long least = victim.getLeastSignificantBits();
+        shardFor(most, least).clear(most, least);
+    }
+
+    /**
+     * Drop victims whose newest hit is outside the window; returns how many were removed.
+     */
+    public int sweep(long nowMillis) {
+        int removed = 0;
+        for (Shard shard : shards) {
+            removed += shard.sweep(nowMillis);
+        }
+        return removed;
+    }
+
+    /**
+     * Number of victims with a ring in use.
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Forget everything and stop the periodic sweep.
+     */
+    public void shutdown() {
+        wheel.cancel(sweepTimer);
+        for (Shard shard : shards) {
+            shard.clearAll();
+        }
+    }
+
+    /**
+     * One share of the victims: its own lookup table and ring rows, guarded by its monitor.
+     */
+    private final class Shard {
+        // victim UUID -> row
+        private long[] victimMost;
+        private long[] victimLeast;
+        private int[] rowOf;
+        private boolean[] used;
+        private int mask;
+        private int size;
+
+        // ring buffers, row * entriesPerVictim + i
+        private long[] attackerMost;
+        private long[] attackerLeast;
+        private double[] damage;
+        private long[] hitMillis;
+        private int[] head;
+        private int[] count;
+        private int[] freeRows;
+        private int freeTop;
+
+        Shard(int capacity, int rows) {
+            allocateTable(capacity);
+            allocateRows(rows);
+        }
+
+        private void allocateTable(int capacity) {
+            victimMost = new long[capacity];
+            victimLeast = new long[capacity];
+            rowOf = new int[capacity];
+            used = new boolean[capacity];
+            mask = capacity - 1;
+        }
+
+        private void allocateRows(int rows) {
+            int oldRows = head == null ? 0 : head.length;
+            int cells = rows * entriesPerVictim;
+            attackerMost = attackerMost == null ? new long[cells] : Arrays.copyOf(attackerMost, cells);
+            attackerLeast = attackerLeast == null ? new long[cells] : Arrays.copyOf(attackerLeast, cells);
+            damage = damage == null ? new double[cells] : Arrays.copyOf(damage, cells);
+            hitMillis = hitMillis == null ? new long[cells] : Arrays.copyOf(hitMillis, cells);
+            head = head == null ? new int[rows] : Arrays.copyOf(head, rows);
+            count = count == null ? new int[rows] : Arrays.copyOf(count, rows);
+
+            int[] newFree = new int[rows];
+            if (freeRows != null) {
+                System.arraycopy(freeRows, 0, newFree, 0, freeTop);
+            }
+            freeRows = newFree;
+            for (int row = rows - 1; row >= oldRows; row--) {
+                freeRows[freeTop++] = row;
+            }
+        }
+
+        synchronized void recordHit(long most, long least, long byMost, long byLeast, double amount,
+                                    long nowMillis) {
+            int row = rowForInsert(most, least);
+            int cell = row * entriesPerVictim + head[row];
+            attackerMost[cell] = byMost;
+            attackerLeast[cell] = byLeast;
+            damage[cell] = amount;
+            hitMillis[cell] = nowMillis;
+            head[row] = head[row] + 1 == entriesPerVictim ? 0 : head[row] + 1;
+            if (count[row] < entriesPerVictim) {
+                count[row]++;
+            }
+        }
+
+        synchronized List<Contribution> getContributions(long most, long least, long nowMillis) {
+            List<Contribution> result = new ArrayList<>();
+            int slot = find(most, least);
+            if (slot < 0) {
+                return result;
+            }
+            long window = windowMs;
+            int row = rowOf[slot];
+            int base = row * entriesPerVictim;
+            for (int i = 0; i < count[row]; i++) {
+                int cell = base + i;
+                if (nowMillis - hitMillis[cell] > window) continue;
+
+                Contribution c = null;
+                for (Contribution existing : result) {
+                    if (existing.attacker.getMostSignificantBits() == attackerMost[cell]
+                            && existing.attacker.getLeastSignificantBits() == attackerLeast[cell]) {
+                        c = existing;
+                        break;
+                    }
+                }
+                if (c == null) {
+                    c = new Contribution(new UUID(attackerMost[cell], attackerLeast[cell]));
+                    result.add(c);
+                }
+                c.damage += damage[cell];
+                c.lastHitMillis = Math.max(c.lastHitMillis, hitMillis[cell]);
+            }
+            return result;
+        }
+
+        synchronized void clear(long most, long least) {
+            int slot = find(most, least);
+            if (slot >= 0) {
+                removeSlot(slot);
+            }
+        }
+
+        synchronized int sweep(long nowMillis) {
+            long window = windowMs;
+            int removed = 0;
+            for (int i = 0; i < used.length; i++) {
+                // backward shift may pull another victim into this slot; re-check it
+                while (used[i] && isStale(rowOf[i], nowMillis, window)) {
+                    removeSlot(i);
+                    removed++;
+                }
+            }
+            return removed;
+        }
+
+        private boolean isStale(int row, long nowMillis, long window) {
+            if (count[row] == 0) return true;
+            int newest = head[row] == 0 ? entriesPerVictim - 1 : head[row] - 1;
+            return nowMillis - hitMillis[row * entriesPerVictim + newest] > window;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clearAll() {
+            for (int i = 0; i < used.length; i++) {
+                if (used[i]) {
+                    freeRows[freeTop++] = rowOf[i];
+                    used[i] = false;
+                }
+            }
+            size = 0;
+        }
+
+        // --------------------------------------------------------------------
+        // Open addressing
+        // --------------------------------------------------------------------
+
+        private int find(long most, long least) {
+            int slot = slotFor(most, least, mask);
+            while (used[slot]) {
+                if (victimMost[slot] == most && victimLeast[slot] == least) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int rowForInsert(long most, long least) {
+            int slot = slotFor(most, least, mask);
+            while (used[slot]) {
+                if (victimMost[slot] == most && victimLeast[slot] == least) {
+                    return rowOf[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size + 1 > used.length * LOAD_FACTOR) {
+                rehash(used.length << 1);
+                return rowForInsert(most, least);
+            }
+            if (freeTop == 0) {
+                allocateRows(head.length << 1);
+            }
+            int row = freeRows[--freeTop];
+            head[row] = 0;
+            count[row] = 0;
+            used[slot] = true;
+            victimMost[slot] = most;
+            victimLeast[slot] = least;
+            rowOf[slot] = row;
+            size++;
+            return row;
+        }
+
+        private void removeSlot(int slot) {
+            freeRows[freeTop++] = rowOf[slot];
+            size--;
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            while (used[next]) {
+                int home = slotFor(victimMost[next], victimLeast[next], mask);
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    victimMost[gap] = victimMost[next];
+                    victimLeast[gap] = victimLeast[next];
+                    rowOf[gap] = rowOf[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            used[gap] = false;
+        }
+
+        private void rehash(int newCapacity) {
+            long[] oldMost = victimMost;
+            long[] oldLeast = victimLeast;
+            int[] oldRows = rowOf;
+            boolean[] oldUsed = used;
+            allocateTable(newCapacity);
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (!oldUsed[i]) continue;
+                int slot = slotFor(oldMost[i], oldLeast[i], mask);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                victimMost[slot] = oldMost[i];
+                victimLeast[slot] = oldLeast[i];
+                rowOf[slot] = oldRows[i];
+            }
+        }
+    }
+
+    private static int slotFor(long most, long least, int mask) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
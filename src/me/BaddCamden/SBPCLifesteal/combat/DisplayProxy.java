@@ -0,0 +1,284 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import me.BaddCamden.SBPCLifesteal.message.HeartFormat;
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.AbstractArrow;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Interaction;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.util.BoundingBox;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lightweight stand-in for a combat logger: an {@link Interaction} hitbox plus display entities,
+ * none of which run a mob tick (no AI, physics, effects or damage pipeline).
+ *
+ * The hitbox is the entity registered with {@link CombatLogManager}; it receives player attacks.
+ * Displays show the player's head (or helmet), their held item, and a label with name and
+ * remaining health. Health is tracked here. Hitting an interaction entity skips the server's
+ * damage calculation, so {@link #meleeDamage} redoes vanilla's (attack damage, Sharpness, attack
+ * charge, crits) and {@link #hit} applies the logger's stored armor, toughness and Protection
+ * with vanilla's formulas; hits closer together than vanilla's hurt cooldown are ignored.
+ * Arrows pass through interaction entities, so {@link CombatLogManager} traces player-shot arrows
+ * against {@link #getBounds} and applies {@link #arrowDamage}. Only touched by the region that
+ * owns the proxy's location.
+ */
+public final class DisplayProxy {
+
+    // vanilla mobs ignore hits for 10 ticks after taking damage
+    private static final long HURT_COOLDOWN_MS = 500L;
+    private static final float WIDTH = 0.6f;
+    private static final float HEIGHT = 1.8f;
+    // helmet, chestplate, leggings, boots armor points per material tier (vanilla 1.21)
+    private static final String[] ARMOR_TIERS = {"LEATHER", "CHAINMAIL", "IRON", "GOLDEN", "DIAMOND", "NETHERITE"};
+    private static final int[][] ARMOR_POINTS = {
+            {1, 3, 2, 1}, {2, 5, 4, 1}, {2, 6, 5, 2}, {2, 5, 3, 1}, {3, 8, 6, 3}, {3, 8, 6, 3}};
+    private static final double[] ARMOR_TOUGHNESS = {0, 0, 0, 0, 2, 3};
+    private static final String[] ARMOR_SLOTS = {"_HELMET", "_CHESTPLATE", "_LEGGINGS", "_BOOTS"};
+
+    private final Interaction hitbox;
+    private final TextDisplay label;
+    private final ItemDisplay head;
+    private final ItemDisplay held;
+    private final String name;
+    private final Location location;
+    private final BoundingBox bounds;
+    private final double maxHealth;
+    private final double armor;
+    private final double toughness;
+    private final int protection;
+    private volatile double health;
+    private long lastHitMillis;
+
+    private DisplayProxy(Interaction hitbox, Location location, TextDisplay label, ItemDisplay head,
+                         ItemDisplay held, String name, double health, double maxHealth,
+                         ItemStack[] armorItems) {
+        this.hitbox = hitbox;
+        this.location = location;
+        this.bounds = new BoundingBox(location.getX() - WIDTH / 2.0, location.getY(), location.getZ() - WIDTH / 2.0,
+                location.getX() + WIDTH / 2.0, location.getY() + HEIGHT, location.getZ() + WIDTH / 2.0);
+        this.label = label;
+        this.head = head;
+        this.held = held;
+        this.name = name;
+        this.health = health;
+        this.maxHealth = maxHealth;
+        double points = 0.0;
+        double tough = 0.0;
+        int epf = 0;
+        if (armorItems != null) {
+            for (ItemStack piece : armorItems) {
+                if (isEmpty(piece)) continue;
+                double[] values = armorValues(piece.getType());
+                points += values[0];
+                tough += values[1];
+                epf += piece.getEnchantmentLevel(Enchantment.PROTECTION);
+            }
+        }
+        this.armor = points;
+        this.toughness = tough;
+        this.protection = Math.min(20, epf);
+    }
+
+    /**
+     * Spawn the hitbox and displays for {@code entry} at {@code loc} (chunk must be loaded).
+     */
+    public static DisplayProxy spawn(Location loc, CombatLogEntry entry, OfflinePlayer owner, String name) {
+        World world = loc.getWorld();
+        Interaction hitbox = world.spawn(loc, Interaction.class, i -> {
+            i.setInteractionWidth(WIDTH);
+            i.setInteractionHeight(HEIGHT);
+            i.setResponsive(true);
+            i.setPersistent(false);
+        });
+
+        ItemStack helmet = entry.getArmor() != null && entry.getArmor().length >= 4 ? entry.getArmor()[3] : null;
+        ItemStack headItem = isEmpty(helmet) ? skullOf(owner) : helmet.clone();
+        ItemDisplay head = world.spawn(loc.clone().add(0.0, 1.5, 0.0), ItemDisplay.class, d -> {
+            d.setItemStack(headItem);
+            d.setItemDisplayTransform(ItemDisplay.ItemDisplayTransform.HEAD);
+            d.setBillboard(Display.Billboard.VERTICAL);
+            d.setGlowing(true);
+            d.setPersistent(false);
+        });
+
+        ItemStack firstItem = firstItem(entry.getContents());
+        ItemDisplay held = firstItem == null ? null
+                : world.spawn(loc.clone().add(0.0, 0.9, 0.0), ItemDisplay.class, d -> {
+                    d.setItemStack(firstItem.clone());
+                    d.setItemDisplayTransform(ItemDisplay.ItemDisplayTransform.THIRDPERSON_RIGHTHAND);
+                    d.setBillboard(Display.Billboard.VERTICAL);
+                    d.setPersistent(false);
+                });
+
+        double maxHealth = Math.max(1.0, entry.getMaxHealth());
+        double health = Math.max(1.0, Math.min(entry.getHealth(), maxHealth));
+        TextDisplay label = world.spawn(loc.clone().add(0.0, HEIGHT + 0.3, 0.0), TextDisplay.class, d -> {
+            d.setBillboard(Display.Billboard.CENTER);
+            d.setSeeThrough(true);
+            d.setPersistent(false);
+        });
+
+        DisplayProxy proxy = new DisplayProxy(hitbox, loc.clone(), label, head, held, name, health, maxHealth,
+                entry.getArmor());
+        proxy.updateLabel();
+        return proxy;
+    }
+
+    private static boolean isEmpty(ItemStack stack) {
+        return stack == null || stack.getType() == Material.AIR;
+    }
+
+    private static ItemStack firstItem(ItemStack[] contents) {
+        if (contents == null) return null;
+        for (ItemStack stack : contents) {
+            if (!isEmpty(stack)) return stack;
+        }
+        return null;
+    }
+
+    private static ItemStack skullOf(OfflinePlayer owner) {
+        ItemStack skull = new ItemStack(Material.PLAYER_HEAD);
+        if (skull.getItemMeta() instanceof SkullMeta meta) {
+            meta.setOwningPlayer(owner);
+            skull.setItemMeta(meta);
+        }
+        return skull;
+    }
+
+    /**
+     * The entity that takes hits and identifies this proxy.
+     */
+    public Interaction getHitbox() {
+        return hitbox;
+    }
+
+    /**
+     * Where the hitbox stands; proxies never move.
+     */
+    public Location getLocation() {
+        return location.clone();
+    }
+
+    /**
+     * The hitbox's box, fixed at spawn so any region may trace against it.
+     */
+    public BoundingBox getBounds() {
+        return bounds;
+    }
+
+    public double getHealth() {
+        return health;
+    }
+
+    /**
+     * Apply a hit of {@code damage} before armor; returns true if it brought the proxy to zero
+     * health. Hits inside the hurt cooldown are ignored.
+     */
+    public boolean hit(double damage, long nowMillis) {
+        if (nowMillis - lastHitMillis < HURT_COOLDOWN_MS) {
+            return false;
+        }
+        lastHitMillis = nowMillis;
+        health = Math.max(0.0, health - afterArmor(Math.max(0.0, damage)));
+        updateLabel();
+        return health <= 0.0;
+    }
+
+    /**
+     * Vanilla armor, toughness and Protection reduction for the stored armor.
+     */
+    double afterArmor(double damage) {
+        double effective = Math.max(armor * 0.2, Math.min(20.0, armor - damage / (2.0 + toughness / 4.0)));
+        double reduced = damage * (1.0 - effective / 25.0);
+        return reduced * (1.0 - protection / 25.0);
+    }
+
+    /**
+     * What {@code attacker}'s melee hit deals before the target's armor, as vanilla computes it:
+     * attack damage (held weapon included) scaled by attack charge, Sharpness, and the 1.5x
+     * critical hit when falling at full charge.
+     */
+    public static double meleeDamage(Player attacker) {
+        AttributeInstance attr = attacker.getAttribute(Attribute.ATTACK_DAMAGE);
+        double base = attr != null ? attr.getValue() : 1.0;
+        ItemStack weapon = attacker.getInventory().getItemInMainHand();
+        int sharpness = isEmpty(weapon) ? 0 : weapon.getEnchantmentLevel(Enchantment.SHARPNESS);
+        double enchant = sharpness > 0 ? 0.5 * sharpness + 0.5 : 0.0;
+
+        double charge = attacker.getAttackCooldown();
+        base *= 0.2 + charge * charge * 0.8;
+        enchant *= charge;
+        boolean crit = charge > 0.9 && attacker.getFallDistance() > 0.0f && !attacker.isOnGround()
+                && !attacker.isSprinting() && !attacker.isInsideVehicle();
+        if (crit) {
+            base *= 1.5;
+        }
+        return base + enchant;
+    }
+
+    /**
+     * What {@code arrow} deals on impact before the target's armor, as vanilla computes it: its
+     * damage (Power included) scaled by its speed, plus a random bonus for a critical shot.
+     */
+    public static double arrowDamage(AbstractArrow arrow) {
+        int damage = (int) Math.ceil(Math.max(0.0, arrow.getVelocity().length() * arrow.getDamage()));
+        if (arrow.isCritical()) {
+            damage += ThreadLocalRandom.current().nextInt(damage / 2 + 2);
+        }
+        return damage;
+    }
+
+    /**
+     * Armor points and toughness of a vanilla armor piece; zeros for anything else.
+     */
+    private static double[] armorValues(Material type) {
+        String material = type.name();
+        if (material.equals("TURTLE_HELMET")) {
+            return new double[]{2.0, 0.0};
+        }
+        for (int tier = 0; tier < ARMOR_TIERS.length; tier++) {
+            if (!material.startsWith(ARMOR_TIERS[tier] + "_")) continue;
+            for (int slot = 0; slot < ARMOR_SLOTS.length; slot++) {
+                if (material.endsWith(ARMOR_SLOTS[slot])) {
+                    return new double[]{ARMOR_POINTS[tier][slot], ARMOR_TOUGHNESS[tier]};
+                }
+            }
+        }
+        return new double[]{0.0, 0.0};
+    }
+
+    private void updateLabel() {
+        int halfHearts = (int) Math.ceil(health);
+        label.setText(name + " " + ChatColor.RED + "❤ " + HeartFormat.format(halfHearts)
+                + ChatColor.GRAY + "/" + HeartFormat.format((int) Math.ceil(maxHealth)));
+    }
+
+    /**
+     * Remove the displays (the hitbox is removed by whoever owns the registry entry).
+     */
+    public void removeDecorations() {
+        removeIfValid(label);
+        removeIfValid(head);
+        removeIfValid(held);
+    }
+
+    private static void removeIfValid(Entity entity) {
+        if (entity != null && entity.isValid()) {
+            entity.remove();
+        }
+    }
+}
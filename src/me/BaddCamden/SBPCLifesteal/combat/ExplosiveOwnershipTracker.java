@@ -0,0 +1,342 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import me.BaddCamden.SBPCLifesteal.util.LongOwnerTable;
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Creeper;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.entity.TNTPrimed;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.TNTPrimeEvent;
+import org.bukkit.event.entity.EntityDamageByBlockEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which player is responsible for every explosive, in memory and with expiry.
+ *
+ * Explosive entities (TNT minecarts, end crystals, primed TNT, ignited creepers) are keyed by
+ * their entity id; explosive blocks (placed or primed TNT, beds and respawn anchors a player
+ * just used) by their packed block position per world. Ownership follows TNT chains: a TNT block
+ * primed by an owned explosion, projectile or player passes its owner on to the primed TNT
+ * entity, which in turn primes the next block.
+ *
+ * Lookups are O(1) primitive-key probes, so attributing explosion damage needs no PDC reads or
+ * string parsing. Entries expire on their own and are swept periodically on the shared
+ * {@link TimingWheel}. Thread-safe: block records are kept per world and every table guards
+ * itself; the "explosion just processed" fallback is remembered per region thread, which is
+ * where the explosion's damage events follow it.
+ */
+public class ExplosiveOwnershipTracker implements Listener {
+
+    // beds/anchors explode in the same tick they are used; keep the click around briefly
+    private static final long INTERACT_TTL_MS = 5_000L;
+    private static final long SWEEP_INTERVAL_TICKS = 30L * 20L;
+    // where the other half of a bed can be
+    private static final BlockFace[] BED_NEIGHBOURS = {BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST};
+
+    private final TimingWheel wheel;
+    private final LongOwnerTable entityOwners = new LongOwnerTable(64);
+    private final Map<UUID, LongOwnerTable> blockOwnersByWorld = new ConcurrentHashMap<>();
+    private volatile long entityOwnerTtlMs;
+    private volatile long placedBlockTtlMs;
+
+    /**
+     * Owner of the block explosion a thread is processing (damage events fire right after it).
+     */
+    private static final class LastBlockExplosion {
+        UUID owner;
+        UUID world;
+        long tick = -1L;
+    }
+
+    private final ThreadLocal<LastBlockExplosion> lastBlockExplosion = ThreadLocal.withInitial(LastBlockExplosion::new);
+
+    private final TimingWheel.Timeout sweepTimer = new TimingWheel.Timeout() {
+        @Override
+        protected void onExpire() {
+            sweep(System.currentTimeMillis());
+            wheel.schedule(this, SWEEP_INTERVAL_TICKS);
+        }
+    };
+
+    /**
+     * Create a tracker whose entity owners last {@code entityOwnerTtlMs} after the last arming
+     * and whose placed TNT blocks keep their placer for {@code placedBlockTtlMs}.
+     */
+    public ExplosiveOwnershipTracker(TimingWheel wheel, long entityOwnerTtlMs, long placedBlockTtlMs) {
+        this.wheel = wheel;
+        setTtls(entityOwnerTtlMs, placedBlockTtlMs);
+        wheel.schedule(sweepTimer, SWEEP_INTERVAL_TICKS);
+    }
+
+    /**
+     * Change expiry times; existing entries keep their current deadline.
+     */
+    public void setTtls(long entityOwnerTtlMs, long placedBlockTtlMs) {
+        this.entityOwnerTtlMs = Math.max(1L, entityOwnerTtlMs);
+        this.placedBlockTtlMs = Math.max(1L, placedBlockTtlMs);
+    }
+
+    // ------------------------------------------------------------------------
+    // Ownership records
+    // ------------------------------------------------------------------------
+
+    /**
+     * Pack block coordinates into one long (26 bits x, 26 bits z, 12 bits y).
+     */
+    public static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private LongOwnerTable blockTable(World world) {
+        return blockOwnersByWorld.computeIfAbsent(world.getUID(), id -> new LongOwnerTable(32));
+    }
+
+    /**
+     * Make {@code owner} responsible for an explosive entity's next explosion.
+     */
+    public void trackEntity(Entity explosive, UUID owner) {
+        entityOwners.put(explosive.getEntityId(), owner, System.currentTimeMillis() + entityOwnerTtlMs);
+    }
+
+    /**
+     * Make {@code owner} responsible for an explosive block for {@code ttlMs}.
+     */
+    public void trackBlock(Block block, UUID owner, long ttlMs) {
+        blockTable(block.getWorld()).put(blockKey(block.getX(), block.getY(), block.getZ()), owner,
+                System.currentTimeMillis() + ttlMs);
+    }
+
+    /**
+     * Recorded owner of an explosive entity, or null.
+     */
+    public UUID getEntityOwner(Entity explosive) {
+        return entityOwners.getOwner(explosive.getEntityId(), System.currentTimeMillis());
+    }
+
+    /**
+     * Recorded owner of a block position, or null.
+     */
+    public UUID getBlockOwner(World world, int x, int y, int z) {
+        LongOwnerTable table = blockOwnersByWorld.get(world.getUID());
+        return table != null ? table.getOwner(blockKey(x, y, z), System.currentTimeMillis()) : null;
+    }
+
+    /**
+     * Recorded owner of an explosive entity if that player is online, else null.
+     */
+    public Player resolveEntityOwner(Entity explosive) {
+        return online(getEntityOwner(explosive));
+    }
+
+    /**
+     * Player responsible for block-explosion damage (beds, respawn anchors), or null.
+     */
+    public Player resolveBlockDamager(EntityDamageByBlockEvent event) {
+        if (event.getCause() != EntityDamageEvent.DamageCause.BLOCK_EXPLOSION) {
+            return null;
+        }
+        Block source = event.getDamager();
+        if (source != null) {
+            UUID owner = getBlockOwner(source.getWorld(), source.getX(), source.getY(), source.getZ());
+            if (owner != null) {
+                return online(owner);
+            }
+        }
+        // the exploded block is often already gone; fall back to the explosion just processed
+        LastBlockExplosion last = lastBlockExplosion.get();
+        if (last.tick == wheel.getCurrentTick()
+                && event.getEntity().getWorld().getUID().equals(last.world)) {
+            return online(last.owner);
+        }
+        return null;
+    }
+
+    private static Player online(UUID id) {
+        if (id == null) return null;
+        Player p = Bukkit.getPlayer(id);
+        return p != null && p.isOnline() ? p : null;
+    }
+
+    /**
+     * Owner implied by whatever primed or damaged an explosive: a player, a player's projectile,
+     * primed TNT with a source, or another tracked explosive.
+     */
+    private UUID ownerOf(Entity cause) {
+        if (cause == null) return null;
+        if (cause instanceof Player p) {
+            return p.getUniqueId();
+        }
+        if (cause instanceof Projectile proj && proj.getShooter() instanceof Player shooter) {
+            return shooter.getUniqueId();
+        }
+        if (cause instanceof TNTPrimed tnt && tnt.getSource() instanceof Player source) {
+            return source.getUniqueId();
+        }
+        return getEntityOwner(cause);
+    }
+
+    /**
+     * Drop expired records; returns how many were removed.
+     */
+    public int sweep(long nowMillis) {
+        int removed = entityOwners.sweep(nowMillis);
+        for (LongOwnerTable table : blockOwnersByWorld.values()) {
+            removed += table.sweep(nowMillis);
+        }
+        return removed;
+    }
+
+    /**
+     * Number of live records (entities + blocks), including expired ones not yet swept.
+     */
+    public int size() {
+        int total = entityOwners.size();
+        for (LongOwnerTable table : blockOwnersByWorld.values()) {
+            total += table.size();
+        }
+        return total;
+    }
+
+    /**
+     * Forget everything and stop the periodic sweep.
+     */
+    public void shutdown() {
+        wheel.cancel(sweepTimer);
+        entityOwners.clear();
+        blockOwnersByWorld.clear();
+    }
+
+    // ------------------------------------------------------------------------
+    // Sources of ownership
+    // ------------------------------------------------------------------------
+
+    /**
+     * Placed TNT remembers its placer, so redstone or fire ignition is still attributed.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        Block block = event.getBlock();
+        if (block.getType() == Material.TNT) {
+            trackBlock(block, event.getPlayer().getUniqueId(), placedBlockTtlMs);
+        }
+    }
+
+    /**
+     * Using a bed or respawn anchor where it explodes credits the user.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onInteractBlock(PlayerInteractEvent event) {
+        if (event.getAction() != Action.RIGHT_CLICK_BLOCK) return;
+        Block block = event.getClickedBlock();
+        if (block == null) return;
+
+        Material type = block.getType();
+        UUID owner = event.getPlayer().getUniqueId();
+        if (type == Material.RESPAWN_ANCHOR) {
+            trackBlock(block, owner, INTERACT_TTL_MS);
+        } else if (Tag.BEDS.isTagged(type)) {
+            // the explosion is centred on the head half; record both halves
+            trackBlock(block, owner, INTERACT_TTL_MS);
+            for (BlockFace face : BED_NEIGHBOURS) {
+                Block other = block.getRelative(face);
+                if (Tag.BEDS.isTagged(other.getType())) {
+                    trackBlock(other, owner, INTERACT_TTL_MS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creepers lit with flint and steel or a fire charge belong to the player who lit them.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onInteractEntity(PlayerInteractEntityEvent event) {
+        if (!(event.getRightClicked() instanceof Creeper creeper)) return;
+        Player player = event.getPlayer();
+        ItemStack item = event.getHand() == EquipmentSlot.OFF_HAND
+                ? player.getInventory().getItemInOffHand()
+                : player.getInventory().getItemInMainHand();
+        if (item != null && (item.getType() == Material.FLINT_AND_STEEL || item.getType() == Material.FIRE_CHARGE)) {
+            trackEntity(creeper, player.getUniqueId());
+        }
+    }
+
+    /**
+     * A TNT block being primed takes its owner from whatever primed it, falling back to its placer.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onTntPrime(TNTPrimeEvent event) {
+        Block tnt = event.getBlock();
+        UUID owner = ownerOf(event.getPrimingEntity());
+        if (owner == null && event.getPrimingBlock() != null) {
+            Block primer = event.getPrimingBlock();
+            owner = getBlockOwner(primer.getWorld(), primer.getX(), primer.getY(), primer.getZ());
+        }
+        if (owner != null) {
+            trackBlock(tnt, owner, entityOwnerTtlMs);
+        }
+    }
+
+    /**
+     * Hand a TNT block's owner to the primed TNT entity that replaces it.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onEntitySpawn(EntitySpawnEvent event) {
+        if (!(event.getEntity() instanceof TNTPrimed tnt)) return;
+        Location loc = event.getLocation();
+        World world = loc.getWorld();
+        if (world == null) return;
+        LongOwnerTable table = blockOwnersByWorld.get(world.getUID());
+        if (table == null) return;
+
+        long key = blockKey(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+        UUID owner = table.getOwner(key, System.currentTimeMillis());
+        if (owner == null) return;
+        table.remove(key);
+        trackEntity(tnt, owner);
+
+        // let vanilla carry the owner down the rest of the chain as well
+        if (tnt.getSource() == null) {
+            Player p = online(owner);
+            if (p != null) {
+                tnt.setSource(p);
+            }
+        }
+    }
+
+    /**
+     * Remember who owns the block explosion about to deal damage this tick.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        Block block = event.getBlock();
+        UUID owner = getBlockOwner(block.getWorld(), block.getX(), block.getY(), block.getZ());
+        LastBlockExplosion last = lastBlockExplosion.get();
+        last.owner = owner;
+        last.world = owner != null ? block.getWorld().getUID() : null;
+        last.tick = owner != null ? wheel.getCurrentTick() : -1L;
+    }
+}
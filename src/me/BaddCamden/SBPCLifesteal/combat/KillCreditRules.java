@@ -0,0 +1,184 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Configurable rules for turning a {@link DamageLedger} into kill credit.
+ *
+ * <ul>
+ *   <li>{@code last-hit}: the killer receives every stolen half-heart (classic behavior).</li>
+ *   <li>{@code assist}: the killer receives everything; other qualifying attackers are credited
+ *       with an assist.</li>
+ *   <li>{@code split}: stolen half-hearts are shared in proportion to damage dealt (largest
+ *       remainder rounding). The killer always keeps at least one half-heart.</li>
+ * </ul>
+ * Attackers below {@code min-damage-share} of the total damage are ignored, and at most
+ * {@code max-recipients} players (killer included) are credited.
+ */
+public final class KillCreditRules {
+
+    public enum Mode {
+        LAST_HIT, ASSIST, SPLIT;
+
+        /**
+         * Parse a config value such as {@code "last-hit"}.
+         */
+        public static Mode parse(String raw) {
+            try {
+                return valueOf(raw.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown kill-credit mode: " + raw);
+            }
+        }
+    }
+
+    /**
+     * What one player receives from a kill.
+     */
+    public static final class Share {
+        private final UUID player;
+        private final boolean killer;
+        private final double damage;
+        private int halfHearts;
+
+        Share(UUID player, boolean killer, double damage) {
+            this.player = player;
+            this.killer = killer;
+            this.damage = damage;
+        }
+
+        public UUID getPlayer() {
+            return player;
+        }
+
+        /**
+         * Whether this share belongs to the player credited with the kill itself.
+         */
+        public boolean isKiller() {
+            return killer;
+        }
+
+        public double getDamage() {
+            return damage;
+        }
+
+        public int getHalfHearts() {
+            return halfHearts;
+        }
+    }
+
+    private final Mode mode;
+    private final double minDamageShare;
+    private final int maxRecipients;
+
+    public KillCreditRules(Mode mode, double minDamageShare, int maxRecipients) {
+        this.mode = mode;
+        this.minDamageShare = Math.max(0.0, Math.min(1.0, minDamageShare));
+        this.maxRecipients = Math.max(1, maxRecipients);
+    }
+
+    /**
+     * Classic rules: the killer takes everything.
+     */
+    public static KillCreditRules lastHit() {
+        return new KillCreditRules(Mode.LAST_HIT, 0.0, 1);
+    }
+
+    /**
+     * Read the {@code kill-credit} section; a missing section means {@link #lastHit()}.
+     */
+    public static KillCreditRules fromConfig(ConfigurationSection section) {
+        if (section == null) {
+            return lastHit();
+        }
+        return new KillCreditRules(
+                Mode.parse(section.getString("mode", "last-hit")),
+                section.getDouble("min-damage-share", 0.2),
+                section.getInt("max-recipients", 4));
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Share {@code halfHearts} between the killer and the given contributions (already filtered
+     * to eligible players). The killer's share is always first in the result.
+     */
+    public List<Share> allocate(UUID killer, int halfHearts, List<DamageLedger.Contribution> contributions) {
+        double total = 0.0;
+        double killerDamage = 0.0;
+        for (DamageLedger.Contribution c : contributions) {
+            total += c.getDamage();
+            if (c.getAttacker().equals(killer)) {
+                killerDamage = c.getDamage();
+            }
+        }
+
+        List<Share> shares = new ArrayList<>();
+        Share killerShare = new Share(killer, true, killerDamage);
+        shares.add(killerShare);
+
+        if (mode != Mode.LAST_HIT && total > 0.0) {
+            for (DamageLedger.Contribution c : contributions) {
+                if (shares.size() >= maxRecipients) break;
+                if (c.getAttacker().equals(killer)) continue;
+                if (c.getDamage() / total < minDamageShare) continue;
+                shares.add(new Share(c.getAttacker(), false, c.getDamage()));
+            }
+        }
+
+        if (mode != Mode.SPLIT || shares.size() == 1 || halfHearts <= 0) {
+            killerShare.halfHearts = Math.max(0, halfHearts);
+            return shares;
+        }
+
+        double weightSum = 0.0;
+        for (Share s : shares) {
+            weightSum += s.damage;
+        }
+        if (weightSum <= 0.0) {
+            killerShare.halfHearts = halfHearts;
+            return shares;
+        }
+
+        // largest remainder: floor everything, then hand out the leftovers by biggest fraction
+        double[] remainders = new double[shares.size()];
+        int given = 0;
+        for (int i = 0; i < shares.size(); i++) {
+            double exact = halfHearts * shares.get(i).damage / weightSum;
+            int whole = (int) Math.floor(exact);
+            shares.get(i).halfHearts = whole;
+            remainders[i] = exact - whole;
+            given += whole;
+        }
+        while (given < halfHearts) {
+            int best = 0;
+            for (int i = 1; i < remainders.length; i++) {
+                if (remainders[i] > remainders[best]) {
+                    best = i;
+                }
+            }
+            shares.get(best).halfHearts++;
+            remainders[best] = -1.0;
+            given++;
+        }
+
+        if (killerShare.halfHearts == 0) {
+            Share richest = shares.get(1);
+            for (int i = 2; i < shares.size(); i++) {
+                if (shares.get(i).halfHearts > richest.halfHearts) {
+                    richest = shares.get(i);
+                }
+            }
+            richest.halfHearts--;
+            killerShare.halfHearts = 1;
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,315 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Uniform grid of online players per world, for "who is within R of this point" queries.
+ *
+ * The world is cut into square columns of {@code 2^cellShift} blocks (y is ignored). Each player
+ * sits in exactly one cell and is moved only when a move/teleport carries them across a cell
+ * border, so upkeep is O(1) per crossing. A query visits just the cells overlapping the radius
+ * and distance-checks their occupants, so its cost tracks the number of nearby players rather
+ * than the number online. Movement that fires no {@link PlayerMoveEvent} (riding vehicles) is
+ * caught by a once-per-second resync.
+ *
+ * Thread-safe: every world has its own grid and lock, so regions in different worlds never
+ * wait for each other, and a player's entry is moved under its own monitor. Query visitors run
+ * while the world's grid is locked and must not move players themselves.
+ */
+public class PlayerSpatialIndex implements Listener {
+
+    private static final long RESYNC_INTERVAL_TICKS = 20L;
+
+    private static final class Entry {
+        final Player player;
+        UUID worldId;
+        long cellKey;
+        Cell cell;
+        int index;
+        boolean removed;
+
+        Entry(Player player) {
+            this.player = player;
+        }
+    }
+
+    private static final class Cell {
+        Entry[] entries = new Entry[4];
+        int size;
+
+        void add(Entry e) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size << 1);
+            }
+            e.index = size;
+            entries[size++] = e;
+        }
+
+        void remove(Entry e) {
+            Entry last = entries[--size];
+            entries[e.index] = last;
+            last.index = e.index;
+            entries[size] = null;
+        }
+    }
+
+    /**
+     * One world's cells, guarded by the grid's monitor.
+     */
+    private static final class Grid {
+        final Map<Long, Cell> cells = new HashMap<>();
+    }
+
+    private final TimingWheel wheel;
+    private final int cellShift;
+    private final Map<UUID, Grid> gridsByWorld = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    // reused for distance checks so queries don't allocate a Location per candidate
+    private final ThreadLocal<Location> scratch = ThreadLocal.withInitial(() -> new Location(null, 0, 0, 0));
+
+    private final TimingWheel.Timeout resyncTimer = new TimingWheel.Timeout() {
+        @Override
+        protected void onExpire() {
+            resyncAll();
+            wheel.schedule(this, RESYNC_INTERVAL_TICKS);
+        }
+    };
+
+    /**
+     * Create an index with cells of {@code 2^cellShift} blocks and index everyone online.
+     */
+    public PlayerSpatialIndex(TimingWheel wheel, int cellShift) {
+        if (cellShift < 1 || cellShift > 10) {
+            throw new IllegalArgumentException("cellShift must be between 1 and 10");
+        }
+        this.wheel = wheel;
+        this.cellShift = cellShift;
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            update(p, p.getLocation());
+        }
+        wheel.schedule(resyncTimer, RESYNC_INTERVAL_TICKS);
+    }
+
+    private static long cellKey(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Place (or move) a player at {@code loc}.
+     */
+    public void update(Player player, Location loc) {
+        Entry e = entries.get(player.getUniqueId());
+        if (e == null) {
+            e = new Entry(player);
+            Entry raced = entries.putIfAbsent(player.getUniqueId(), e);
+            if (raced != null) {
+                e = raced;
+            }
+        }
+        move(e, loc);
+    }
+
+    private void move(Entry e, Location loc) {
+        World world = loc.getWorld();
+        if (world == null) return;
+        UUID worldId = world.getUID();
+        long key = cellKey(loc.getBlockX() >> cellShift, loc.getBlockZ() >> cellShift);
+
+        synchronized (e) {
+            if (e.removed) return;
+            if (e.cell != null) {
+                if (e.cellKey == key && worldId.equals(e.worldId)) {
+                    return;
+                }
+                detach(e);
+            }
+            e.worldId = worldId;
+            e.cellKey = key;
+            Grid grid = gridsByWorld.computeIfAbsent(worldId, id -> new Grid());
+            synchronized (grid) {
+                Cell cell = grid.cells.computeIfAbsent(key, k -> new Cell());
+                cell.add(e);
+                e.cell = cell;
+            }
+        }
+    }
+
+    /**
+     * Drop a player from the index.
+     */
+    public void remove(Player player) {
+        Entry e = entries.remove(player.getUniqueId());
+        if (e != null) {
+            synchronized (e) {
+                e.removed = true;
+                if (e.cell != null) {
+                    detach(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Take an entry out of its cell; the caller holds the entry's monitor.
+     */
+    private void detach(Entry e) {
+        Grid grid = gridsByWorld.get(e.worldId);
+        if (grid != null) {
+            synchronized (grid) {
+                e.cell.remove(e);
+                if (e.cell.size == 0) {
+                    grid.cells.remove(e.cellKey);
+                }
+            }
+        }
+        e.cell = null;
+    }
+
+    /**
+     * Visit every indexed player within {@code radius} blocks of {@code center}; returns the count.
+     */
+    public int forEachNear(Location center, double radius, Consumer<Player> visitor) {
+        World world = center.getWorld();
+        if (world == null) return 0;
+        Grid grid = gridsByWorld.get(world.getUID());
+        if (grid == null) return 0;
+
+        double cxPos = center.getX();
+        double cyPos = center.getY();
+        double czPos = center.getZ();
+        double r2 = radius * radius;
+        int minCx = ((int) Math.floor(cxPos - radius)) >> cellShift;
+        int maxCx = ((int) Math.floor(cxPos + radius)) >> cellShift;
+        int minCz = ((int) Math.floor(czPos - radius)) >> cellShift;
+        int maxCz = ((int) Math.floor(czPos + radius)) >> cellShift;
+
+        Location scratch = this.scratch.get();
+        int found = 0;
+        synchronized (grid) {
+            if (grid.cells.isEmpty()) return 0;
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                for (int cz = minCz; cz <= maxCz; cz++) {
+                    Cell cell = grid.cells.get(cellKey(cx, cz));
+                    if (cell == null) continue;
+                    for (int i = 0; i < cell.size; i++) {
+                        Player p = cell.entries[i].player;
+                        Location at = p.getLocation(scratch);
+                        double dx = at.getX() - cxPos;
+                        double dy = at.getY() - cyPos;
+                        double dz = at.getZ() - czPos;
+                        if (dx * dx + dy * dy + dz * dz <= r2) {
+                            found++;
+                            visitor.accept(p);
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Players within {@code radius} blocks of {@code center}.
+     */
+    public List<Player> getPlayersNear(Location center, double radius) {
+        List<Player> result = new ArrayList<>();
+        forEachNear(center, radius, result::add);
+        return result;
+    }
+
+    /**
+     * Number of indexed players.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Re-place every player from their current location (catches vehicle movement).
+     */
+    public void resyncAll() {
+        Location scratch = this.scratch.get();
+        for (Entry e : entries.values()) {
+            move(e, e.player.getLocation(scratch));
+        }
+    }
+
+    /**
+     * Forget everything and stop the periodic resync.
+     */
+    public void shutdown() {
+        wheel.cancel(resyncTimer);
+        entries.clear();
+        gridsByWorld.clear();
+    }
+
+    // ------------------------------------------------------------------------
+    // Incremental upkeep
+    // ------------------------------------------------------------------------
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        Player p = event.getPlayer();
+        update(p, p.getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer());
+    }
+
+    /**
+     * Cheap reject for moves inside the same block column; only cell crossings do real work.
+     */
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (to == null) return;
+        if (from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ()
+                && from.getWorld() == to.getWorld()) {
+            return;
+        }
+        update(event.getPlayer(), to);
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onTeleport(PlayerTeleportEvent event) {
+        if (event.getTo() != null) {
+            update(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+        Player p = event.getPlayer();
+        update(p, p.getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        update(event.getPlayer(), event.getRespawnLocation());
+    }
+}
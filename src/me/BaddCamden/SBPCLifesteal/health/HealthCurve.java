@@ -0,0 +1,387 @@
+package me.BaddCamden.SBPCLifesteal.health;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Health-based SBPC speed multiplier, compiled into a lookup table on the half-heart grid.
+ *
+ * Admins describe the curve in config.yml either as an expression over {@code cur} and
+ * {@code max} (current and max hearts), or as two piecewise-linear point lists whose values
+ * are multiplied together. Either form is evaluated once per grid cell at load time; at
+ * runtime {@link #factor(double, double)} is a single array read.
+ *
+ * Hearts above {@code max-hearts} are clamped, matching the original 10-heart cap.
+ */
+public final class HealthCurve {
+
+    /**
+     * The formula this plugin has always used.
+     */
+    public static final String DEFAULT_EXPRESSION = "(1 + (1 - cur / 10)) * (1 + (2 - max / 5))";
+    public static final int DEFAULT_MAX_HEARTS = 10;
+
+    // hard limit so a typo can't allocate an enormous table
+    private static final int MAX_GRID_HEARTS = 200;
+
+    private final int maxHalfHearts;
+    private final int stride;
+    private final double[] table;
+    private final String description;
+
+    private HealthCurve(int maxHalfHearts, double[] table, String description) {
+        this.maxHalfHearts = maxHalfHearts;
+        this.stride = maxHalfHearts + 1;
+        this.table = table;
+        this.description = description;
+    }
+
+    /**
+     * Multiplier for the given current and max health (in health points, i.e. half-hearts).
+     */
+    public double factor(double currentHealth, double maxHealth) {
+        return table[index(maxHealth) * stride + index(currentHealth)];
+    }
+
+    private int index(double health) {
+        int half = (int) (health + 0.5);
+        if (half <= 0) return 0;
+        return Math.min(half, maxHalfHearts);
+    }
+
+    /**
+     * Short human-readable summary for logs.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Compile the built-in curve; never fails.
+     */
+    public static HealthCurve defaultCurve() {
+        return fromExpression(DEFAULT_EXPRESSION, DEFAULT_MAX_HEARTS);
+    }
+
+    /**
+     * Compile a curve from the {@code health-skip.curve} config section.
+     * A missing section yields the default curve.
+     *
+     * @throws IllegalArgumentException if the section is malformed or any table value is invalid
+     */
+    public static HealthCurve compile(ConfigurationSection sec) {
+        if (sec == null) {
+            return defaultCurve();
+        }
+
+        int maxHearts = sec.getInt("max-hearts", DEFAULT_MAX_HEARTS);
+        if (maxHearts < 1 || maxHearts > MAX_GRID_HEARTS) {
+            throw new IllegalArgumentException("max-hearts must be between 1 and " + MAX_GRID_HEARTS
+                    + " (was " + maxHearts + ")");
+        }
+
+        String type = sec.getString("type", "expression").toLowerCase(Locale.ROOT);
+        switch (type) {
+            case "expression":
+                return fromExpression(sec.getString("expression", DEFAULT_EXPRESSION), maxHearts);
+            case "points":
+                return fromPoints(
+                        parsePoints(sec.getList("current-points"), "current-points"),
+                        parsePoints(sec.getList("max-points"), "max-points"),
+                        maxHearts);
+            default:
+                throw new IllegalArgumentException("Unknown curve type '" + type
+                        + "' (expected 'expression' or 'points')");
+        }
+    }
+
+    /**
+     * Compile an expression over {@code cur} and {@code max} (both in hearts).
+     */
+    public static HealthCurve fromExpression(String expression, int maxHearts) {
+        Node node = new Parser(expression).parse();
+        return build(maxHearts, node, "expression " + expression);
+    }
+
+    /**
+     * Compile two piecewise-linear curves (hearts -> factor) whose values are multiplied.
+     */
+    public static HealthCurve fromPoints(double[][] currentPoints, double[][] maxPoints, int maxHearts) {
+        Node node = (cur, max) -> interpolate(currentPoints, cur) * interpolate(maxPoints, max);
+        return build(maxHearts, node, "points (" + currentPoints.length + " current, "
+                + maxPoints.length + " max)");
+    }
+
+    private static HealthCurve build(int maxHearts, Node node, String description) {
+        int maxHalf = maxHearts * 2;
+        int stride = maxHalf + 1;
+        double[] table = new double[stride * stride];
+
+        for (int maxHalfIdx = 0; maxHalfIdx <= maxHalf; maxHalfIdx++) {
+            for (int curHalfIdx = 0; curHalfIdx <= maxHalf; curHalfIdx++) {
+                double value = node.eval(curHalfIdx / 2.0, maxHalfIdx / 2.0);
+                if (Double.isNaN(value) || Double.isInfinite(value) || value < 0.0) {
+                    throw new IllegalArgumentException("Curve produced invalid factor " + value
+                            + " at cur=" + (curHalfIdx / 2.0) + " max=" + (maxHalfIdx / 2.0) + " hearts");
+                }
+                table[maxHalfIdx * stride + curHalfIdx] = value;
+            }
+        }
+        return new HealthCurve(maxHalf, table, description);
+    }
+
+    // ------------------------------------------------------------------------
+    // Points
+    // ------------------------------------------------------------------------
+
+    private static double[][] parsePoints(List<?> raw, String path) {
+        if (raw == null || raw.isEmpty()) {
+            throw new IllegalArgumentException(path + " must contain at least one [hearts, factor] pair");
+        }
+        List<double[]> points = new ArrayList<>();
+        for (Object o : raw) {
+            if (!(o instanceof List<?> pair) || pair.size() != 2
+                    || !(pair.get(0) instanceof Number h) || !(pair.get(1) instanceof Number f)) {
+                throw new IllegalArgumentException(path + " entries must be [hearts, factor] pairs, got " + o);
+            }
+            points.add(new double[]{h.doubleValue(), f.doubleValue()});
+        }
+        points.sort((a, b) -> Double.compare(a[0], b[0]));
+        for (int i = 1; i < points.size(); i++) {
+            if (points.get(i)[0] == points.get(i - 1)[0]) {
+                throw new IllegalArgumentException(path + " has duplicate hearts value " + points.get(i)[0]);
+            }
+        }
+        return points.toArray(new double[0][]);
+    }
+
+    private static double interpolate(double[][] points, double x) {
+        if (x <= points[0][0]) return points[0][1];
+        int last = points.length - 1;
+        if (x >= points[last][0]) return points[last][1];
+        for (int i = 1; i <= last; i++) {
+            if (x <= points[i][0]) {
+                double[] a = points[i - 1];
+                double[] b = points[i];
+                double t = (x - a[0]) / (b[0] - a[0]);
+                return a[1] + t * (b[1] - a[1]);
+            }
+        }
+        return points[last][1];
+    }
+
+    // ------------------------------------------------------------------------
+    // Expressions (only evaluated while building the table)
+    // ------------------------------------------------------------------------
+
+    private interface Node {
+        double eval(double cur, double max);
+    }
+
+    /**
+     * Small recursive-descent parser for + - * / ^, parentheses, the variables {@code cur}
+     * and {@code max}, and the functions min, max, clamp, abs, sqrt and pow.
+     */
+    private static final class Parser {
+        private final String src;
+        private int pos;
+
+        Parser(String src) {
+            if (src == null || src.isBlank()) {
+                throw new IllegalArgumentException("Curve expression is empty");
+            }
+            this.src = src;
+        }
+
+        Node parse() {
+            Node node = expr();
+            skipSpaces();
+            if (pos < src.length()) {
+                throw error("Unexpected '" + src.charAt(pos) + "'");
+            }
+            return node;
+        }
+
+        private Node expr() {
+            Node left = term();
+            while (true) {
+                if (eat('+')) {
+                    Node l = left, r = term();
+                    left = (c, m) -> l.eval(c, m) + r.eval(c, m);
+                } else if (eat('-')) {
+                    Node l = left, r = term();
+                    left = (c, m) -> l.eval(c, m) - r.eval(c, m);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node term() {
+            Node left = power();
+            while (true) {
+                if (eat('*')) {
+                    Node l = left, r = power();
+                    left = (c, m) -> l.eval(c, m) * r.eval(c, m);
+                } else if (eat('/')) {
+                    Node l = left, r = power();
+                    left = (c, m) -> l.eval(c, m) / r.eval(c, m);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node power() {
+            Node base = unary();
+            if (eat('^')) {
+                Node exp = power(); // right associative
+                return (c, m) -> Math.pow(base.eval(c, m), exp.eval(c, m));
+            }
+            return base;
+        }
+
+        private Node unary() {
+            if (eat('-')) {
+                Node inner = unary();
+                return (c, m) -> -inner.eval(c, m);
+            }
+            if (eat('+')) {
+                return unary();
+            }
+            return primary();
+        }
+
+        private Node primary() {
+            skipSpaces();
+            if (eat('(')) {
+                Node inner = expr();
+                expect(')');
+                return inner;
+            }
+            if (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.')) {
+                return number();
+            }
+            if (pos < src.length() && Character.isLetter(src.charAt(pos))) {
+                String name = identifier();
+                if (eat('(')) {
+                    return function(name, arguments());
+                }
+                switch (name) {
+                    case "cur":
+                        return (c, m) -> c;
+                    case "max":
+                        return (c, m) -> m;
+                    default:
+                        throw error("Unknown variable '" + name + "' (expected cur or max)");
+                }
+            }
+            throw error(pos < src.length() ? "Unexpected '" + src.charAt(pos) + "'" : "Unexpected end");
+        }
+
+        private List<Node> arguments() {
+            List<Node> args = new ArrayList<>();
+            if (eat(')')) {
+                return args;
+            }
+            do {
+                args.add(expr());
+            } while (eat(','));
+            expect(')');
+            return args;
+        }
+
+        private Node function(String name, List<Node> args) {
+            switch (name) {
+                case "min": {
+                    arity(name, args, 2);
+                    Node a = args.get(0), b = args.get(1);
+                    return (c, m) -> Math.min(a.eval(c, m), b.eval(c, m));
+                }
+                case "max": {
+                    arity(name, args, 2);
+                    Node a = args.get(0), b = args.get(1);
+                    return (c, m) -> Math.max(a.eval(c, m), b.eval(c, m));
+                }
+                case "clamp": {
+                    arity(name, args, 3);
+                    Node x = args.get(0), lo = args.get(1), hi = args.get(2);
+                    return (c, m) -> Math.max(lo.eval(c, m), Math.min(hi.eval(c, m), x.eval(c, m)));
+                }
+                case "pow": {
+                    arity(name, args, 2);
+                    Node a = args.get(0), b = args.get(1);
+                    return (c, m) -> Math.pow(a.eval(c, m), b.eval(c, m));
+                }
+                case "abs": {
+                    arity(name, args, 1);
+                    Node a = args.get(0);
+                    return (c, m) -> Math.abs(a.eval(c, m));
+                }
+                case "sqrt": {
+                    arity(name, args, 1);
+                    Node a = args.get(0);
+                    return (c, m) -> Math.sqrt(a.eval(c, m));
+                }
+                default:
+                    throw error("Unknown function '" + name + "'");
+            }
+        }
+
+        private void arity(String name, List<Node> args, int expected) {
+            if (args.size() != expected) {
+                throw error(name + "() takes " + expected + " argument(s), got " + args.size());
+            }
+        }
+
+        private Node number() {
+            int start = pos;
+            while (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.')) {
+                pos++;
+            }
+            try {
+                double value = Double.parseDouble(src.substring(start, pos));
+                return (c, m) -> value;
+            } catch (NumberFormatException ex) {
+                pos = start;
+                throw error("Bad number");
+            }
+        }
+
+        private String identifier() {
+            int start = pos;
+            while (pos < src.length() && Character.isLetterOrDigit(src.charAt(pos))) {
+                pos++;
+            }
+            return src.substring(start, pos).toLowerCase(Locale.ROOT);
+        }
+
+        private boolean eat(char ch) {
+            skipSpaces();
+            if (pos < src.length() && src.charAt(pos) == ch) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char ch) {
+            if (!eat(ch)) {
+                throw error("Expected '" + ch + "'");
+            }
+        }
+
+        private void skipSpaces() {
+            while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos + " in curve expression: " + src);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package me.BaddCamden.SBPCLifesteal.health;
+
+import me.BaddCamden.SBPCLifesteal.platform.PlatformScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Per-player cache of the health-based SBPC speed multiplier.
+ *
+ * Factors are only recomputed for players that were marked dirty since the last refresh
+ * (damage, regain, join, respawn, max-health changes). Only players whose factor is above 1
+ * are kept, grouped by their {@link HealthSkipScheduler} bucket so each tick can visit just
+ * its own slice of boosted players. Thread-safe: players may be marked dirty from any region
+ * while the skip tick refreshes and reads the buckets. The refresh reads each player's health on
+ * the thread that owns them, so on Folia a factor lands a tick after the player was marked.
+ */
+public class HealthFactorCache {
+
+    private final ToDoubleFunction<Player> factorFunction;
+    private final PlatformScheduler platform;
+
+    // bucket -> (players with factor > 1.0 -> cached factor); everyone else is implicitly 1.0
+    private final Map<UUID, Double>[] boostedByBucket;
+
+    // players whose health or max health changed since the last refresh
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Build a cache that uses the given function to compute a player's multiplier, run on the
+     * player's own thread through {@code platform}.
+     */
+    @SuppressWarnings("unchecked")
+    public HealthFactorCache(ToDoubleFunction<Player> factorFunction, PlatformScheduler platform) {
+        this.factorFunction = factorFunction;
+        this.platform = platform;
+        this.boostedByBucket = new Map[HealthSkipScheduler.BUCKETS];
+        for (int i = 0; i < boostedByBucket.length; i++) {
+            boostedByBucket[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Flag a player so their factor is recomputed on the next refresh.
+     * Recomputing lazily means event handlers see the health value after Bukkit applied it.
+     */
+    public void markDirty(UUID uuid) {
+        dirty.add(uuid);
+    }
+
+    /**
+     * Recompute the factor of every dirty player on the thread owning them, dropping players
+     * who went offline.
+     */
+    public void refreshDirty() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        for (Iterator<UUID> it = dirty.iterator(); it.hasNext(); ) {
+            UUID uuid = it.next();
+            // removed before the recompute, so a player marked again meanwhile stays dirty
+            it.remove();
+            Player p = Bukkit.getPlayer(uuid);
+            if (p == null || !p.isOnline()) {
+                bucketFor(uuid).remove(uuid);
+                continue;
+            }
+            platform.runAtEntity("health-factor", p, () -> recompute(p));
+        }
+    }
+
+    /**
+     * Recompute and store a single player's factor immediately; call on the thread owning
+     * {@code p}.
+     */
+    public double recompute(Player p) {
+        UUID uuid = p.getUniqueId();
+        double factor = factorFunction.applyAsDouble(p);
+        if (factor > 1.0) {
+            bucketFor(uuid).put(uuid, factor);
+        } else {
+            bucketFor(uuid).remove(uuid);
+        }
+        return factor;
+    }
+
+    /**
+     * Cached factor for a player, or 1.0 if they are not boosted.
+     */
+    public double getFactor(UUID uuid) {
+        return bucketFor(uuid).getOrDefault(uuid, 1.0);
+    }
+
+    /**
+     * Read-only view of the boosted players (and their factors) that fall into one bucket.
+     */
+    public Map<UUID, Double> getBoostedFactors(int bucket) {
+        return Collections.unmodifiableMap(boostedByBucket[bucket]);
+    }
+
+    /**
+     * Total number of boosted players across all buckets.
+     */
+    public int getBoostedCount() {
+        int count = 0;
+        for (Map<UUID, Double> bucket : boostedByBucket) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    private Map<UUID, Double> bucketFor(UUID uuid) {
+        return boostedByBucket[HealthSkipScheduler.bucketOf(uuid)];
+    }
+
+    /**
+     * Forget a player entirely (e.g. on quit).
+     */
+    public void remove(UUID uuid) {
+        bucketFor(uuid).remove(uuid);
+        dirty.remove(uuid);
+    }
+
+    /**
+     * Drop all cached state.
+     */
+    public void clear() {
+        for (Map<UUID, Double> bucket : boostedByBucket) {
+            bucket.clear();
+        }
+        dirty.clear();
+    }
+}
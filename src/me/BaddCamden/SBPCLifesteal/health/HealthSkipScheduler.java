@@ -0,0 +1,139 @@
+package me.BaddCamden.SBPCLifesteal.health;
+
+import me.BaddCamden.SBPCLifesteal.jfr.HealthSkipTickEvent;
+import me.BaddCamden.SBPCLifesteal.util.UuidDoubleMap;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tick-sliced driver for health-based SBPC time skips.
+ *
+ * Runs every server tick. Players are spread across {@link #BUCKETS} buckets by UUID, and each
+ * tick only the boosted players of the current bucket are visited, so every player is still
+ * visited exactly once per second but the work is spread evenly over all 20 ticks.
+ *
+ * Extra seconds are accumulated in a primitive map and only pushed to SBPC once a player has
+ * built up {@code flushChunkSeconds} whole seconds, coalescing many small skips into few calls.
+ * The accumulators are guarded by their own monitor, so a player's region may flush them on
+ * quit while the global tick is running.
+ */
+public class HealthSkipScheduler {
+
+    /**
+     * One bucket per tick of a second.
+     */
+    public static final int BUCKETS = 20;
+
+    /**
+     * Receiver for whole skip seconds that are ready to be pushed to SBPC.
+     */
+    public interface SkipSink {
+        void push(UUID playerId, int seconds);
+    }
+
+    private final HealthFactorCache cache;
+    private final SkipSink sink;
+    private final UuidDoubleMap accumulators = new UuidDoubleMap(256);
+
+    private volatile int flushChunkSeconds;
+    private int currentBucket = 0;
+
+    /**
+     * Create a scheduler reading factors from {@code cache} and pushing skips to {@code sink}.
+     */
+    public HealthSkipScheduler(HealthFactorCache cache, SkipSink sink, int flushChunkSeconds) {
+        this.cache = cache;
+        this.sink = sink;
+        setFlushChunkSeconds(flushChunkSeconds);
+    }
+
+    /**
+     * Stable bucket index for a player, derived from their UUID bits.
+     */
+    public static int bucketOf(UUID uuid) {
+        long h = uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+        return Math.floorMod((int) (h ^ (h >>> 32)), BUCKETS);
+    }
+
+    /**
+     * Minimum number of whole seconds accumulated before a push is sent to SBPC.
+     */
+    public void setFlushChunkSeconds(int flushChunkSeconds) {
+        this.flushChunkSeconds = Math.max(1, flushChunkSeconds);
+    }
+
+    /**
+     * Process this tick's slice of boosted players, then advance to the next bucket.
+     */
+    public void tick() {
+        HealthSkipTickEvent jfr = new HealthSkipTickEvent();
+        jfr.begin();
+        cache.refreshDirty();
+
+        Map<UUID, Double> bucket = cache.getBoostedFactors(currentBucket);
+        int pushed = 0;
+        for (Map.Entry<UUID, Double> boosted : bucket.entrySet()) {
+            double extraPerSecond = boosted.getValue() - 1.0; // base SBPC tick already gives 1x
+            UUID id = boosted.getKey();
+
+            int whole = 0;
+            synchronized (accumulators) {
+                double acc = accumulators.addTo(id, extraPerSecond);
+                if (acc >= flushChunkSeconds) {
+                    whole = (int) Math.floor(acc);
+                    accumulators.put(id, acc - whole);
+                }
+            }
+            if (whole > 0) {
+                sink.push(id, whole);
+                pushed++;
+            }
+        }
+
+        if (jfr.shouldCommit()) {
+            jfr.bucket = currentBucket;
+            jfr.visited = bucket.size();
+            jfr.pushed = pushed;
+            jfr.commit();
+        }
+        currentBucket = (currentBucket + 1) % BUCKETS;
+    }
+
+    /**
+     * Push any whole seconds still held for a player (e.g. on quit) and forget their accumulator.
+     */
+    public void flush(UUID playerId) {
+        double acc;
+        synchronized (accumulators) {
+            acc = accumulators.remove(playerId, 0.0);
+        }
+        int whole = (int) Math.floor(acc);
+        if (whole > 0) {
+            sink.push(playerId, whole);
+        }
+    }
+
+    /**
+     * Flush every online player's pending whole seconds (e.g. on disable).
+     */
+    public void flushAll() {
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            flush(p.getUniqueId());
+        }
+        synchronized (accumulators) {
+            accumulators.clear();
+        }
+    }
+
+    /**
+     * Number of players currently holding an accumulator.
+     */
+    public int getAccumulatorCount() {
+        synchronized (accumulators) {
+            return accumulators.size();
+        }
+    }
+}
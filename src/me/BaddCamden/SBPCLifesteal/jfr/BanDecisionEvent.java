@@ -0,0 +1,35 @@
+package me.BaddCamden.SBPCLifesteal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A player ran out of hearts, or destroyed Broken Hearts revived a banned player.
+ */
+@Name("sbpclifesteal.BanDecision")
+@Label("Ban Decision")
+@Category({"SBPCLifesteal", "Lifesteal"})
+@Description("Lifesteal ban, or a revive paid for by the destroyed-heart stock")
+public class BanDecisionEvent extends Event {
+
+    public static final String BAN = "ban";
+    public static final String SAVED_BY_STOCK = "saved-by-stock";
+    public static final String REVIVED_FROM_QUEUE = "revived-from-queue";
+
+    @Label("Player")
+    public String player;
+
+    @Label("Decision")
+    @Description("ban, saved-by-stock or revived-from-queue")
+    public String decision;
+
+    @Label("Stock After")
+    @Description("Destroyed half-hearts left after the decision")
+    public int stockAfter;
+
+    @Label("Banned Players")
+    public int bannedPlayers;
+}
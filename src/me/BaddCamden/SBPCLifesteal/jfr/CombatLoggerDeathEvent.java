@@ -0,0 +1,33 @@
+package me.BaddCamden.SBPCLifesteal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A combat-logger proxy was killed: loot drop or bag, file cleanup and the offline lifesteal kill.
+ */
+@Name("sbpclifesteal.CombatLoggerDeath")
+@Label("Combat Logger Death")
+@Category({"SBPCLifesteal", "Combat Log"})
+@Description("Resolving the death of an offline combat logger's proxy")
+public class CombatLoggerDeathEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Killer")
+    @Description("Empty if no player got the kill")
+    public String killer;
+
+    @Label("Item Stacks")
+    public int itemStacks;
+
+    @Label("XP")
+    public int xp;
+
+    @Label("Loot Bag")
+    public boolean lootBag;
+}
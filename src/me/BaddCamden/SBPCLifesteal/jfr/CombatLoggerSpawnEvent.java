@@ -0,0 +1,40 @@
+package me.BaddCamden.SBPCLifesteal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A combat-logger proxy entity being spawned into the world.
+ */
+@Name("sbpclifesteal.CombatLoggerSpawn")
+@Label("Combat Logger Spawn")
+@Category({"SBPCLifesteal", "Combat Log"})
+@Description("Spawning the zombie or display proxy for an offline combat logger")
+public class CombatLoggerSpawnEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Proxy Type")
+    public String proxyType;
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Since Logout")
+    @Timespan(Timespan.MILLISECONDS)
+    public long sinceLogout;
+
+    @Label("Live Proxies")
+    public int liveProxies;
+}
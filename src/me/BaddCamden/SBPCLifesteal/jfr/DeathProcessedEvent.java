@@ -0,0 +1,34 @@
+package me.BaddCamden.SBPCLifesteal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One player death run through the lifesteal rules (heart transfer or loss, ban/revive, section
+ * trade, SBPC progress reset). The event's duration is the whole handler.
+ */
+@Name("sbpclifesteal.DeathProcessed")
+@Label("Lifesteal Death")
+@Category({"SBPCLifesteal", "Combat"})
+@Description("A player death handled by the lifesteal rules")
+public class DeathProcessedEvent extends Event {
+
+    @Label("Victim")
+    public String victim;
+
+    @Label("Killer")
+    @Description("Credited killer, empty for environmental deaths")
+    public String killer;
+
+    @Label("PvP")
+    public boolean pvp;
+
+    @Label("Half-Hearts Lost")
+    public int halfHeartsLost;
+
+    @Label("Cause")
+    public String cause;
+}
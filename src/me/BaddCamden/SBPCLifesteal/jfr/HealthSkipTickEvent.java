@@ -0,0 +1,27 @@
+package me.BaddCamden.SBPCLifesteal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One tick of the health-based skip scheduler: refresh dirty factors, visit one bucket of boosted
+ * players, push whole seconds that are due.
+ */
+@Name("sbpclifesteal.HealthSkipTick")
+@Label("Health Skip Tick")
+@Category({"SBPCLifesteal", "SBPC"})
+@Description("Per-tick slice of the health-based SBPC speed-up")
+public class HealthSkipTickEvent extends Event {
+
+    @Label("Bucket")
+    public int bucket;
+
+    @Label("Players Visited")
+    public int visited;
+
+    @Label("Skips Pushed")
+    public int pushed;
+}
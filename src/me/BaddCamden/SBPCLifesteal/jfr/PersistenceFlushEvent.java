@@ -0,0 +1,32 @@
+package me.BaddCamden.SBPCLifesteal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Writing plugin data to disk: the full lifesteal save or a batch of combat-log snapshots.
+ */
+@Name("sbpclifesteal.PersistenceFlush")
+@Label("Persistence Flush")
+@Category({"SBPCLifesteal", "Persistence"})
+@Description("Lifesteal or combat-log data written to disk")
+public class PersistenceFlushEvent extends Event {
+
+    public static final String LIFESTEAL = "lifesteal";
+    public static final String COMBAT_LOG = "combat-log";
+
+    @Label("Kind")
+    @Description("lifesteal (bans, revives, flags, hearts) or combat-log (snapshots)")
+    public String kind;
+
+    @Label("Files")
+    public int files;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,33 @@
+package me.BaddCamden.SBPCLifesteal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A section trade check after a PvP kill, including the SBPC calls when the trade happens.
+ */
+@Name("sbpclifesteal.SectionTrade")
+@Label("Section Trade")
+@Category({"SBPCLifesteal", "SBPC"})
+@Description("Lower-section killer and higher-section victim swapping places")
+public class SectionTradeEvent extends Event {
+
+    @Label("Killer")
+    public String killer;
+
+    @Label("Victim")
+    public String victim;
+
+    @Label("Killer Section")
+    public String killerSection;
+
+    @Label("Victim Section")
+    public String victimSection;
+
+    @Label("Traded")
+    @Description("False if the killer was not lower or the victim was already demoted from this section")
+    public boolean traded;
+}
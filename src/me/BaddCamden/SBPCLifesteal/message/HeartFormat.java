@@ -0,0 +1,40 @@
+package me.BaddCamden.SBPCLifesteal.message;
+
+import java.util.Locale;
+
+/**
+ * Half-heart counts rendered as heart text ("1", "1.5", ...), precomputed for the usual range.
+ */
+public final class HeartFormat {
+
+    // covers up to 256 hearts; anything beyond is formatted on demand
+    private static final int TABLE_SIZE = 513;
+    private static final String[] TABLE = new String[TABLE_SIZE];
+
+    static {
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            TABLE[i] = compute(i);
+        }
+    }
+
+    private HeartFormat() {
+    }
+
+    /**
+     * Format a half-heart count as whole hearts or with one decimal place.
+     */
+    public static String format(int halfHearts) {
+        if (halfHearts >= 0 && halfHearts < TABLE_SIZE) {
+            return TABLE[halfHearts];
+        }
+        return compute(halfHearts);
+    }
+
+    private static String compute(int halfHearts) {
+        double hearts = halfHearts / 2.0;
+        if (Math.abs(hearts - Math.round(hearts)) < 0.0001) {
+            return String.format(Locale.US, "%.0f", hearts);
+        }
+        return String.format(Locale.US, "%.1f", hearts);
+    }
+}
@@ -0,0 +1,154 @@
+package me.BaddCamden.SBPCLifesteal.message;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ * Compiled message templates per locale.
+ *
+ * The default catalog comes from the {@code messages} section of config.yml. Every
+ * {@code messages_<locale>.yml} in the plugin folder (e.g. {@code messages_de.yml},
+ * {@code messages_pt_br.yml}) overrides any subset of keys for that locale; missing keys fall
+ * back to the default. Each player is bound to the best matching catalog (exact locale, then
+ * language) when they join or change their client language, so a lookup is one map read.
+ */
+public class MessageCatalogs implements Listener {
+
+    private static final String FILE_PREFIX = "messages_";
+    private static final String FILE_SUFFIX = ".yml";
+    private static final MessageTemplate EMPTY = MessageTemplate.compile("");
+
+    private final Logger logger;
+    private volatile Map<String, MessageTemplate> defaults = new HashMap<>();
+    // read from every region, so both bindings are concurrent
+    private final Map<String, Map<String, MessageTemplate>> byLocale = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, MessageTemplate>> byPlayer = new ConcurrentHashMap<>();
+
+    public MessageCatalogs(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * (Re)build every catalog. {@code defaultTexts} are already colorized; locale files are
+     * colorized with {@code colorizer}.
+     */
+    public void load(Map<String, String> defaultTexts, File folder, UnaryOperator<String> colorizer) {
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        for (Map.Entry<String, String> e : defaultTexts.entrySet()) {
+            compiled.put(e.getKey(), MessageTemplate.compile(e.getValue()));
+        }
+        defaults = compiled;
+        byLocale.clear();
+
+        File[] files = folder.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                String locale = normalize(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+                YamlConfiguration yml = YamlConfiguration.loadConfiguration(file);
+                ConfigurationSection section = yml.isConfigurationSection("messages")
+                        ? yml.getConfigurationSection("messages")
+                        : yml;
+
+                Map<String, MessageTemplate> catalog = new HashMap<>(defaults);
+                int overridden = 0;
+                for (String key : section.getKeys(false)) {
+                    if (!section.isString(key)) continue;
+                    if (!defaults.containsKey(key)) {
+                        logger.warning(name + ": unknown message key '" + key + "'");
+                        continue;
+                    }
+                    catalog.put(key, MessageTemplate.compile(colorizer.apply(section.getString(key))));
+                    overridden++;
+                }
+                byLocale.put(locale, catalog);
+                logger.info("Loaded " + overridden + " message(s) for locale " + locale + " from " + name);
+            }
+        }
+
+        byPlayer.clear();
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            bind(online, online.getLocale());
+        }
+    }
+
+    private static String normalize(String locale) {
+        return locale.toLowerCase(Locale.ROOT).replace('-', '_');
+    }
+
+    private Map<String, MessageTemplate> catalogFor(String locale) {
+        if (locale == null || byLocale.isEmpty()) {
+            return defaults;
+        }
+        String normalized = normalize(locale);
+        Map<String, MessageTemplate> catalog = byLocale.get(normalized);
+        if (catalog == null) {
+            int underscore = normalized.indexOf('_');
+            if (underscore > 0) {
+                catalog = byLocale.get(normalized.substring(0, underscore));
+            }
+        }
+        return catalog != null ? catalog : defaults;
+    }
+
+    private void bind(Player player, String locale) {
+        Map<String, MessageTemplate> catalog = catalogFor(locale);
+        if (catalog == defaults) {
+            byPlayer.remove(player.getUniqueId());
+        } else {
+            byPlayer.put(player.getUniqueId(), catalog);
+        }
+    }
+
+    /**
+     * The template for {@code key} in the player's language, or the default when
+     * {@code player} is null (console, kick/ban reasons).
+     */
+    public MessageTemplate get(Player player, String key) {
+        Map<String, MessageTemplate> catalog = player != null
+                ? byPlayer.getOrDefault(player.getUniqueId(), defaults)
+                : defaults;
+        MessageTemplate template = catalog.get(key);
+        return template != null ? template : EMPTY;
+    }
+
+    /**
+     * Locales with a loaded catalog.
+     */
+    public int getLocaleCount() {
+        return byLocale.size();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        Player p = event.getPlayer();
+        bind(p, p.getLocale());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLocaleChange(PlayerLocaleChangeEvent event) {
+        bind(event.getPlayer(), event.getLocale());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        byPlayer.remove(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,115 @@
+package me.BaddCamden.SBPCLifesteal.message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message compiled once into literal text and named {@code {slot}} placeholders.
+ *
+ * Rendering appends literals and slot values into a single right-sized builder, so a message
+ * with two placeholders costs one String instead of a chain of {@code replace} copies. A
+ * template without slots returns its text as-is. Unknown or unfilled slots render as their
+ * original {@code {name}} text, matching the old replace-based behavior.
+ */
+public final class MessageTemplate {
+
+    private static final String[] NO_SLOTS = new String[0];
+
+    // literals.length == slots.length + 1; literal i comes before slot i
+    private final String[] literals;
+    private final String[] slots;
+    private final String text;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, String[] slots, String text) {
+        this.literals = literals;
+        this.slots = slots;
+        this.text = text;
+        int len = 0;
+        for (String literal : literals) {
+            len += literal.length();
+        }
+        this.literalLength = len;
+    }
+
+    /**
+     * Split {@code text} (already colorized) into literals and {@code {name}} slots.
+     */
+    public static MessageTemplate compile(String text) {
+        if (text == null) {
+            text = "";
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int start = 0;
+        int open = text.indexOf('{');
+        while (open >= 0) {
+            int close = text.indexOf('}', open + 1);
+            if (close < 0) break;
+            String name = text.substring(open + 1, close);
+            if (name.isEmpty() || name.indexOf('{') >= 0 || name.indexOf(' ') >= 0) {
+                open = text.indexOf('{', open + 1);
+                continue;
+            }
+            literals.add(text.substring(start, open));
+            slots.add(name);
+            start = close + 1;
+            open = text.indexOf('{', start);
+        }
+        literals.add(text.substring(start));
+        return new MessageTemplate(literals.toArray(new String[0]),
+                slots.isEmpty() ? NO_SLOTS : slots.toArray(new String[0]), text);
+    }
+
+    /**
+     * The template text with no slots filled.
+     */
+    public String render() {
+        return text;
+    }
+
+    /**
+     * Render with one slot filled.
+     */
+    public String render(String slot, String value) {
+        if (slots.length == 0) return text;
+        StringBuilder sb = new StringBuilder(literalLength + 16 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+            String name = slots[i];
+            if (name.equals(slot)) {
+                sb.append(value);
+            } else {
+                sb.append('{').append(name).append('}');
+            }
+        }
+        return sb.append(literals[slots.length]).toString();
+    }
+
+    /**
+     * Render with two slots filled.
+     */
+    public String render(String slot1, String value1, String slot2, String value2) {
+        if (slots.length == 0) return text;
+        StringBuilder sb = new StringBuilder(literalLength + 16 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+            String name = slots[i];
+            if (name.equals(slot1)) {
+                sb.append(value1);
+            } else if (name.equals(slot2)) {
+                sb.append(value2);
+            } else {
+                sb.append('{').append(name).append('}');
+            }
+        }
+        return sb.append(literals[slots.length]).toString();
+    }
+
+    /**
+     * Number of placeholders in the template.
+     */
+    public int getSlotCount() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,210 @@
+package me.BaddCamden.SBPCLifesteal.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * On-demand latency profile of event handlers and scheduled tasks, behind {@code /lifesteal profile}.
+ *
+ * Call sites are registered once, when a listener or task is registered, and each owns a
+ * {@link LatencyHistogram}. Outside a session a timed call costs a single volatile read; the clock
+ * is only read while recording. Starting a session clears every site, so a report covers exactly
+ * that window. Thread-safe.
+ *
+ * A call timed inside another timed call (a work item inside the scheduler tick, a task run
+ * inline by the handler that scheduled it) is recorded with {@link Site#endNested(long)}: it shows
+ * up in its own site but is left out of the per-tick total, so nothing is counted twice.
+ */
+public final class HandlerProfiler {
+
+    /**
+     * One profiled handler or task.
+     */
+    public final class Site {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder nestedNanos = new LongAdder();
+
+        private Site(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        /**
+         * Start timestamp for {@link #end(long)}, or 0 when no session is running.
+         */
+        public long begin() {
+            return recording ? System.nanoTime() : 0L;
+        }
+
+        /**
+         * Record the call started at {@code start} if it was timed.
+         */
+        public void end(long start) {
+            if (start != 0L) {
+                histogram.recordSince(start);
+            }
+        }
+
+        /**
+         * Record the call started at {@code start}, which ran inside another timed call.
+         */
+        public void endNested(long start) {
+            if (start != 0L) {
+                long nanos = System.nanoTime() - start;
+                histogram.record(nanos);
+                nestedNanos.add(nanos);
+            }
+        }
+
+        /**
+         * {@code task} timed under this site.
+         */
+        public Runnable time(Runnable task) {
+            return () -> {
+                long start = begin();
+                try {
+                    task.run();
+                } finally {
+                    end(start);
+                }
+            };
+        }
+    }
+
+    private final Map<String, Site> sites = new ConcurrentSkipListMap<>();
+    // by bare name, so per-call lookups do not build the prefixed string
+    private final Map<String, Site> taskSites = new ConcurrentHashMap<>();
+    private final Map<String, Site> workSites = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private long startedAtMillis;
+    private long startedNanos;
+    private long stoppedNanos;
+
+    /**
+     * The site called {@code name}, created on first use.
+     */
+    public Site site(String name) {
+        return sites.computeIfAbsent(name, Site::new);
+    }
+
+    /**
+     * The site {@code task:<name>}, for scheduled tasks.
+     */
+    public Site task(String name) {
+        Site site = taskSites.get(name);
+        return site != null ? site : taskSites.computeIfAbsent(name, n -> site("task:" + n));
+    }
+
+    /**
+     * The site {@code work:<name>}, for items on the deferred work queue.
+     */
+    public Site work(String name) {
+        Site site = workSites.get(name);
+        return site != null ? site : workSites.computeIfAbsent(name, n -> site("work:" + n));
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Clear every site and start recording.
+     */
+    public synchronized void start() {
+        for (Site site : sites.values()) {
+            site.histogram.reset();
+            site.nestedNanos.reset();
+        }
+        startedAtMillis = System.currentTimeMillis();
+        startedNanos = System.nanoTime();
+        recording = true;
+    }
+
+    /**
+     * Stop recording; the samples stay until the next {@link #start()}.
+     */
+    public synchronized void stop() {
+        if (recording) {
+            recording = false;
+            stoppedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Length of the current or last session in milliseconds.
+     */
+    public synchronized long getSessionMillis() {
+        long end = recording ? System.nanoTime() : stoppedNanos;
+        return Math.max(0L, (end - startedNanos) / 1_000_000L);
+    }
+
+    /**
+     * Summary lines, busiest sites (by total time) first; at most {@code limit} sites.
+     */
+    public List<String> report(int limit) {
+        List<Site> active = new ArrayList<>();
+        long totalNanos = 0;
+        for (Site site : sites.values()) {
+            if (site.histogram.getCount() > 0) {
+                active.add(site);
+                totalNanos += site.histogram.getSumNanos() - site.nestedNanos.sum();
+            }
+        }
+        active.sort(Comparator.comparingLong((Site s) -> s.histogram.getSumNanos()).reversed());
+
+        List<String> lines = new ArrayList<>();
+        long sessionMs = Math.max(1L, getSessionMillis());
+        double perTickMs = totalNanos / 1_000_000.0 / Math.max(1.0, sessionMs / 50.0);
+        lines.add(String.format(Locale.ROOT,
+                "%.1f s profiled, %d sites, %.3f ms per tick on average (%.1f%% of 50 ms)", sessionMs / 1000.0, active.size(), perTickMs, perTickMs * 2.0));
+        for (int i = 0; i < active.size() && i < limit; i++) {
+            lines.add(describe(active.get(i)));
+        }
+        return lines;
+    }
+
+    /**
+     * Write the full report, including sites that never ran, to {@code file}.
+     */
+    public void writeDump(File file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# SBPCLifesteal profile started " + Instant.ofEpochMilli(startedAtMillis));
+        lines.addAll(report(Integer.MAX_VALUE));
+        for (Site site : sites.values()) {
+            if (site.histogram.getCount() == 0) {
+                lines.add(site.name + " n=0");
+            }
+        }
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    private static String describe(Site site) {
+        LatencyHistogram h = site.histogram;
+        return String.format(Locale.ROOT, "%s n=%d p50=%.3fms p99=%.3fms max=%.3fms total=%.1fms",
+                site.name, h.getCount(), h.getQuantileMillis(0.50), h.getQuantileMillis(0.99),
+                h.getMaxNanos() / 1_000_000.0, h.getSumNanos() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,138 @@
+package me.BaddCamden.SBPCLifesteal.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram, 10 µs to 1 s on a 1-2.5-5 ladder.
+ *
+ * Recording is one bucket search and a few adder increments, no allocation, safe from any thread.
+ * Each sample lands in exactly one bucket; exporters build the cumulative view. Percentiles are
+ * estimated as the upper bound of the bucket holding them.
+ */
+public final class LatencyHistogram {
+
+    // upper bounds in nanoseconds; the implicit last bucket is +Inf
+    private static final long[] BOUNDS_NANOS = {
+            10_000L, 25_000L, 50_000L,
+            100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L,
+            10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L,
+            1_000_000_000L
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record one sample of {@code nanos}.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        int i = 0;
+        while (i < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        count.increment();
+        sumNanos.add(nanos);
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+            // retry
+        }
+    }
+
+    /**
+     * Record the time elapsed since {@code startNanos} ({@link System#nanoTime()} scale).
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Mean sample in milliseconds, or 0 with no samples.
+     */
+    public double getMeanMillis() {
+        long n = getCount();
+        return n == 0 ? 0.0 : getSumNanos() / (double) n / 1_000_000.0;
+    }
+
+    /**
+     * Estimated {@code quantile} (0..1) in milliseconds: the upper bound of the bucket it falls in
+     * (the observed maximum for the overflow bucket).
+     */
+    public double getQuantileMillis(double quantile) {
+        long[] snapshot = snapshotBuckets();
+        long total = 0;
+        for (long c : snapshot) total += c;
+        if (total == 0) return 0.0;
+        long rank = (long) Math.ceil(Math.max(0.0, Math.min(1.0, quantile)) * total);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank && snapshot[i] > 0) {
+                long bound = i < BOUNDS_NANOS.length ? Math.min(BOUNDS_NANOS[i], getMaxNanos()) : getMaxNanos();
+                return bound / 1_000_000.0;
+            }
+        }
+        return getMaxNanos() / 1_000_000.0;
+    }
+
+    /**
+     * Per-bucket counts, one more than {@link #bucketCount()} bounds (the last is overflow).
+     */
+    public long[] snapshotBuckets() {
+        long[] out = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            out[i] = buckets[i].sum();
+        }
+        return out;
+    }
+
+    /**
+     * Number of finite bucket bounds.
+     */
+    public static int bucketCount() {
+        return BOUNDS_NANOS.length;
+    }
+
+    /**
+     * Upper bound of bucket {@code i} in seconds.
+     */
+    public static double boundSeconds(int i) {
+        return BOUNDS_NANOS[i] / 1_000_000_000.0;
+    }
+
+    /**
+     * Drop all samples.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sumNanos.reset();
+        maxNanos.set(0L);
+    }
+}
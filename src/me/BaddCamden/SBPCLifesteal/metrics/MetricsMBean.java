@@ -0,0 +1,126 @@
+package me.BaddCamden.SBPCLifesteal.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only JMX view of a {@link MetricsRegistry}, registered as
+ * {@code me.BaddCamden.SBPCLifesteal:type=Metrics}.
+ *
+ * Every counter and gauge is one attribute; each histogram contributes {@code <name>_count},
+ * {@code _mean_ms}, {@code _p50_ms}, {@code _p99_ms} and {@code _max_ms}. The attribute list is
+ * built from the registry each time it is asked for, so metrics added later show up.
+ */
+public final class MetricsMBean implements DynamicMBean {
+
+    public static final String OBJECT_NAME = "me.BaddCamden.SBPCLifesteal:type=Metrics";
+
+    private final MetricsRegistry registry;
+    private ObjectName registeredAs;
+
+    public MetricsMBean(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Register with the platform MBean server, replacing a leftover from a previous load.
+     */
+    public void register() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        try {
+            server.registerMBean(this, name);
+        } catch (InstanceAlreadyExistsException ex) {
+            server.unregisterMBean(name);
+            server.registerMBean(this, name);
+        }
+        registeredAs = name;
+    }
+
+    /**
+     * Remove the bean from the MBean server if it was registered.
+     */
+    public void unregister() {
+        if (registeredAs == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredAs);
+        } catch (JMException ignored) {
+            // already gone
+        }
+        registeredAs = null;
+    }
+
+    private Map<String, Object> snapshot() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        registry.getCounters().forEach((name, c) -> values.put(name, c.get()));
+        registry.readGauges().forEach(values::put);
+        registry.getHistograms().forEach((name, h) -> {
+            values.put(name + "_count", h.getCount());
+            values.put(name + "_mean_ms", h.getMeanMillis());
+            values.put(name + "_p50_ms", h.getQuantileMillis(0.50));
+            values.put(name + "_p99_ms", h.getQuantileMillis(0.99));
+            values.put(name + "_max_ms", h.getMaxNanos() / 1_000_000.0);
+        });
+        return values;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Object value = snapshot().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Object> values = snapshot();
+        AttributeList list = new AttributeList();
+        for (String name : attributes) {
+            Object value = values.get(name);
+            if (value != null) {
+                list.add(new Attribute(name, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName), "No operations: " + actionName);
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        snapshot().forEach((name, value) -> attributes.add(new MBeanAttributeInfo(
+                name, value instanceof Long ? "long" : "double", name, true, false, false)));
+        return new MBeanInfo(getClass().getName(), "SBPCLifesteal metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+}
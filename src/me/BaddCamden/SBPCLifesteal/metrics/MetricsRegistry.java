@@ -0,0 +1,132 @@
+package me.BaddCamden.SBPCLifesteal.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Named counters, gauges and latency histograms for the plugin.
+ *
+ * Metrics are created once during startup and then updated from wherever the work happens;
+ * asking for an existing name returns the same instance. Gauges are read lazily when someone
+ * looks (JMX, the scrape endpoint), so they cost nothing in between. Names use Prometheus style
+ * ({@code snake_case}, no prefix; {@link #writePrometheus} adds {@code sbpclifesteal_}).
+ * Thread-safe.
+ */
+public final class MetricsRegistry {
+
+    public static final String PREFIX = "sbpclifesteal_";
+
+    private record Described<T>(T metric, String help) {
+    }
+
+    private final Map<String, Described<Counter>> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Described<DoubleSupplier>> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, Described<LatencyHistogram>> histograms = new ConcurrentSkipListMap<>();
+
+    private static String checkName(String name) {
+        if (name == null || !name.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        return name;
+    }
+
+    /**
+     * The counter called {@code name}, created on first use.
+     */
+    public Counter counter(String name, String help) {
+        return counters.computeIfAbsent(checkName(name), n -> new Described<>(new Counter(), help)).metric();
+    }
+
+    /**
+     * Register (or replace) a gauge read through {@code value}.
+     */
+    public void gauge(String name, String help, DoubleSupplier value) {
+        gauges.put(checkName(name), new Described<>(value, help));
+    }
+
+    /**
+     * The latency histogram called {@code name}, created on first use.
+     */
+    public LatencyHistogram histogram(String name, String help) {
+        return histograms.computeIfAbsent(checkName(name),
+                n -> new Described<>(new LatencyHistogram(), help)).metric();
+    }
+
+    public Map<String, Counter> getCounters() {
+        Map<String, Counter> out = new ConcurrentSkipListMap<>();
+        counters.forEach((name, d) -> out.put(name, d.metric()));
+        return out;
+    }
+
+    public Map<String, LatencyHistogram> getHistograms() {
+        Map<String, LatencyHistogram> out = new ConcurrentSkipListMap<>();
+        histograms.forEach((name, d) -> out.put(name, d.metric()));
+        return out;
+    }
+
+    /**
+     * Current value of every gauge. A gauge that throws reads as NaN.
+     */
+    public Map<String, Double> readGauges() {
+        Map<String, Double> out = new ConcurrentSkipListMap<>();
+        gauges.forEach((name, d) -> out.put(name, readGauge(d.metric())));
+        return out;
+    }
+
+    private static double readGauge(DoubleSupplier supplier) {
+        try {
+            return supplier.getAsDouble();
+        } catch (RuntimeException ex) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Write everything in the Prometheus text exposition format (version 0.0.4).
+     * Histograms are exported in seconds.
+     */
+    public void writePrometheus(StringBuilder out) {
+        counters.forEach((name, d) -> {
+            String full = PREFIX + name + "_total";
+            header(out, full, d.help(), "counter");
+            out.append(full).append(' ').append(d.metric().get()).append('\n');
+        });
+        gauges.forEach((name, d) -> {
+            String full = PREFIX + name;
+            header(out, full, d.help(), "gauge");
+            out.append(full).append(' ').append(format(readGauge(d.metric()))).append('\n');
+        });
+        histograms.forEach((name, d) -> {
+            String full = PREFIX + name + "_seconds";
+            header(out, full, d.help(), "histogram");
+            LatencyHistogram h = d.metric();
+            long[] buckets = h.snapshotBuckets();
+            long cumulative = 0;
+            for (int i = 0; i < LatencyHistogram.bucketCount(); i++) {
+                cumulative += buckets[i];
+                out.append(full).append("_bucket{le=\"").append(format(LatencyHistogram.boundSeconds(i)))
+                        .append("\"} ").append(cumulative).append('\n');
+            }
+            cumulative += buckets[buckets.length - 1];
+            out.append(full).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+            out.append(full).append("_sum ").append(format(h.getSumNanos() / 1_000_000_000.0)).append('\n');
+            out.append(full).append("_count ").append(cumulative).append('\n');
+        });
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ')
+                .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) return "NaN";
+        if (Double.isInfinite(value)) return value > 0 ? "+Inf" : "-Inf";
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,81 @@
+package me.BaddCamden.SBPCLifesteal.platform;
+
+import me.BaddCamden.SBPCLifesteal.metrics.HandlerProfiler;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Paper/Spigot: every scheduler is the main thread. Tasks submitted from the main thread run
+ * inline, so callers keep their ordering and per-tick budgets; from other threads they run on
+ * the next tick.
+ */
+public final class BukkitPlatformScheduler implements PlatformScheduler {
+
+    private final Plugin plugin;
+    private final HandlerProfiler profiler;
+
+    public BukkitPlatformScheduler(Plugin plugin, HandlerProfiler profiler) {
+        this.plugin = plugin;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public boolean isFolia() {
+        return false;
+    }
+
+    @Override
+    public TaskHandle runGlobalRepeating(String name, Runnable task, long delayTicks, long periodTicks) {
+        Runnable timed = profiler.task(name).time(task);
+        int id = Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, timed, delayTicks, periodTicks);
+        return () -> Bukkit.getScheduler().cancelTask(id);
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        runOnMain(task);
+    }
+
+    @Override
+    public void runAtEntity(String name, Entity entity, Runnable task) {
+        runOnMain(profiler.task(name), task);
+    }
+
+    @Override
+    public void runAtLocation(String name, Location location, Runnable task) {
+        runOnMain(profiler.task(name), task);
+    }
+
+    @Override
+    public void registerEvents(Listener listener) {
+        EventHandlerRegistration.register(plugin, listener, profiler);
+    }
+
+    private void runOnMain(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * As {@link #runOnMain(Runnable)}, timed under {@code site}; an inline run happens inside the
+     * caller's own timed call, so it is recorded as nested.
+     */
+    private void runOnMain(HandlerProfiler.Site site, Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            long start = site.begin();
+            try {
+                task.run();
+            } finally {
+                site.endNested(start);
+            }
+        } else {
+            Bukkit.getScheduler().runTask(plugin, site.time(task));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package me.BaddCamden.SBPCLifesteal.platform;
+
+import me.BaddCamden.SBPCLifesteal.metrics.HandlerProfiler;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Registers each {@code @EventHandler} method of a listener with its own executor, so every
+ * handler gets a {@link HandlerProfiler} site ({@code ListenerClass.method}).
+ */
+final class EventHandlerRegistration {
+
+    private EventHandlerRegistration() {
+    }
+
+    /**
+     * Register every handler method of {@code listener}.
+     */
+    @SuppressWarnings("unchecked")
+    static void register(Plugin plugin, Listener listener, HandlerProfiler profiler) {
+        for (Method method : listener.getClass().getMethods()) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.getParameterCount() != 1
+                    || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+            Class<? extends Event> eventClass = (Class<? extends Event>) method.getParameterTypes()[0];
+            HandlerProfiler.Site site = profiler.site(listener.getClass().getSimpleName() + "." + method.getName());
+            EventExecutor executor = (l, event) -> {
+                if (!eventClass.isInstance(event)) {
+                    return;
+                }
+                long start = site.begin();
+                try {
+                    method.invoke(l, event);
+                } catch (InvocationTargetException ex) {
+                    throw new EventException(ex.getCause());
+                } catch (IllegalAccessException ex) {
+                    throw new EventException(ex);
+                } finally {
+                    site.end(start);
+                }
+            };
+            Bukkit.getPluginManager().registerEvent(eventClass, listener, handler.priority(), executor,
+                    plugin, handler.ignoreCancelled());
+        }
+    }
+}
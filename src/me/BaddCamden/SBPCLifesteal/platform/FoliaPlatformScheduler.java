@@ -0,0 +1,153 @@
+package me.BaddCamden.SBPCLifesteal.platform;
+
+import me.BaddCamden.SBPCLifesteal.metrics.HandlerProfiler;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+/**
+ * Folia: global, region and entity schedulers, reached reflectively so the plugin still builds
+ * against the plain Spigot API.
+ *
+ * Tasks and event handlers run directly on the region that fires them, with no plugin-wide lock.
+ * Each component guards its own state instead: trackers and tables are sharded per player, the
+ * spatial index per world, registries are concurrent maps, and per-event scratch state is
+ * thread-local. Regions therefore only contend when they touch the same player's shard.
+ *
+ * A task submitted from the thread that already owns its entity, region or the global tick runs
+ * inline, as on Paper/Spigot; otherwise it is scheduled for the owner's next tick.
+ */
+public final class FoliaPlatformScheduler implements PlatformScheduler {
+
+    private final Plugin plugin;
+    private final HandlerProfiler profiler;
+
+    private final Object globalScheduler;
+    private final Method globalExecute;
+    private final Method globalRunAtFixedRate;
+    private final Object regionScheduler;
+    private final Method regionExecute;
+    private final Method entityGetScheduler;
+    private final Method isGlobalTickThread;
+    private final Method isOwnedEntity;
+    private final Method isOwnedLocation;
+    private Method entityExecute;
+    private Method taskCancel;
+
+    /**
+     * Bind to the running Folia server; fails if the Folia scheduler API is missing.
+     */
+    public FoliaPlatformScheduler(Plugin plugin, HandlerProfiler profiler) throws ReflectiveOperationException {
+        this.plugin = plugin;
+        this.profiler = profiler;
+        globalScheduler = Bukkit.class.getMethod("getGlobalRegionScheduler").invoke(null);
+        globalExecute = globalScheduler.getClass().getMethod("execute", Plugin.class, Runnable.class);
+        globalRunAtFixedRate = globalScheduler.getClass().getMethod("runAtFixedRate",
+                Plugin.class, Consumer.class, long.class, long.class);
+        regionScheduler = Bukkit.class.getMethod("getRegionScheduler").invoke(null);
+        regionExecute = regionScheduler.getClass().getMethod("execute", Plugin.class, Location.class, Runnable.class);
+        entityGetScheduler = Entity.class.getMethod("getScheduler");
+        isGlobalTickThread = Bukkit.class.getMethod("isGlobalTickThread");
+        isOwnedEntity = Bukkit.class.getMethod("isOwnedByCurrentRegion", Entity.class);
+        isOwnedLocation = Bukkit.class.getMethod("isOwnedByCurrentRegion", Location.class);
+    }
+
+    /**
+     * Whether this server has Folia's region scheduler.
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isFolia() {
+        return true;
+    }
+
+    @Override
+    public TaskHandle runGlobalRepeating(String name, Runnable task, long delayTicks, long periodTicks) {
+        Runnable guarded = profiler.task(name).time(task);
+        Consumer<Object> body = scheduled -> guarded.run();
+        Object scheduled = invoke(globalRunAtFixedRate, globalScheduler, plugin, body,
+                Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+        return () -> {
+            try {
+                if (taskCancel == null) {
+                    taskCancel = scheduled.getClass().getMethod("cancel");
+                }
+                taskCancel.invoke(scheduled);
+            } catch (ReflectiveOperationException ex) {
+                plugin.getLogger().warning("Could not cancel Folia task: " + ex);
+            }
+        };
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        if (Boolean.TRUE.equals(invoke(isGlobalTickThread, null))) {
+            task.run();
+            return;
+        }
+        invoke(globalExecute, globalScheduler, plugin, task);
+    }
+
+    @Override
+    public void runAtEntity(String name, Entity entity, Runnable task) {
+        if (Boolean.TRUE.equals(invoke(isOwnedEntity, null, entity))) {
+            runInline(profiler.task(name), task);
+            return;
+        }
+        try {
+            Object scheduler = entityGetScheduler.invoke(entity);
+            if (entityExecute == null) {
+                entityExecute = scheduler.getClass().getMethod("execute",
+                        Plugin.class, Runnable.class, Runnable.class, long.class);
+            }
+            entityExecute.invoke(scheduler, plugin, profiler.task(name).time(task), null, 1L);
+        } catch (ReflectiveOperationException ex) {
+            plugin.getLogger().warning("Could not schedule entity task: " + ex);
+        }
+    }
+
+    @Override
+    public void runAtLocation(String name, Location location, Runnable task) {
+        if (Boolean.TRUE.equals(invoke(isOwnedLocation, null, location))) {
+            runInline(profiler.task(name), task);
+            return;
+        }
+        invoke(regionExecute, regionScheduler, plugin, location, profiler.task(name).time(task));
+    }
+
+    @Override
+    public void registerEvents(Listener listener) {
+        EventHandlerRegistration.register(plugin, listener, profiler);
+    }
+
+    // an inline run happens inside the caller's own timed call, so it is recorded as nested
+    private static void runInline(HandlerProfiler.Site site, Runnable task) {
+        long start = site.begin();
+        try {
+            task.run();
+        } finally {
+            site.endNested(start);
+        }
+    }
+
+    private Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Folia scheduler call failed: " + method.getName(), ex);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package me.BaddCamden.SBPCLifesteal.platform;
+
+import me.BaddCamden.SBPCLifesteal.metrics.HandlerProfiler;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Where plugin code runs, abstracted over Paper/Spigot (one main thread) and Folia (region
+ * threads plus a global region).
+ *
+ * Timers and plugin-wide work go to the global scheduler; anything that reads or changes one
+ * entity goes to that entity's scheduler; anything that changes the world at a position (spawns,
+ * drops) goes to the region owning the position. On Paper/Spigot all three are the main thread
+ * and a task submitted from it runs inline. On Folia tasks and listeners run on several region
+ * threads at once and hold no shared lock, so plugin state must be safe to touch from any of
+ * them: per-player shards, per-world structures, concurrent maps or thread-local scratch. A task
+ * submitted from the thread that already owns its target runs inline there too.
+ *
+ * Listeners, repeating tasks and entity/region tasks are {@link HandlerProfiler} sites, so
+ * {@code /lifesteal profile} can time them without any further hooks.
+ */
+public interface PlatformScheduler {
+
+    /**
+     * The scheduler for the running server: Folia's region schedulers if present, otherwise the
+     * Bukkit main-thread scheduler.
+     */
+    static PlatformScheduler create(Plugin plugin, HandlerProfiler profiler) {
+        if (FoliaPlatformScheduler.isSupported()) {
+            try {
+                return new FoliaPlatformScheduler(plugin, profiler);
+            } catch (ReflectiveOperationException ex) {
+                plugin.getLogger().warning("Folia detected but its scheduler API is unusable (" + ex
+                        + "); falling back to the Bukkit scheduler.");
+            }
+        }
+        return new BukkitPlatformScheduler(plugin, profiler);
+    }
+
+    /**
+     * Handle for a repeating task.
+     */
+    interface TaskHandle {
+        void cancel();
+    }
+
+    /**
+     * Whether the server is Folia (region-threaded).
+     */
+    boolean isFolia();
+
+    /**
+     * Run {@code task} every {@code periodTicks} on the global scheduler, profiled as
+     * {@code task:<name>}.
+     */
+    TaskHandle runGlobalRepeating(String name, Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Run {@code task} on the global scheduler (inline if already on it).
+     */
+    void runGlobal(Runnable task);
+
+    /**
+     * Run {@code task} on the thread owning {@code entity} (inline if already there), profiled as
+     * {@code task:<name>}. Dropped if the entity is removed before it can run.
+     */
+    void runAtEntity(String name, Entity entity, Runnable task);
+
+    /**
+     * Run {@code task} on the thread owning the region at {@code location} (inline if already
+     * there), profiled as {@code task:<name>}.
+     */
+    void runAtLocation(String name, Location location, Runnable task);
+
+    /**
+     * Register every {@code @EventHandler} of {@code listener} for this plugin.
+     */
+    void registerEvents(Listener listener);
+}
@@ -0,0 +1,243 @@
+package me.BaddCamden.SBPCLifesteal.sbpc;
+
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic stand-in for SBPC, for benchmarks and load tests on machines without SBPC.
+ *
+ * Models an ordered list of sections, per-player section position, custom unlocks, granted
+ * time skips and entry resets. Every call can be slowed down by a fixed latency plus an
+ * optional jitter drawn from a seeded generator, so runs with the same seed see the same
+ * delays. Latency is spent busy-waiting, which keeps it accurate at microsecond scale.
+ * Every method holds the gateway's monitor, so Folia regions can share one instance; the
+ * latency is spent holding it too, which keeps the jitter sequence deterministic.
+ */
+public class InMemorySbpcGateway implements SbpcGateway {
+
+    private static final class PlayerState {
+        int sectionIndex;
+        final Set<String> unlocks = new HashSet<>();
+        long skippedSeconds;
+        double percentSpeedIncrease;
+        int entryResets;
+        int itemDrops;
+    }
+
+    private final List<String> sections;
+    private final Map<String, Integer> sectionIndices = new HashMap<>();
+    private final Map<UUID, PlayerState> players = new HashMap<>();
+    private final int startSectionIndex;
+
+    private long latencyNanos;
+    private long jitterNanos;
+    private SplittableRandom jitterRandom;
+    private final long seed;
+
+    private long calls;
+
+    /**
+     * Create a stand-in with the given section order; new players start in the first section.
+     */
+    public InMemorySbpcGateway(List<String> sections, long seed) {
+        this(sections, 0, seed);
+    }
+
+    /**
+     * Create a stand-in with the given section order and starting section for new players.
+     */
+    public InMemorySbpcGateway(List<String> sections, int startSectionIndex, long seed) {
+        if (sections.isEmpty()) {
+            throw new IllegalArgumentException("At least one section is required");
+        }
+        if (startSectionIndex < 0 || startSectionIndex >= sections.size()) {
+            throw new IllegalArgumentException("Start section index out of range: " + startSectionIndex);
+        }
+        this.sections = new ArrayList<>(sections);
+        for (int i = 0; i < this.sections.size(); i++) {
+            if (sectionIndices.put(this.sections.get(i), i) != null) {
+                throw new IllegalArgumentException("Duplicate section id: " + this.sections.get(i));
+            }
+        }
+        this.startSectionIndex = startSectionIndex;
+        this.seed = seed;
+        this.jitterRandom = new SplittableRandom(seed);
+    }
+
+    /**
+     * Delay every call by {@code latencyNanos} plus a uniform jitter in [0, jitterNanos).
+     */
+    public synchronized void setLatency(long latencyNanos, long jitterNanos) {
+        this.latencyNanos = Math.max(0L, latencyNanos);
+        this.jitterNanos = Math.max(0L, jitterNanos);
+        this.jitterRandom = new SplittableRandom(seed);
+    }
+
+    private void simulateCall() {
+        calls++;
+        long delay = latencyNanos;
+        if (jitterNanos > 0) {
+            delay += jitterRandom.nextLong(jitterNanos);
+        }
+        if (delay <= 0) return;
+        long end = System.nanoTime() + delay;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private PlayerState state(UUID playerId) {
+        return players.computeIfAbsent(playerId, id -> {
+            PlayerState s = new PlayerState();
+            s.sectionIndex = startSectionIndex;
+            return s;
+        });
+    }
+
+    // ------------------------------------------------------------------------
+    // SbpcGateway
+    // ------------------------------------------------------------------------
+
+    @Override
+    public synchronized void applyExternalTimeSkip(UUID playerId, int seconds, double percentSpeedIncrease, String description) {
+        simulateCall();
+        PlayerState s = state(playerId);
+        s.skippedSeconds += seconds;
+        s.percentSpeedIncrease += percentSpeedIncrease;
+    }
+
+    @Override
+    public synchronized void bumpPlayerDownOneSection(UUID playerId) {
+        simulateCall();
+        PlayerState s = state(playerId);
+        s.sectionIndex = Math.max(0, s.sectionIndex - 1);
+    }
+
+    @Override
+    public synchronized void bumpPlayerUpOneSection(UUID playerId) {
+        simulateCall();
+        PlayerState s = state(playerId);
+        s.sectionIndex = Math.min(sections.size() - 1, s.sectionIndex + 1);
+    }
+
+    @Override
+    public synchronized void dropNowDisallowedEquippedItems(UUID playerId, Location location) {
+        simulateCall();
+        state(playerId).itemDrops++;
+    }
+
+    @Override
+    public synchronized String getCurrentSectionId(UUID playerId) {
+        simulateCall();
+        return sections.get(state(playerId).sectionIndex);
+    }
+
+    @Override
+    public synchronized int getSectionIndex(String sectionId) {
+        simulateCall();
+        Integer index = sectionIndices.get(sectionId);
+        return index != null ? index : -1;
+    }
+
+    @Override
+    public synchronized boolean isCustomUnlocked(UUID playerId, String entryId) {
+        simulateCall();
+        return state(playerId).unlocks.contains(entryId);
+    }
+
+    @Override
+    public synchronized void resetCurrentEntryProgress(UUID playerId) {
+        simulateCall();
+        state(playerId).entryResets++;
+    }
+
+    // ------------------------------------------------------------------------
+    // Test setup / inspection (does not count as SBPC calls)
+    // ------------------------------------------------------------------------
+
+    /**
+     * Put a player into the given section.
+     */
+    public synchronized void setSection(UUID playerId, String sectionId) {
+        Integer index = sectionIndices.get(sectionId);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown section id: " + sectionId);
+        }
+        state(playerId).sectionIndex = index;
+    }
+
+    /**
+     * Grant or revoke a custom unlock.
+     */
+    public synchronized void setUnlocked(UUID playerId, String entryId, boolean unlocked) {
+        if (unlocked) {
+            state(playerId).unlocks.add(entryId);
+        } else {
+            state(playerId).unlocks.remove(entryId);
+        }
+    }
+
+    /**
+     * Total raw skip seconds granted to a player.
+     */
+    public synchronized long getSkippedSeconds(UUID playerId) {
+        PlayerState s = players.get(playerId);
+        return s != null ? s.skippedSeconds : 0L;
+    }
+
+    /**
+     * Sum of percent speed-ups granted to a player.
+     */
+    public synchronized double getPercentSpeedIncrease(UUID playerId) {
+        PlayerState s = players.get(playerId);
+        return s != null ? s.percentSpeedIncrease : 0.0;
+    }
+
+    /**
+     * How many times a player's current entry progress was reset.
+     */
+    public synchronized int getEntryResets(UUID playerId) {
+        PlayerState s = players.get(playerId);
+        return s != null ? s.entryResets : 0;
+    }
+
+    /**
+     * How many times disallowed equipment was dropped for a player.
+     */
+    public synchronized int getItemDrops(UUID playerId) {
+        PlayerState s = players.get(playerId);
+        return s != null ? s.itemDrops : 0;
+    }
+
+    /**
+     * The configured section order.
+     */
+    public synchronized List<String> getSections() {
+        return Collections.unmodifiableList(sections);
+    }
+
+    /**
+     * Number of gateway calls made so far.
+     */
+    public synchronized long getCallCount() {
+        return calls;
+    }
+
+    /**
+     * Forget all player state and counters and restart the jitter sequence.
+     */
+    public synchronized void reset() {
+        players.clear();
+        calls = 0;
+        jitterRandom = new SplittableRandom(seed);
+    }
+}
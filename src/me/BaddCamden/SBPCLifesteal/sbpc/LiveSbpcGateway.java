@@ -0,0 +1,52 @@
+package me.BaddCamden.SBPCLifesteal.sbpc;
+
+import me.BaddCamden.SBPC.api.SbpcAPI;
+import org.bukkit.Location;
+
+import java.util.UUID;
+
+/**
+ * {@link SbpcGateway} backed by the installed SBPC plugin.
+ */
+public class LiveSbpcGateway implements SbpcGateway {
+
+    @Override
+    public void applyExternalTimeSkip(UUID playerId, int seconds, double percentSpeedIncrease, String description) {
+        SbpcAPI.applyExternalTimeSkip(playerId, seconds, percentSpeedIncrease, description);
+    }
+
+    @Override
+    public void bumpPlayerDownOneSection(UUID playerId) {
+        SbpcAPI.bumpPlayerDownOneSection(playerId);
+    }
+
+    @Override
+    public void bumpPlayerUpOneSection(UUID playerId) {
+        SbpcAPI.bumpPlayerUpOneSection(playerId);
+    }
+
+    @Override
+    public void dropNowDisallowedEquippedItems(UUID playerId, Location location) {
+        SbpcAPI.dropNowDisallowedEquippedItems(playerId, location);
+    }
+
+    @Override
+    public String getCurrentSectionId(UUID playerId) {
+        return SbpcAPI.getCurrentSectionId(playerId);
+    }
+
+    @Override
+    public int getSectionIndex(String sectionId) {
+        return SbpcAPI.getSectionIndex(sectionId);
+    }
+
+    @Override
+    public boolean isCustomUnlocked(UUID playerId, String entryId) {
+        return SbpcAPI.isCustomUnlocked(playerId, entryId);
+    }
+
+    @Override
+    public void resetCurrentEntryProgress(UUID playerId) {
+        SbpcAPI.resetCurrentEntryProgress(playerId);
+    }
+}
@@ -0,0 +1,116 @@
+package me.BaddCamden.SBPCLifesteal.sbpc;
+
+import me.BaddCamden.SBPCLifesteal.metrics.Counter;
+import me.BaddCamden.SBPCLifesteal.metrics.LatencyHistogram;
+import me.BaddCamden.SBPCLifesteal.metrics.MetricsRegistry;
+import org.bukkit.Location;
+
+import java.util.UUID;
+
+/**
+ * {@link SbpcGateway} decorator that times every call into SBPC: one histogram for writes
+ * (skips, section bumps, drops, resets) and one for lookups, plus a count of raw skip seconds.
+ * Lookups reach it only on {@link SbpcQueryCache} misses.
+ */
+public class MeteredSbpcGateway implements SbpcGateway {
+
+    private final SbpcGateway delegate;
+    private final LatencyHistogram writes;
+    private final LatencyHistogram reads;
+    private final Counter skipSeconds;
+
+    public MeteredSbpcGateway(SbpcGateway delegate, MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.writes = metrics.histogram("sbpc_write", "Time spent in SBPC calls that change progress.");
+        this.reads = metrics.histogram("sbpc_read", "Time spent in SBPC lookups (cache misses).");
+        this.skipSeconds = metrics.counter("sbpc_skip_seconds", "Raw time-skip seconds pushed into SBPC.");
+    }
+
+    /**
+     * The gateway being measured.
+     */
+    public SbpcGateway getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void applyExternalTimeSkip(UUID playerId, int seconds, double percentSpeedIncrease, String description) {
+        long start = System.nanoTime();
+        try {
+            delegate.applyExternalTimeSkip(playerId, seconds, percentSpeedIncrease, description);
+        } finally {
+            writes.recordSince(start);
+        }
+        skipSeconds.add(seconds);
+    }
+
+    @Override
+    public void bumpPlayerDownOneSection(UUID playerId) {
+        long start = System.nanoTime();
+        try {
+            delegate.bumpPlayerDownOneSection(playerId);
+        } finally {
+            writes.recordSince(start);
+        }
+    }
+
+    @Override
+    public void bumpPlayerUpOneSection(UUID playerId) {
+        long start = System.nanoTime();
+        try {
+            delegate.bumpPlayerUpOneSection(playerId);
+        } finally {
+            writes.recordSince(start);
+        }
+    }
+
+    @Override
+    public void dropNowDisallowedEquippedItems(UUID playerId, Location location) {
+        long start = System.nanoTime();
+        try {
+            delegate.dropNowDisallowedEquippedItems(playerId, location);
+        } finally {
+            writes.recordSince(start);
+        }
+    }
+
+    @Override
+    public String getCurrentSectionId(UUID playerId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCurrentSectionId(playerId);
+        } finally {
+            reads.recordSince(start);
+        }
+    }
+
+    @Override
+    public int getSectionIndex(String sectionId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getSectionIndex(sectionId);
+        } finally {
+            reads.recordSince(start);
+        }
+    }
+
+    @Override
+    public boolean isCustomUnlocked(UUID playerId, String entryId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.isCustomUnlocked(playerId, entryId);
+        } finally {
+            reads.recordSince(start);
+        }
+    }
+
+    @Override
+    public void resetCurrentEntryProgress(UUID playerId) {
+        long start = System.nanoTime();
+        try {
+            delegate.resetCurrentEntryProgress(playerId);
+        } finally {
+            writes.recordSince(start);
+        }
+    }
+}
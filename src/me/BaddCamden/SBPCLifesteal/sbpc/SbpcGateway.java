@@ -0,0 +1,56 @@
+package me.BaddCamden.SBPCLifesteal.sbpc;
+
+import org.bukkit.Location;
+
+import java.util.UUID;
+
+/**
+ * Every SBPC operation the lifesteal plugin relies on.
+ *
+ * Production code talks to {@link LiveSbpcGateway}, which forwards to the static
+ * {@code SbpcAPI}; benchmarks and load tests can swap in {@link InMemorySbpcGateway} so the
+ * hot paths run without an SBPC install. On Folia calls arrive from the region thread handling
+ * the player, so implementations must tolerate concurrent callers.
+ */
+public interface SbpcGateway {
+
+    /**
+     * Grant external progress: {@code seconds} of raw time skip and/or a percent speed-up.
+     */
+    void applyExternalTimeSkip(UUID playerId, int seconds, double percentSpeedIncrease, String description);
+
+    /**
+     * Move the player back to the previous section.
+     */
+    void bumpPlayerDownOneSection(UUID playerId);
+
+    /**
+     * Move the player forward to the next section.
+     */
+    void bumpPlayerUpOneSection(UUID playerId);
+
+    /**
+     * Drop equipped items the player's (new) section no longer allows at the given location.
+     */
+    void dropNowDisallowedEquippedItems(UUID playerId, Location location);
+
+    /**
+     * The player's current section id, or null if unknown.
+     */
+    String getCurrentSectionId(UUID playerId);
+
+    /**
+     * Position of a section in the progression, or -1 if unknown.
+     */
+    int getSectionIndex(String sectionId);
+
+    /**
+     * Whether the player has unlocked the given custom entry.
+     */
+    boolean isCustomUnlocked(UUID playerId, String entryId);
+
+    /**
+     * Reset progress on the player's current entry (not the section).
+     */
+    void resetCurrentEntryProgress(UUID playerId);
+}
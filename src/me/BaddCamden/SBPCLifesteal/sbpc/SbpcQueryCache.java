@@ -0,0 +1,189 @@
+package me.BaddCamden.SBPCLifesteal.sbpc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache for the SBPC answers the lifesteal hot paths ask for repeatedly:
+ * a player's current section id, a section's index, and custom-entry unlocks (PvP gate).
+ *
+ * Answers expire after a short TTL so progress made inside SBPC shows up quickly, and are
+ * invalidated explicitly after our own section bumps and on join/quit. Hit/miss counters are
+ * kept so admins can see how much SBPC traffic the cache absorbs.
+ *
+ * Thread-safe: each player's record is filled under that record's own monitor, so regions
+ * asking about different players never wait for each other.
+ */
+public class SbpcQueryCache {
+
+    // guarded by its own monitor
+    private static final class PlayerRecord {
+        String sectionId;
+        long sectionFetchedAt = Long.MIN_VALUE;
+        // entryId -> [unlocked, fetchedAt]; almost always just the PvP entry
+        final Map<String, long[]> unlocks = new HashMap<>(2);
+    }
+
+    private static final class SectionIndex {
+        final int index;
+        final long fetchedAt;
+
+        SectionIndex(int index, long fetchedAt) {
+            this.index = index;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    private final SbpcGateway gateway;
+    private final Map<UUID, PlayerRecord> players = new ConcurrentHashMap<>();
+    private final Map<String, SectionIndex> sectionIndices = new ConcurrentHashMap<>();
+
+    private volatile long ttlMillis;
+
+    private final LongAdder sectionHits = new LongAdder();
+    private final LongAdder sectionMisses = new LongAdder();
+    private final LongAdder indexHits = new LongAdder();
+    private final LongAdder indexMisses = new LongAdder();
+    private final LongAdder unlockHits = new LongAdder();
+    private final LongAdder unlockMisses = new LongAdder();
+
+    /**
+     * Create a cache in front of {@code gateway} whose answers are trusted for {@code ttlMillis}.
+     */
+    public SbpcQueryCache(SbpcGateway gateway, long ttlMillis) {
+        this.gateway = gateway;
+        setTtlMillis(ttlMillis);
+    }
+
+    /**
+     * Change how long answers are trusted; 0 disables caching.
+     */
+    public void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = Math.max(0L, ttlMillis);
+    }
+
+    private boolean fresh(long fetchedAt, long now) {
+        return fetchedAt != Long.MIN_VALUE && now - fetchedAt < ttlMillis;
+    }
+
+    /**
+     * Cached {@link SbpcGateway#getCurrentSectionId}.
+     */
+    public String getCurrentSectionId(UUID playerId) {
+        long now = System.currentTimeMillis();
+        PlayerRecord rec = players.computeIfAbsent(playerId, id -> new PlayerRecord());
+        synchronized (rec) {
+            if (fresh(rec.sectionFetchedAt, now)) {
+                sectionHits.increment();
+                return rec.sectionId;
+            }
+            sectionMisses.increment();
+            rec.sectionId = gateway.getCurrentSectionId(playerId);
+            rec.sectionFetchedAt = now;
+            return rec.sectionId;
+        }
+    }
+
+    /**
+     * Cached {@link SbpcGateway#getSectionIndex}.
+     */
+    public int getSectionIndex(String sectionId) {
+        long now = System.currentTimeMillis();
+        SectionIndex cached = sectionIndices.get(sectionId);
+        if (cached != null && fresh(cached.fetchedAt, now)) {
+            indexHits.increment();
+            return cached.index;
+        }
+        indexMisses.increment();
+        int index = gateway.getSectionIndex(sectionId);
+        sectionIndices.put(sectionId, new SectionIndex(index, now));
+        return index;
+    }
+
+    /**
+     * Cached {@link SbpcGateway#isCustomUnlocked}.
+     */
+    public boolean isCustomUnlocked(UUID playerId, String entryId) {
+        long now = System.currentTimeMillis();
+        PlayerRecord rec = players.computeIfAbsent(playerId, id -> new PlayerRecord());
+        synchronized (rec) {
+            long[] cached = rec.unlocks.get(entryId);
+            if (cached != null && fresh(cached[1], now)) {
+                unlockHits.increment();
+                return cached[0] != 0L;
+            }
+            unlockMisses.increment();
+            boolean unlocked = gateway.isCustomUnlocked(playerId, entryId);
+            if (cached == null) {
+                cached = new long[2];
+                rec.unlocks.put(entryId, cached);
+            }
+            cached[0] = unlocked ? 1L : 0L;
+            cached[1] = now;
+            return unlocked;
+        }
+    }
+
+    /**
+     * Forget everything cached for a player (after section bumps, on join/quit).
+     */
+    public void invalidate(UUID playerId) {
+        players.remove(playerId);
+    }
+
+    /**
+     * Forget every cached answer, including section indices.
+     */
+    public void invalidateAll() {
+        players.clear();
+        sectionIndices.clear();
+    }
+
+    /**
+     * Overall fraction of lookups answered from cache, or 0 before any lookup.
+     */
+    public double getHitRate() {
+        long hits = sectionHits.sum() + indexHits.sum() + unlockHits.sum();
+        long total = hits + sectionMisses.sum() + indexMisses.sum() + unlockMisses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * One-line hit/miss summary for admins.
+     */
+    public String describe() {
+        return String.format(java.util.Locale.US,
+                "SBPC cache: %.1f%% hits (section %d/%d, index %d/%d, unlock %d/%d hit/miss), %d players cached",
+                getHitRate() * 100.0,
+                sectionHits.sum(), sectionMisses.sum(), indexHits.sum(), indexMisses.sum(),
+                unlockHits.sum(), unlockMisses.sum(),
+                players.size());
+    }
+
+    public long getSectionHits() {
+        return sectionHits.sum();
+    }
+
+    public long getSectionMisses() {
+        return sectionMisses.sum();
+    }
+
+    public long getIndexHits() {
+        return indexHits.sum();
+    }
+
+    public long getIndexMisses() {
+        return indexMisses.sum();
+    }
+
+    public long getUnlockHits() {
+        return unlockHits.sum();
+    }
+
+    public long getUnlockMisses() {
+        return unlockMisses.sum();
+    }
+}
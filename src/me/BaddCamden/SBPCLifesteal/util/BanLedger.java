@@ -0,0 +1,111 @@
+package me.BaddCamden.SBPCLifesteal.util;
+
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Lifesteal bans and the stock of destroyed Broken Heart half-hearts that undo them.
+ *
+ * Bans are kept in the order they happened, and every destroyed half-heart revives the oldest
+ * one. The stock never goes below zero and a ban is revived at most once, however many threads
+ * ban, add hearts and drain the stock at the same time. Thread-safe.
+ */
+public final class BanLedger {
+
+    private final Queue<UUID> queue = new ConcurrentLinkedQueue<>(); // chronological
+    private final Set<UUID> banned = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger stock = new AtomicInteger();
+
+    /**
+     * Ban a player; false if they already were.
+     */
+    public boolean ban(UUID id) {
+        if (!banned.add(id)) {
+            return false;
+        }
+        queue.add(id);
+        return true;
+    }
+
+    public boolean isBanned(UUID id) {
+        return banned.contains(id);
+    }
+
+    /**
+     * Live read-only view of the banned players.
+     */
+    public Set<UUID> getBanned() {
+        return Collections.unmodifiableSet(banned);
+    }
+
+    public int getBannedCount() {
+        return banned.size();
+    }
+
+    public int getStock() {
+        return stock.get();
+    }
+
+    /**
+     * Replace the stock (on load); negative values are treated as zero.
+     */
+    public void setStock(int halfHearts) {
+        stock.set(Math.max(0, halfHearts));
+    }
+
+    public void addStock(int halfHearts) {
+        if (halfHearts > 0) {
+            stock.addAndGet(halfHearts);
+        }
+    }
+
+    /**
+     * Take one half-heart from the stock if there is any.
+     */
+    public boolean tryTake() {
+        while (true) {
+            int current = stock.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (stock.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Spend the stock on the oldest bans, one half-heart each, and report every revived player
+     * to {@code onRevive} in ban order. Returns how many were revived by this call.
+     */
+    public int reviveFromStock(Consumer<UUID> onRevive) {
+        int revived = 0;
+        while (!queue.isEmpty() && tryTake()) {
+            UUID id = queue.poll();
+            if (id == null) {
+                // another thread emptied the queue first; put the heart back and look again,
+                // since a ban queued meanwhile may have found the stock empty
+                stock.incrementAndGet();
+                continue;
+            }
+            banned.remove(id);
+            revived++;
+            onRevive.accept(id);
+        }
+        return revived;
+    }
+
+    /**
+     * Forget every ban; the stock is left alone.
+     */
+    public void clearBans() {
+        queue.clear();
+        banned.clear();
+    }
+}
@@ -0,0 +1,179 @@
+package me.BaddCamden.SBPCLifesteal.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Open-addressing table from a primitive {@code long} key (entity id, packed block position)
+ * to an owning player's UUID bits and an expiry timestamp.
+ *
+ * Writes for an existing key overwrite array cells in place, lookups never allocate a boxed key,
+ * and expired entries are treated as absent until {@link #sweep(long)} reclaims them.
+ * Thread-safe: every call holds the table's monitor for a single probe or sweep.
+ */
+public final class LongOwnerTable {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] ownerMost;
+    private long[] ownerLeast;
+    private long[] expiresAt;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    /**
+     * Create a table sized for {@code expectedEntries} without rehashing.
+     */
+    public LongOwnerTable(int expectedEntries) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedEntries) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        ownerMost = new long[capacity];
+        ownerLeast = new long[capacity];
+        expiresAt = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int slotFor(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int find(long key) {
+        int slot = slotFor(key, mask);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Set (or replace) the owner of {@code key} until {@code expiresAtMillis}.
+     */
+    public synchronized void put(long key, UUID owner, long expiresAtMillis) {
+        int slot = slotFor(key, mask);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!used[slot]) {
+            if (size + 1 > used.length * LOAD_FACTOR) {
+                rehash(used.length << 1);
+                put(key, owner, expiresAtMillis);
+                return;
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+        }
+        ownerMost[slot] = owner.getMostSignificantBits();
+        ownerLeast[slot] = owner.getLeastSignificantBits();
+        expiresAt[slot] = expiresAtMillis;
+    }
+
+    /**
+     * The owner of {@code key}, or null if absent or expired at {@code nowMillis}.
+     */
+    public synchronized UUID getOwner(long key, long nowMillis) {
+        int slot = find(key);
+        if (slot < 0 || expiresAt[slot] < nowMillis) {
+            return null;
+        }
+        return new UUID(ownerMost[slot], ownerLeast[slot]);
+    }
+
+    /**
+     * Forget {@code key}.
+     */
+    public synchronized void remove(long key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            removeSlot(slot);
+        }
+    }
+
+    /**
+     * Drop every entry that expired before {@code nowMillis}; returns how many were removed.
+     */
+    public synchronized int sweep(long nowMillis) {
+        int removed = 0;
+        for (int i = 0; i < used.length; i++) {
+            // backward shift may pull another entry into this slot; re-check it
+            while (used[i] && expiresAt[i] < nowMillis) {
+                removeSlot(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Number of entries, including expired ones not yet swept.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Drop every entry.
+     */
+    public synchronized void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private void removeSlot(int slot) {
+        size--;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int home = slotFor(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                ownerMost[gap] = ownerMost[next];
+                ownerLeast[gap] = ownerLeast[next];
+                expiresAt[gap] = expiresAt[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldMost = ownerMost;
+        long[] oldLeast = ownerLeast;
+        long[] oldExpires = expiresAt;
+        boolean[] oldUsed = used;
+        allocate(newCapacity);
+        size = 0;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+            int slot = slotFor(oldKeys[i], mask);
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = oldKeys[i];
+            ownerMost[slot] = oldMost[i];
+            ownerLeast[slot] = oldLeast[i];
+            expiresAt[slot] = oldExpires[i];
+            size++;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package me.BaddCamden.SBPCLifesteal.util;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of reentrant locks shared out by player UUID.
+ *
+ * Read-modify-write of one player's data (heart totals, their data file) holds that player's
+ * stripe, so two threads cannot both read the old value and overwrite each other's update.
+ * Different players usually map to different stripes and do not contend; the pool never grows,
+ * whatever the number of players. Locks are reentrant, so a locked helper may call another.
+ * Thread-safe.
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * Create a pool with at least {@code stripes} locks (rounded up to a power of two).
+     */
+    public StripedLocks(int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * The lock guarding {@code id}.
+     */
+    public ReentrantLock lockFor(UUID id) {
+        long bits = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        int h = (int) (bits ^ (bits >>> 32));
+        h ^= h >>> 16;
+        return locks[h & mask];
+    }
+
+    /**
+     * Run {@code action} while holding {@code id}'s lock.
+     */
+    public void run(UUID id, Runnable action) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Compute a value while holding {@code id}'s lock.
+     */
+    public <T> T call(UUID id, Supplier<T> action) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
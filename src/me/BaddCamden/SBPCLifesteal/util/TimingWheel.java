@@ -0,0 +1,257 @@
+package me.BaddCamden.SBPCLifesteal.util;
+
+/**
+ * Hierarchical timing wheel driven once per server tick.
+ *
+ * Level 0 has 256 one-tick slots; levels 1-3 have 64 slots each, every slot covering 64x
+ * the span of a lower-level slot (about 14.5 hours in total at level 3). Scheduling,
+ * rescheduling and cancelling are O(1); a timer is only touched again when its level cascades
+ * down or when it fires, so expiring entries never requires scanning a whole collection.
+ *
+ * Timers are intrusive: callers extend {@link Timeout} and keep the instance, so refreshing a
+ * deadline (e.g. a combat tag on every hit) re-links the same object and allocates nothing.
+ *
+ * Thread-safe: any thread may schedule or cancel while one thread drives {@link #advance()}.
+ * Expiry callbacks run on the advancing thread outside the wheel's lock, so a callback may take
+ * its owner's lock and reschedule without ordering problems; a timer cancelled while its
+ * callback is already being fired may still see that one call.
+ */
+public final class TimingWheel {
+
+    /**
+     * Milliseconds per server tick, used to convert wall-clock deadlines into wheel ticks.
+     */
+    public static final long MILLIS_PER_TICK = 50L;
+
+    private static final int L0_BITS = 8;
+    private static final int LN_BITS = 6;
+    private static final int L0_SIZE = 1 << L0_BITS;
+    private static final int LN_SIZE = 1 << LN_BITS;
+    private static final int L0_MASK = L0_SIZE - 1;
+    private static final int LN_MASK = LN_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = 1L << (L0_BITS + (LEVELS - 1) * LN_BITS);
+
+    /**
+     * Base class for anything that can be scheduled on the wheel.
+     */
+    public abstract static class Timeout {
+        long deadline;
+        Timeout prev;
+        Timeout next;
+
+        /**
+         * Whether this timer is currently linked into the wheel. Only a snapshot when other
+         * threads use the same wheel.
+         */
+        public final boolean isScheduled() {
+            return next != null;
+        }
+
+        /**
+         * Called on the advancing thread once the deadline tick has been reached.
+         * The timer is already unlinked, so it may reschedule itself.
+         */
+        protected abstract void onExpire();
+
+        final void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+
+    private static final class Sentinel extends Timeout {
+        Sentinel() {
+            prev = this;
+            next = this;
+        }
+
+        @Override
+        protected void onExpire() {
+        }
+
+        boolean isEmpty() {
+            return next == this;
+        }
+
+        void append(Timeout t) {
+            t.prev = prev;
+            t.next = this;
+            prev.next = t;
+            prev = t;
+        }
+
+        /**
+         * Move every node from this list to {@code target}, leaving this list empty.
+         */
+        void drainTo(Sentinel target) {
+            if (isEmpty()) return;
+            Timeout first = next;
+            Timeout last = prev;
+            first.prev = target.prev;
+            target.prev.next = first;
+            last.next = target;
+            target.prev = last;
+            next = this;
+            prev = this;
+        }
+    }
+
+    private final Sentinel[][] slots = new Sentinel[LEVELS][];
+    private final Sentinel pending = new Sentinel();
+    private final Sentinel fired = new Sentinel();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Create an empty wheel starting at tick 0.
+     */
+    public TimingWheel() {
+        slots[0] = newLevel(L0_SIZE);
+        for (int level = 1; level < LEVELS; level++) {
+            slots[level] = newLevel(LN_SIZE);
+        }
+    }
+
+    private static Sentinel[] newLevel(int size) {
+        Sentinel[] level = new Sentinel[size];
+        for (int i = 0; i < size; i++) {
+            level[i] = new Sentinel();
+        }
+        return level;
+    }
+
+    /**
+     * Convert a wall-clock delay into a whole number of ticks (at least 1).
+     */
+    public static long ticksUntil(long deadlineMillis, long nowMillis) {
+        long delay = deadlineMillis - nowMillis;
+        if (delay <= 0) return 1;
+        return (delay + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK;
+    }
+
+    /**
+     * Current wheel tick.
+     */
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Number of timers currently scheduled.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Schedule (or reschedule) a timer to fire {@code delayTicks} ticks from now.
+     */
+    public synchronized void schedule(Timeout timeout, long delayTicks) {
+        if (timeout.isScheduled()) {
+            timeout.unlink();
+        } else {
+            size++;
+        }
+        timeout.deadline = currentTick + Math.max(1L, delayTicks);
+        place(timeout);
+    }
+
+    /**
+     * Schedule a timer for a wall-clock deadline.
+     */
+    public void scheduleAt(Timeout timeout, long deadlineMillis, long nowMillis) {
+        schedule(timeout, ticksUntil(deadlineMillis, nowMillis));
+    }
+
+    /**
+     * Remove a timer without firing it. Safe to call on unscheduled timers.
+     */
+    public synchronized void cancel(Timeout timeout) {
+        if (timeout.isScheduled()) {
+            timeout.unlink();
+            size--;
+        }
+    }
+
+    private void place(Timeout t) {
+        long deadline = t.deadline;
+        long delta = deadline - currentTick;
+        if (delta < 0) {
+            deadline = currentTick + 1;
+            delta = 1;
+        } else if (delta >= MAX_DELTA) {
+            // park at the far edge of the top level; it is re-placed when that slot cascades
+            deadline = currentTick + MAX_DELTA - 1;
+            delta = MAX_DELTA - 1;
+        }
+
+        if (delta < L0_SIZE) {
+            slots[0][(int) (deadline & L0_MASK)].append(t);
+            return;
+        }
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = L0_BITS + level * LN_BITS;
+            if (delta < (1L << shift) || level == LEVELS - 1) {
+                int index = (int) ((deadline >>> (shift - LN_BITS)) & LN_MASK);
+                slots[level][index].append(t);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Advance the wheel by one tick, cascading higher levels and firing due timers.
+     */
+    public void advance() {
+        synchronized (this) {
+            currentTick++;
+
+            if ((currentTick & L0_MASK) == 0) {
+                for (int level = 1; level < LEVELS; level++) {
+                    int shift = L0_BITS + (level - 1) * LN_BITS;
+                    int index = (int) ((currentTick >>> shift) & LN_MASK);
+                    cascade(slots[level][index]);
+                    if (index != 0) {
+                        break;
+                    }
+                }
+            }
+
+            Sentinel due = slots[0][(int) (currentTick & L0_MASK)];
+            due.drainTo(fired);
+        }
+        // due timers wait in their own list, so other threads can still cancel or reschedule
+        // them; each is unlinked under the lock and fired outside it
+        Timeout t;
+        while ((t = nextDue()) != null) {
+            t.onExpire();
+        }
+    }
+
+    private synchronized Timeout nextDue() {
+        while (!fired.isEmpty()) {
+            Timeout t = fired.next;
+            t.unlink();
+            if (t.deadline > currentTick) {
+                // parked far-future timer; put it back where it belongs
+                place(t);
+                continue;
+            }
+            size--;
+            return t;
+        }
+        return null;
+    }
+
+    private void cascade(Sentinel slot) {
+        slot.drainTo(pending);
+        while (!pending.isEmpty()) {
+            Timeout t = pending.next;
+            t.unlink();
+            place(t);
+        }
+    }
+}
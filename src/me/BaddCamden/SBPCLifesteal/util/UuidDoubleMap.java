@@ -0,0 +1,200 @@
+package me.BaddCamden.SBPCLifesteal.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Open-addressing UUID -> double map that stores keys as raw most/least significant bits.
+ *
+ * Lookups and updates never box the value or allocate entry objects, which keeps per-tick
+ * accumulators garbage free. Linear probing with backward-shift deletion keeps probe chains
+ * short without tombstones. Not thread-safe.
+ */
+public class UuidDoubleMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] mostBits;
+    private long[] leastBits;
+    private double[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    /**
+     * Create a map sized for roughly {@code expected} entries before resizing.
+     */
+    public UuidDoubleMap(int expected) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expected) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Create a map with a small default capacity.
+     */
+    public UuidDoubleMap() {
+        this(16);
+    }
+
+    private void allocate(int capacity) {
+        mostBits = new long[capacity];
+        leastBits = new long[capacity];
+        values = new double[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Spread the UUID bits into a slot index.
+     */
+    static int slotFor(long most, long least, int mask) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int find(long most, long least) {
+        int slot = slotFor(most, least, mask);
+        while (used[slot]) {
+            if (mostBits[slot] == most && leastBits[slot] == least) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Number of stored keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the map holds a value for this player.
+     */
+    public boolean containsKey(UUID uuid) {
+        return find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    /**
+     * Value for the key, or {@code defaultValue} if absent.
+     */
+    public double get(UUID uuid, double defaultValue) {
+        int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Store a value for the key, replacing any previous one.
+     */
+    public void put(UUID uuid, double value) {
+        insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), value, false);
+    }
+
+    /**
+     * Add {@code delta} to the stored value (treating a missing key as 0) and return the result.
+     */
+    public double addTo(UUID uuid, double delta) {
+        return insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), delta, true);
+    }
+
+    private double insert(long most, long least, double value, boolean add) {
+        int slot = slotFor(most, least, mask);
+        while (used[slot]) {
+            if (mostBits[slot] == most && leastBits[slot] == least) {
+                values[slot] = add ? values[slot] + value : value;
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        mostBits[slot] = most;
+        leastBits[slot] = least;
+        values[slot] = value;
+        if (++size > values.length * LOAD_FACTOR) {
+            rehash(values.length << 1);
+        }
+        return value;
+    }
+
+    /**
+     * Remove the key and return its previous value, or {@code defaultValue} if it was absent.
+     */
+    public double remove(UUID uuid, double defaultValue) {
+        int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (slot < 0) {
+            return defaultValue;
+        }
+        double previous = values[slot];
+        removeSlot(slot);
+        return previous;
+    }
+
+    /**
+     * Backward-shift deletion: pull later members of the probe chain into the freed slot.
+     */
+    private void removeSlot(int slot) {
+        size--;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int home = slotFor(mostBits[next], leastBits[next], mask);
+            // move the entry if its home slot is not cyclically within (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                mostBits[gap] = mostBits[next];
+                leastBits[gap] = leastBits[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+        values[gap] = 0.0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldMost = mostBits;
+        long[] oldLeast = leastBits;
+        double[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        allocate(newCapacity);
+        size = 0;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                insert(oldMost[i], oldLeast[i], oldValues[i], false);
+            }
+        }
+    }
+
+    /**
+     * Remove every key.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        Arrays.fill(values, 0.0);
+        size = 0;
+    }
+
+    /**
+     * Visitor for {@link #forEach(Visitor)}; receives the raw key bits to avoid allocating UUIDs.
+     */
+    public interface Visitor {
+        void visit(long mostBits, long leastBits, double value);
+    }
+
+    /**
+     * Visit every stored entry. The map must not be modified during iteration.
+     */
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                visitor.visit(mostBits[i], leastBits[i], values[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package me.BaddCamden.SBPCLifesteal.util;
+
+import me.BaddCamden.SBPCLifesteal.metrics.HandlerProfiler;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cooperative main-thread work queue with a per-tick time budget.
+ *
+ * Deferred plugin work (saves, revives, kicks, proxy spawns, SBPC skip pushes ...) is submitted
+ * here instead of to ad-hoc Bukkit tasks. Once per tick {@link #tick()} runs queued items in
+ * priority order until the budget is used up; whatever does not fit carries over to the next
+ * tick. A {@link Work} item may also do part of its job and ask to run again.
+ *
+ * The budget adapts to server load: the time between consecutive ticks is averaged, and while it
+ * stays near the normal 50 ms the full budget is available. As ticks stretch towards 100 ms the
+ * budget shrinks linearly to the minimum, so the plugin backs off during lag spikes. Every
+ * priority with work waiting runs at least one item per tick, so higher priorities can slow the
+ * lower ones down but never starve them.
+ *
+ * Any thread may submit or cancel; {@link #tick()} and {@link #runAll()} are called from one
+ * thread, and items run on it outside the queue lock. An item taken off the queue may be
+ * submitted again while it runs and will then run once more.
+ *
+ * Every item is submitted under a site name and each run is timed as the
+ * {@link HandlerProfiler} site {@code work:<name>} while a profiling session is active.
+ */
+public final class WorkScheduler {
+
+    public enum Priority {
+        HIGH, NORMAL, LOW
+    }
+
+    /**
+     * A unit of deferred work. Returns true if it has more to do and should run again next tick.
+     * {@code deadlineNanos} ({@link System#nanoTime()} scale) is when this tick's budget runs out.
+     */
+    public interface Work {
+        boolean run(long deadlineNanos);
+    }
+
+    private static final long TARGET_TICK_NANOS = 50_000_000L;
+    private static final long LAG_TICK_NANOS = 100_000_000L;
+    private static final long SLACK_NANOS = 2_500_000L;
+    private static final double SMOOTHING = 0.1;
+
+    // a queued occurrence of a work item and the profiler site it is timed under
+    private static final class Item {
+        final Work work;
+        final HandlerProfiler.Site site;
+
+        Item(Work work, HandlerProfiler.Site site) {
+            this.work = work;
+            this.site = site;
+        }
+    }
+
+    private final Logger logger;
+    private final HandlerProfiler profiler;
+    private final ArrayDeque<Item>[] queues;
+    private final ArrayDeque<Item>[] carried;
+    private final Set<Work> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private volatile long maxBudgetNanos;
+    private volatile long minBudgetNanos;
+    private volatile double avgTickNanos = TARGET_TICK_NANOS;
+    private long lastTickStart;
+    private volatile long currentBudgetNanos;
+
+    // metrics
+    private long executed;
+    private long deferredTicks;
+    private long deferredItems;
+    private long failures;
+
+    /**
+     * Create a scheduler with a budget between {@code minBudgetMs} (heavy lag) and
+     * {@code maxBudgetMs} (healthy server) per tick. Failing work is reported to {@code logger};
+     * runs are timed with {@code profiler}.
+     */
+    @SuppressWarnings("unchecked")
+    public WorkScheduler(Logger logger, HandlerProfiler profiler, double maxBudgetMs, double minBudgetMs) {
+        this.logger = logger;
+        this.profiler = profiler;
+        int levels = Priority.values().length;
+        this.queues = new ArrayDeque[levels];
+        this.carried = new ArrayDeque[levels];
+        for (int i = 0; i < levels; i++) {
+            queues[i] = new ArrayDeque<>();
+            carried[i] = new ArrayDeque<>();
+        }
+        setBudget(maxBudgetMs, minBudgetMs);
+    }
+
+    /**
+     * Change the per-tick budget range.
+     */
+    public void setBudget(double maxBudgetMs, double minBudgetMs) {
+        this.maxBudgetNanos = Math.max(0L, (long) (maxBudgetMs * 1_000_000.0));
+        this.minBudgetNanos = Math.max(0L, Math.min(maxBudgetNanos, (long) (minBudgetMs * 1_000_000.0)));
+        this.currentBudgetNanos = maxBudgetNanos;
+    }
+
+    // ------------------------------------------------------------------------
+    // Submission
+    // ------------------------------------------------------------------------
+
+    /**
+     * Queue {@code work}, profiled as {@code work:<site>}; the same instance may be queued more
+     * than once.
+     */
+    public void submit(Priority priority, String site, Work work) {
+        Item item = new Item(work, profiler.work(site));
+        synchronized (this) {
+            queues[priority.ordinal()].addLast(item);
+        }
+    }
+
+    /**
+     * Queue a one-shot task, profiled as {@code work:<site>}.
+     */
+    public void submit(Priority priority, String site, Runnable task) {
+        submit(priority, site, deadline -> {
+            task.run();
+            return false;
+        });
+    }
+
+    /**
+     * Queue {@code work} unless it is already waiting (or carried over). Use for idempotent jobs
+     * such as "save everything" that many callers may request in the same tick.
+     */
+    public void submitOnce(Priority priority, String site, Work work) {
+        HandlerProfiler.Site timed = profiler.work(site);
+        synchronized (this) {
+            if (pending.add(work)) {
+                queues[priority.ordinal()].addLast(new Item(work, timed));
+            }
+        }
+    }
+
+    /**
+     * Drop every queued occurrence of {@code work}.
+     */
+    public synchronized void cancel(Work work) {
+        pending.remove(work);
+        for (int i = 0; i < queues.length; i++) {
+            queues[i].removeIf(item -> item.work == work);
+            carried[i].removeIf(item -> item.work == work);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Execution
+    // ------------------------------------------------------------------------
+
+    /**
+     * Run this tick's share of the queue. Call exactly once per server tick.
+     */
+    public void tick() {
+        long start = System.nanoTime();
+        if (lastTickStart != 0L) {
+            long interval = Math.min(start - lastTickStart, 10L * LAG_TICK_NANOS);
+            avgTickNanos += (interval - avgTickNanos) * SMOOTHING;
+        }
+        lastTickStart = start;
+        currentBudgetNanos = budgetFor(avgTickNanos);
+
+        runUntil(start + currentBudgetNanos, false);
+
+        synchronized (this) {
+            int left = getQueueDepth();
+            if (left > 0) {
+                deferredTicks++;
+                deferredItems += left;
+            }
+        }
+    }
+
+    /**
+     * Run everything now, ignoring the budget (shutdown).
+     */
+    public void runAll() {
+        // re-queued partial work gets a bounded number of extra passes
+        for (int pass = 0; pass < 1000 && getQueueDepth() > 0; pass++) {
+            runUntil(Long.MAX_VALUE, true);
+        }
+    }
+
+    /**
+     * Take the next item of a level; it stops counting as pending, so a new request for it
+     * made while it runs is queued instead of lost.
+     */
+    private synchronized Item poll(int level) {
+        Item item = queues[level].pollFirst();
+        if (item != null) {
+            pending.remove(item.work);
+        }
+        return item;
+    }
+
+    private void runOne(int level, Item item, long deadline) {
+        boolean more;
+        boolean failed = false;
+        // the scheduler tick itself is a timed task, so items count as nested calls
+        long start = item.site.begin();
+        try {
+            more = item.work.run(deadline);
+        } catch (RuntimeException ex) {
+            failed = true;
+            logger.log(Level.WARNING, "Deferred task failed: " + item.site.getName(), ex);
+            more = false;
+        } finally {
+            item.site.endNested(start);
+        }
+        synchronized (this) {
+            executed++;
+            if (failed) {
+                failures++;
+            }
+            // unless another thread queued it again meanwhile
+            if (more && pending.add(item.work)) {
+                carried[level].addLast(item);
+            }
+        }
+    }
+
+    private long budgetFor(double tickNanos) {
+        double over = tickNanos - (TARGET_TICK_NANOS + SLACK_NANOS);
+        if (over <= 0) {
+            return maxBudgetNanos;
+        }
+        double span = LAG_TICK_NANOS - (TARGET_TICK_NANOS + SLACK_NANOS);
+        double t = Math.min(1.0, over / span);
+        return (long) (maxBudgetNanos - (maxBudgetNanos - minBudgetNanos) * t);
+    }
+
+    private void runUntil(long deadline, boolean unbounded) {
+        for (int level = 0; level < queues.length; level++) {
+            // the first item of each level runs even when the budget is gone
+            boolean ranLevel = false;
+            while (!ranLevel || unbounded || System.nanoTime() - deadline < 0) {
+                Item item = poll(level);
+                if (item == null) {
+                    break;
+                }
+                ranLevel = true;
+                runOne(level, item, deadline);
+            }
+        }
+        synchronized (this) {
+            for (int level = 0; level < queues.length; level++) {
+                queues[level].addAll(carried[level]);
+                carried[level].clear();
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Metrics
+    // ------------------------------------------------------------------------
+
+    /**
+     * Items waiting across all priorities.
+     */
+    public synchronized int getQueueDepth() {
+        int depth = 0;
+        for (ArrayDeque<Item> queue : queues) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    public synchronized int getQueueDepth(Priority priority) {
+        return queues[priority.ordinal()].size();
+    }
+
+    public synchronized long getExecuted() {
+        return executed;
+    }
+
+    /**
+     * Ticks that ended with work still queued.
+     */
+    public synchronized long getDeferredTicks() {
+        return deferredTicks;
+    }
+
+    /**
+     * Sum over ticks of the items carried to the next tick.
+     */
+    public synchronized long getDeferredItems() {
+        return deferredItems;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    /**
+     * The budget used for the most recent tick.
+     */
+    public long getCurrentBudgetNanos() {
+        return currentBudgetNanos;
+    }
+
+    /**
+     * Smoothed time between ticks, in milliseconds.
+     */
+    public double getAverageTickMillis() {
+        return avgTickNanos / 1_000_000.0;
+    }
+
+    /**
+     * One-line summary for the admin command.
+     */
+    public synchronized String describe() {
+        return String.format(Locale.ROOT,
+                "Work queue: %d waiting (high %d, normal %d, low %d), budget %.2f ms, tick %.1f ms avg, "
+                        + "%d run, %d ticks deferred (%d items carried), %d failed",
+                getQueueDepth(), getQueueDepth(Priority.HIGH), getQueueDepth(Priority.NORMAL),
+                getQueueDepth(Priority.LOW), currentBudgetNanos / 1_000_000.0, getAverageTickMillis(),
+                executed, deferredTicks, deferredItems, failures);
+    }
+}
@@ -0,0 +1,136 @@
+package me.BaddCamden.SBPCLifesteal.combat;
+
+import me.BaddCamden.SBPCLifesteal.util.TimingWheel;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CombatTrackerTest {
+
+    private static final long WINDOW_MS = 30_000L;
+    private static final long TAG_MS = 15_000L;
+
+    @Test
+    void hitAndTagExpireThroughTheWheel() {
+        TimingWheel wheel = new TimingWheel();
+        CombatTracker tracker = new CombatTracker(wheel, WINDOW_MS, 16);
+        UUID victim = new UUID(1, 1);
+        UUID attacker = new UUID(2, 2);
+        long now = System.currentTimeMillis();
+
+        tracker.recordHit(victim, attacker, now);
+        tracker.tag(victim, now + TAG_MS, now);
+        assertEquals(attacker, tracker.getLastAttacker(victim, now));
+        assertTrue(tracker.isTagged(victim, now));
+        assertNull(tracker.getLastAttacker(victim, now + WINDOW_MS + 1));
+
+        UUID[] expired = new UUID[1];
+        tracker.addTagExpiryListener(id -> expired[0] = id);
+        tracker.clearLastHit(victim);
+        tracker.tag(victim, now - 1, now);
+        wheel.advance();
+        assertEquals(victim, expired[0]);
+        assertFalse(tracker.isTagged(victim, now));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void tableGrowsPastItsInitialSize() {
+        CombatTracker tracker = new CombatTracker(new TimingWheel(), WINDOW_MS, 1);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 1000; i++) {
+            tracker.recordHit(new UUID(i, ~i), new UUID(0, i), now);
+        }
+        assertEquals(1000, tracker.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(new UUID(0, i), tracker.getLastAttacker(new UUID(i, ~i), now));
+        }
+    }
+
+    /**
+     * Regions hitting different players at once must not lose or mix up slots.
+     */
+    @Test
+    void concurrentHitsLandInTheirOwnSlots() throws InterruptedException {
+        CombatTracker tracker = new CombatTracker(new TimingWheel(), WINDOW_MS, 1);
+        long now = System.currentTimeMillis();
+        int threads = 8;
+        int perThread = 2000;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = base; i < base + perThread; i++) {
+                    tracker.recordHit(new UUID(i, ~i), new UUID(0, i), now);
+                    tracker.tag(new UUID(i, ~i), now + TAG_MS, now);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * perThread, tracker.size());
+        for (int i = 0; i < threads * perThread; i++) {
+            assertEquals(new UUID(0, i), tracker.getLastAttacker(new UUID(i, ~i), now));
+            assertTrue(tracker.isTagged(new UUID(i, ~i), now));
+        }
+    }
+
+    /**
+     * The damage path (last hit plus both tags) must not allocate once every player has a slot.
+     */
+    @Test
+    void steadyStateDamagePathDoesNotAllocate() {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        int players = 500;
+        UUID[] ids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            ids[i] = UUID.randomUUID();
+        }
+        TimingWheel wheel = new TimingWheel();
+        CombatTracker tracker = new CombatTracker(wheel, WINDOW_MS, players);
+        long now = System.currentTimeMillis();
+        // warm up: every player gets a slot and the JIT sees the loop
+        for (int round = 0; round < 200; round++) {
+            hitEveryone(tracker, ids, now);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int round = 0; round < 100; round++) {
+            hitEveryone(tracker, ids, now);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        // a few bytes of slack for the allocation counter itself
+        assertTrue(allocated < 1024, "damage path allocated " + allocated + " bytes over 50000 hits");
+    }
+
+    private static void hitEveryone(CombatTracker tracker, UUID[] ids, long now) {
+        for (int i = 0; i < ids.length; i++) {
+            UUID victim = ids[i];
+            UUID attacker = ids[(i + 1) % ids.length];
+            tracker.recordHit(victim, attacker, now);
+            tracker.tag(victim, now + TAG_MS, now);
+            tracker.tag(attacker, now + TAG_MS, now);
+        }
+    }
+}
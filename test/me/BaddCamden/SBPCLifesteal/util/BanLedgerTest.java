@@ -0,0 +1,98 @@
+package me.BaddCamden.SBPCLifesteal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BanLedgerTest {
+
+    @Test
+    void stockRevivesOldestBanFirst() {
+        BanLedger ledger = new BanLedger();
+        UUID first = new UUID(1, 1);
+        UUID second = new UUID(2, 2);
+        assertTrue(ledger.ban(first));
+        assertTrue(ledger.ban(second));
+        assertFalse(ledger.ban(first));
+
+        List<UUID> revived = new ArrayList<>();
+        assertEquals(0, ledger.reviveFromStock(revived::add));
+        ledger.addStock(1);
+        assertEquals(1, ledger.reviveFromStock(revived::add));
+        assertEquals(List.of(first), revived);
+        assertFalse(ledger.isBanned(first));
+        assertTrue(ledger.isBanned(second));
+        assertEquals(0, ledger.getStock());
+    }
+
+    /**
+     * Threads banning, destroying hearts, reviving and spending hearts on new deaths at once:
+     * every half-heart is spent exactly once, the stock never drops below zero and nobody is
+     * revived twice.
+     */
+    @Test
+    void concurrentBansAndRevivesNeverOverspend() throws InterruptedException {
+        BanLedger ledger = new BanLedger();
+        int threads = 8;
+        int perThread = 5000;
+        Set<UUID> revived = ConcurrentHashMap.newKeySet();
+        AtomicInteger doubleRevives = new AtomicInteger();
+        AtomicInteger revivedCount = new AtomicInteger();
+        AtomicInteger takenByDeaths = new AtomicInteger();
+        AtomicInteger negativeSeen = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = base; i < base + perThread; i++) {
+                    ledger.ban(new UUID(0, i));
+                    ledger.addStock(1);
+                    if (i % 3 == 0 && ledger.tryTake()) {
+                        takenByDeaths.incrementAndGet();
+                    }
+                    revivedCount.addAndGet(ledger.reviveFromStock(id -> {
+                        if (!revived.add(id)) {
+                            doubleRevives.incrementAndGet();
+                        }
+                    }));
+                    if (ledger.getStock() < 0) {
+                        negativeSeen.incrementAndGet();
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int total = threads * perThread;
+        assertEquals(0, negativeSeen.get());
+        assertEquals(0, doubleRevives.get());
+        assertEquals(revived.size(), revivedCount.get());
+        // every destroyed half-heart went to exactly one revive, one new death, or is still in stock
+        assertEquals(total, revivedCount.get() + takenByDeaths.get() + ledger.getStock());
+        // every ban is either revived or still waiting
+        assertEquals(total, revivedCount.get() + ledger.getBannedCount());
+        // a heart in stock with someone still banned means a revive pass gave up too early
+        assertTrue(ledger.getStock() == 0 || ledger.getBannedCount() == 0);
+    }
+}
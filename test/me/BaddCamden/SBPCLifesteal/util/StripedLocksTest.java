@@ -0,0 +1,158 @@
+package me.BaddCamden.SBPCLifesteal.util;
+
+import me.BaddCamden.SBPCLifesteal.SBPCLifestealPlugin;
+import me.BaddCamden.SBPCLifesteal.SBPCLifestealPlugin.PlayerData;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedLocksTest {
+
+    /**
+     * Max-health changes through the plugin's own read-modify-write, from many threads and with
+     * the 0 clamp in play: the final base must equal the start plus every delta reported as
+     * applied, and the persisted value must match it.
+     */
+    @Test
+    void maxHealthChangesLoseNoUpdates() throws InterruptedException {
+        StripedLocks locks = new StripedLocks(64);
+        int players = 32;
+        UUID[] ids = new UUID[players];
+        // plain fields, like the attribute: only the stripe keeps updates from being lost
+        double[] base = new double[players];
+        Map<UUID, Double> persisted = new ConcurrentHashMap<>();
+        AtomicInteger[] applied = new AtomicInteger[players];
+        for (int i = 0; i < players; i++) {
+            ids[i] = new UUID(i * 0x9E3779B97F4A7C15L, i);
+            base[i] = 4.0;
+            applied[i] = new AtomicInteger();
+        }
+
+        int threads = 8;
+        int perThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    int slot = (seed + i) % players;
+                    UUID id = ids[slot];
+                    // drifts down, so the clamp at 0 is hit often
+                    int delta = (i + seed) % 2 == 0 ? -3 : 2;
+                    int done = SBPCLifestealPlugin.changeMaxHealth(locks, id, delta, () -> base[slot],
+                            newVal -> {
+                                Thread.yield();
+                                base[slot] = newVal;
+                                persisted.put(id, newVal);
+                            });
+                    applied[slot].addAndGet(done);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        for (int i = 0; i < players; i++) {
+            assertTrue(base[i] >= 0.0);
+            assertEquals(4.0 + applied[i].get(), base[i], 1e-9);
+            assertEquals(base[i], persisted.get(ids[i]), 1e-9);
+        }
+    }
+
+    /**
+     * The hearts writer and the lifesteal-data writer merge into the same player file from two
+     * threads. Under the player's stripe neither may write back a stale copy of the other's key.
+     */
+    @Test
+    void playerFileMergesLoseNoKeys(@TempDir Path dir) throws InterruptedException {
+        StripedLocks locks = new StripedLocks(64);
+        int players = 4;
+        int writes = 300;
+        Thread[] workers = new Thread[players * 2];
+        File[] files = new File[players];
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < players; p++) {
+            UUID id = new UUID(p, p);
+            File file = dir.resolve(id + ".yml").toFile();
+            files[p] = file;
+            workers[2 * p] = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 1; i <= writes; i++) {
+                    double hearts = i;
+                    locks.run(id, () -> {
+                        try {
+                            SBPCLifestealPlugin.writeHeartsFile(file, hearts);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                }
+            });
+            workers[2 * p + 1] = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 1; i <= writes; i++) {
+                    PlayerData data = new PlayerData(false, i, Collections.emptySet(), false);
+                    locks.run(id, () -> {
+                        try {
+                            SBPCLifestealPlugin.writePlayerDataFile(file, data);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                }
+            });
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        for (File file : files) {
+            YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+            assertEquals(writes, cfg.getDouble("lifesteal.hearts"), 1e-9);
+            assertEquals(writes, SBPCLifestealPlugin.readPlayerDataFile(file).getPendingReviveHalfHearts());
+        }
+    }
+
+    @Test
+    void callReturnsTheLockedResult() {
+        StripedLocks locks = new StripedLocks(4);
+        UUID id = new UUID(7, 7);
+        int value = locks.call(id, () -> locks.call(id, () -> 42));
+        assertEquals(42, value);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package me.BaddCamden.SBPCLifesteal.util;
+
+import me.BaddCamden.SBPCLifesteal.metrics.HandlerProfiler;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkSchedulerTest {
+
+    /**
+     * High-priority work that never fits the budget must not keep low-priority work waiting.
+     */
+    @Test
+    void lowPriorityRunsEveryTickUnderLoad() {
+        WorkScheduler scheduler = new WorkScheduler(Logger.getLogger("test"), new HandlerProfiler(), 0.0, 0.0);
+        int[] lowRuns = new int[1];
+        for (int i = 0; i < 100; i++) {
+            scheduler.submit(WorkScheduler.Priority.HIGH, "high", () -> { });
+            scheduler.submit(WorkScheduler.Priority.LOW, "low", () -> lowRuns[0]++);
+        }
+        for (int tick = 1; tick <= 10; tick++) {
+            scheduler.tick();
+            assertEquals(tick, lowRuns[0]);
+        }
+    }
+
+    @Test
+    void submitOnceQueuesAnInstanceOnlyOnce() {
+        WorkScheduler scheduler = new WorkScheduler(Logger.getLogger("test"), new HandlerProfiler(), 0.0, 0.0);
+        int[] runs = new int[1];
+        WorkScheduler.Work work = deadline -> {
+            runs[0]++;
+            return false;
+        };
+        for (int i = 0; i < 1000; i++) {
+            scheduler.submitOnce(WorkScheduler.Priority.LOW, "once", work);
+        }
+        assertEquals(1, scheduler.getQueueDepth(WorkScheduler.Priority.LOW));
+        scheduler.tick();
+        assertEquals(1, runs[0]);
+        scheduler.submitOnce(WorkScheduler.Priority.LOW, "once", work);
+        assertTrue(scheduler.getQueueDepth() > 0);
+    }
+
+    @Test
+    void itemsAreTimedUnderTheirSiteWhileProfiling() {
+        HandlerProfiler profiler = new HandlerProfiler();
+        WorkScheduler scheduler = new WorkScheduler(Logger.getLogger("test"), profiler, 0.0, 0.0);
+        scheduler.submit(WorkScheduler.Priority.NORMAL, "before", () -> { });
+        scheduler.tick();
+        assertEquals(0, profiler.work("before").getHistogram().getCount());
+
+        profiler.start();
+        scheduler.submit(WorkScheduler.Priority.NORMAL, "save", () -> { });
+        scheduler.submit(WorkScheduler.Priority.NORMAL, "save", () -> { });
+        scheduler.tick();
+        scheduler.tick();
+        profiler.stop();
+        assertEquals(2, profiler.work("save").getHistogram().getCount());
+        assertEquals("work:save", profiler.work("save").getName());
+    }
+}